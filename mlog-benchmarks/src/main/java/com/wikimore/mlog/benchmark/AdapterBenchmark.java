@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.benchmark;
+
+import java.io.OutputStreamWriter;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+import java.util.logging.StreamHandler;
+
+import org.apache.log4j.PatternLayout;
+import org.apache.log4j.WriterAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.wikimore.mlog.Log;
+import com.wikimore.mlog.impl.JdkLog;
+import com.wikimore.mlog.impl.Log4jLog;
+
+/**
+ * JdkLog and Log4jLog calls of an enabled level, written to a discarding
+ * stream, and of a disabled level. a disabled parameterized call should cost
+ * a level check, at least an order of magnitude less than an enabled one.
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AdapterBenchmark {
+    private static final String ENABLED = "benchmark.adapter.enabled";
+    private static final String DISABLED = "benchmark.adapter.disabled";
+
+    @Param({ "JdkLog", "Log4jLog" })
+    private String adapter;
+    /** java.util.logging holds loggers weakly, the levels would be lost */
+    private Logger[] jdkLoggers;
+    private Log enabled;
+    private Log disabled;
+    private Object[] params = { "param1", Integer.valueOf(12345), Long.valueOf(1234567890L) };
+    private String user = "ted";
+
+    @Setup
+    public void setUp() {
+        if (adapter.equals("JdkLog")) {
+            Handler handler = new StreamHandler(new NullOutputStream(), new SimpleFormatter());
+            handler.setLevel(Level.ALL);
+            jdkLoggers = new Logger[] { Logger.getLogger(ENABLED), Logger.getLogger(DISABLED) };
+            for (Logger logger : jdkLoggers) {
+                logger.setUseParentHandlers(false);
+                logger.addHandler(handler);
+            }
+            jdkLoggers[0].setLevel(Level.INFO);
+            jdkLoggers[1].setLevel(Level.WARNING);
+            enabled = new JdkLog(ENABLED);
+            disabled = new JdkLog(DISABLED);
+        } else {
+            WriterAppender appender = new WriterAppender(new PatternLayout(
+                    "%d{ISO8601} [%p] %c - %m%n"), new OutputStreamWriter(new NullOutputStream()));
+            for (String name : new String[] { ENABLED, DISABLED }) {
+                org.apache.log4j.Logger logger = org.apache.log4j.Logger.getLogger(name);
+                logger.setAdditivity(false);
+                logger.addAppender(appender);
+            }
+            org.apache.log4j.Logger.getLogger(ENABLED).setLevel(org.apache.log4j.Level.INFO);
+            org.apache.log4j.Logger.getLogger(DISABLED).setLevel(org.apache.log4j.Level.WARN);
+            enabled = new Log4jLog(ENABLED);
+            disabled = new Log4jLog(DISABLED);
+        }
+    }
+
+    @Benchmark
+    public void enabledTwoArgs() {
+        enabled.info("test enabled {}, {}", user, "param2");
+    }
+
+    @Benchmark
+    public void enabledVarargs() {
+        enabled.info("test enabled {}, {}, {}", params);
+    }
+
+    @Benchmark
+    public void disabledTwoArgs() {
+        disabled.debug("test disabled {}, {}", user, "param2");
+    }
+
+    @Benchmark
+    public void disabledVarargs() {
+        disabled.trace("test disabled {}, {}, {}", params);
+    }
+}
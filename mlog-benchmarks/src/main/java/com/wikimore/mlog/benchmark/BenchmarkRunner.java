@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.benchmark;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * main class of benchmarks.jar, runs JMH with the given command line and
+ * always adds the GC profiler, so every result has ns/op and B/op
+ * (<tt>gc.alloc.rate.norm</tt>)
+ * <p>
+ * usage: <tt>java -jar target/benchmarks.jar [JMH options] [benchmark
+ * regexp]</tt>, like <tt>java -jar target/benchmarks.jar Formatter -f 1</tt>
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList()
+                || commandLine.shouldListProfilers()) {
+            // leave listings and help to the JMH main class
+            Main.main(args);
+            return;
+        }
+        Options options = new OptionsBuilder().parent(commandLine)
+                .addProfiler(GCProfiler.class).build();
+        new Runner(options).run();
+    }
+}
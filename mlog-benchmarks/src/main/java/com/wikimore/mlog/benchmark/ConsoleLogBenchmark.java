@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.benchmark;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.wikimore.mlog.Log;
+import com.wikimore.mlog.impl.ConsoleLog;
+
+/**
+ * ConsoleLog calls of an enabled level, written to a discarding System.err,
+ * and of a disabled level, which should cost a level check and allocate
+ * nothing
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConsoleLogBenchmark {
+    private PrintStream err;
+    private Log enabled;
+    private Log disabled;
+    private String user = "ted";
+    private int id = 42;
+    private long elapsed = 1234567L;
+
+    @Setup
+    public void setUp() {
+        err = NullOutputStream.redirectErr();
+        ConsoleLog.setLevel("benchmark.disabled", "WARN");
+        enabled = new ConsoleLog("benchmark.enabled");
+        disabled = new ConsoleLog("benchmark.disabled");
+    }
+
+    @TearDown
+    public void tearDown() {
+        ConsoleLog.removeLevel("benchmark.disabled");
+        System.setErr(err);
+    }
+
+    @Benchmark
+    public void enabledPlain() {
+        enabled.info("request served");
+    }
+
+    @Benchmark
+    public void enabledOneArg() {
+        enabled.info("request of {} served", user);
+    }
+
+    @Benchmark
+    public void enabledPrimitive() {
+        enabled.info("request served in {} ns", elapsed);
+    }
+
+    @Benchmark
+    public void enabledThreeArgs() {
+        enabled.info("request {} of {} served in {} ns", id, user, elapsed);
+    }
+
+    @Benchmark
+    public void disabledPlain() {
+        disabled.debug("request served");
+    }
+
+    @Benchmark
+    public void disabledThreeArgs() {
+        disabled.debug("request {} of {} served in {} ns", id, user, elapsed);
+    }
+
+    @Benchmark
+    public void disabledVarargs() {
+        disabled.debug("request {} of {} served in {} ns from {}", id, user, elapsed, "cache");
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.wikimore.mlog.Formatter;
+
+/**
+ * Formatter.format with 0 to 5 arguments, and formatTo a reused builder
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FormatterBenchmark {
+    // fields, so the arguments are not constant folded
+    private String user = "ted";
+    private Integer id = 42;
+    private Long elapsed = 1234567L;
+    private Double ratio = 0.75d;
+    private Boolean cached = Boolean.TRUE;
+    private StringBuilder builder = new StringBuilder(256);
+
+    @Benchmark
+    public String format0() {
+        return Formatter.format("request served");
+    }
+
+    @Benchmark
+    public String format1() {
+        return Formatter.format("request of {} served", user);
+    }
+
+    @Benchmark
+    public String format2() {
+        return Formatter.format("request {} of {} served", id, user);
+    }
+
+    @Benchmark
+    public String format3() {
+        return Formatter.format("request {} of {} served in {} ns", id, user, elapsed);
+    }
+
+    @Benchmark
+    public String format4() {
+        return Formatter.format("request {} of {} served in {} ns, ratio {}", id, user,
+                elapsed, ratio);
+    }
+
+    @Benchmark
+    public String format5() {
+        return Formatter.format("request {} of {} served in {} ns, ratio {}, cached {}", id,
+                user, elapsed, ratio, cached);
+    }
+
+    @Benchmark
+    public StringBuilder formatTo3() {
+        builder.setLength(0);
+        return Formatter.formatTo(builder, "request {} of {} served in {} ns", id, user,
+                elapsed);
+    }
+}
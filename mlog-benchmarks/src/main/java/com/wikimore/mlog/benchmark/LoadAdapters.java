@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.logging.ConsoleHandler;
+import java.util.logging.FileHandler;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+
+import org.apache.log4j.Appender;
+import org.apache.log4j.AsyncAppender;
+import org.apache.log4j.ConsoleAppender;
+import org.apache.log4j.FileAppender;
+import org.apache.log4j.Layout;
+import org.apache.log4j.PatternLayout;
+
+import com.wikimore.mlog.Log;
+import com.wikimore.mlog.impl.ConsoleLog;
+import com.wikimore.mlog.impl.JdkLog;
+import com.wikimore.mlog.impl.Log4jLog;
+
+/**
+ * the adapter and output mode configurations the load harness can drive,
+ * named <tt>adapter:mode</tt>
+ * <ul>
+ * <li><tt>ConsoleLog:sync</tt>, <tt>async</tt> and <tt>binary</tt> write
+ * System.err</li>
+ * <li><tt>ConsoleLog:file</tt>, <tt>batch</tt> and <tt>mapped</tt> write a
+ * temp file through a file channel, a batching sink or a mapped file</li>
+ * <li><tt>JdkLog:sync</tt> writes System.err with a ConsoleHandler,
+ * <tt>JdkLog:file</tt> a temp file with a FileHandler</li>
+ * <li><tt>Log4jLog:sync</tt> writes System.err with a ConsoleAppender,
+ * <tt>async</tt> through an AsyncAppender, <tt>Log4jLog:file</tt> a temp
+ * file with a FileAppender</li>
+ * </ul>
+ * configuration is read once per JVM, each one runs in its own process.
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+final class LoadAdapters {
+    static final String DEFAULT = "ConsoleLog:sync,ConsoleLog:async,ConsoleLog:file,JdkLog:sync,Log4jLog:sync";
+    static final String LOGGER = "harness.load";
+    private static final String CONSOLE_LOG = "com.wikimore.mlog.impl.ConsoleLog.";
+    private static final String LAYOUT = "%d{ISO8601} [%p] %c - %m%n";
+    /** java.util.logging holds loggers weakly, the level would be lost */
+    private static Logger jdkLogger;
+
+    private LoadAdapters() {
+    }
+
+    /**
+     * @return true if the mode writes the temp file, not System.err
+     */
+    static boolean writesFile(String config) {
+        String mode = mode(config);
+        return mode.equals("file") || mode.equals("batch") || mode.equals("mapped");
+    }
+
+    /**
+     * configure the adapter and create the Log driven by the harness, INFO
+     * enabled and DEBUG disabled. System.err must already be redirected.
+     * 
+     * @param config
+     *            adapter:mode
+     * @param file
+     *            temp file of the file modes
+     * @throws IllegalArgumentException
+     *             if the adapter or mode is unknown
+     */
+    static Log create(String config, File file) throws IOException {
+        String adapter = config.substring(0, Math.max(0, config.indexOf(':')));
+        String mode = mode(config);
+        if (adapter.equals("ConsoleLog")) {
+            return consoleLog(mode, file);
+        } else if (adapter.equals("JdkLog")) {
+            return jdkLog(mode, file);
+        } else if (adapter.equals("Log4jLog")) {
+            return log4jLog(mode, file);
+        }
+        throw new IllegalArgumentException("unknown adapter in " + config
+                + ", expects ConsoleLog, JdkLog or Log4jLog");
+    }
+
+    private static String mode(String config) {
+        return config.substring(config.indexOf(':') + 1);
+    }
+
+    private static Log consoleLog(String mode, File file) {
+        if (mode.equals("async")) {
+            System.setProperty(CONSOLE_LOG + "async", "true");
+        } else if (mode.equals("binary")) {
+            System.setProperty(CONSOLE_LOG + "format", "binary");
+        } else if (mode.equals("file") || mode.equals("batch") || mode.equals("mapped")) {
+            System.setProperty(CONSOLE_LOG + "sink", mode.equals("mapped") ? "mapped" : "file");
+            System.setProperty(CONSOLE_LOG + "file", file.getPath());
+            if (mode.equals("batch")) {
+                System.setProperty(CONSOLE_LOG + "batch", "true");
+            }
+        } else if (!mode.equals("sync")) {
+            throw unknownMode("ConsoleLog", mode);
+        }
+        ConsoleLog.setLevel(LOGGER, "INFO");
+        return new ConsoleLog(LOGGER);
+    }
+
+    private static Log jdkLog(String mode, File file) throws IOException {
+        Handler handler;
+        if (mode.equals("sync")) {
+            handler = new ConsoleHandler();
+        } else if (mode.equals("file")) {
+            handler = new FileHandler(file.getPath(), true);
+        } else {
+            throw unknownMode("JdkLog", mode);
+        }
+        handler.setFormatter(new SimpleFormatter());
+        handler.setLevel(Level.ALL);
+        Logger root = Logger.getLogger("");
+        for (Handler existing : root.getHandlers()) {
+            root.removeHandler(existing);
+        }
+        root.addHandler(handler);
+        jdkLogger = Logger.getLogger(LOGGER);
+        jdkLogger.setLevel(Level.INFO);
+        return new JdkLog(LOGGER);
+    }
+
+    private static Log log4jLog(String mode, File file) throws IOException {
+        Layout layout = new PatternLayout(LAYOUT);
+        Appender appender;
+        if (mode.equals("sync")) {
+            appender = new ConsoleAppender(layout, ConsoleAppender.SYSTEM_ERR);
+        } else if (mode.equals("async")) {
+            AsyncAppender async = new AsyncAppender();
+            async.addAppender(new ConsoleAppender(layout, ConsoleAppender.SYSTEM_ERR));
+            appender = async;
+        } else if (mode.equals("file")) {
+            appender = new FileAppender(layout, file.getPath(), true);
+        } else {
+            throw unknownMode("Log4jLog", mode);
+        }
+        org.apache.log4j.Logger root = org.apache.log4j.Logger.getRootLogger();
+        root.removeAllAppenders();
+        root.addAppender(appender);
+        org.apache.log4j.Logger.getLogger(LOGGER).setLevel(org.apache.log4j.Level.INFO);
+        return new Log4jLog(LOGGER);
+    }
+
+    private static IllegalArgumentException unknownMode(String adapter, String mode) {
+        return new IllegalArgumentException("unknown mode " + mode + " of " + adapter);
+    }
+}
@@ -0,0 +1,426 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.benchmark;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+
+import com.wikimore.mlog.Log;
+import com.wikimore.mlog.impl.LatencyHistogram;
+
+/**
+ * end to end load test: drives Log adapters from 1..N threads with a message
+ * mix and reports sustained lines per second, latency percentiles and the
+ * allocation and GC cost per line
+ * <p>
+ * usage: <tt>java -cp target/benchmarks.jar
+ * com.wikimore.mlog.benchmark.LoadHarness [options]</tt>
+ * <ul>
+ * <li><tt>--adapters ConsoleLog:sync,JdkLog:file,...</tt>, see
+ * {@link LoadAdapters}</li>
+ * <li><tt>--threads 1,2,4,8</tt> thread counts, run in order</li>
+ * <li><tt>--duration 10</tt> and <tt>--warmup 5</tt>, seconds per run</li>
+ * <li><tt>--rate 0</tt> lines per second of all threads together, 0 logs as
+ * fast as possible. with a rate the latency is measured from the intended
+ * start of each call, corrected for coordinated omission.</li>
+ * <li><tt>--mix plain=50,args=40,throwable=2,disabled=8</tt>, see
+ * {@link MessageMix}</li>
+ * <li><tt>--out null</tt> discards System.err, <tt>--out file</tt> writes it
+ * to a temp file. file modes always write a temp file.</li>
+ * <li><tt>--csv results.csv</tt> appends a row per run</li>
+ * <li><tt>--jvm "-Xms512m -Xmx512m"</tt> options of the JVM of each
+ * configuration</li>
+ * </ul>
+ * every configuration runs in a fresh JVM, like a JMH fork, since adapters
+ * read their configuration once. results go to System.out.
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+public final class LoadHarness {
+    private static final String COLUMNS = "%-11s %-7s %7s %12s %9s %9s %9s %9s %8s %5s %7s%n";
+    private static final String ROW = "%-11s %-7s %7d %12.0f %9.1f %9.1f %9.1f %9.1f %8s %5d %7d%n";
+    private static final String CSV_HEADER = "mlog,java,adapter,mode,threads,rate,mix,lines,"
+            + "lines_per_s,p50_ns,p99_ns,p999_ns,max_ns,bytes_per_line,gc_count,gc_ms";
+
+    private LoadHarness() {
+    }
+
+    /**
+     * start, measuring and stop of one run, shared by its workers
+     */
+    static final class Phase {
+        private final CountDownLatch start = new CountDownLatch(1);
+        private final CountDownLatch exit = new CountDownLatch(1);
+        private volatile boolean measuring;
+        private volatile boolean stopping;
+
+        void awaitStart() throws InterruptedException {
+            start.await();
+        }
+
+        void awaitExit() throws InterruptedException {
+            exit.await();
+        }
+
+        boolean isMeasuring() {
+            return measuring;
+        }
+
+        boolean isStopping() {
+            return stopping;
+        }
+    }
+
+    /**
+     * command line options, also passed on to the JVM of each configuration
+     */
+    static final class Options {
+        String adapters = LoadAdapters.DEFAULT;
+        String threads = "1,2,4,8";
+        int duration = 10;
+        int warmup = 5;
+        long rate;
+        String mix = MessageMix.DEFAULT;
+        String out = "null";
+        String csv;
+        String jvm = "-Xms512m -Xmx512m";
+        boolean child;
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                String name = args[i];
+                if (name.equals("--child")) {
+                    options.child = true;
+                    continue;
+                }
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException("missing value of " + name);
+                }
+                String value = args[++i];
+                try {
+                    if (name.equals("--adapters")) {
+                        options.adapters = value;
+                    } else if (name.equals("--threads")) {
+                        options.threads = value;
+                        threadCounts(value);
+                    } else if (name.equals("--duration")) {
+                        options.duration = Integer.parseInt(value);
+                    } else if (name.equals("--warmup")) {
+                        options.warmup = Integer.parseInt(value);
+                    } else if (name.equals("--rate")) {
+                        options.rate = Long.parseLong(value);
+                    } else if (name.equals("--mix")) {
+                        options.mix = new MessageMix(value).toString();
+                    } else if (name.equals("--out")) {
+                        if (!value.equals("null") && !value.equals("file")) {
+                            throw new IllegalArgumentException("--out expects null or file");
+                        }
+                        options.out = value;
+                    } else if (name.equals("--csv")) {
+                        options.csv = value;
+                    } else if (name.equals("--jvm")) {
+                        options.jvm = value;
+                    } else {
+                        throw new IllegalArgumentException("unknown option " + name);
+                    }
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException(name + " expects a number, was " + value);
+                }
+            }
+            if (options.duration <= 0 || options.warmup < 0 || options.rate < 0) {
+                throw new IllegalArgumentException("durations and rate must not be negative");
+            }
+            return options;
+        }
+
+        /**
+         * arguments of the child running one configuration
+         */
+        List<String> childArgs(String config) {
+            List<String> args = new ArrayList<String>();
+            args.add("--child");
+            add(args, "--adapters", config);
+            add(args, "--threads", threads);
+            add(args, "--duration", String.valueOf(duration));
+            add(args, "--warmup", String.valueOf(warmup));
+            add(args, "--rate", String.valueOf(rate));
+            add(args, "--mix", mix);
+            add(args, "--out", out);
+            if (csv != null) {
+                add(args, "--csv", csv);
+            }
+            return args;
+        }
+
+        private static void add(List<String> args, String name, String value) {
+            args.add(name);
+            args.add(value);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println("[ERROR] LoadHarness: " + e.getMessage());
+            System.err.println("usage: LoadHarness [--adapters ConsoleLog:sync,...] "
+                    + "[--threads 1,2,4] [--duration s] [--warmup s] [--rate lines/s] "
+                    + "[--mix plain=50,...] [--out null|file] [--csv file] [--jvm options]");
+            System.exit(2);
+            return;
+        }
+        if (options.child) {
+            runChild(options);
+            System.exit(0);
+        }
+        runAll(options);
+    }
+
+    /**
+     * run every configuration in its own JVM
+     */
+    private static void runAll(Options options) throws IOException, InterruptedException {
+        System.out.printf(Locale.ROOT, "# mlog %s, java %s %s, %s %s, %d cpus%n", mlogVersion(),
+                System.getProperty("java.version"), System.getProperty("java.vm.name"),
+                System.getProperty("os.name"), System.getProperty("os.arch"), Runtime
+                        .getRuntime().availableProcessors());
+        System.out.printf(Locale.ROOT, "# duration %ds, warmup %ds, rate %s, mix %s, out %s, "
+                + "jvm %s%n", options.duration, options.warmup, options.rate > 0 ? options.rate
+                + " lines/s" : "unlimited", options.mix, options.out, options.jvm);
+        System.out.println(options.rate > 0 ? "# latency in us from the intended start of "
+                + "each call, corrected for coordinated omission"
+                : "# latency in us is the service time of each call, no rate is set to correct "
+                        + "for coordinated omission");
+        System.out.printf(Locale.ROOT, COLUMNS, "adapter", "mode", "threads", "lines/s", "p50",
+                "p99", "p99.9", "max", "B/line", "gc", "gc ms");
+        if (options.csv != null && !new File(options.csv).exists()) {
+            Writer writer = new FileWriter(options.csv);
+            try {
+                writer.write(CSV_HEADER + System.getProperty("line.separator"));
+            } finally {
+                writer.close();
+            }
+        }
+        String java = new File(new File(System.getProperty("java.home"), "bin"), "java")
+                .getPath();
+        for (String config : options.adapters.split(",")) {
+            List<String> command = new ArrayList<String>();
+            command.add(java);
+            for (String option : options.jvm.trim().split("\\s+")) {
+                if (option.length() > 0) {
+                    command.add(option);
+                }
+            }
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(LoadHarness.class.getName());
+            command.addAll(options.childArgs(config.trim()));
+            Process process = new ProcessBuilder(command).inheritIO().start();
+            int exitCode = process.waitFor();
+            if (exitCode != 0) {
+                System.err.println("[ERROR] LoadHarness: " + config + " exited with " + exitCode);
+            }
+        }
+    }
+
+    /**
+     * run one configuration with every thread count, in this JVM
+     */
+    private static void runChild(Options options) throws IOException, InterruptedException {
+        String config = options.adapters;
+        File file = File.createTempFile("mlog-harness", ".log");
+        file.deleteOnExit();
+        PrintStream console = System.err;
+        if (options.out.equals("file") && !LoadAdapters.writesFile(config)) {
+            System.setErr(new PrintStream(new FileOutputStream(file), false));
+        } else {
+            NullOutputStream.redirectErr();
+        }
+        Log log;
+        try {
+            log = LoadAdapters.create(config, file);
+        } catch (IllegalArgumentException e) {
+            console.println("[ERROR] LoadHarness: " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+        MessageMix mix = new MessageMix(options.mix);
+        String adapter = config.substring(0, config.indexOf(':'));
+        String mode = config.substring(config.indexOf(':') + 1);
+        for (int threads : threadCounts(options.threads)) {
+            run(options, log, mix, adapter, mode, threads);
+        }
+        System.out.flush();
+    }
+
+    private static void run(Options options, Log log, MessageMix mix, String adapter,
+            String mode, int threads) throws IOException, InterruptedException {
+        Phase phase = new Phase();
+        CountDownLatch stopped = new CountDownLatch(threads);
+        long interval = options.rate > 0 ? Math.max(1L, 1000000000L * threads / options.rate)
+                : 0;
+        LoadWorker[] workers = new LoadWorker[threads];
+        Thread[] running = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new LoadWorker(log, mix, interval, phase, stopped);
+            running[i] = new Thread(workers[i], "load-worker-" + i);
+            running[i].start();
+        }
+        phase.start.countDown();
+        Thread.sleep(options.warmup * 1000L);
+
+        long[] gcBefore = gc();
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        phase.measuring = true;
+        Thread.sleep(options.duration * 1000L);
+        phase.measuring = false;
+        phase.stopping = true;
+        long elapsed = System.nanoTime() - start;
+        long allocatedAfter = allocatedBytes();
+        long[] gcAfter = gc();
+
+        stopped.await();
+        phase.exit.countDown();
+        LatencyHistogram histogram = new LatencyHistogram();
+        long lines = 0;
+        for (int i = 0; i < threads; i++) {
+            running[i].join();
+            histogram.add(workers[i].histogram());
+            lines += workers[i].lines();
+        }
+        report(options, adapter, mode, threads, lines, elapsed, histogram,
+                allocatedBefore < 0 || allocatedAfter < 0 || lines == 0 ? -1
+                        : (allocatedAfter - allocatedBefore) / lines, gcAfter[0] - gcBefore[0],
+                gcAfter[1] - gcBefore[1]);
+    }
+
+    private static void report(Options options, String adapter, String mode, int threads,
+            long lines, long elapsed, LatencyHistogram histogram, long bytesPerLine,
+            long gcCount, long gcMillis) throws IOException {
+        double linesPerSecond = lines * 1e9 / elapsed;
+        long p50 = histogram.getValueAtPercentile(50);
+        long p99 = histogram.getValueAtPercentile(99);
+        long p999 = histogram.getValueAtPercentile(99.9);
+        long max = histogram.getMax();
+        System.out.printf(Locale.ROOT, ROW, adapter, mode, threads, linesPerSecond, p50 / 1e3,
+                p99 / 1e3, p999 / 1e3, max / 1e3, bytesPerLine < 0 ? "n/a" : String
+                        .valueOf(bytesPerLine), gcCount, gcMillis);
+        System.out.flush();
+        if (options.csv == null) {
+            return;
+        }
+        Writer writer = new FileWriter(options.csv, true);
+        try {
+            writer.write(String.format(Locale.ROOT,
+                    "%s,%s,%s,%s,%d,%d,\"%s\",%d,%.0f,%d,%d,%d,%d,%d,%d,%d%n", mlogVersion(),
+                    System.getProperty("java.version"), adapter, mode, threads, options.rate,
+                    options.mix, lines, linesPerSecond, p50, p99, p999, max, bytesPerLine,
+                    gcCount, gcMillis));
+        } finally {
+            writer.close();
+        }
+    }
+
+    static int[] threadCounts(String value) {
+        String[] parts = value.split(",");
+        int[] counts = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            counts[i] = Integer.parseInt(parts[i].trim());
+            if (counts[i] <= 0) {
+                throw new IllegalArgumentException("--threads expects positive counts");
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * @return bytes allocated so far by all live threads, -1 if the JVM
+     *         does not tell
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+        if (!hotspot.isThreadAllocatedMemorySupported()
+                || !hotspot.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        long sum = 0;
+        for (long bytes : hotspot.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            if (bytes > 0) {
+                sum += bytes;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * @return collections and milliseconds spent collecting, of all
+     *         collectors
+     */
+    private static long[] gc() {
+        long[] totals = new long[2];
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            totals[0] += Math.max(0, collector.getCollectionCount());
+            totals[1] += Math.max(0, collector.getCollectionTime());
+        }
+        return totals;
+    }
+
+    /**
+     * version of the mlog jar on the class path, so results of different
+     * versions can be told apart
+     */
+    private static String mlogVersion() {
+        InputStream in = Log.class.getResourceAsStream("/META-INF/maven/com.wikimore/mlog/pom.properties");
+        if (in == null) {
+            return "unknown";
+        }
+        try {
+            Properties properties = new Properties();
+            properties.load(in);
+            return properties.getProperty("version", "unknown");
+        } catch (IOException e) {
+            return "unknown";
+        } finally {
+            try {
+                in.close();
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.benchmark;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.LockSupport;
+
+import com.wikimore.mlog.Log;
+import com.wikimore.mlog.impl.LatencyHistogram;
+
+/**
+ * one thread of the load harness, logs the message mix until stopped
+ * <p>
+ * at a fixed rate, call n is due at start + n * interval and its latency is
+ * measured from that intended time, not from when the call could start. a
+ * call stalled behind a blocked pipe makes the calls queued after it late,
+ * so the stall shows up in every call it delayed instead of in one sample.
+ * this is the correction for coordinated omission. without a rate the
+ * thread logs as fast as it can and the latency is the service time.
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+final class LoadWorker implements Runnable {
+    /** a wait this long is parked, shorter ones yield */
+    private static final long PARK_THRESHOLD_NANOS = 100000L;
+
+    private final Log log;
+    private final MessageMix mix;
+    private final long intervalNanos;
+    private final LoadHarness.Phase phase;
+    private final CountDownLatch stopped;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private long lines;
+
+    /**
+     * @param intervalNanos
+     *            time between two calls of this thread, 0 for no rate
+     */
+    LoadWorker(Log log, MessageMix mix, long intervalNanos, LoadHarness.Phase phase,
+            CountDownLatch stopped) {
+        this.log = log;
+        this.mix = mix;
+        this.intervalNanos = intervalNanos;
+        this.phase = phase;
+        this.stopped = stopped;
+    }
+
+    public void run() {
+        try {
+            phase.awaitStart();
+            long next = System.nanoTime();
+            int n = 0;
+            while (!phase.isStopping()) {
+                long intended = 0;
+                if (intervalNanos > 0) {
+                    intended = next;
+                    next += intervalNanos;
+                    waitUntil(intended);
+                }
+                long start = System.nanoTime();
+                mix.log(log, n++);
+                long end = System.nanoTime();
+                if (phase.isMeasuring()) {
+                    lines++;
+                    histogram.record(end - (intervalNanos > 0 ? intended : start));
+                }
+            }
+            stopped.countDown();
+            // stay alive until the allocation of all threads has been read
+            phase.awaitExit();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            if (remaining > PARK_THRESHOLD_NANOS) {
+                LockSupport.parkNanos(remaining - PARK_THRESHOLD_NANOS / 2);
+            } else {
+                // let the other workers run when there are fewer cores
+                Thread.yield();
+            }
+        }
+    }
+
+    LatencyHistogram histogram() {
+        return histogram;
+    }
+
+    /**
+     * @return lines logged while measuring, read after the thread stopped
+     */
+    long lines() {
+        return lines;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.wikimore.mlog.Log;
+import com.wikimore.mlog.LogFactory;
+
+/**
+ * LogFactory.getLog of a name and a class already created, the lookup done
+ * by code which does not keep its Log in a static field. also run with 4
+ * threads, the lookup takes no lock.
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LogFactoryBenchmark {
+    private String name = "com.wikimore.service.RequestHandler";
+
+    @Setup
+    public void setUp() {
+        LogFactory.getLog(name);
+        LogFactory.getLog(LogFactoryBenchmark.class);
+    }
+
+    @Benchmark
+    public Log getLogByName() {
+        return LogFactory.getLog(name);
+    }
+
+    @Benchmark
+    public Log getLogByClass() {
+        return LogFactory.getLog(LogFactoryBenchmark.class);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Log getLogByNameContended() {
+        return LogFactory.getLog(name);
+    }
+}
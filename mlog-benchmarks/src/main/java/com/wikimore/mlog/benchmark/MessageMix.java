@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.benchmark;
+
+import java.io.IOException;
+import java.util.Random;
+
+import com.wikimore.mlog.Log;
+
+/**
+ * the log calls made by the load harness, in configured proportions
+ * <p>
+ * a mix like <tt>plain=50,args=40,throwable=2,disabled=8</tt> is spread over
+ * 100 slots shuffled with a fixed seed, call n uses slot n % 100, so every
+ * run makes the same calls in the same order.
+ * <ul>
+ * <li><tt>plain</tt>, an INFO line without arguments</li>
+ * <li><tt>args</tt>, an INFO line with a number, a string and a long</li>
+ * <li><tt>throwable</tt>, an ERROR line with a stack trace</li>
+ * <li><tt>disabled</tt>, a DEBUG call below the logger's INFO level</li>
+ * </ul>
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+final class MessageMix {
+    static final String DEFAULT = "plain=50,args=40,throwable=2,disabled=8";
+    private static final String[] KINDS = { "plain", "args", "throwable", "disabled" };
+    private static final int PLAIN = 0;
+    private static final int ARGS = 1;
+    private static final int THROWABLE = 2;
+    private static final int DISABLED = 3;
+    private static final int SLOTS = 100;
+    private static final String[] USERS = { "ted", "alice", "bob", "carol", "dave", "erin",
+            "frank", "grace" };
+    private static final Throwable FAILURE = failure(20);
+
+    private final String spec;
+    private final int[] slots = new int[SLOTS];
+
+    /**
+     * @param spec
+     *            comma separated kind=weight, weights are relative
+     * @throws IllegalArgumentException
+     *             if a kind is unknown or no weight is positive
+     */
+    MessageMix(String spec) {
+        this.spec = spec;
+        int[] weights = new int[KINDS.length];
+        int total = 0;
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=");
+            int kind = kind(pair[0].trim());
+            try {
+                weights[kind] = Integer.parseInt(pair.length > 1 ? pair[1].trim() : "");
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("expects kind=weight, was " + part);
+            }
+            total += Math.max(0, weights[kind]);
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("no positive weight in " + spec);
+        }
+        // largest remainder, so the slots add up to 100
+        int filled = 0;
+        double[] remainders = new double[KINDS.length];
+        for (int kind = 0; kind < KINDS.length; kind++) {
+            double share = (double) Math.max(0, weights[kind]) * SLOTS / total;
+            for (int i = 0; i < (int) share; i++) {
+                slots[filled++] = kind;
+            }
+            remainders[kind] = share - (int) share;
+        }
+        while (filled < SLOTS) {
+            int largest = 0;
+            for (int kind = 1; kind < KINDS.length; kind++) {
+                if (remainders[kind] > remainders[largest]) {
+                    largest = kind;
+                }
+            }
+            slots[filled++] = largest;
+            remainders[largest] = -1;
+        }
+        Random random = new Random(42);
+        for (int i = SLOTS - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = slots[i];
+            slots[i] = slots[j];
+            slots[j] = swap;
+        }
+    }
+
+    private static int kind(String name) {
+        for (int i = 0; i < KINDS.length; i++) {
+            if (KINDS[i].equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("unknown message kind " + name + ", expects one of "
+                + "plain, args, throwable, disabled");
+    }
+
+    /**
+     * make call n of the mix
+     */
+    void log(Log log, int n) {
+        switch (slots[(n & Integer.MAX_VALUE) % SLOTS]) {
+        case PLAIN:
+            log.info("request served");
+            break;
+        case ARGS:
+            log.info("request {} of {} served in {} us", n, USERS[n & 7], n * 3L);
+            break;
+        case THROWABLE:
+            log.error("request {} failed", FAILURE, n);
+            break;
+        default:
+            log.debug("cache probed for request {}", n);
+        }
+    }
+
+    private static Throwable failure(int depth) {
+        if (depth > 0) {
+            return failure(depth - 1);
+        }
+        return new IllegalStateException("request failed", new IOException(
+                "connection reset by peer"));
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.benchmark;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * discards every byte, ConsoleLog benchmarks write to it so the terminal is
+ * not measured
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+final class NullOutputStream extends OutputStream {
+
+    @Override
+    public void write(int b) {
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+    }
+
+    /**
+     * replace System.err, which ConsoleLog instances created afterwards write
+     * to
+     * 
+     * @return the previous System.err
+     */
+    static PrintStream redirectErr() {
+        PrintStream err = System.err;
+        System.setErr(new PrintStream(new NullOutputStream()));
+        return err;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.wikimore.mlog.StringWriter;
+
+/**
+ * com.wikimore.mlog.StringWriter writes into a reused writer, against
+ * java.io.StringWriter
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StringWriterBenchmark {
+    private String line = "\tat com.wikimore.service.RequestHandler.handle(RequestHandler.java:42)";
+    private char[] chars = line.toCharArray();
+    private StringWriter writer = new StringWriter(256);
+    private java.io.StringWriter jdkWriter = new java.io.StringWriter(256);
+
+    @Benchmark
+    public StringWriter writeString() {
+        writer.getBuilder().setLength(0);
+        writer.write(line);
+        return writer;
+    }
+
+    @Benchmark
+    public StringWriter writeSubstring() {
+        writer.getBuilder().setLength(0);
+        writer.write(line, 4, 40);
+        return writer;
+    }
+
+    @Benchmark
+    public StringWriter writeChars() {
+        writer.getBuilder().setLength(0);
+        writer.write(chars, 0, chars.length);
+        return writer;
+    }
+
+    @Benchmark
+    public StringWriter appendSubSequence() {
+        writer.getBuilder().setLength(0);
+        writer.append(line, 4, 44);
+        return writer;
+    }
+
+    @Benchmark
+    public java.io.StringWriter jdkWriteSubstring() {
+        jdkWriter.getBuffer().setLength(0);
+        jdkWriter.write(line, 4, 40);
+        return jdkWriter;
+    }
+
+    @Benchmark
+    public String writeAndToString() {
+        StringWriter fresh = new StringWriter();
+        fresh.write(line);
+        return fresh.toString();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.benchmark;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.wikimore.mlog.Log;
+import com.wikimore.mlog.StringWriter;
+import com.wikimore.mlog.impl.ConsoleLog;
+
+/**
+ * rendering a throwable with a cause, through ConsoleLog with and without
+ * stack trace deduplication, against printStackTrace into a StringWriter
+ * <p>
+ * each parameter combination runs in its own fork, the renderer reads its
+ * configuration once.
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ThrowableBenchmark {
+    @Param({ "10", "50" })
+    public int depth;
+    @Param({ "false", "true" })
+    public boolean dedup;
+    private PrintStream err;
+    private Log log;
+    private Throwable throwable;
+
+    @Setup
+    public void setUp() {
+        System.setProperty("com.wikimore.mlog.impl.ConsoleLog.stackTrace.dedup",
+                String.valueOf(dedup));
+        err = NullOutputStream.redirectErr();
+        log = new ConsoleLog("benchmark.throwable");
+        throwable = new IllegalStateException("request failed", nested(depth));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setErr(err);
+    }
+
+    private static Throwable nested(int depth) {
+        if (depth > 0) {
+            return nested(depth - 1);
+        }
+        return new IOException("connection reset");
+    }
+
+    @Benchmark
+    public void consoleLog() {
+        log.error("request {} failed", throwable, 42);
+    }
+
+    @Benchmark
+    public String printStackTrace() {
+        StringWriter writer = new StringWriter(4096);
+        throwable.printStackTrace(new PrintWriter(writer));
+        return writer.toString();
+    }
+}
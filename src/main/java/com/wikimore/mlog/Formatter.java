@@ -16,16 +16,27 @@
  */
 package com.wikimore.mlog;
 
+import java.io.IOException;
+import java.nio.CharBuffer;
+
 /**
  * format pattern message for Log
  * <p>
  * formatter repleace {} mark to specified position of the objects array
+ * <p>
+ * patterns are parsed into {@link MessageTemplate} once and kept in a bounded
+ * cache keyed by pattern identity, so constant patterns are not rescanned on
+ * every format. the cache is two-way set associative, a new pattern takes the
+ * first way of its set and moves the template there to the second, the
+ * template in the second way is dropped.
  * 
  * @author ted created on 2013-5-17
  * @since 1.0
  */
 public class Formatter {
 	public static final String PLACEHOLDER = "{}";
+	private static final int CACHE_SIZE = 1024;
+	private static final MessageTemplate[] cache = new MessageTemplate[CACHE_SIZE];
 
 	/**
 	 * format pattern message with objects
@@ -39,16 +50,189 @@ public class Formatter {
 		if (objects == null || objects.length == 0) {
 			return pattern;
 		}
-		StringBuilder stringBuilder = new StringBuilder();
-		int index = 0;
-		int start = 0;
-		for (Object object : objects) {
-			index = pattern.indexOf(PLACEHOLDER, start);
-			stringBuilder.append(pattern.substring(start, index));
-			stringBuilder.append(object);
-			start = index + 2;
-		}
-		stringBuilder.append(pattern.substring(start, pattern.length()));
-		return stringBuilder.toString();
+		return template(pattern).format(objects);
+	}
+
+	/**
+	 * append pattern message formatted with objects to a builder
+	 * <p>
+	 * no intermediate string is created, objects without a matching {} mark
+	 * are ignored
+	 * 
+	 * @param builder
+	 *            destination of the formatted message
+	 * @param pattern
+	 *            message which have {} mark
+	 * @param objects
+	 * @return the builder
+	 */
+	public static StringBuilder formatTo(StringBuilder builder, String pattern,
+			Object... objects) {
+		if (pattern == null || objects == null || objects.length == 0) {
+			return builder.append(pattern);
+		}
+		return template(pattern).formatTo(builder, objects);
+	}
+
+	/**
+	 * append pattern message formatted with a long to a builder, the value is
+	 * appended without boxing
+	 * 
+	 * @param builder
+	 *            destination of the formatted message
+	 * @param pattern
+	 *            message which have {} mark
+	 * @param value
+	 *            value of the first {} mark
+	 * @return the builder
+	 */
+	public static StringBuilder formatTo(StringBuilder builder, String pattern,
+			long value) {
+		if (pattern == null) {
+			return builder.append(pattern);
+		}
+		return template(pattern).formatTo(builder, value);
+	}
+
+	/**
+	 * append pattern message formatted with a double to a builder, the value
+	 * is appended without boxing
+	 * 
+	 * @param builder
+	 *            destination of the formatted message
+	 * @param pattern
+	 *            message which have {} mark
+	 * @param value
+	 *            value of the first {} mark
+	 * @return the builder
+	 */
+	public static StringBuilder formatTo(StringBuilder builder, String pattern,
+			double value) {
+		if (pattern == null) {
+			return builder.append(pattern);
+		}
+		return template(pattern).formatTo(builder, value);
+	}
+
+	/**
+	 * append pattern message formatted with a float to a builder, the value
+	 * is appended without boxing
+	 * 
+	 * @param builder
+	 *            destination of the formatted message
+	 * @param pattern
+	 *            message which have {} mark
+	 * @param value
+	 *            value of the first {} mark
+	 * @return the builder
+	 */
+	public static StringBuilder formatTo(StringBuilder builder, String pattern,
+			float value) {
+		if (pattern == null) {
+			return builder.append(pattern);
+		}
+		return template(pattern).formatTo(builder, value);
+	}
+
+	/**
+	 * append pattern message formatted with objects to any appendable, for
+	 * example a Writer
+	 * 
+	 * @param appendable
+	 *            destination of the formatted message
+	 * @param pattern
+	 *            message which have {} mark
+	 * @param objects
+	 * @return the appendable
+	 * @throws IOException
+	 *             if the appendable fails
+	 */
+	public static Appendable formatTo(Appendable appendable, String pattern,
+			Object... objects) throws IOException {
+		if (pattern == null || objects == null || objects.length == 0) {
+			return appendable.append(pattern);
+		}
+		return template(pattern).formatTo(appendable, objects);
+	}
+
+	/**
+	 * put pattern message formatted with objects into a char buffer
+	 * 
+	 * @param buffer
+	 *            destination of the formatted message
+	 * @param pattern
+	 *            message which have {} mark
+	 * @param objects
+	 * @return the buffer
+	 * @throws java.nio.BufferOverflowException
+	 *             if the buffer has not enough remaining space
+	 */
+	public static CharBuffer formatTo(CharBuffer buffer, String pattern,
+			Object... objects) {
+		if (pattern == null || objects == null || objects.length == 0) {
+			return buffer.put(String.valueOf(pattern));
+		}
+		return template(pattern).formatTo(buffer, objects);
+	}
+
+	/**
+	 * get the parsed template of a pattern from cache, parse it on miss
+	 * <p>
+	 * lookups take no lock, templates are immutable so a racing write only
+	 * costs one more parse. the cache is two-way, two patterns that hash to
+	 * the same set do not evict each other.
+	 * 
+	 * @param pattern
+	 *            message which have {} mark
+	 * @return parsed template
+	 */
+	public static MessageTemplate template(String pattern) {
+		int index = System.identityHashCode(pattern) & (CACHE_SIZE - 2);
+		MessageTemplate template = cache[index];
+		if (template != null && template.getPattern() == pattern) {
+			return template;
+		}
+		MessageTemplate second = cache[index + 1];
+		if (second != null && second.getPattern() == pattern) {
+			return second;
+		}
+		// the newest template takes the first way, the older one is kept
+		cache[index + 1] = template;
+		template = MessageTemplate.compile(pattern);
+		cache[index] = template;
+		return template;
+	}
+
+	/**
+	 * get the value to render, a supplier is called
+	 */
+	static Object resolve(Object object) {
+		if (object instanceof MessageSupplier) {
+			return ((MessageSupplier) object).get();
+		}
+		return object;
+	}
+
+	/**
+	 * append an object, common boxed values are appended without creating
+	 * their string representation
+	 */
+	static void appendObject(StringBuilder builder, Object object) {
+		object = resolve(object);
+		if (object instanceof String) {
+			builder.append((String) object);
+		} else if (object instanceof Integer) {
+			builder.append(((Integer) object).intValue());
+		} else if (object instanceof Long) {
+			builder.append(((Long) object).longValue());
+		} else if (object instanceof Boolean) {
+			builder.append(((Boolean) object).booleanValue());
+		} else if (object instanceof Character) {
+			builder.append(((Character) object).charValue());
+		} else if (object instanceof CharSequence) {
+			builder.append((CharSequence) object);
+		} else {
+			builder.append(object);
+		}
 	}
 }
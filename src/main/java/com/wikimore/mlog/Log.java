@@ -18,6 +18,15 @@ package com.wikimore.mlog;
 
 /**
  * high log abstraction, define all log method
+ * <p>
+ * besides the varargs methods, every level has one, two and three parameter
+ * methods which need no parameter array, and methods for each primitive
+ * type which need no boxing. a primitive parameter prints like
+ * String.valueOf, so a char prints as a character and a float keeps its
+ * short form. a disabled call of any of them allocates nothing.
+ * <p>
+ * expensive messages and parameters can be passed as {@link MessageSupplier},
+ * they are only evaluated when the level is enabled.
  * 
  * @author ted created on 2013-5-17
  * @since 1.0
@@ -149,6 +158,174 @@ public interface Log {
 	 */
 	public void trace(String message, Throwable t, Object... params);
 
+	/**
+	 * <p>
+	 * Log a message with trace log level and one parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter
+	 */
+	public void trace(String message, Object arg);
+
+	/**
+	 * <p>
+	 * Log a message with trace log level and two parameters.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg1
+	 *            first message parameter
+	 * @param arg2
+	 *            second message parameter
+	 */
+	public void trace(String message, Object arg1, Object arg2);
+
+	/**
+	 * <p>
+	 * Log a message with trace log level and three parameters.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg1
+	 *            first message parameter
+	 * @param arg2
+	 *            second message parameter
+	 * @param arg3
+	 *            third message parameter
+	 */
+	public void trace(String message, Object arg1, Object arg2, Object arg3);
+
+	/**
+	 * <p>
+	 * Log an error with trace log level and one parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param t
+	 *            log this cause
+	 * @param arg
+	 *            message parameter
+	 */
+	public void trace(String message, Throwable t, Object arg);
+
+	/**
+	 * <p>
+	 * Log an error with trace log level and two parameters.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param t
+	 *            log this cause
+	 * @param arg1
+	 *            first message parameter
+	 * @param arg2
+	 *            second message parameter
+	 */
+	public void trace(String message, Throwable t, Object arg1, Object arg2);
+
+	/**
+	 * <p>
+	 * Log a message with trace log level and a long parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void trace(String message, long arg);
+
+	/**
+	 * <p>
+	 * Log a message with trace log level and an int parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void trace(String message, int arg);
+
+	/**
+	 * <p>
+	 * Log a message with trace log level and a double parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void trace(String message, double arg);
+
+	/**
+	 * <p>
+	 * Log a message with trace log level and a boolean parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void trace(String message, boolean arg);
+
+	/**
+	 * <p>
+	 * Log a message with trace log level and a char parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, printed as a character
+	 */
+	public void trace(String message, char arg);
+
+	/**
+	 * <p>
+	 * Log a message with trace log level and a float parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void trace(String message, float arg);
+
+	/**
+	 * <p>
+	 * Log a message with trace log level and a short parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void trace(String message, short arg);
+
+	/**
+	 * <p>
+	 * Log a message with trace log level and a byte parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void trace(String message, byte arg);
+
 	/**
 	 * <p>
 	 * Log an error with trace log level.
@@ -161,6 +338,40 @@ public interface Log {
 	 */
 	public void trace(String message, Throwable t);
 
+	/**
+	 * <p>
+	 * Log a lazily supplied message with trace log level.
+	 * </p>
+	 * 
+	 * @param messageSupplier
+	 *            called for the message only when trace is enabled
+	 */
+	public void trace(MessageSupplier messageSupplier);
+
+	/**
+	 * <p>
+	 * Log an error with trace log level and a lazily supplied message.
+	 * </p>
+	 * 
+	 * @param messageSupplier
+	 *            called for the message only when trace is enabled
+	 * @param t
+	 *            log this cause
+	 */
+	public void trace(MessageSupplier messageSupplier, Throwable t);
+
+	/**
+	 * <p>
+	 * Log a message with trace log level and lazily supplied parameters.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param paramSuppliers
+	 *            called for the parameters only when trace is enabled
+	 */
+	public void trace(String message, MessageSupplier... paramSuppliers);
+
 	/**
 	 * <p>
 	 * Log a message with debug log level.
@@ -211,113 +422,219 @@ public interface Log {
 
 	/**
 	 * <p>
-	 * Log a message with info log level.
+	 * Log a message with debug log level and one parameter.
 	 * </p>
 	 * 
 	 * @param message
 	 *            log this message
+	 * @param arg
+	 *            message parameter
 	 */
-	public void info(String message);
+	public void debug(String message, Object arg);
 
 	/**
 	 * <p>
-	 * Log a message with info log level and parameters.
+	 * Log a message with debug log level and two parameters.
 	 * </p>
 	 * 
 	 * @param message
 	 *            log this message
-	 * @param params
-	 *            message parameters
+	 * @param arg1
+	 *            first message parameter
+	 * @param arg2
+	 *            second message parameter
 	 */
-	public void info(String message, Object... params);
+	public void debug(String message, Object arg1, Object arg2);
 
 	/**
 	 * <p>
-	 * Log an error with info log level.
+	 * Log a message with debug log level and three parameters.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg1
+	 *            first message parameter
+	 * @param arg2
+	 *            second message parameter
+	 * @param arg3
+	 *            third message parameter
+	 */
+	public void debug(String message, Object arg1, Object arg2, Object arg3);
+
+	/**
+	 * <p>
+	 * Log an error with debug log level and one parameter.
 	 * </p>
 	 * 
 	 * @param message
 	 *            log this message
 	 * @param t
 	 *            log this cause
+	 * @param arg
+	 *            message parameter
 	 */
-	public void info(String message, Throwable t);
+	public void debug(String message, Throwable t, Object arg);
 
 	/**
 	 * <p>
-	 * Log an error with info log level and parameters.
+	 * Log an error with debug log level and two parameters.
 	 * </p>
 	 * 
 	 * @param message
 	 *            log this message
 	 * @param t
 	 *            log this cause
-	 * @param params
-	 *            message parameters
+	 * @param arg1
+	 *            first message parameter
+	 * @param arg2
+	 *            second message parameter
 	 */
-	public void info(String message, Throwable t, Object... params);
+	public void debug(String message, Throwable t, Object arg1, Object arg2);
 
 	/**
 	 * <p>
-	 * Log a message with warn log level.
+	 * Log a message with debug log level and a long parameter.
 	 * </p>
 	 * 
 	 * @param message
 	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
 	 */
-	public void warn(String message);
+	public void debug(String message, long arg);
 
 	/**
 	 * <p>
-	 * Log a message with warn log level and parameters.
+	 * Log a message with debug log level and an int parameter.
 	 * </p>
 	 * 
 	 * @param message
 	 *            log this message
-	 * @param params
-	 *            message parameters
+	 * @param arg
+	 *            message parameter, not boxed
 	 */
-	public void warn(String message, Object... params);
+	public void debug(String message, int arg);
 
 	/**
 	 * <p>
-	 * Log an error with warn log level.
+	 * Log a message with debug log level and a double parameter.
 	 * </p>
 	 * 
 	 * @param message
 	 *            log this message
-	 * @param t
-	 *            log this cause
+	 * @param arg
+	 *            message parameter, not boxed
 	 */
-	public void warn(String message, Throwable t);
+	public void debug(String message, double arg);
 
 	/**
 	 * <p>
-	 * Log an error with warn log level and parameters.
+	 * Log a message with debug log level and a boolean parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void debug(String message, boolean arg);
+
+	/**
+	 * <p>
+	 * Log a message with debug log level and a char parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, printed as a character
+	 */
+	public void debug(String message, char arg);
+
+	/**
+	 * <p>
+	 * Log a message with debug log level and a float parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void debug(String message, float arg);
+
+	/**
+	 * <p>
+	 * Log a message with debug log level and a short parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void debug(String message, short arg);
+
+	/**
+	 * <p>
+	 * Log a message with debug log level and a byte parameter.
 	 * </p>
 	 * 
 	 * @param message
 	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void debug(String message, byte arg);
+
+	/**
+	 * <p>
+	 * Log a lazily supplied message with debug log level.
+	 * </p>
+	 * 
+	 * @param messageSupplier
+	 *            called for the message only when debug is enabled
+	 */
+	public void debug(MessageSupplier messageSupplier);
+
+	/**
+	 * <p>
+	 * Log an error with debug log level and a lazily supplied message.
+	 * </p>
+	 * 
+	 * @param messageSupplier
+	 *            called for the message only when debug is enabled
 	 * @param t
 	 *            log this cause
-	 * @param params
-	 *            message parameters
 	 */
-	public void warn(String message, Throwable t, Object... params);
+	public void debug(MessageSupplier messageSupplier, Throwable t);
 
 	/**
 	 * <p>
-	 * Log a message with error log level.
+	 * Log a message with debug log level and lazily supplied parameters.
 	 * </p>
 	 * 
 	 * @param message
 	 *            log this message
+	 * @param paramSuppliers
+	 *            called for the parameters only when debug is enabled
 	 */
-	public void error(String message);
+	public void debug(String message, MessageSupplier... paramSuppliers);
 
 	/**
 	 * <p>
-	 * Log a message with error log level and parameters.
+	 * Log a message with info log level.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 */
+	public void info(String message);
+
+	/**
+	 * <p>
+	 * Log a message with info log level and parameters.
 	 * </p>
 	 * 
 	 * @param message
@@ -325,11 +642,11 @@ public interface Log {
 	 * @param params
 	 *            message parameters
 	 */
-	public void error(String message, Object... params);
+	public void info(String message, Object... params);
 
 	/**
 	 * <p>
-	 * Log an error with error log level.
+	 * Log an error with info log level.
 	 * </p>
 	 * 
 	 * @param message
@@ -337,11 +654,11 @@ public interface Log {
 	 * @param t
 	 *            log this cause
 	 */
-	public void error(String message, Throwable t);
+	public void info(String message, Throwable t);
 
 	/**
 	 * <p>
-	 * Log an error with error log level and parameters.
+	 * Log an error with info log level and parameters.
 	 * </p>
 	 * 
 	 * @param message
@@ -351,53 +668,957 @@ public interface Log {
 	 * @param params
 	 *            message parameters
 	 */
-	public void error(String message, Throwable t, Object... params);
+	public void info(String message, Throwable t, Object... params);
 
 	/**
 	 * <p>
-	 * Log a message with fatal log level.
+	 * Log a message with info log level and one parameter.
 	 * </p>
 	 * 
 	 * @param message
 	 *            log this message
+	 * @param arg
+	 *            message parameter
 	 */
-	public void fatal(String message);
+	public void info(String message, Object arg);
 
 	/**
 	 * <p>
-	 * Log a message with fatal log level and parameters.
+	 * Log a message with info log level and two parameters.
 	 * </p>
 	 * 
 	 * @param message
 	 *            log this message
-	 * @param params
-	 *            message parameters
+	 * @param arg1
+	 *            first message parameter
+	 * @param arg2
+	 *            second message parameter
 	 */
-	public void fatal(String message, Object... params);
+	public void info(String message, Object arg1, Object arg2);
 
 	/**
 	 * <p>
-	 * Log an error with fatal log level.
+	 * Log a message with info log level and three parameters.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg1
+	 *            first message parameter
+	 * @param arg2
+	 *            second message parameter
+	 * @param arg3
+	 *            third message parameter
+	 */
+	public void info(String message, Object arg1, Object arg2, Object arg3);
+
+	/**
+	 * <p>
+	 * Log an error with info log level and one parameter.
 	 * </p>
 	 * 
 	 * @param message
 	 *            log this message
 	 * @param t
 	 *            log this cause
+	 * @param arg
+	 *            message parameter
 	 */
-	public void fatal(String message, Throwable t);
+	public void info(String message, Throwable t, Object arg);
 
 	/**
 	 * <p>
-	 * Log an error with fatal log level and parameters.
+	 * Log an error with info log level and two parameters.
 	 * </p>
 	 * 
 	 * @param message
 	 *            log this message
 	 * @param t
 	 *            log this cause
-	 * @param params
-	 *            message parameters
+	 * @param arg1
+	 *            first message parameter
+	 * @param arg2
+	 *            second message parameter
 	 */
-	public void fatal(String message, Throwable t, Object... params);
+	public void info(String message, Throwable t, Object arg1, Object arg2);
+
+	/**
+	 * <p>
+	 * Log a message with info log level and a long parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void info(String message, long arg);
+
+	/**
+	 * <p>
+	 * Log a message with info log level and an int parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void info(String message, int arg);
+
+	/**
+	 * <p>
+	 * Log a message with info log level and a double parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void info(String message, double arg);
+
+	/**
+	 * <p>
+	 * Log a message with info log level and a boolean parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void info(String message, boolean arg);
+
+	/**
+	 * <p>
+	 * Log a message with info log level and a char parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, printed as a character
+	 */
+	public void info(String message, char arg);
+
+	/**
+	 * <p>
+	 * Log a message with info log level and a float parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void info(String message, float arg);
+
+	/**
+	 * <p>
+	 * Log a message with info log level and a short parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void info(String message, short arg);
+
+	/**
+	 * <p>
+	 * Log a message with info log level and a byte parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void info(String message, byte arg);
+
+	/**
+	 * <p>
+	 * Log a lazily supplied message with info log level.
+	 * </p>
+	 * 
+	 * @param messageSupplier
+	 *            called for the message only when info is enabled
+	 */
+	public void info(MessageSupplier messageSupplier);
+
+	/**
+	 * <p>
+	 * Log an error with info log level and a lazily supplied message.
+	 * </p>
+	 * 
+	 * @param messageSupplier
+	 *            called for the message only when info is enabled
+	 * @param t
+	 *            log this cause
+	 */
+	public void info(MessageSupplier messageSupplier, Throwable t);
+
+	/**
+	 * <p>
+	 * Log a message with info log level and lazily supplied parameters.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param paramSuppliers
+	 *            called for the parameters only when info is enabled
+	 */
+	public void info(String message, MessageSupplier... paramSuppliers);
+
+	/**
+	 * <p>
+	 * Log a message with warn log level.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 */
+	public void warn(String message);
+
+	/**
+	 * <p>
+	 * Log a message with warn log level and parameters.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param params
+	 *            message parameters
+	 */
+	public void warn(String message, Object... params);
+
+	/**
+	 * <p>
+	 * Log an error with warn log level.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param t
+	 *            log this cause
+	 */
+	public void warn(String message, Throwable t);
+
+	/**
+	 * <p>
+	 * Log an error with warn log level and parameters.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param t
+	 *            log this cause
+	 * @param params
+	 *            message parameters
+	 */
+	public void warn(String message, Throwable t, Object... params);
+
+	/**
+	 * <p>
+	 * Log a message with warn log level and one parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter
+	 */
+	public void warn(String message, Object arg);
+
+	/**
+	 * <p>
+	 * Log a message with warn log level and two parameters.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg1
+	 *            first message parameter
+	 * @param arg2
+	 *            second message parameter
+	 */
+	public void warn(String message, Object arg1, Object arg2);
+
+	/**
+	 * <p>
+	 * Log a message with warn log level and three parameters.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg1
+	 *            first message parameter
+	 * @param arg2
+	 *            second message parameter
+	 * @param arg3
+	 *            third message parameter
+	 */
+	public void warn(String message, Object arg1, Object arg2, Object arg3);
+
+	/**
+	 * <p>
+	 * Log an error with warn log level and one parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param t
+	 *            log this cause
+	 * @param arg
+	 *            message parameter
+	 */
+	public void warn(String message, Throwable t, Object arg);
+
+	/**
+	 * <p>
+	 * Log an error with warn log level and two parameters.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param t
+	 *            log this cause
+	 * @param arg1
+	 *            first message parameter
+	 * @param arg2
+	 *            second message parameter
+	 */
+	public void warn(String message, Throwable t, Object arg1, Object arg2);
+
+	/**
+	 * <p>
+	 * Log a message with warn log level and a long parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void warn(String message, long arg);
+
+	/**
+	 * <p>
+	 * Log a message with warn log level and an int parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void warn(String message, int arg);
+
+	/**
+	 * <p>
+	 * Log a message with warn log level and a double parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void warn(String message, double arg);
+
+	/**
+	 * <p>
+	 * Log a message with warn log level and a boolean parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void warn(String message, boolean arg);
+
+	/**
+	 * <p>
+	 * Log a message with warn log level and a char parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, printed as a character
+	 */
+	public void warn(String message, char arg);
+
+	/**
+	 * <p>
+	 * Log a message with warn log level and a float parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void warn(String message, float arg);
+
+	/**
+	 * <p>
+	 * Log a message with warn log level and a short parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void warn(String message, short arg);
+
+	/**
+	 * <p>
+	 * Log a message with warn log level and a byte parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void warn(String message, byte arg);
+
+	/**
+	 * <p>
+	 * Log a lazily supplied message with warn log level.
+	 * </p>
+	 * 
+	 * @param messageSupplier
+	 *            called for the message only when warn is enabled
+	 */
+	public void warn(MessageSupplier messageSupplier);
+
+	/**
+	 * <p>
+	 * Log an error with warn log level and a lazily supplied message.
+	 * </p>
+	 * 
+	 * @param messageSupplier
+	 *            called for the message only when warn is enabled
+	 * @param t
+	 *            log this cause
+	 */
+	public void warn(MessageSupplier messageSupplier, Throwable t);
+
+	/**
+	 * <p>
+	 * Log a message with warn log level and lazily supplied parameters.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param paramSuppliers
+	 *            called for the parameters only when warn is enabled
+	 */
+	public void warn(String message, MessageSupplier... paramSuppliers);
+
+	/**
+	 * <p>
+	 * Log a message with error log level.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 */
+	public void error(String message);
+
+	/**
+	 * <p>
+	 * Log a message with error log level and parameters.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param params
+	 *            message parameters
+	 */
+	public void error(String message, Object... params);
+
+	/**
+	 * <p>
+	 * Log an error with error log level.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param t
+	 *            log this cause
+	 */
+	public void error(String message, Throwable t);
+
+	/**
+	 * <p>
+	 * Log an error with error log level and parameters.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param t
+	 *            log this cause
+	 * @param params
+	 *            message parameters
+	 */
+	public void error(String message, Throwable t, Object... params);
+
+	/**
+	 * <p>
+	 * Log a message with error log level and one parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter
+	 */
+	public void error(String message, Object arg);
+
+	/**
+	 * <p>
+	 * Log a message with error log level and two parameters.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg1
+	 *            first message parameter
+	 * @param arg2
+	 *            second message parameter
+	 */
+	public void error(String message, Object arg1, Object arg2);
+
+	/**
+	 * <p>
+	 * Log a message with error log level and three parameters.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg1
+	 *            first message parameter
+	 * @param arg2
+	 *            second message parameter
+	 * @param arg3
+	 *            third message parameter
+	 */
+	public void error(String message, Object arg1, Object arg2, Object arg3);
+
+	/**
+	 * <p>
+	 * Log an error with error log level and one parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param t
+	 *            log this cause
+	 * @param arg
+	 *            message parameter
+	 */
+	public void error(String message, Throwable t, Object arg);
+
+	/**
+	 * <p>
+	 * Log an error with error log level and two parameters.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param t
+	 *            log this cause
+	 * @param arg1
+	 *            first message parameter
+	 * @param arg2
+	 *            second message parameter
+	 */
+	public void error(String message, Throwable t, Object arg1, Object arg2);
+
+	/**
+	 * <p>
+	 * Log a message with error log level and a long parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void error(String message, long arg);
+
+	/**
+	 * <p>
+	 * Log a message with error log level and an int parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void error(String message, int arg);
+
+	/**
+	 * <p>
+	 * Log a message with error log level and a double parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void error(String message, double arg);
+
+	/**
+	 * <p>
+	 * Log a message with error log level and a boolean parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void error(String message, boolean arg);
+
+	/**
+	 * <p>
+	 * Log a message with error log level and a char parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, printed as a character
+	 */
+	public void error(String message, char arg);
+
+	/**
+	 * <p>
+	 * Log a message with error log level and a float parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void error(String message, float arg);
+
+	/**
+	 * <p>
+	 * Log a message with error log level and a short parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void error(String message, short arg);
+
+	/**
+	 * <p>
+	 * Log a message with error log level and a byte parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void error(String message, byte arg);
+
+	/**
+	 * <p>
+	 * Log a lazily supplied message with error log level.
+	 * </p>
+	 * 
+	 * @param messageSupplier
+	 *            called for the message only when error is enabled
+	 */
+	public void error(MessageSupplier messageSupplier);
+
+	/**
+	 * <p>
+	 * Log an error with error log level and a lazily supplied message.
+	 * </p>
+	 * 
+	 * @param messageSupplier
+	 *            called for the message only when error is enabled
+	 * @param t
+	 *            log this cause
+	 */
+	public void error(MessageSupplier messageSupplier, Throwable t);
+
+	/**
+	 * <p>
+	 * Log a message with error log level and lazily supplied parameters.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param paramSuppliers
+	 *            called for the parameters only when error is enabled
+	 */
+	public void error(String message, MessageSupplier... paramSuppliers);
+
+	/**
+	 * <p>
+	 * Log a message with fatal log level.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 */
+	public void fatal(String message);
+
+	/**
+	 * <p>
+	 * Log a message with fatal log level and parameters.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param params
+	 *            message parameters
+	 */
+	public void fatal(String message, Object... params);
+
+	/**
+	 * <p>
+	 * Log an error with fatal log level.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param t
+	 *            log this cause
+	 */
+	public void fatal(String message, Throwable t);
+
+	/**
+	 * <p>
+	 * Log an error with fatal log level and parameters.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param t
+	 *            log this cause
+	 * @param params
+	 *            message parameters
+	 */
+	public void fatal(String message, Throwable t, Object... params);
+
+	/**
+	 * <p>
+	 * Log a message with fatal log level and one parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter
+	 */
+	public void fatal(String message, Object arg);
+
+	/**
+	 * <p>
+	 * Log a message with fatal log level and two parameters.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg1
+	 *            first message parameter
+	 * @param arg2
+	 *            second message parameter
+	 */
+	public void fatal(String message, Object arg1, Object arg2);
+
+	/**
+	 * <p>
+	 * Log a message with fatal log level and three parameters.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg1
+	 *            first message parameter
+	 * @param arg2
+	 *            second message parameter
+	 * @param arg3
+	 *            third message parameter
+	 */
+	public void fatal(String message, Object arg1, Object arg2, Object arg3);
+
+	/**
+	 * <p>
+	 * Log an error with fatal log level and one parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param t
+	 *            log this cause
+	 * @param arg
+	 *            message parameter
+	 */
+	public void fatal(String message, Throwable t, Object arg);
+
+	/**
+	 * <p>
+	 * Log an error with fatal log level and two parameters.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param t
+	 *            log this cause
+	 * @param arg1
+	 *            first message parameter
+	 * @param arg2
+	 *            second message parameter
+	 */
+	public void fatal(String message, Throwable t, Object arg1, Object arg2);
+
+	/**
+	 * <p>
+	 * Log a message with fatal log level and a long parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void fatal(String message, long arg);
+
+	/**
+	 * <p>
+	 * Log a message with fatal log level and an int parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void fatal(String message, int arg);
+
+	/**
+	 * <p>
+	 * Log a message with fatal log level and a double parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void fatal(String message, double arg);
+
+	/**
+	 * <p>
+	 * Log a message with fatal log level and a boolean parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void fatal(String message, boolean arg);
+
+	/**
+	 * <p>
+	 * Log a message with fatal log level and a char parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, printed as a character
+	 */
+	public void fatal(String message, char arg);
+
+	/**
+	 * <p>
+	 * Log a message with fatal log level and a float parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void fatal(String message, float arg);
+
+	/**
+	 * <p>
+	 * Log a message with fatal log level and a short parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void fatal(String message, short arg);
+
+	/**
+	 * <p>
+	 * Log a message with fatal log level and a byte parameter.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param arg
+	 *            message parameter, not boxed
+	 */
+	public void fatal(String message, byte arg);
+
+	/**
+	 * <p>
+	 * Log a lazily supplied message with fatal log level.
+	 * </p>
+	 * 
+	 * @param messageSupplier
+	 *            called for the message only when fatal is enabled
+	 */
+	public void fatal(MessageSupplier messageSupplier);
+
+	/**
+	 * <p>
+	 * Log an error with fatal log level and a lazily supplied message.
+	 * </p>
+	 * 
+	 * @param messageSupplier
+	 *            called for the message only when fatal is enabled
+	 * @param t
+	 *            log this cause
+	 */
+	public void fatal(MessageSupplier messageSupplier, Throwable t);
+
+	/**
+	 * <p>
+	 * Log a message with fatal log level and lazily supplied parameters.
+	 * </p>
+	 * 
+	 * @param message
+	 *            log this message
+	 * @param paramSuppliers
+	 *            called for the parameters only when fatal is enabled
+	 */
+	public void fatal(String message, MessageSupplier... paramSuppliers);
 }
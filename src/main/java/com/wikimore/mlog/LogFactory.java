@@ -18,14 +18,27 @@ package com.wikimore.mlog;
 
 import java.io.InputStream;
 import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
-import java.util.Hashtable;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
 
 /**
  * abstraction Log factory
  * <p>
  * use this class to get the wapper Logger
+ * <p>
+ * one LogFactory is cached per context class loader. the cache holds class
+ * loaders weakly and is read without a lock, call {@link #release(ClassLoader)}
+ * when an application is undeployed and the factory class was loaded by the
+ * application's own class loader.
  * 
  * @author ted created on 2013-5-17
  * @since 1.0
@@ -35,13 +48,17 @@ public abstract class LogFactory {
     protected static final String FACTORY_CLASS_KEY = "com.wikimore.mlog.LogFactory";
     protected static final String LOG_CLASS = "com.wikimore.mlog.Log";
     protected static final String MLOG_PROPERTIES_FILE = "mlog.properties";
+    protected static final String METRICS_DOMAIN = "com.wikimore.mlog";
     protected static PrintStream diagnosticsStream = System.err;
-    private static Hashtable<ClassLoader, LogFactory> cachedFactorys = new Hashtable<ClassLoader, LogFactory>(
-            4);
+    private static final CachedFactory[] EMPTY = new CachedFactory[0];
+    /** copy-on-write, replaced under the LogFactory class lock */
+    private static volatile CachedFactory[] cachedFactorys = EMPTY;
     static {
         // load mlog.properties
         loadAttributes();
     }
+    /** names of the metrics MBeans registered by this factory */
+    private final Queue<ObjectName> registeredMetrics = new ConcurrentLinkedQueue<ObjectName>();
 
     /**
      * internal method that get a Log instance with class name
@@ -106,13 +123,43 @@ public abstract class LogFactory {
         }
         logFactory = newFactory(factoryClass, classLoader);
 
-        // 3. cache LogFactory
+        // 3. cache LogFactory, keep the one of a racing thread if it won
         if (logFactory != null) {
-            cacheFactory(classLoader, logFactory);
+            logFactory = cacheFactory(classLoader, logFactory);
         }
         return logFactory;
     }
 
+    /**
+     * remove the LogFactory cached for a class loader, the next getLog from
+     * this class loader creates a new one. the metrics MBeans registered by
+     * the removed factory are unregistered, the platform MBean server would
+     * otherwise keep the class loader reachable.
+     * 
+     * @param classLoader
+     *            class loader of an undeployed application
+     */
+    public static void release(ClassLoader classLoader) {
+        LogFactory released = null;
+        synchronized (LogFactory.class) {
+            CachedFactory[] entries = cachedFactorys;
+            int count = 0;
+            CachedFactory[] kept = new CachedFactory[entries.length];
+            for (CachedFactory entry : entries) {
+                ClassLoader key = entry.get();
+                if (key != null && key != classLoader) {
+                    kept[count++] = entry;
+                } else if (key != null) {
+                    released = entry.logFactory;
+                }
+            }
+            cachedFactorys = copyOf(kept, count);
+        }
+        if (released != null) {
+            released.unregisterMetrics();
+        }
+    }
+
     private static LogFactory newFactory(final String factoryClass, final ClassLoader classLoader)
             throws LogInitException {
         Object result = AccessController.doPrivileged(new PrivilegedAction<Object>() {
@@ -131,17 +178,43 @@ public abstract class LogFactory {
     }
 
     /**
-     * cache ClassLoader & LogFactory Pair
+     * cache ClassLoader & LogFactory Pair, entries of collected class loaders
+     * are dropped
      * 
      * @param classLoader
      * @param logFactory
+     * @return the cached LogFactory of the classLoader
      */
-    private static void cacheFactory(ClassLoader classLoader, LogFactory logFactory) {
-        if (logFactory != null) {
-            if (classLoader != null) {
-                cachedFactorys.put(classLoader, logFactory);
+    private static LogFactory cacheFactory(ClassLoader classLoader, LogFactory logFactory) {
+        if (classLoader == null) {
+            return logFactory;
+        }
+        synchronized (LogFactory.class) {
+            LogFactory cached = getCachedFactory(classLoader);
+            if (cached != null) {
+                return cached;
             }
+            CachedFactory[] entries = cachedFactorys;
+            int count = 0;
+            CachedFactory[] kept = new CachedFactory[entries.length + 1];
+            for (CachedFactory entry : entries) {
+                if (entry.get() != null) {
+                    kept[count++] = entry;
+                }
+            }
+            kept[count++] = new CachedFactory(classLoader, logFactory);
+            cachedFactorys = copyOf(kept, count);
+        }
+        return logFactory;
+    }
+
+    private static CachedFactory[] copyOf(CachedFactory[] entries, int count) {
+        if (count == 0) {
+            return EMPTY;
         }
+        CachedFactory[] copy = new CachedFactory[count];
+        System.arraycopy(entries, 0, copy, 0, count);
+        return copy;
     }
 
     private static Object createFactory(String factoryClass, ClassLoader classLoader) {
@@ -182,17 +255,25 @@ public abstract class LogFactory {
     private static LogFactory getCachedFactory(ClassLoader classLoader) {
         if (classLoader == null)
             return null;
-        LogFactory logFactory = cachedFactorys.get(classLoader);
-        return logFactory;
+        for (CachedFactory entry : cachedFactorys) {
+            if (entry.get() == classLoader) {
+                return entry.logFactory;
+            }
+        }
+        return null;
     }
 
     /**
-     * get the current thread class loader with a Privilege
+     * get the current thread class loader, with a Privilege when a security
+     * manager is installed
      * 
      * @return current classloader
      * @throws LogInitException
      */
     protected static ClassLoader getClassLoaderInternal() throws LogInitException {
+        if (System.getSecurityManager() == null) {
+            return Thread.currentThread().getContextClassLoader();
+        }
         return AccessController.doPrivileged(new PrivilegedAction<ClassLoader>() {
             public ClassLoader run() {
                 ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
@@ -202,6 +283,53 @@ public abstract class LogFactory {
         });
     }
 
+    /**
+     * register log metrics with the platform MBean server, as
+     * <tt>com.wikimore.mlog:type=LogMetrics,adapter=...[,name=...]</tt>. a
+     * name registered before, by this or another class loader, is kept. the
+     * names registered are unregistered when the factory is released.
+     * failures are reported and otherwise ignored, logging works without JMX.
+     * 
+     * @param metrics
+     *            counters of an adapter or logger
+     */
+    protected void registerMetrics(LogMetricsMBean metrics) {
+        try {
+            String name = METRICS_DOMAIN + ":type=LogMetrics,adapter=" + metrics.getAdapter();
+            if (metrics.getLogger() != null) {
+                name += ",name=" + ObjectName.quote(metrics.getLogger());
+            }
+            ObjectName objectName = new ObjectName(name);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(new StandardMBean(metrics, LogMetricsMBean.class), objectName);
+                registeredMetrics.add(objectName);
+            }
+        } catch (InstanceAlreadyExistsException e) {
+            // registered by a racing thread
+        } catch (Exception e) {
+            diagnosticsStream.println("[WARN] LogFactory: could not register log metrics: " + e);
+        } catch (LinkageError e) {
+            diagnosticsStream.println("[WARN] LogFactory: JMX is not available, log metrics are not registered.");
+        }
+    }
+
+    /**
+     * unregister the log metrics registered by this factory, called by
+     * {@link #release(ClassLoader)}
+     */
+    protected void unregisterMetrics() {
+        ObjectName objectName;
+        while ((objectName = registeredMetrics.poll()) != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            } catch (Exception e) {
+                diagnosticsStream.println("[WARN] LogFactory: could not unregister log metrics: "
+                        + e);
+            }
+        }
+    }
+
     /**
      * read mlog.properties file in classpath, load key-value pair
      */
@@ -220,4 +348,16 @@ public abstract class LogFactory {
                     .println("[ERROR] LogFactory: could not load mlog.properties, class loader is null, use default configuration.");
         }
     }
+
+    /**
+     * cache entry, the class loader is only weakly reachable from the cache
+     */
+    private static final class CachedFactory extends WeakReference<ClassLoader> {
+        final LogFactory logFactory;
+
+        CachedFactory(ClassLoader classLoader, LogFactory logFactory) {
+            super(classLoader);
+            this.logFactory = logFactory;
+        }
+    }
 }
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog;
+
+/**
+ * counters of the lines written through one Log adapter, or one logger of it,
+ * published as a platform MBean named
+ * <tt>com.wikimore.mlog:type=LogMetrics,adapter=ConsoleLog</tt>, a logger
+ * adds <tt>name="com.foo.Bar"</tt>
+ * <p>
+ * counts start when the adapter is first used and only grow. bytes and write
+ * time are only known to adapters which do the writing themselves.
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+public interface LogMetricsMBean {
+	/**
+	 * @return simple class name of the Log adapter
+	 */
+	public String getAdapter();
+
+	/**
+	 * @return logger name, null for the totals of the adapter
+	 */
+	public String getLogger();
+
+	public long getTraceLines();
+
+	public long getDebugLines();
+
+	public long getInfoLines();
+
+	public long getWarnLines();
+
+	public long getErrorLines();
+
+	public long getFatalLines();
+
+	/**
+	 * @return lines of all levels
+	 */
+	public long getLines();
+
+	/**
+	 * @return lines which carried a Throwable
+	 */
+	public long getThrowables();
+
+	/**
+	 * @return lines dropped by rate limit or sampling
+	 */
+	public long getDroppedLines();
+
+	/**
+	 * @return encoded bytes handed to the sink
+	 */
+	public long getBytesWritten();
+
+	/**
+	 * @return nanoseconds spent in sink writes
+	 */
+	public long getWriteNanos();
+}
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog;
+
+/**
+ * lazily supply a log message or a message parameter
+ * <p>
+ * a supplier is only called after the level check has passed, so expensive
+ * values need no isXxxEnabled() guard. in async mode the supplier is kept with
+ * the event and called on the background thread. with Java 8 or later a lambda
+ * can be used:
+ * 
+ * <pre>
+ * log.debug(&quot;state {}&quot;, () -&gt; dumpState());
+ * </pre>
+ * 
+ * on Java 6 and 7 use an anonymous class instead. a supplier passed as a
+ * parameter to any format method is also called instead of being rendered
+ * with toString().
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+public interface MessageSupplier {
+	/**
+	 * @return the message or parameter value
+	 */
+	public Object get();
+}
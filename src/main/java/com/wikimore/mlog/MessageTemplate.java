@@ -0,0 +1,235 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+
+/**
+ * pattern message parsed once into literal segments and placeholder slots
+ * <p>
+ * formatting a template copies literal segments straight from the pattern
+ * chars, the pattern is never rescanned and no substring is created.
+ * templates are immutable and can be shared by any thread.
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+public final class MessageTemplate {
+	private final String pattern;
+	private final char[] chars;
+	/** start index of each {} mark in chars */
+	private final int[] placeholders;
+
+	private MessageTemplate(String pattern, char[] chars, int[] placeholders) {
+		this.pattern = pattern;
+		this.chars = chars;
+		this.placeholders = placeholders;
+	}
+
+	/**
+	 * parse pattern message
+	 * 
+	 * @param pattern
+	 *            message which have {} mark
+	 * @return parsed template
+	 */
+	public static MessageTemplate compile(String pattern) {
+		int count = 0;
+		int index = pattern.indexOf(Formatter.PLACEHOLDER);
+		while (index >= 0) {
+			count++;
+			index = pattern.indexOf(Formatter.PLACEHOLDER, index + 2);
+		}
+		int[] placeholders = new int[count];
+		index = pattern.indexOf(Formatter.PLACEHOLDER);
+		for (int i = 0; i < count; i++) {
+			placeholders[i] = index;
+			index = pattern.indexOf(Formatter.PLACEHOLDER, index + 2);
+		}
+		return new MessageTemplate(pattern, pattern.toCharArray(), placeholders);
+	}
+
+	/**
+	 * @return the parsed pattern message
+	 */
+	public String getPattern() {
+		return pattern;
+	}
+
+	/**
+	 * @return number of {} marks in the pattern
+	 */
+	public int getPlaceholderCount() {
+		return placeholders.length;
+	}
+
+	/**
+	 * format template with objects
+	 * 
+	 * @param objects
+	 * @return formatted message
+	 */
+	public String format(Object... objects) {
+		if (objects == null || objects.length == 0) {
+			return pattern;
+		}
+		StringBuilder builder = new StringBuilder(chars.length + 16
+				* objects.length);
+		return formatTo(builder, objects).toString();
+	}
+
+	/**
+	 * append template formatted with objects to a builder
+	 * <p>
+	 * objects without a matching {} mark are ignored, {} marks without a
+	 * matching object are kept
+	 * 
+	 * @param builder
+	 *            destination of the formatted message
+	 * @param objects
+	 * @return the builder
+	 */
+	public StringBuilder formatTo(StringBuilder builder, Object... objects) {
+		int count = objects == null ? 0 : Math.min(objects.length,
+				placeholders.length);
+		int start = 0;
+		for (int i = 0; i < count; i++) {
+			int index = placeholders[i];
+			builder.append(chars, start, index - start);
+			Formatter.appendObject(builder, objects[i]);
+			start = index + 2;
+		}
+		builder.append(chars, start, chars.length - start);
+		return builder;
+	}
+
+	/**
+	 * append template formatted with a long to a builder, the value is
+	 * appended without boxing
+	 * 
+	 * @param builder
+	 *            destination of the formatted message
+	 * @param value
+	 *            value of the first {} mark
+	 * @return the builder
+	 */
+	public StringBuilder formatTo(StringBuilder builder, long value) {
+		if (placeholders.length == 0) {
+			return builder.append(chars);
+		}
+		int index = placeholders[0];
+		builder.append(chars, 0, index).append(value);
+		return builder.append(chars, index + 2, chars.length - index - 2);
+	}
+
+	/**
+	 * append template formatted with a double to a builder, the value is
+	 * appended without boxing
+	 * 
+	 * @param builder
+	 *            destination of the formatted message
+	 * @param value
+	 *            value of the first {} mark
+	 * @return the builder
+	 */
+	public StringBuilder formatTo(StringBuilder builder, double value) {
+		if (placeholders.length == 0) {
+			return builder.append(chars);
+		}
+		int index = placeholders[0];
+		builder.append(chars, 0, index).append(value);
+		return builder.append(chars, index + 2, chars.length - index - 2);
+	}
+
+	/**
+	 * append template formatted with a float to a builder, the value is
+	 * appended without boxing
+	 * 
+	 * @param builder
+	 *            destination of the formatted message
+	 * @param value
+	 *            value of the first {} mark
+	 * @return the builder
+	 */
+	public StringBuilder formatTo(StringBuilder builder, float value) {
+		if (placeholders.length == 0) {
+			return builder.append(chars);
+		}
+		int index = placeholders[0];
+		builder.append(chars, 0, index).append(value);
+		return builder.append(chars, index + 2, chars.length - index - 2);
+	}
+
+	/**
+	 * append template formatted with objects to any appendable, for example a
+	 * Writer
+	 * 
+	 * @param appendable
+	 *            destination of the formatted message
+	 * @param objects
+	 * @return the appendable
+	 * @throws IOException
+	 *             if the appendable fails
+	 */
+	public Appendable formatTo(Appendable appendable, Object... objects)
+			throws IOException {
+		if (appendable instanceof StringBuilder) {
+			return formatTo((StringBuilder) appendable, objects);
+		}
+		int count = objects == null ? 0 : Math.min(objects.length,
+				placeholders.length);
+		int start = 0;
+		for (int i = 0; i < count; i++) {
+			int index = placeholders[i];
+			appendable.append(pattern, start, index);
+			appendable.append(String.valueOf(Formatter.resolve(objects[i])));
+			start = index + 2;
+		}
+		appendable.append(pattern, start, chars.length);
+		return appendable;
+	}
+
+	/**
+	 * put template formatted with objects into a char buffer
+	 * 
+	 * @param buffer
+	 *            destination of the formatted message
+	 * @param objects
+	 * @return the buffer
+	 * @throws java.nio.BufferOverflowException
+	 *             if the buffer has not enough remaining space
+	 */
+	public CharBuffer formatTo(CharBuffer buffer, Object... objects) {
+		int count = objects == null ? 0 : Math.min(objects.length,
+				placeholders.length);
+		int start = 0;
+		for (int i = 0; i < count; i++) {
+			int index = placeholders[i];
+			buffer.put(chars, start, index - start);
+			buffer.put(String.valueOf(Formatter.resolve(objects[i])));
+			start = index + 2;
+		}
+		buffer.put(chars, start, chars.length - start);
+		return buffer;
+	}
+
+	@Override
+	public String toString() {
+		return pattern;
+	}
+}
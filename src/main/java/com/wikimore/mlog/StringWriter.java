@@ -111,7 +111,7 @@ public class StringWriter extends Writer {
 	 *            Number of characters to write
 	 */
 	public void write(String str, int off, int len) {
-		stringBuilder.append(str.substring(off, off + len));
+		stringBuilder.append(str, off, off + len);
 	}
 
 	/**
@@ -142,10 +142,7 @@ public class StringWriter extends Writer {
 	 * @since 1.5
 	 */
 	public StringWriter append(CharSequence csq) {
-		if (csq == null)
-			write("null");
-		else
-			write(csq.toString());
+		stringBuilder.append(csq);
 		return this;
 	}
 
@@ -185,7 +182,7 @@ public class StringWriter extends Writer {
 	 */
 	public StringWriter append(CharSequence csq, int start, int end) {
 		CharSequence cs = (csq == null ? "null" : csq);
-		write(cs.subSequence(start, end).toString());
+		stringBuilder.append(cs, start, end);
 		return this;
 	}
 
@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * background consumer of asynchronous {@link ConsoleLog} events
+ * <p>
+ * callers publish events into a shared {@link RingBuffer}, a single daemon
+ * thread formats and writes them in publishing order. remaining events are
+ * drained by a shutdown hook when the JVM exits.
+ * <p>
+ * a log call made on the dispatcher thread itself, from a parameter's
+ * toString() or from a sink, is written synchronously: waiting for a slot
+ * there would wait for itself when the buffer is full.
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+final class AsyncLogDispatcher implements Runnable {
+    static final String BUFFER_SIZE_KEY = "com.wikimore.mlog.impl.ConsoleLog.async.bufferSize";
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final int IDLE_SPINS = 256;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SHUTDOWN_WAIT_MILLIS = 5000L;
+
+    private static volatile AsyncLogDispatcher started;
+
+    private final RingBuffer ringBuffer;
+    private final Thread consumer;
+    private volatile boolean running = true;
+    private volatile boolean sleeping = false;
+
+    private static class Holder {
+        static final AsyncLogDispatcher INSTANCE = new AsyncLogDispatcher(Integer.getInteger(
+                BUFFER_SIZE_KEY, DEFAULT_BUFFER_SIZE));
+    }
+
+    static AsyncLogDispatcher getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    AsyncLogDispatcher(int bufferSize) {
+        this.ringBuffer = new RingBuffer(bufferSize);
+        this.consumer = new Thread(this, "mlog-async-dispatcher");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+        started = this;
+        Runtime.getRuntime().addShutdownHook(new Thread("mlog-async-shutdown") {
+            public void run() {
+                shutdown();
+            }
+        });
+    }
+
+    /**
+     * claim an event slot for a log call, the caller only waits when the
+     * buffer is full
+     * 
+     * @return a ring buffer slot, or a per-thread event to be written
+     *         synchronously once the dispatcher is shut down
+     */
+    LogEvent claim() {
+        if (!running || Thread.currentThread() == consumer) {
+            // consumer is gone or is the caller, nothing would drain the buffer
+            return LogEvent.acquire();
+        }
+        long sequence = ringBuffer.claim();
+        if (sequence < 0) {
+            // closed while claiming
+            return LogEvent.acquire();
+        }
+        LogEvent event = ringBuffer.get(sequence);
+        event.sequence = sequence;
+        return event;
+    }
+
+    /**
+     * make a filled slot visible to the consumer
+     */
+    void publish(LogEvent event) {
+        ringBuffer.publish(event.sequence);
+        if (sleeping) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    public void run() {
+        int idle = 0;
+        for (;;) {
+            LogEvent event = ringBuffer.peek();
+            if (event == null) {
+                // a slot claimed before the close is still being filled
+                if (!running && ringBuffer.isDrained()) {
+                    return;
+                }
+                idle = idle(idle);
+                continue;
+            }
+            idle = 0;
+            try {
+                event.log.write(event);
+            } catch (Throwable e) {
+                System.err.println("[ERROR] AsyncLogDispatcher: write log event failed:" + e);
+            } finally {
+                event.clear();
+                ringBuffer.release();
+            }
+        }
+    }
+
+    private int idle(int idle) {
+        if (idle < IDLE_SPINS) {
+            return idle + 1;
+        }
+        sleeping = true;
+        // re-check after announcing so a concurrent publish is not missed
+        if (ringBuffer.peek() == null && running) {
+            LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        }
+        sleeping = false;
+        return 0;
+    }
+
+    /**
+     * drain the dispatcher if one was created, a sink calls it before closing
+     * so no event is written to a closed sink
+     */
+    static void shutdownIfStarted() {
+        AsyncLogDispatcher dispatcher = started;
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    /**
+     * stop accepting events and wait for the consumer to drain the buffer,
+     * up to the last claimed slot
+     */
+    void shutdown() {
+        ringBuffer.close();
+        running = false;
+        LockSupport.unpark(consumer);
+        if (Thread.currentThread() == consumer) {
+            return;
+        }
+        try {
+            consumer.join(SHUTDOWN_WAIT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
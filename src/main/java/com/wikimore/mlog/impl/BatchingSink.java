@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * group commit in front of another sink
+ * <p>
+ * lines of all threads are copied into a shared batch which is handed to the
+ * wrapped sink as one write when it is full, when its first line is older
+ * than the linger time, or at once for an ERROR or FATAL line. the batch is
+ * double buffered: while one batch is written, new lines go into the other.
+ * <p>
+ * a batch holds lines of many threads, when the wrapped sink fails to write
+ * it the whole batch goes to System.err instead, like a line ConsoleLog
+ * failed to write. the write which committed the batch does not fail then, a
+ * line of the caller which is queued in the next batch is written with it.
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+final class BatchingSink implements Sink, Runnable {
+    static final int DEFAULT_BATCH_SIZE = 64 * 1024;
+    static final long DEFAULT_LINGER_MILLIS = 5L;
+    private static final long CLOSE_WAIT_MILLIS = 5000L;
+
+    private final Sink sink;
+    private final long lingerNanos;
+    /** guards batch, spare, firstLineNanos and closed */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition pending = lock.newCondition();
+    /** keeps batches in order, taken while lock is held, released after the write */
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Thread flusher;
+    private ByteBuffer batch;
+    private ByteBuffer spare;
+    private long firstLineNanos;
+    private boolean closed;
+
+    /**
+     * @param sink
+     *            sink receiving the batches
+     * @param batchSize
+     *            maximum bytes of a batch
+     * @param lingerMillis
+     *            maximum time a line waits in a batch
+     */
+    BatchingSink(Sink sink, int batchSize, long lingerMillis) {
+        this.sink = sink;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.batch = ByteBuffer.allocateDirect(batchSize);
+        this.spare = ByteBuffer.allocateDirect(batchSize);
+        this.flusher = new Thread(this, "mlog-batch-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    public void write(ByteBuffer bytes, int level) throws IOException {
+        lock.lock();
+        if (closed) {
+            lock.unlock();
+            throw new IOException("batching sink is closed");
+        }
+        if (bytes.remaining() > batch.remaining()) {
+            commit(bytes, level);
+            return;
+        }
+        if (batch.position() == 0) {
+            firstLineNanos = System.nanoTime();
+            pending.signal();
+        }
+        batch.put(bytes);
+        if (level >= ConsoleLog.ERROR_LOG_LEVEL) {
+            commit(null, level);
+            return;
+        }
+        lock.unlock();
+    }
+
+    public void flush() throws IOException {
+        lock.lock();
+        commit(null, ConsoleLog.ERROR_LOG_LEVEL);
+    }
+
+    public void close() throws IOException {
+        lock.lock();
+        if (closed) {
+            lock.unlock();
+            return;
+        }
+        closed = true;
+        pending.signal();
+        try {
+            commit(null, ConsoleLog.ERROR_LOG_LEVEL);
+        } finally {
+            try {
+                flusher.join(CLOSE_WAIT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            sink.close();
+        }
+    }
+
+    /**
+     * flush batches after the linger time
+     */
+    public void run() {
+        lock.lock();
+        try {
+            while (!closed) {
+                if (batch.position() == 0) {
+                    pending.await();
+                    continue;
+                }
+                long wait = firstLineNanos + lingerNanos - System.nanoTime();
+                if (wait > 0) {
+                    pending.awaitNanos(wait);
+                    continue;
+                }
+                commit(null, ConsoleLog.INFO_LOG_LEVEL);
+                lock.lock();
+            }
+        } catch (InterruptedException e) {
+            // exit
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * swap in the spare batch and write the full one, called with lock held
+     * and returns with it released so other threads fill the next batch
+     * during the write
+     * 
+     * @param extra
+     *            line which did not fit, it starts the next batch or is
+     *            written after this one when it is larger than a batch
+     * @param level
+     *            highest urgency, ERROR and above also flush the sink
+     */
+    private void commit(ByteBuffer extra, int level) {
+        // waits for the previous write, which also frees the spare batch
+        writeLock.lock();
+        ByteBuffer full = batch;
+        batch = spare;
+        spare = full;
+        if (extra != null && extra.remaining() <= batch.capacity()
+                && level < ConsoleLog.ERROR_LOG_LEVEL) {
+            // the line starts the next batch
+            firstLineNanos = System.nanoTime();
+            batch.put(extra);
+            pending.signal();
+            extra = null;
+        }
+        lock.unlock();
+        try {
+            full.flip();
+            if (full.hasRemaining()) {
+                writeOrFallback(full, level);
+            }
+            if (extra != null) {
+                writeOrFallback(extra, level);
+            }
+            if (level >= ConsoleLog.ERROR_LOG_LEVEL) {
+                sink.flush();
+            }
+        } catch (IOException e) {
+            System.err.println("[ERROR] BatchingSink: flush failed:" + e);
+        } finally {
+            full.clear();
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * write lines to the sink, or to System.err when the sink fails
+     */
+    private void writeOrFallback(ByteBuffer lines, int level) {
+        int start = lines.position();
+        try {
+            sink.write(lines, level);
+        } catch (IOException e) {
+            System.err.println("[ERROR] BatchingSink: write batch failed, written to System.err:"
+                    + e);
+            lines.position(start);
+            PrintStreamSink.write(System.err, lines);
+        }
+    }
+}
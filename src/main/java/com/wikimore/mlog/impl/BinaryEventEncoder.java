@@ -0,0 +1,412 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.impl;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.wikimore.mlog.Formatter;
+import com.wikimore.mlog.MessageSupplier;
+
+/**
+ * per-thread encoder of log events into the compact binary format read by
+ * {@link BinaryLogDecoder}
+ * <p>
+ * the message is not formatted and the timestamp is not rendered. an event
+ * keeps the timestamp, the level, the ids of its logger name and message
+ * pattern and its typed arguments. names and patterns are written once as
+ * dictionary records in front of the first event using them. records, all
+ * numbers big endian:
+ * <ul>
+ * <li>header: <tt>1</tt>, int magic, byte version, long session</li>
+ * <li>logger: <tt>2</tt>, varint id, string name</li>
+ * <li>template: <tt>3</tt>, varint id, string pattern</li>
+ * <li>event: <tt>4</tt>, long timestamp, byte level, varint logger id, varint
+ * template id, varint argument count, arguments, string stack trace</li>
+ * </ul>
+ * a string is an int byte length, -1 for null, and its UTF-8 bytes. id 0
+ * means the name or pattern follows inline as a string, used for supplied
+ * messages and once a dictionary is full. an argument is a tag byte and its
+ * value: a zigzag varint for integral numbers, a float or double, a boolean
+ * tag or the string of any other object.
+ * <p>
+ * a definition counts as written only after the sink accepted the record
+ * carrying it, so an event never reaches the sink before the definition of
+ * its ids. threads racing on a new name may both define it, the decoder
+ * ignores the repeat. a rolled file starts with the header and every
+ * definition again, see {@link #preamble()}, so each file decodes on its own.
+ * <p>
+ * <strong>Note:</strong> this class is not thread-safe, use
+ * {@link #acquire()} to get the encoder of the current thread.
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+final class BinaryEventEncoder {
+    static final int MAGIC = 0x6d6c6f67;
+    static final int VERSION = 1;
+    static final int RECORD_HEADER = 1;
+    static final int RECORD_LOGGER = 2;
+    static final int RECORD_TEMPLATE = 3;
+    static final int RECORD_EVENT = 4;
+    static final int INLINE = 0;
+    static final int TAG_NULL = 0;
+    static final int TAG_STRING = 1;
+    static final int TAG_LONG = 2;
+    static final int TAG_FLOAT = 3;
+    static final int TAG_DOUBLE = 4;
+    static final int TAG_FALSE = 5;
+    static final int TAG_TRUE = 6;
+    /** names and patterns beyond this many are written inline */
+    static final int MAX_DICTIONARY_SIZE = 64 * 1024;
+    private static final int INITIAL_CAPACITY = 512;
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+    private static final Dictionary SHARED = new Dictionary();
+    private static final ThreadLocal<BinaryEventEncoder> ENCODERS = new ThreadLocal<BinaryEventEncoder>() {
+        protected BinaryEventEncoder initialValue() {
+            return new BinaryEventEncoder(SHARED);
+        }
+    };
+
+    private final Dictionary dictionary;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(INITIAL_CAPACITY);
+    private boolean pendingHeader;
+    private Entry pendingLogger;
+    private Entry pendingTemplate;
+    private boolean inUse;
+
+    /**
+     * ids of the names or patterns of one output, with the session written in
+     * its header
+     */
+    static final class Dictionary {
+        final long session = System.currentTimeMillis() ^ System.nanoTime();
+        final ConcurrentMap<String, Entry> loggers = new ConcurrentHashMap<String, Entry>();
+        final ConcurrentMap<String, Entry> templates = new ConcurrentHashMap<String, Entry>();
+        final AtomicInteger nextId = new AtomicInteger(1);
+        volatile boolean headerWritten;
+
+        /**
+         * @return the entry of key, null when the dictionary is full
+         */
+        Entry get(ConcurrentMap<String, Entry> entries, String key, boolean template) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                return entry;
+            }
+            if (entries.size() >= MAX_DICTIONARY_SIZE) {
+                return null;
+            }
+            int placeholders = template ? Formatter.template(key).getPlaceholderCount() : 0;
+            entry = new Entry(nextId.getAndIncrement(), placeholders);
+            Entry existing = entries.putIfAbsent(key, entry);
+            return existing != null ? existing : entry;
+        }
+    }
+
+    /**
+     * one dictionary id
+     */
+    static final class Entry {
+        final int id;
+        /** arguments rendered by the pattern, the rest are not written */
+        final int placeholders;
+        volatile boolean written;
+
+        Entry(int id, int placeholders) {
+            this.id = id;
+            this.placeholders = placeholders;
+        }
+    }
+
+    BinaryEventEncoder(Dictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * get the free encoder of the current thread
+     * <p>
+     * a log call made while encoding, for example from a parameter's
+     * toString(), gets a private encoder instead of the one in use
+     */
+    static BinaryEventEncoder acquire() {
+        BinaryEventEncoder encoder = ENCODERS.get();
+        if (encoder.inUse) {
+            encoder = new BinaryEventEncoder(SHARED);
+        }
+        encoder.inUse = true;
+        return encoder;
+    }
+
+    /**
+     * encode an event with the definitions it needs in front of it
+     * 
+     * @param event
+     *            log call to encode
+     * @param name
+     *            logger name
+     * @return the records from position to limit, valid until the encoder is
+     *         released. call {@link #written()} once the sink has accepted
+     *         them.
+     */
+    ByteBuffer encode(LogEvent event, String name) {
+        buffer.clear();
+        pendingHeader = false;
+        pendingLogger = null;
+        pendingTemplate = null;
+        if (!dictionary.headerWritten) {
+            putHeader();
+            pendingHeader = true;
+        }
+        Entry logger = dictionary.get(dictionary.loggers, name, false);
+        if (logger != null && !logger.written) {
+            putDefinition(RECORD_LOGGER, logger.id, name);
+            pendingLogger = logger;
+        }
+        MessageSupplier messageSupplier = event.messageSupplier;
+        String message = messageSupplier != null ? String.valueOf(messageSupplier.get())
+                : event.message;
+        Entry template = null;
+        if (messageSupplier == null && message != null) {
+            template = dictionary.get(dictionary.templates, message, true);
+            if (template != null && !template.written) {
+                putDefinition(RECORD_TEMPLATE, template.id, message);
+                pendingTemplate = template;
+            }
+        }
+
+        ensure(24);
+        buffer.put((byte) RECORD_EVENT);
+        buffer.putLong(event.timestamp);
+        buffer.put((byte) event.level);
+        if (logger != null) {
+            putVarint(logger.id);
+        } else {
+            putVarint(INLINE);
+            putString(name);
+        }
+        if (template != null) {
+            putVarint(template.id);
+        } else {
+            putVarint(INLINE);
+            putString(message);
+        }
+        putArguments(event, template);
+        Throwable t = event.throwable;
+        if (t == null) {
+            ensure(4);
+            buffer.putInt(-1);
+        } else {
+            LineBuffer trace = LineBuffer.acquire();
+            try {
+                ThrowableRenderer.getInstance().render(trace.builder(), t);
+                putString(trace.builder());
+            } finally {
+                trace.release();
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * encode the header and every definition of the dictionary, a new output
+     * file starts with them so it can be decoded without the files before it
+     * 
+     * @return the records from position to limit
+     */
+    ByteBuffer encodePreamble() {
+        buffer.clear();
+        putHeader();
+        for (Map.Entry<String, Entry> logger : dictionary.loggers.entrySet()) {
+            putDefinition(RECORD_LOGGER, logger.getValue().id, logger.getKey());
+        }
+        for (Map.Entry<String, Entry> template : dictionary.templates.entrySet()) {
+            putDefinition(RECORD_TEMPLATE, template.getValue().id, template.getKey());
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * preamble of the files of a {@link RollingFileSink} written in binary
+     * format
+     */
+    static RollingFileSink.Preamble preamble() {
+        return preamble(SHARED);
+    }
+
+    static RollingFileSink.Preamble preamble(final Dictionary dictionary) {
+        return new RollingFileSink.Preamble() {
+            public ByteBuffer get() {
+                return new BinaryEventEncoder(dictionary).encodePreamble();
+            }
+        };
+    }
+
+    /**
+     * the sink has accepted the last encoded records, later events may refer
+     * to their definitions
+     */
+    void written() {
+        if (pendingHeader) {
+            dictionary.headerWritten = true;
+        }
+        if (pendingLogger != null) {
+            pendingLogger.written = true;
+        }
+        if (pendingTemplate != null) {
+            pendingTemplate.written = true;
+        }
+    }
+
+    /**
+     * hand the encoder back, drop a buffer grown by a huge event
+     */
+    void release() {
+        pendingLogger = null;
+        pendingTemplate = null;
+        if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+            buffer = ByteBuffer.allocateDirect(INITIAL_CAPACITY);
+        }
+        inUse = false;
+    }
+
+    private void putArguments(LogEvent event, Entry template) {
+        // a supplied or inline message is not parsed, all arguments are kept
+        int placeholders = template != null ? template.placeholders : Integer.MAX_VALUE;
+        if (event.messageSupplier != null) {
+            placeholders = 0;
+        }
+        ensure(10);
+        switch (event.argumentType) {
+        case LogEvent.LONG_ARGUMENT:
+            putVarint(1);
+            buffer.put((byte) TAG_LONG);
+            putVarlong(event.longArgument);
+            break;
+        case LogEvent.DOUBLE_ARGUMENT:
+            putVarint(1);
+            ensure(9);
+            buffer.put((byte) TAG_DOUBLE);
+            buffer.putDouble(event.doubleArgument);
+            break;
+        case LogEvent.FLOAT_ARGUMENT:
+            putVarint(1);
+            ensure(5);
+            buffer.put((byte) TAG_FLOAT);
+            buffer.putFloat(event.floatArgument);
+            break;
+        default:
+            Object[] parameters = event.parameters;
+            int count = parameters == null ? 0 : Math.min(parameters.length, placeholders);
+            putVarint(count);
+            for (int i = 0; i < count; i++) {
+                putArgument(parameters[i]);
+            }
+        }
+    }
+
+    private void putArgument(Object argument) {
+        if (argument instanceof MessageSupplier) {
+            argument = ((MessageSupplier) argument).get();
+        }
+        ensure(10);
+        if (argument == null) {
+            buffer.put((byte) TAG_NULL);
+        } else if (argument instanceof Integer || argument instanceof Long
+                || argument instanceof Short || argument instanceof Byte) {
+            buffer.put((byte) TAG_LONG);
+            putVarlong(((Number) argument).longValue());
+        } else if (argument instanceof Double) {
+            buffer.put((byte) TAG_DOUBLE);
+            buffer.putDouble(((Double) argument).doubleValue());
+        } else if (argument instanceof Float) {
+            buffer.put((byte) TAG_FLOAT);
+            buffer.putFloat(((Float) argument).floatValue());
+        } else if (argument instanceof Boolean) {
+            buffer.put((byte) (((Boolean) argument).booleanValue() ? TAG_TRUE : TAG_FALSE));
+        } else {
+            buffer.put((byte) TAG_STRING);
+            putString(argument instanceof CharSequence ? (CharSequence) argument : String
+                    .valueOf(argument));
+        }
+    }
+
+    private void putHeader() {
+        ensure(18);
+        buffer.put((byte) RECORD_HEADER);
+        buffer.putInt(MAGIC);
+        buffer.put((byte) VERSION);
+        buffer.putLong(dictionary.session);
+    }
+
+    private void putDefinition(int type, int id, String value) {
+        ensure(6);
+        buffer.put((byte) type);
+        putVarint(id);
+        putString(value);
+    }
+
+    private void putString(CharSequence value) {
+        if (value == null) {
+            ensure(4);
+            buffer.putInt(-1);
+            return;
+        }
+        int length = value.length();
+        ensure(4 + length * Utf8Encoder.MAX_BYTES_PER_CHAR);
+        int start = buffer.position();
+        buffer.position(start + 4);
+        Utf8Encoder.encode(value, 0, length, buffer);
+        buffer.putInt(start, buffer.position() - start - 4);
+    }
+
+    private void putVarint(int value) {
+        ensure(5);
+        while ((value & ~0x7f) != 0) {
+            buffer.put((byte) ((value & 0x7f) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private void putVarlong(long value) {
+        ensure(10);
+        // zigzag, small negative numbers stay short
+        value = (value << 1) ^ (value >> 63);
+        while ((value & ~0x7fL) != 0) {
+            buffer.put((byte) ((value & 0x7f) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private void ensure(int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        ByteBuffer grown = ByteBuffer.allocateDirect(Math.max(buffer.capacity() * 2, buffer
+                .position() + bytes));
+        buffer.flip();
+        grown.put(buffer);
+        buffer = grown;
+    }
+}
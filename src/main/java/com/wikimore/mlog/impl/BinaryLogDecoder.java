@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import com.wikimore.mlog.Formatter;
+
+/**
+ * offline decoder of binary ConsoleLog output, prints the text lines
+ * ConsoleLog would have written
+ * <p>
+ * usage: <tt>java -cp mlog.jar com.wikimore.mlog.impl.BinaryLogDecoder
+ * [file...]</tt>, standard input without files. files ending in
+ * <tt>.gz</tt> are decompressed. files are read in the given order with
+ * their dictionaries carried over. a file started by a rollover repeats every
+ * definition and decodes on its own. a zero byte where a record
+ * should start ends a file, it is the unwritten tail of a mapped file.
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+public final class BinaryLogDecoder {
+    private static final String LINE_SEPARATOR = System.getProperty("line.separator", "\n");
+    private final Map<Integer, String> loggers = new HashMap<Integer, String>();
+    private final Map<Integer, String> templates = new HashMap<Integer, String>();
+    private final char[] timestamp = new char[TimestampRenderer.LENGTH];
+    private final StringBuilder line = new StringBuilder(256);
+    private byte[] bytes = new byte[256];
+    private long session;
+
+    BinaryLogDecoder() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        BinaryLogDecoder decoder = new BinaryLogDecoder();
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out), 64 * 1024);
+        try {
+            if (args.length == 0) {
+                decoder.decode(System.in, out);
+            }
+            for (String file : args) {
+                InputStream in = new FileInputStream(file);
+                try {
+                    if (file.endsWith(".gz")) {
+                        in = new GZIPInputStream(in, 64 * 1024);
+                    }
+                    decoder.decode(in, out);
+                } finally {
+                    in.close();
+                }
+            }
+        } finally {
+            out.flush();
+        }
+    }
+
+    /**
+     * decode all records of a stream
+     * 
+     * @throws IOException
+     *             if reading fails or the stream is not a binary log
+     */
+    void decode(InputStream in, Appendable out) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in, 64 * 1024));
+        for (;;) {
+            int type = data.read();
+            if (type <= 0) {
+                return;
+            }
+            try {
+                switch (type) {
+                case BinaryEventEncoder.RECORD_HEADER:
+                    readHeader(data);
+                    break;
+                case BinaryEventEncoder.RECORD_LOGGER:
+                    loggers.put(readVarint(data), readString(data));
+                    break;
+                case BinaryEventEncoder.RECORD_TEMPLATE:
+                    templates.put(readVarint(data), readString(data));
+                    break;
+                case BinaryEventEncoder.RECORD_EVENT:
+                    line.setLength(0);
+                    readEvent(data);
+                    out.append(line);
+                    break;
+                default:
+                    throw new IOException("not a binary log, unknown record type " + type);
+                }
+            } catch (EOFException e) {
+                // a record cut off by a crash
+                return;
+            }
+        }
+    }
+
+    private void readHeader(DataInputStream data) throws IOException {
+        int magic = data.readInt();
+        int version = data.readUnsignedByte();
+        if (magic != BinaryEventEncoder.MAGIC || version > BinaryEventEncoder.VERSION) {
+            throw new IOException("not a binary log of version " + BinaryEventEncoder.VERSION);
+        }
+        long session = data.readLong();
+        // ids are only valid within the process which wrote them
+        if (session != this.session) {
+            this.session = session;
+            loggers.clear();
+            templates.clear();
+        }
+    }
+
+    private void readEvent(DataInputStream data) throws IOException {
+        long time = data.readLong();
+        int level = data.readUnsignedByte();
+        int loggerId = readVarint(data);
+        String name = loggerId == BinaryEventEncoder.INLINE ? readString(data) : loggers
+                .get(loggerId);
+        int templateId = readVarint(data);
+        String pattern = templateId == BinaryEventEncoder.INLINE ? readString(data) : templates
+                .get(templateId);
+        Object[] arguments = new Object[readVarint(data)];
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = readArgument(data);
+        }
+        String stackTrace = readString(data);
+
+        int length = TimestampRenderer.getInstance().render(time, timestamp, 0);
+        line.append(timestamp, 0, length).append(' ');
+        line.append(ConsoleLog.levelLabel(level));
+        line.append(name != null ? name : "#" + loggerId).append(" - ");
+        if (pattern == null && templateId != BinaryEventEncoder.INLINE) {
+            // the file defining it is missing, keep the arguments
+            StringBuilder unknown = new StringBuilder("#").append(templateId);
+            for (int i = 0; i < arguments.length; i++) {
+                unknown.append(' ').append(Formatter.PLACEHOLDER);
+            }
+            pattern = unknown.toString();
+        }
+        Formatter.formatTo(line, pattern, arguments);
+        if (stackTrace != null) {
+            line.append('\t').append(stackTrace);
+        }
+        line.append(LINE_SEPARATOR);
+    }
+
+    private Object readArgument(DataInputStream data) throws IOException {
+        int tag = data.readUnsignedByte();
+        switch (tag) {
+        case BinaryEventEncoder.TAG_NULL:
+            return null;
+        case BinaryEventEncoder.TAG_STRING:
+            return readString(data);
+        case BinaryEventEncoder.TAG_LONG:
+            long value = readVarlong(data);
+            return Long.valueOf((value >>> 1) ^ -(value & 1));
+        case BinaryEventEncoder.TAG_FLOAT:
+            return Float.valueOf(data.readFloat());
+        case BinaryEventEncoder.TAG_DOUBLE:
+            return Double.valueOf(data.readDouble());
+        case BinaryEventEncoder.TAG_FALSE:
+            return Boolean.FALSE;
+        case BinaryEventEncoder.TAG_TRUE:
+            return Boolean.TRUE;
+        default:
+            throw new IOException("not a binary log, unknown argument tag " + tag);
+        }
+    }
+
+    private String readString(DataInputStream data) throws IOException {
+        int length = data.readInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > bytes.length) {
+            bytes = new byte[Math.max(length, bytes.length * 2)];
+        }
+        data.readFully(bytes, 0, length);
+        return new String(bytes, 0, length, "UTF-8");
+    }
+
+    private static int readVarint(DataInputStream data) throws IOException {
+        return (int) readVarlong(data);
+    }
+
+    private static long readVarlong(DataInputStream data) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = data.readUnsignedByte();
+            value |= (long) (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("not a binary log, malformed varint");
+    }
+}
@@ -0,0 +1,1217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.impl;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.wikimore.mlog.Formatter;
+import com.wikimore.mlog.Log;
+import com.wikimore.mlog.MessageSupplier;
+
+/**
+ * Log wrapper collapsing a burst of identical consecutive lines into the
+ * first line and a <tt>last message repeated N times</tt> summary
+ * <p>
+ * a line is identified by its level, its message rendered with the arguments
+ * and the class of its throwable. a repeat of the last line of the logger
+ * within the window is counted instead of being passed to the delegate. the
+ * summary is logged at the level of the burst when another line arrives, when
+ * the window has passed, or by a background thread when the burst has
+ * stopped. the check takes no lock, the message is rendered into a reused
+ * per-thread buffer and only copied when it starts a new burst. hashCode() of
+ * the arguments is never called. lines of message suppliers are never
+ * suppressed, they would have to be evaluated to compare them.
+ * <p>
+ * it wraps any Log, the Log4j and Logback adapters keep reporting the class
+ * calling this wrapper as the caller location, see {@link CallerBoundary}.
+ * DefaultLogFactory wraps the Log instances it creates when
+ * <tt>com.wikimore.mlog.suppress</tt> is true, the window is
+ * <tt>com.wikimore.mlog.suppress.window</tt> milliseconds, 5000 by default.
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+public class BurstSuppressingLog implements Log, CallerBoundary {
+    static final String SUPPRESS_KEY = "com.wikimore.mlog.suppress";
+    static final String WINDOW_KEY = "com.wikimore.mlog.suppress.window";
+    static final long DEFAULT_WINDOW_MILLIS = 5000L;
+    static final String SUMMARY = "last message repeated {} times";
+    private static final long FLUSH_INTERVAL_MILLIS = 1000L;
+    /** bursts with repeats not yet summarized */
+    private static final Queue<Burst> pending = new ConcurrentLinkedQueue<Burst>();
+    private static ScheduledExecutorService flusher;
+
+    private final Log delegate;
+    private final long windowNanos;
+    private final AtomicReference<Burst> last = new AtomicReference<Burst>();
+
+    /**
+     * the last line of a logger and its repeats
+     */
+    private static final class Burst {
+        /** repeats of a summarized burst */
+        static final int CLOSED = -1;
+        final BurstSuppressingLog log;
+        final String line;
+        final int level;
+        final Class<?> thrown;
+        final long start;
+        final AtomicInteger repeats = new AtomicInteger();
+
+        Burst(BurstSuppressingLog log, String line, int level, Class<?> thrown, long start) {
+            this.log = log;
+            this.line = line;
+            this.level = level;
+            this.thrown = thrown;
+            this.start = start;
+        }
+
+        /**
+         * @return false when the burst is already summarized
+         */
+        boolean repeat() {
+            for (;;) {
+                int count = repeats.get();
+                if (count == CLOSED) {
+                    return false;
+                }
+                if (repeats.compareAndSet(count, count + 1)) {
+                    if (count == 0) {
+                        pending.add(this);
+                        startFlusher();
+                    }
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * log the summary once, later repeats start a new burst
+         */
+        void close() {
+            int count = repeats.getAndSet(CLOSED);
+            if (count > 0) {
+                log.summarize(level, count);
+            }
+        }
+    }
+
+    /**
+     * @param delegate
+     *            Log the lines are passed to
+     * @param windowMillis
+     *            time after which a repeated line is logged again
+     */
+    public BurstSuppressingLog(Log delegate, long windowMillis) {
+        this.delegate = delegate;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        if (delegate instanceof CallerBoundary) {
+            ((CallerBoundary) delegate).setCallerBoundary(BurstSuppressingLog.class.getName());
+        }
+    }
+
+    @Override
+    public void setCallerBoundary(String fqcn) {
+        if (delegate instanceof CallerBoundary) {
+            ((CallerBoundary) delegate).setCallerBoundary(fqcn);
+        }
+    }
+
+    /**
+     * wrap a Log when suppression is configured by system properties
+     * 
+     * @return the wrapped Log, or log itself when suppression is off
+     */
+    static Log wrap(Log log) {
+        if (!Boolean.getBoolean(SUPPRESS_KEY) || log instanceof BurstSuppressingLog) {
+            return log;
+        }
+        return new BurstSuppressingLog(log, Math.max(1L, Long.getLong(WINDOW_KEY,
+                DEFAULT_WINDOW_MILLIS)));
+    }
+
+    private boolean admit(int level, Throwable t, LineBuffer line) {
+        try {
+            return admit(level, line.builder(), t, System.nanoTime());
+        } finally {
+            line.release();
+        }
+    }
+
+    /**
+     * @param line
+     *            the rendered message
+     * @return true to pass the line to the delegate, false when it is counted
+     *         as a repeat
+     */
+    boolean admit(int level, CharSequence line, Throwable t, long now) {
+        Class<?> thrown = t != null ? t.getClass() : null;
+        Burst burst = last.get();
+        if (burst != null && burst.level == level && burst.thrown == thrown
+                && now - burst.start < windowNanos && burst.line.contentEquals(line)
+                && burst.repeat()) {
+            return false;
+        }
+        // a thread losing the race logs its line without starting a burst
+        if (last.compareAndSet(burst, new Burst(this, line.toString(), level, thrown, now))
+                && burst != null) {
+            burst.close();
+        }
+        return true;
+    }
+
+    private void summarize(int level, int count) {
+        switch (level) {
+        case ConsoleLog.TRACE_LOG_LEVEL:
+            delegate.trace(SUMMARY, count);
+            break;
+        case ConsoleLog.DEBUG_LOG_LEVEL:
+            delegate.debug(SUMMARY, count);
+            break;
+        case ConsoleLog.INFO_LOG_LEVEL:
+            delegate.info(SUMMARY, count);
+            break;
+        case ConsoleLog.WARN_LOG_LEVEL:
+            delegate.warn(SUMMARY, count);
+            break;
+        case ConsoleLog.ERROR_LOG_LEVEL:
+            delegate.error(SUMMARY, count);
+            break;
+        default:
+            delegate.fatal(SUMMARY, count);
+        }
+    }
+
+    /**
+     * summarize the pending bursts whose window has passed
+     */
+    static void flush(long now) {
+        for (Iterator<Burst> it = pending.iterator(); it.hasNext();) {
+            Burst burst = it.next();
+            if (burst.repeats.get() == Burst.CLOSED) {
+                it.remove();
+            } else if (now - burst.start >= burst.log.windowNanos) {
+                it.remove();
+                burst.close();
+            }
+        }
+    }
+
+    private static synchronized void startFlusher() {
+        if (flusher != null) {
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "mlog-burst-flusher");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        flusher.scheduleWithFixedDelay(new Runnable() {
+            public void run() {
+                flush(System.nanoTime());
+            }
+        }, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * render the line to compare it, lines are rendered into the buffer of
+     * this thread and only kept when a new burst starts
+     */
+    private static LineBuffer render(String message) {
+        LineBuffer line = LineBuffer.acquire();
+        line.builder().append(message);
+        return line;
+    }
+
+    private static LineBuffer render(String message, Object[] params) {
+        LineBuffer line = LineBuffer.acquire();
+        Formatter.formatTo(line.builder(), message, params);
+        return line;
+    }
+
+    private static LineBuffer render(String message, Object arg) {
+        LineBuffer line = LineBuffer.acquire();
+        line.appendArguments(message, arg);
+        return line;
+    }
+
+    private static LineBuffer render(String message, Object arg1, Object arg2) {
+        LineBuffer line = LineBuffer.acquire();
+        line.appendArguments(message, arg1, arg2);
+        return line;
+    }
+
+    private static LineBuffer render(String message, Object arg1, Object arg2, Object arg3) {
+        LineBuffer line = LineBuffer.acquire();
+        line.appendArguments(message, arg1, arg2, arg3);
+        return line;
+    }
+
+    private static LineBuffer render(String message, long arg) {
+        LineBuffer line = LineBuffer.acquire();
+        Formatter.formatTo(line.builder(), message, arg);
+        return line;
+    }
+
+    private static LineBuffer render(String message, double arg) {
+        LineBuffer line = LineBuffer.acquire();
+        Formatter.formatTo(line.builder(), message, arg);
+        return line;
+    }
+
+    private static LineBuffer render(String message, float arg) {
+        LineBuffer line = LineBuffer.acquire();
+        Formatter.formatTo(line.builder(), message, arg);
+        return line;
+    }
+
+    private static LineBuffer render(String message, char arg) {
+        return render(message, Character.valueOf(arg));
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return delegate.isDebugEnabled();
+    }
+
+    @Override
+    public boolean isErrorEnabled() {
+        return delegate.isErrorEnabled();
+    }
+
+    @Override
+    public boolean isFatalEnabled() {
+        return delegate.isFatalEnabled();
+    }
+
+    @Override
+    public boolean isInfoEnabled() {
+        return delegate.isInfoEnabled();
+    }
+
+    @Override
+    public boolean isTraceEnabled() {
+        return delegate.isTraceEnabled();
+    }
+
+    @Override
+    public boolean isWarnEnabled() {
+        return delegate.isWarnEnabled();
+    }
+
+    @Override
+    public void trace(String message) {
+        if (delegate.isTraceEnabled() && admit(ConsoleLog.TRACE_LOG_LEVEL, null, render(message))) {
+            delegate.trace(message);
+        }
+    }
+
+    @Override
+    public void trace(String message, Object... params) {
+        if (delegate.isTraceEnabled()
+                && admit(ConsoleLog.TRACE_LOG_LEVEL, null, render(message, params))) {
+            delegate.trace(message, params);
+        }
+    }
+
+    @Override
+    public void trace(String message, Throwable t, Object... params) {
+        if (delegate.isTraceEnabled()
+                && admit(ConsoleLog.TRACE_LOG_LEVEL, t, render(message, params))) {
+            delegate.trace(message, t, params);
+        }
+    }
+
+    @Override
+    public void trace(String message, Object arg) {
+        if (delegate.isTraceEnabled()
+                && admit(ConsoleLog.TRACE_LOG_LEVEL, null, render(message, arg))) {
+            delegate.trace(message, arg);
+        }
+    }
+
+    @Override
+    public void trace(String message, Object arg1, Object arg2) {
+        if (delegate.isTraceEnabled()
+                && admit(ConsoleLog.TRACE_LOG_LEVEL, null, render(message, arg1, arg2))) {
+            delegate.trace(message, arg1, arg2);
+        }
+    }
+
+    @Override
+    public void trace(String message, Object arg1, Object arg2, Object arg3) {
+        if (delegate.isTraceEnabled()
+                && admit(ConsoleLog.TRACE_LOG_LEVEL, null, render(message, arg1, arg2, arg3))) {
+            delegate.trace(message, arg1, arg2, arg3);
+        }
+    }
+
+    @Override
+    public void trace(String message, Throwable t, Object arg) {
+        if (delegate.isTraceEnabled()
+                && admit(ConsoleLog.TRACE_LOG_LEVEL, t, render(message, arg))) {
+            delegate.trace(message, t, arg);
+        }
+    }
+
+    @Override
+    public void trace(String message, Throwable t, Object arg1, Object arg2) {
+        if (delegate.isTraceEnabled()
+                && admit(ConsoleLog.TRACE_LOG_LEVEL, t, render(message, arg1, arg2))) {
+            delegate.trace(message, t, arg1, arg2);
+        }
+    }
+
+    @Override
+    public void trace(String message, long arg) {
+        if (delegate.isTraceEnabled()
+                && admit(ConsoleLog.TRACE_LOG_LEVEL, null, render(message, arg))) {
+            delegate.trace(message, arg);
+        }
+    }
+
+    @Override
+    public void trace(String message, int arg) {
+        if (delegate.isTraceEnabled()
+                && admit(ConsoleLog.TRACE_LOG_LEVEL, null, render(message, arg))) {
+            delegate.trace(message, arg);
+        }
+    }
+
+    @Override
+    public void trace(String message, double arg) {
+        if (delegate.isTraceEnabled()
+                && admit(ConsoleLog.TRACE_LOG_LEVEL, null, render(message, arg))) {
+            delegate.trace(message, arg);
+        }
+    }
+
+    @Override
+    public void trace(String message, boolean arg) {
+        if (delegate.isTraceEnabled()
+                && admit(ConsoleLog.TRACE_LOG_LEVEL, null, render(message, arg))) {
+            delegate.trace(message, arg);
+        }
+    }
+
+    @Override
+    public void trace(String message, char arg) {
+        if (delegate.isTraceEnabled()
+                && admit(ConsoleLog.TRACE_LOG_LEVEL, null, render(message, arg))) {
+            delegate.trace(message, arg);
+        }
+    }
+
+    @Override
+    public void trace(String message, float arg) {
+        if (delegate.isTraceEnabled()
+                && admit(ConsoleLog.TRACE_LOG_LEVEL, null, render(message, arg))) {
+            delegate.trace(message, arg);
+        }
+    }
+
+    @Override
+    public void trace(String message, short arg) {
+        if (delegate.isTraceEnabled()
+                && admit(ConsoleLog.TRACE_LOG_LEVEL, null, render(message, arg))) {
+            delegate.trace(message, arg);
+        }
+    }
+
+    @Override
+    public void trace(String message, byte arg) {
+        if (delegate.isTraceEnabled()
+                && admit(ConsoleLog.TRACE_LOG_LEVEL, null, render(message, arg))) {
+            delegate.trace(message, arg);
+        }
+    }
+
+    @Override
+    public void trace(String message, Throwable t) {
+        if (delegate.isTraceEnabled() && admit(ConsoleLog.TRACE_LOG_LEVEL, t, render(message))) {
+            delegate.trace(message, t);
+        }
+    }
+
+    @Override
+    public void trace(MessageSupplier messageSupplier) {
+        delegate.trace(messageSupplier);
+    }
+
+    @Override
+    public void trace(MessageSupplier messageSupplier, Throwable t) {
+        delegate.trace(messageSupplier, t);
+    }
+
+    @Override
+    public void trace(String message, MessageSupplier... paramSuppliers) {
+        delegate.trace(message, paramSuppliers);
+    }
+
+    @Override
+    public void debug(String message) {
+        if (delegate.isDebugEnabled() && admit(ConsoleLog.DEBUG_LOG_LEVEL, null, render(message))) {
+            delegate.debug(message);
+        }
+    }
+
+    @Override
+    public void debug(String message, Object... params) {
+        if (delegate.isDebugEnabled()
+                && admit(ConsoleLog.DEBUG_LOG_LEVEL, null, render(message, params))) {
+            delegate.debug(message, params);
+        }
+    }
+
+    @Override
+    public void debug(String message, Throwable t) {
+        if (delegate.isDebugEnabled() && admit(ConsoleLog.DEBUG_LOG_LEVEL, t, render(message))) {
+            delegate.debug(message, t);
+        }
+    }
+
+    @Override
+    public void debug(String message, Throwable t, Object... params) {
+        if (delegate.isDebugEnabled()
+                && admit(ConsoleLog.DEBUG_LOG_LEVEL, t, render(message, params))) {
+            delegate.debug(message, t, params);
+        }
+    }
+
+    @Override
+    public void debug(String message, Object arg) {
+        if (delegate.isDebugEnabled()
+                && admit(ConsoleLog.DEBUG_LOG_LEVEL, null, render(message, arg))) {
+            delegate.debug(message, arg);
+        }
+    }
+
+    @Override
+    public void debug(String message, Object arg1, Object arg2) {
+        if (delegate.isDebugEnabled()
+                && admit(ConsoleLog.DEBUG_LOG_LEVEL, null, render(message, arg1, arg2))) {
+            delegate.debug(message, arg1, arg2);
+        }
+    }
+
+    @Override
+    public void debug(String message, Object arg1, Object arg2, Object arg3) {
+        if (delegate.isDebugEnabled()
+                && admit(ConsoleLog.DEBUG_LOG_LEVEL, null, render(message, arg1, arg2, arg3))) {
+            delegate.debug(message, arg1, arg2, arg3);
+        }
+    }
+
+    @Override
+    public void debug(String message, Throwable t, Object arg) {
+        if (delegate.isDebugEnabled()
+                && admit(ConsoleLog.DEBUG_LOG_LEVEL, t, render(message, arg))) {
+            delegate.debug(message, t, arg);
+        }
+    }
+
+    @Override
+    public void debug(String message, Throwable t, Object arg1, Object arg2) {
+        if (delegate.isDebugEnabled()
+                && admit(ConsoleLog.DEBUG_LOG_LEVEL, t, render(message, arg1, arg2))) {
+            delegate.debug(message, t, arg1, arg2);
+        }
+    }
+
+    @Override
+    public void debug(String message, long arg) {
+        if (delegate.isDebugEnabled()
+                && admit(ConsoleLog.DEBUG_LOG_LEVEL, null, render(message, arg))) {
+            delegate.debug(message, arg);
+        }
+    }
+
+    @Override
+    public void debug(String message, int arg) {
+        if (delegate.isDebugEnabled()
+                && admit(ConsoleLog.DEBUG_LOG_LEVEL, null, render(message, arg))) {
+            delegate.debug(message, arg);
+        }
+    }
+
+    @Override
+    public void debug(String message, double arg) {
+        if (delegate.isDebugEnabled()
+                && admit(ConsoleLog.DEBUG_LOG_LEVEL, null, render(message, arg))) {
+            delegate.debug(message, arg);
+        }
+    }
+
+    @Override
+    public void debug(String message, boolean arg) {
+        if (delegate.isDebugEnabled()
+                && admit(ConsoleLog.DEBUG_LOG_LEVEL, null, render(message, arg))) {
+            delegate.debug(message, arg);
+        }
+    }
+
+    @Override
+    public void debug(String message, char arg) {
+        if (delegate.isDebugEnabled()
+                && admit(ConsoleLog.DEBUG_LOG_LEVEL, null, render(message, arg))) {
+            delegate.debug(message, arg);
+        }
+    }
+
+    @Override
+    public void debug(String message, float arg) {
+        if (delegate.isDebugEnabled()
+                && admit(ConsoleLog.DEBUG_LOG_LEVEL, null, render(message, arg))) {
+            delegate.debug(message, arg);
+        }
+    }
+
+    @Override
+    public void debug(String message, short arg) {
+        if (delegate.isDebugEnabled()
+                && admit(ConsoleLog.DEBUG_LOG_LEVEL, null, render(message, arg))) {
+            delegate.debug(message, arg);
+        }
+    }
+
+    @Override
+    public void debug(String message, byte arg) {
+        if (delegate.isDebugEnabled()
+                && admit(ConsoleLog.DEBUG_LOG_LEVEL, null, render(message, arg))) {
+            delegate.debug(message, arg);
+        }
+    }
+
+    @Override
+    public void debug(MessageSupplier messageSupplier) {
+        delegate.debug(messageSupplier);
+    }
+
+    @Override
+    public void debug(MessageSupplier messageSupplier, Throwable t) {
+        delegate.debug(messageSupplier, t);
+    }
+
+    @Override
+    public void debug(String message, MessageSupplier... paramSuppliers) {
+        delegate.debug(message, paramSuppliers);
+    }
+
+    @Override
+    public void info(String message) {
+        if (delegate.isInfoEnabled() && admit(ConsoleLog.INFO_LOG_LEVEL, null, render(message))) {
+            delegate.info(message);
+        }
+    }
+
+    @Override
+    public void info(String message, Object... params) {
+        if (delegate.isInfoEnabled()
+                && admit(ConsoleLog.INFO_LOG_LEVEL, null, render(message, params))) {
+            delegate.info(message, params);
+        }
+    }
+
+    @Override
+    public void info(String message, Throwable t) {
+        if (delegate.isInfoEnabled() && admit(ConsoleLog.INFO_LOG_LEVEL, t, render(message))) {
+            delegate.info(message, t);
+        }
+    }
+
+    @Override
+    public void info(String message, Throwable t, Object... params) {
+        if (delegate.isInfoEnabled()
+                && admit(ConsoleLog.INFO_LOG_LEVEL, t, render(message, params))) {
+            delegate.info(message, t, params);
+        }
+    }
+
+    @Override
+    public void info(String message, Object arg) {
+        if (delegate.isInfoEnabled()
+                && admit(ConsoleLog.INFO_LOG_LEVEL, null, render(message, arg))) {
+            delegate.info(message, arg);
+        }
+    }
+
+    @Override
+    public void info(String message, Object arg1, Object arg2) {
+        if (delegate.isInfoEnabled()
+                && admit(ConsoleLog.INFO_LOG_LEVEL, null, render(message, arg1, arg2))) {
+            delegate.info(message, arg1, arg2);
+        }
+    }
+
+    @Override
+    public void info(String message, Object arg1, Object arg2, Object arg3) {
+        if (delegate.isInfoEnabled()
+                && admit(ConsoleLog.INFO_LOG_LEVEL, null, render(message, arg1, arg2, arg3))) {
+            delegate.info(message, arg1, arg2, arg3);
+        }
+    }
+
+    @Override
+    public void info(String message, Throwable t, Object arg) {
+        if (delegate.isInfoEnabled() && admit(ConsoleLog.INFO_LOG_LEVEL, t, render(message, arg))) {
+            delegate.info(message, t, arg);
+        }
+    }
+
+    @Override
+    public void info(String message, Throwable t, Object arg1, Object arg2) {
+        if (delegate.isInfoEnabled()
+                && admit(ConsoleLog.INFO_LOG_LEVEL, t, render(message, arg1, arg2))) {
+            delegate.info(message, t, arg1, arg2);
+        }
+    }
+
+    @Override
+    public void info(String message, long arg) {
+        if (delegate.isInfoEnabled()
+                && admit(ConsoleLog.INFO_LOG_LEVEL, null, render(message, arg))) {
+            delegate.info(message, arg);
+        }
+    }
+
+    @Override
+    public void info(String message, int arg) {
+        if (delegate.isInfoEnabled()
+                && admit(ConsoleLog.INFO_LOG_LEVEL, null, render(message, arg))) {
+            delegate.info(message, arg);
+        }
+    }
+
+    @Override
+    public void info(String message, double arg) {
+        if (delegate.isInfoEnabled()
+                && admit(ConsoleLog.INFO_LOG_LEVEL, null, render(message, arg))) {
+            delegate.info(message, arg);
+        }
+    }
+
+    @Override
+    public void info(String message, boolean arg) {
+        if (delegate.isInfoEnabled()
+                && admit(ConsoleLog.INFO_LOG_LEVEL, null, render(message, arg))) {
+            delegate.info(message, arg);
+        }
+    }
+
+    @Override
+    public void info(String message, char arg) {
+        if (delegate.isInfoEnabled()
+                && admit(ConsoleLog.INFO_LOG_LEVEL, null, render(message, arg))) {
+            delegate.info(message, arg);
+        }
+    }
+
+    @Override
+    public void info(String message, float arg) {
+        if (delegate.isInfoEnabled()
+                && admit(ConsoleLog.INFO_LOG_LEVEL, null, render(message, arg))) {
+            delegate.info(message, arg);
+        }
+    }
+
+    @Override
+    public void info(String message, short arg) {
+        if (delegate.isInfoEnabled()
+                && admit(ConsoleLog.INFO_LOG_LEVEL, null, render(message, arg))) {
+            delegate.info(message, arg);
+        }
+    }
+
+    @Override
+    public void info(String message, byte arg) {
+        if (delegate.isInfoEnabled()
+                && admit(ConsoleLog.INFO_LOG_LEVEL, null, render(message, arg))) {
+            delegate.info(message, arg);
+        }
+    }
+
+    @Override
+    public void info(MessageSupplier messageSupplier) {
+        delegate.info(messageSupplier);
+    }
+
+    @Override
+    public void info(MessageSupplier messageSupplier, Throwable t) {
+        delegate.info(messageSupplier, t);
+    }
+
+    @Override
+    public void info(String message, MessageSupplier... paramSuppliers) {
+        delegate.info(message, paramSuppliers);
+    }
+
+    @Override
+    public void warn(String message) {
+        if (delegate.isWarnEnabled() && admit(ConsoleLog.WARN_LOG_LEVEL, null, render(message))) {
+            delegate.warn(message);
+        }
+    }
+
+    @Override
+    public void warn(String message, Object... params) {
+        if (delegate.isWarnEnabled()
+                && admit(ConsoleLog.WARN_LOG_LEVEL, null, render(message, params))) {
+            delegate.warn(message, params);
+        }
+    }
+
+    @Override
+    public void warn(String message, Throwable t) {
+        if (delegate.isWarnEnabled() && admit(ConsoleLog.WARN_LOG_LEVEL, t, render(message))) {
+            delegate.warn(message, t);
+        }
+    }
+
+    @Override
+    public void warn(String message, Throwable t, Object... params) {
+        if (delegate.isWarnEnabled()
+                && admit(ConsoleLog.WARN_LOG_LEVEL, t, render(message, params))) {
+            delegate.warn(message, t, params);
+        }
+    }
+
+    @Override
+    public void warn(String message, Object arg) {
+        if (delegate.isWarnEnabled()
+                && admit(ConsoleLog.WARN_LOG_LEVEL, null, render(message, arg))) {
+            delegate.warn(message, arg);
+        }
+    }
+
+    @Override
+    public void warn(String message, Object arg1, Object arg2) {
+        if (delegate.isWarnEnabled()
+                && admit(ConsoleLog.WARN_LOG_LEVEL, null, render(message, arg1, arg2))) {
+            delegate.warn(message, arg1, arg2);
+        }
+    }
+
+    @Override
+    public void warn(String message, Object arg1, Object arg2, Object arg3) {
+        if (delegate.isWarnEnabled()
+                && admit(ConsoleLog.WARN_LOG_LEVEL, null, render(message, arg1, arg2, arg3))) {
+            delegate.warn(message, arg1, arg2, arg3);
+        }
+    }
+
+    @Override
+    public void warn(String message, Throwable t, Object arg) {
+        if (delegate.isWarnEnabled() && admit(ConsoleLog.WARN_LOG_LEVEL, t, render(message, arg))) {
+            delegate.warn(message, t, arg);
+        }
+    }
+
+    @Override
+    public void warn(String message, Throwable t, Object arg1, Object arg2) {
+        if (delegate.isWarnEnabled()
+                && admit(ConsoleLog.WARN_LOG_LEVEL, t, render(message, arg1, arg2))) {
+            delegate.warn(message, t, arg1, arg2);
+        }
+    }
+
+    @Override
+    public void warn(String message, long arg) {
+        if (delegate.isWarnEnabled()
+                && admit(ConsoleLog.WARN_LOG_LEVEL, null, render(message, arg))) {
+            delegate.warn(message, arg);
+        }
+    }
+
+    @Override
+    public void warn(String message, int arg) {
+        if (delegate.isWarnEnabled()
+                && admit(ConsoleLog.WARN_LOG_LEVEL, null, render(message, arg))) {
+            delegate.warn(message, arg);
+        }
+    }
+
+    @Override
+    public void warn(String message, double arg) {
+        if (delegate.isWarnEnabled()
+                && admit(ConsoleLog.WARN_LOG_LEVEL, null, render(message, arg))) {
+            delegate.warn(message, arg);
+        }
+    }
+
+    @Override
+    public void warn(String message, boolean arg) {
+        if (delegate.isWarnEnabled()
+                && admit(ConsoleLog.WARN_LOG_LEVEL, null, render(message, arg))) {
+            delegate.warn(message, arg);
+        }
+    }
+
+    @Override
+    public void warn(String message, char arg) {
+        if (delegate.isWarnEnabled()
+                && admit(ConsoleLog.WARN_LOG_LEVEL, null, render(message, arg))) {
+            delegate.warn(message, arg);
+        }
+    }
+
+    @Override
+    public void warn(String message, float arg) {
+        if (delegate.isWarnEnabled()
+                && admit(ConsoleLog.WARN_LOG_LEVEL, null, render(message, arg))) {
+            delegate.warn(message, arg);
+        }
+    }
+
+    @Override
+    public void warn(String message, short arg) {
+        if (delegate.isWarnEnabled()
+                && admit(ConsoleLog.WARN_LOG_LEVEL, null, render(message, arg))) {
+            delegate.warn(message, arg);
+        }
+    }
+
+    @Override
+    public void warn(String message, byte arg) {
+        if (delegate.isWarnEnabled()
+                && admit(ConsoleLog.WARN_LOG_LEVEL, null, render(message, arg))) {
+            delegate.warn(message, arg);
+        }
+    }
+
+    @Override
+    public void warn(MessageSupplier messageSupplier) {
+        delegate.warn(messageSupplier);
+    }
+
+    @Override
+    public void warn(MessageSupplier messageSupplier, Throwable t) {
+        delegate.warn(messageSupplier, t);
+    }
+
+    @Override
+    public void warn(String message, MessageSupplier... paramSuppliers) {
+        delegate.warn(message, paramSuppliers);
+    }
+
+    @Override
+    public void error(String message) {
+        if (delegate.isErrorEnabled() && admit(ConsoleLog.ERROR_LOG_LEVEL, null, render(message))) {
+            delegate.error(message);
+        }
+    }
+
+    @Override
+    public void error(String message, Object... params) {
+        if (delegate.isErrorEnabled()
+                && admit(ConsoleLog.ERROR_LOG_LEVEL, null, render(message, params))) {
+            delegate.error(message, params);
+        }
+    }
+
+    @Override
+    public void error(String message, Throwable t) {
+        if (delegate.isErrorEnabled() && admit(ConsoleLog.ERROR_LOG_LEVEL, t, render(message))) {
+            delegate.error(message, t);
+        }
+    }
+
+    @Override
+    public void error(String message, Throwable t, Object... params) {
+        if (delegate.isErrorEnabled()
+                && admit(ConsoleLog.ERROR_LOG_LEVEL, t, render(message, params))) {
+            delegate.error(message, t, params);
+        }
+    }
+
+    @Override
+    public void error(String message, Object arg) {
+        if (delegate.isErrorEnabled()
+                && admit(ConsoleLog.ERROR_LOG_LEVEL, null, render(message, arg))) {
+            delegate.error(message, arg);
+        }
+    }
+
+    @Override
+    public void error(String message, Object arg1, Object arg2) {
+        if (delegate.isErrorEnabled()
+                && admit(ConsoleLog.ERROR_LOG_LEVEL, null, render(message, arg1, arg2))) {
+            delegate.error(message, arg1, arg2);
+        }
+    }
+
+    @Override
+    public void error(String message, Object arg1, Object arg2, Object arg3) {
+        if (delegate.isErrorEnabled()
+                && admit(ConsoleLog.ERROR_LOG_LEVEL, null, render(message, arg1, arg2, arg3))) {
+            delegate.error(message, arg1, arg2, arg3);
+        }
+    }
+
+    @Override
+    public void error(String message, Throwable t, Object arg) {
+        if (delegate.isErrorEnabled()
+                && admit(ConsoleLog.ERROR_LOG_LEVEL, t, render(message, arg))) {
+            delegate.error(message, t, arg);
+        }
+    }
+
+    @Override
+    public void error(String message, Throwable t, Object arg1, Object arg2) {
+        if (delegate.isErrorEnabled()
+                && admit(ConsoleLog.ERROR_LOG_LEVEL, t, render(message, arg1, arg2))) {
+            delegate.error(message, t, arg1, arg2);
+        }
+    }
+
+    @Override
+    public void error(String message, long arg) {
+        if (delegate.isErrorEnabled()
+                && admit(ConsoleLog.ERROR_LOG_LEVEL, null, render(message, arg))) {
+            delegate.error(message, arg);
+        }
+    }
+
+    @Override
+    public void error(String message, int arg) {
+        if (delegate.isErrorEnabled()
+                && admit(ConsoleLog.ERROR_LOG_LEVEL, null, render(message, arg))) {
+            delegate.error(message, arg);
+        }
+    }
+
+    @Override
+    public void error(String message, double arg) {
+        if (delegate.isErrorEnabled()
+                && admit(ConsoleLog.ERROR_LOG_LEVEL, null, render(message, arg))) {
+            delegate.error(message, arg);
+        }
+    }
+
+    @Override
+    public void error(String message, boolean arg) {
+        if (delegate.isErrorEnabled()
+                && admit(ConsoleLog.ERROR_LOG_LEVEL, null, render(message, arg))) {
+            delegate.error(message, arg);
+        }
+    }
+
+    @Override
+    public void error(String message, char arg) {
+        if (delegate.isErrorEnabled()
+                && admit(ConsoleLog.ERROR_LOG_LEVEL, null, render(message, arg))) {
+            delegate.error(message, arg);
+        }
+    }
+
+    @Override
+    public void error(String message, float arg) {
+        if (delegate.isErrorEnabled()
+                && admit(ConsoleLog.ERROR_LOG_LEVEL, null, render(message, arg))) {
+            delegate.error(message, arg);
+        }
+    }
+
+    @Override
+    public void error(String message, short arg) {
+        if (delegate.isErrorEnabled()
+                && admit(ConsoleLog.ERROR_LOG_LEVEL, null, render(message, arg))) {
+            delegate.error(message, arg);
+        }
+    }
+
+    @Override
+    public void error(String message, byte arg) {
+        if (delegate.isErrorEnabled()
+                && admit(ConsoleLog.ERROR_LOG_LEVEL, null, render(message, arg))) {
+            delegate.error(message, arg);
+        }
+    }
+
+    @Override
+    public void error(MessageSupplier messageSupplier) {
+        delegate.error(messageSupplier);
+    }
+
+    @Override
+    public void error(MessageSupplier messageSupplier, Throwable t) {
+        delegate.error(messageSupplier, t);
+    }
+
+    @Override
+    public void error(String message, MessageSupplier... paramSuppliers) {
+        delegate.error(message, paramSuppliers);
+    }
+
+    @Override
+    public void fatal(String message) {
+        if (delegate.isFatalEnabled() && admit(ConsoleLog.FATAL_LOG_LEVEL, null, render(message))) {
+            delegate.fatal(message);
+        }
+    }
+
+    @Override
+    public void fatal(String message, Object... params) {
+        if (delegate.isFatalEnabled()
+                && admit(ConsoleLog.FATAL_LOG_LEVEL, null, render(message, params))) {
+            delegate.fatal(message, params);
+        }
+    }
+
+    @Override
+    public void fatal(String message, Throwable t) {
+        if (delegate.isFatalEnabled() && admit(ConsoleLog.FATAL_LOG_LEVEL, t, render(message))) {
+            delegate.fatal(message, t);
+        }
+    }
+
+    @Override
+    public void fatal(String message, Throwable t, Object... params) {
+        if (delegate.isFatalEnabled()
+                && admit(ConsoleLog.FATAL_LOG_LEVEL, t, render(message, params))) {
+            delegate.fatal(message, t, params);
+        }
+    }
+
+    @Override
+    public void fatal(String message, Object arg) {
+        if (delegate.isFatalEnabled()
+                && admit(ConsoleLog.FATAL_LOG_LEVEL, null, render(message, arg))) {
+            delegate.fatal(message, arg);
+        }
+    }
+
+    @Override
+    public void fatal(String message, Object arg1, Object arg2) {
+        if (delegate.isFatalEnabled()
+                && admit(ConsoleLog.FATAL_LOG_LEVEL, null, render(message, arg1, arg2))) {
+            delegate.fatal(message, arg1, arg2);
+        }
+    }
+
+    @Override
+    public void fatal(String message, Object arg1, Object arg2, Object arg3) {
+        if (delegate.isFatalEnabled()
+                && admit(ConsoleLog.FATAL_LOG_LEVEL, null, render(message, arg1, arg2, arg3))) {
+            delegate.fatal(message, arg1, arg2, arg3);
+        }
+    }
+
+    @Override
+    public void fatal(String message, Throwable t, Object arg) {
+        if (delegate.isFatalEnabled()
+                && admit(ConsoleLog.FATAL_LOG_LEVEL, t, render(message, arg))) {
+            delegate.fatal(message, t, arg);
+        }
+    }
+
+    @Override
+    public void fatal(String message, Throwable t, Object arg1, Object arg2) {
+        if (delegate.isFatalEnabled()
+                && admit(ConsoleLog.FATAL_LOG_LEVEL, t, render(message, arg1, arg2))) {
+            delegate.fatal(message, t, arg1, arg2);
+        }
+    }
+
+    @Override
+    public void fatal(String message, long arg) {
+        if (delegate.isFatalEnabled()
+                && admit(ConsoleLog.FATAL_LOG_LEVEL, null, render(message, arg))) {
+            delegate.fatal(message, arg);
+        }
+    }
+
+    @Override
+    public void fatal(String message, int arg) {
+        if (delegate.isFatalEnabled()
+                && admit(ConsoleLog.FATAL_LOG_LEVEL, null, render(message, arg))) {
+            delegate.fatal(message, arg);
+        }
+    }
+
+    @Override
+    public void fatal(String message, double arg) {
+        if (delegate.isFatalEnabled()
+                && admit(ConsoleLog.FATAL_LOG_LEVEL, null, render(message, arg))) {
+            delegate.fatal(message, arg);
+        }
+    }
+
+    @Override
+    public void fatal(String message, boolean arg) {
+        if (delegate.isFatalEnabled()
+                && admit(ConsoleLog.FATAL_LOG_LEVEL, null, render(message, arg))) {
+            delegate.fatal(message, arg);
+        }
+    }
+
+    @Override
+    public void fatal(String message, char arg) {
+        if (delegate.isFatalEnabled()
+                && admit(ConsoleLog.FATAL_LOG_LEVEL, null, render(message, arg))) {
+            delegate.fatal(message, arg);
+        }
+    }
+
+    @Override
+    public void fatal(String message, float arg) {
+        if (delegate.isFatalEnabled()
+                && admit(ConsoleLog.FATAL_LOG_LEVEL, null, render(message, arg))) {
+            delegate.fatal(message, arg);
+        }
+    }
+
+    @Override
+    public void fatal(String message, short arg) {
+        if (delegate.isFatalEnabled()
+                && admit(ConsoleLog.FATAL_LOG_LEVEL, null, render(message, arg))) {
+            delegate.fatal(message, arg);
+        }
+    }
+
+    @Override
+    public void fatal(String message, byte arg) {
+        if (delegate.isFatalEnabled()
+                && admit(ConsoleLog.FATAL_LOG_LEVEL, null, render(message, arg))) {
+            delegate.fatal(message, arg);
+        }
+    }
+
+    @Override
+    public void fatal(MessageSupplier messageSupplier) {
+        delegate.fatal(messageSupplier);
+    }
+
+    @Override
+    public void fatal(MessageSupplier messageSupplier, Throwable t) {
+        delegate.fatal(messageSupplier, t);
+    }
+
+    @Override
+    public void fatal(String message, MessageSupplier... paramSuppliers) {
+        delegate.fatal(message, paramSuppliers);
+    }
+}
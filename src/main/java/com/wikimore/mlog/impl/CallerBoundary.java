@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.impl;
+
+/**
+ * Log whose backend finds the caller location itself
+ * <p>
+ * the backend skips the stack frames up to the outermost frame of the
+ * boundary class, the frame above it is reported as the caller. a Log
+ * wrapper sets itself as the boundary of the Log it wraps, otherwise the
+ * wrapper would be reported as the caller of every line. wrappers pass the
+ * boundary on to their delegate.
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+interface CallerBoundary {
+
+    /**
+     * called before the Log is published to other threads
+     * 
+     * @param fqcn
+     *            name of the class whose caller is reported
+     */
+    void setCallerBoundary(String fqcn);
+}
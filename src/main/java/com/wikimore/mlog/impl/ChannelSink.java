@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.impl;
+
+import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * sink writing lines to a FileChannel, a file opened for append or the file
+ * descriptor of stdout or stderr
+ * <p>
+ * the direct buffer of an encoded line is handed to the channel as it is, the
+ * bytes are not copied again on the way to the write system call. unlike the
+ * PrintStream sink, System.setOut and System.setErr do not redirect it.
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+final class ChannelSink implements Sink {
+    private final FileOutputStream out;
+    private final FileChannel channel;
+    private final boolean standardStream;
+
+    private ChannelSink(FileOutputStream out, boolean standardStream) {
+        this.out = out;
+        this.channel = out.getChannel();
+        this.standardStream = standardStream;
+    }
+
+    /**
+     * @return sink on the stdout file descriptor
+     */
+    static ChannelSink stdout() {
+        return new ChannelSink(new FileOutputStream(FileDescriptor.out), true);
+    }
+
+    /**
+     * @return sink on the stderr file descriptor
+     */
+    static ChannelSink stderr() {
+        return new ChannelSink(new FileOutputStream(FileDescriptor.err), true);
+    }
+
+    /**
+     * @return sink appending to file
+     * @throws IOException
+     *             if the file can not be opened
+     */
+    static ChannelSink open(File file) throws IOException {
+        return new ChannelSink(new FileOutputStream(file, true), false);
+    }
+
+    public void write(ByteBuffer bytes, int level) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    /**
+     * a channel write reaches the operating system at once, there is nothing
+     * to flush
+     */
+    public void flush() {
+    }
+
+    public void close() throws IOException {
+        // stdout and stderr stay open for the rest of the JVM
+        if (!standardStream) {
+            out.close();
+        }
+    }
+}
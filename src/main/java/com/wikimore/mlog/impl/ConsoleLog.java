@@ -16,39 +16,108 @@
  */
 package com.wikimore.mlog.impl;
 
-import java.io.PrintStream;
-import java.io.PrintWriter;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 
-import com.wikimore.mlog.Formatter;
 import com.wikimore.mlog.Log;
-import com.wikimore.mlog.StringWriter;
+import com.wikimore.mlog.MessageSupplier;
 
 /**
  * Log implementation with console output:System.err
+ * <p>
+ * when system property <tt>com.wikimore.mlog.impl.ConsoleLog.async</tt> is
+ * true, log calls are published into a bounded ring buffer and a single
+ * background thread formats and writes them, so callers never block on the
+ * System.err monitor. parameters are rendered on the background thread, they
+ * should not be mutated after the log call.
+ * <p>
+ * lines go to System.err unless another sink is configured, see
+ * <tt>com.wikimore.mlog.impl.ConsoleLog.sink</tt>.
+ * <p>
+ * when <tt>com.wikimore.mlog.impl.ConsoleLog.format</tt> is <tt>binary</tt>,
+ * events are written unformatted in a compact binary form, see
+ * {@link BinaryLogDecoder} to read them.
+ * <p>
+ * the level of a ConsoleLog is resolved from name prefixes, see
+ * {@link #setLevel(String, String)}. without any configured level everything
+ * is printed.
  * 
  * @author ted created on 2013-5-17
  * @since 1.0
  */
 public class ConsoleLog implements Log {
-	private static final int TRACE_LOG_LEVEL = 1;
-	private static final int DEBUG_LOG_LEVEL = 2;
-	private static final int INFO_LOG_LEVEL = 3;
-	private static final int WARN_LOG_LEVEL = 4;
-	private static final int ERROR_LOG_LEVEL = 5;
-	private static final int FATAL_LOG_LEVEL = 6;
+	static final int TRACE_LOG_LEVEL = 1;
+	static final int DEBUG_LOG_LEVEL = 2;
+	static final int INFO_LOG_LEVEL = 3;
+	static final int WARN_LOG_LEVEL = 4;
+	static final int ERROR_LOG_LEVEL = 5;
+	static final int FATAL_LOG_LEVEL = 6;
 	private static final int DEFAULT_LOG_LEVEL = TRACE_LOG_LEVEL;
+	private static final int GENERATION_MASK = -1 >>> LevelRegistry.LEVEL_BITS;
 	private static final Object[] NULL_OBJ_ARRAY = null;
-	private int currentLogLevel;
+	static final String ASYNC_KEY = "com.wikimore.mlog.impl.ConsoleLog.async";
+	static final String FORMAT_KEY = "com.wikimore.mlog.impl.ConsoleLog.format";
+	static final String BINARY_FORMAT = "binary";
+	/**
+	 * resolved level in the low bits, registry generation in the high bits.
+	 * one int so level and generation are always read together, a stale
+	 * value only causes one more resolve
+	 */
+	private int levelState;
 	private String name = null;
-	private ThreadLocal<SimpleDateFormat> threadLocal = new ThreadLocal<SimpleDateFormat>();
-	private PrintStream writer;
+	private Sink sink;
+	private boolean binary;
+	/** null when no rate limit or sampling applies */
+	private RateLimiter rateLimiter;
+	/** RateLimiter generation the limiter was looked up at */
+	private int rateGeneration;
+	private LogMetrics metrics;
+	private AsyncLogDispatcher dispatcher;
 
 	public ConsoleLog(String name) {
 		this.name = name;
-		this.currentLogLevel = DEFAULT_LOG_LEVEL;
-		this.writer = System.err;
+		refreshLevel();
+		refreshRateLimiter();
+		this.metrics = LogMetrics.forLogger("ConsoleLog", name);
+		Sink configured = Sinks.configured();
+		this.sink = configured != null ? configured : new PrintStreamSink(
+				System.err);
+		this.binary = BINARY_FORMAT.equals(System.getProperty(FORMAT_KEY));
+		if (Boolean.getBoolean(ASYNC_KEY)) {
+			this.dispatcher = AsyncLogDispatcher.getInstance();
+		}
+	}
+
+	/**
+	 * change the level of every ConsoleLog whose name starts with prefix,
+	 * takes effect at the next log call
+	 * <p>
+	 * levels can also be configured with system properties or mlog.properties,
+	 * <tt>com.wikimore.mlog.impl.ConsoleLog.level=INFO</tt> for the root and
+	 * <tt>com.wikimore.mlog.impl.ConsoleLog.level.com.foo=WARN</tt> for a
+	 * prefix
+	 * 
+	 * @param prefix
+	 *            logger name prefix matched at a dot boundary, empty for all
+	 *            loggers
+	 * @param level
+	 *            TRACE, DEBUG, INFO, WARN, ERROR, FATAL or OFF
+	 * @throws IllegalArgumentException
+	 *             if the level name is unknown
+	 */
+	public static void setLevel(String prefix, String level) {
+		LevelRegistry.setLevel(prefix, level);
+	}
+
+	/**
+	 * remove the level of a prefix, loggers fall back to the next shorter
+	 * prefix
+	 * 
+	 * @param prefix
+	 *            logger name prefix
+	 */
+	public static void removeLevel(String prefix) {
+		LevelRegistry.removeLevel(prefix);
 	}
 
 	public boolean isDebugEnabled() {
@@ -76,124 +145,904 @@ public class ConsoleLog implements Log {
 	}
 
 	public void trace(String message) {
-		if (isTraceEnabled()) {
+		if (isTraceEnabled() && permit(TRACE_LOG_LEVEL, null)) {
 			log(TRACE_LOG_LEVEL, message, null, NULL_OBJ_ARRAY);
 		}
 	}
 
 	public void trace(String message, Object... params) {
-		if (isTraceEnabled()) {
+		if (isTraceEnabled() && permit(TRACE_LOG_LEVEL, null)) {
 			log(TRACE_LOG_LEVEL, message, null, params);
 		}
 	}
 
 	public void trace(String message, Throwable t, Object... params) {
-		if (isTraceEnabled()) {
+		if (isTraceEnabled() && permit(TRACE_LOG_LEVEL, t)) {
 			log(TRACE_LOG_LEVEL, message, t, params);
 		}
 	}
 
 	public void trace(String message, Throwable t) {
-		if (isTraceEnabled()) {
+		if (isTraceEnabled() && permit(TRACE_LOG_LEVEL, t)) {
 			log(TRACE_LOG_LEVEL, message, t, NULL_OBJ_ARRAY);
 		}
 	}
 
+	public void trace(String message, Object arg) {
+		if (isTraceEnabled() && permit(TRACE_LOG_LEVEL, null)) {
+			LogEvent event = event(TRACE_LOG_LEVEL, message, null);
+			event.setArguments(arg);
+			dispatch(event);
+		}
+	}
+
+	public void trace(String message, Object arg1, Object arg2) {
+		if (isTraceEnabled() && permit(TRACE_LOG_LEVEL, null)) {
+			LogEvent event = event(TRACE_LOG_LEVEL, message, null);
+			event.setArguments(arg1, arg2);
+			dispatch(event);
+		}
+	}
+
+	public void trace(String message, Object arg1, Object arg2, Object arg3) {
+		if (isTraceEnabled() && permit(TRACE_LOG_LEVEL, null)) {
+			LogEvent event = event(TRACE_LOG_LEVEL, message, null);
+			event.setArguments(arg1, arg2, arg3);
+			dispatch(event);
+		}
+	}
+
+	public void trace(String message, Throwable t, Object arg) {
+		if (isTraceEnabled() && permit(TRACE_LOG_LEVEL, t)) {
+			LogEvent event = event(TRACE_LOG_LEVEL, message, t);
+			event.setArguments(arg);
+			dispatch(event);
+		}
+	}
+
+	public void trace(String message, Throwable t, Object arg1, Object arg2) {
+		if (isTraceEnabled() && permit(TRACE_LOG_LEVEL, t)) {
+			LogEvent event = event(TRACE_LOG_LEVEL, message, t);
+			event.setArguments(arg1, arg2);
+			dispatch(event);
+		}
+	}
+
+	public void trace(String message, long arg) {
+		if (isTraceEnabled() && permit(TRACE_LOG_LEVEL, null)) {
+			LogEvent event = event(TRACE_LOG_LEVEL, message, null);
+			event.setArgument(arg);
+			dispatch(event);
+		}
+	}
+
+	public void trace(String message, int arg) {
+		if (isTraceEnabled() && permit(TRACE_LOG_LEVEL, null)) {
+			LogEvent event = event(TRACE_LOG_LEVEL, message, null);
+			event.setArgument((long) arg);
+			dispatch(event);
+		}
+	}
+
+	public void trace(String message, double arg) {
+		if (isTraceEnabled() && permit(TRACE_LOG_LEVEL, null)) {
+			LogEvent event = event(TRACE_LOG_LEVEL, message, null);
+			event.setArgument(arg);
+			dispatch(event);
+		}
+	}
+
+	public void trace(String message, boolean arg) {
+		if (isTraceEnabled() && permit(TRACE_LOG_LEVEL, null)) {
+			LogEvent event = event(TRACE_LOG_LEVEL, message, null);
+			event.setArguments(Boolean.valueOf(arg));
+			dispatch(event);
+		}
+	}
+
+	public void trace(String message, char arg) {
+		if (isTraceEnabled() && permit(TRACE_LOG_LEVEL, null)) {
+			LogEvent event = event(TRACE_LOG_LEVEL, message, null);
+			event.setArguments(Character.valueOf(arg));
+			dispatch(event);
+		}
+	}
+
+	public void trace(String message, float arg) {
+		if (isTraceEnabled() && permit(TRACE_LOG_LEVEL, null)) {
+			LogEvent event = event(TRACE_LOG_LEVEL, message, null);
+			event.setArgument(arg);
+			dispatch(event);
+		}
+	}
+
+	public void trace(String message, short arg) {
+		if (isTraceEnabled() && permit(TRACE_LOG_LEVEL, null)) {
+			LogEvent event = event(TRACE_LOG_LEVEL, message, null);
+			event.setArgument((long) arg);
+			dispatch(event);
+		}
+	}
+
+	public void trace(String message, byte arg) {
+		if (isTraceEnabled() && permit(TRACE_LOG_LEVEL, null)) {
+			LogEvent event = event(TRACE_LOG_LEVEL, message, null);
+			event.setArgument((long) arg);
+			dispatch(event);
+		}
+	}
+
+	public void trace(MessageSupplier messageSupplier) {
+		if (isTraceEnabled() && permit(TRACE_LOG_LEVEL, null)) {
+			LogEvent event = event(TRACE_LOG_LEVEL, null, null);
+			event.setMessageSupplier(messageSupplier);
+			dispatch(event);
+		}
+	}
+
+	public void trace(MessageSupplier messageSupplier, Throwable t) {
+		if (isTraceEnabled() && permit(TRACE_LOG_LEVEL, t)) {
+			LogEvent event = event(TRACE_LOG_LEVEL, null, t);
+			event.setMessageSupplier(messageSupplier);
+			dispatch(event);
+		}
+	}
+
+	public void trace(String message, MessageSupplier... paramSuppliers) {
+		if (isTraceEnabled() && permit(TRACE_LOG_LEVEL, null)) {
+			log(TRACE_LOG_LEVEL, message, null, (Object[]) paramSuppliers);
+		}
+	}
+
 	public void debug(String message) {
-		if (isDebugEnabled()) {
+		if (isDebugEnabled() && permit(DEBUG_LOG_LEVEL, null)) {
 			log(DEBUG_LOG_LEVEL, message, null, NULL_OBJ_ARRAY);
 		}
 	}
 
 	public void debug(String message, Object... params) {
-		if (isDebugEnabled()) {
+		if (isDebugEnabled() && permit(DEBUG_LOG_LEVEL, null)) {
 			log(DEBUG_LOG_LEVEL, message, null, params);
 		}
 	}
 
 	public void debug(String message, Throwable t) {
-		if (isDebugEnabled()) {
+		if (isDebugEnabled() && permit(DEBUG_LOG_LEVEL, t)) {
 			log(DEBUG_LOG_LEVEL, message, t, NULL_OBJ_ARRAY);
 		}
 	}
 
 	public void debug(String message, Throwable t, Object... params) {
-		if (isDebugEnabled()) {
+		if (isDebugEnabled() && permit(DEBUG_LOG_LEVEL, t)) {
 			log(DEBUG_LOG_LEVEL, message, t, params);
 		}
 	}
 
+	public void debug(String message, Object arg) {
+		if (isDebugEnabled() && permit(DEBUG_LOG_LEVEL, null)) {
+			LogEvent event = event(DEBUG_LOG_LEVEL, message, null);
+			event.setArguments(arg);
+			dispatch(event);
+		}
+	}
+
+	public void debug(String message, Object arg1, Object arg2) {
+		if (isDebugEnabled() && permit(DEBUG_LOG_LEVEL, null)) {
+			LogEvent event = event(DEBUG_LOG_LEVEL, message, null);
+			event.setArguments(arg1, arg2);
+			dispatch(event);
+		}
+	}
+
+	public void debug(String message, Object arg1, Object arg2, Object arg3) {
+		if (isDebugEnabled() && permit(DEBUG_LOG_LEVEL, null)) {
+			LogEvent event = event(DEBUG_LOG_LEVEL, message, null);
+			event.setArguments(arg1, arg2, arg3);
+			dispatch(event);
+		}
+	}
+
+	public void debug(String message, Throwable t, Object arg) {
+		if (isDebugEnabled() && permit(DEBUG_LOG_LEVEL, t)) {
+			LogEvent event = event(DEBUG_LOG_LEVEL, message, t);
+			event.setArguments(arg);
+			dispatch(event);
+		}
+	}
+
+	public void debug(String message, Throwable t, Object arg1, Object arg2) {
+		if (isDebugEnabled() && permit(DEBUG_LOG_LEVEL, t)) {
+			LogEvent event = event(DEBUG_LOG_LEVEL, message, t);
+			event.setArguments(arg1, arg2);
+			dispatch(event);
+		}
+	}
+
+	public void debug(String message, long arg) {
+		if (isDebugEnabled() && permit(DEBUG_LOG_LEVEL, null)) {
+			LogEvent event = event(DEBUG_LOG_LEVEL, message, null);
+			event.setArgument(arg);
+			dispatch(event);
+		}
+	}
+
+	public void debug(String message, int arg) {
+		if (isDebugEnabled() && permit(DEBUG_LOG_LEVEL, null)) {
+			LogEvent event = event(DEBUG_LOG_LEVEL, message, null);
+			event.setArgument((long) arg);
+			dispatch(event);
+		}
+	}
+
+	public void debug(String message, double arg) {
+		if (isDebugEnabled() && permit(DEBUG_LOG_LEVEL, null)) {
+			LogEvent event = event(DEBUG_LOG_LEVEL, message, null);
+			event.setArgument(arg);
+			dispatch(event);
+		}
+	}
+
+	public void debug(String message, boolean arg) {
+		if (isDebugEnabled() && permit(DEBUG_LOG_LEVEL, null)) {
+			LogEvent event = event(DEBUG_LOG_LEVEL, message, null);
+			event.setArguments(Boolean.valueOf(arg));
+			dispatch(event);
+		}
+	}
+
+	public void debug(String message, char arg) {
+		if (isDebugEnabled() && permit(DEBUG_LOG_LEVEL, null)) {
+			LogEvent event = event(DEBUG_LOG_LEVEL, message, null);
+			event.setArguments(Character.valueOf(arg));
+			dispatch(event);
+		}
+	}
+
+	public void debug(String message, float arg) {
+		if (isDebugEnabled() && permit(DEBUG_LOG_LEVEL, null)) {
+			LogEvent event = event(DEBUG_LOG_LEVEL, message, null);
+			event.setArgument(arg);
+			dispatch(event);
+		}
+	}
+
+	public void debug(String message, short arg) {
+		if (isDebugEnabled() && permit(DEBUG_LOG_LEVEL, null)) {
+			LogEvent event = event(DEBUG_LOG_LEVEL, message, null);
+			event.setArgument((long) arg);
+			dispatch(event);
+		}
+	}
+
+	public void debug(String message, byte arg) {
+		if (isDebugEnabled() && permit(DEBUG_LOG_LEVEL, null)) {
+			LogEvent event = event(DEBUG_LOG_LEVEL, message, null);
+			event.setArgument((long) arg);
+			dispatch(event);
+		}
+	}
+
+	public void debug(MessageSupplier messageSupplier) {
+		if (isDebugEnabled() && permit(DEBUG_LOG_LEVEL, null)) {
+			LogEvent event = event(DEBUG_LOG_LEVEL, null, null);
+			event.setMessageSupplier(messageSupplier);
+			dispatch(event);
+		}
+	}
+
+	public void debug(MessageSupplier messageSupplier, Throwable t) {
+		if (isDebugEnabled() && permit(DEBUG_LOG_LEVEL, t)) {
+			LogEvent event = event(DEBUG_LOG_LEVEL, null, t);
+			event.setMessageSupplier(messageSupplier);
+			dispatch(event);
+		}
+	}
+
+	public void debug(String message, MessageSupplier... paramSuppliers) {
+		if (isDebugEnabled() && permit(DEBUG_LOG_LEVEL, null)) {
+			log(DEBUG_LOG_LEVEL, message, null, (Object[]) paramSuppliers);
+		}
+	}
+
 	public void info(String message) {
-		if (isInfoEnabled()) {
+		if (isInfoEnabled() && permit(INFO_LOG_LEVEL, null)) {
 			log(INFO_LOG_LEVEL, message, null, NULL_OBJ_ARRAY);
 		}
 
 	}
 
 	public void info(String message, Object... params) {
-		if (isInfoEnabled()) {
+		if (isInfoEnabled() && permit(INFO_LOG_LEVEL, null)) {
 			log(INFO_LOG_LEVEL, message, null, params);
 		}
 	}
 
 	public void info(String message, Throwable t) {
-		if (isInfoEnabled()) {
+		if (isInfoEnabled() && permit(INFO_LOG_LEVEL, t)) {
 			log(INFO_LOG_LEVEL, message, t, NULL_OBJ_ARRAY);
 		}
 	}
 
 	public void info(String message, Throwable t, Object... params) {
-		if (isInfoEnabled()) {
+		if (isInfoEnabled() && permit(INFO_LOG_LEVEL, t)) {
 			log(INFO_LOG_LEVEL, message, t, params);
 		}
 	}
 
+	public void info(String message, Object arg) {
+		if (isInfoEnabled() && permit(INFO_LOG_LEVEL, null)) {
+			LogEvent event = event(INFO_LOG_LEVEL, message, null);
+			event.setArguments(arg);
+			dispatch(event);
+		}
+	}
+
+	public void info(String message, Object arg1, Object arg2) {
+		if (isInfoEnabled() && permit(INFO_LOG_LEVEL, null)) {
+			LogEvent event = event(INFO_LOG_LEVEL, message, null);
+			event.setArguments(arg1, arg2);
+			dispatch(event);
+		}
+	}
+
+	public void info(String message, Object arg1, Object arg2, Object arg3) {
+		if (isInfoEnabled() && permit(INFO_LOG_LEVEL, null)) {
+			LogEvent event = event(INFO_LOG_LEVEL, message, null);
+			event.setArguments(arg1, arg2, arg3);
+			dispatch(event);
+		}
+	}
+
+	public void info(String message, Throwable t, Object arg) {
+		if (isInfoEnabled() && permit(INFO_LOG_LEVEL, t)) {
+			LogEvent event = event(INFO_LOG_LEVEL, message, t);
+			event.setArguments(arg);
+			dispatch(event);
+		}
+	}
+
+	public void info(String message, Throwable t, Object arg1, Object arg2) {
+		if (isInfoEnabled() && permit(INFO_LOG_LEVEL, t)) {
+			LogEvent event = event(INFO_LOG_LEVEL, message, t);
+			event.setArguments(arg1, arg2);
+			dispatch(event);
+		}
+	}
+
+	public void info(String message, long arg) {
+		if (isInfoEnabled() && permit(INFO_LOG_LEVEL, null)) {
+			LogEvent event = event(INFO_LOG_LEVEL, message, null);
+			event.setArgument(arg);
+			dispatch(event);
+		}
+	}
+
+	public void info(String message, int arg) {
+		if (isInfoEnabled() && permit(INFO_LOG_LEVEL, null)) {
+			LogEvent event = event(INFO_LOG_LEVEL, message, null);
+			event.setArgument((long) arg);
+			dispatch(event);
+		}
+	}
+
+	public void info(String message, double arg) {
+		if (isInfoEnabled() && permit(INFO_LOG_LEVEL, null)) {
+			LogEvent event = event(INFO_LOG_LEVEL, message, null);
+			event.setArgument(arg);
+			dispatch(event);
+		}
+	}
+
+	public void info(String message, boolean arg) {
+		if (isInfoEnabled() && permit(INFO_LOG_LEVEL, null)) {
+			LogEvent event = event(INFO_LOG_LEVEL, message, null);
+			event.setArguments(Boolean.valueOf(arg));
+			dispatch(event);
+		}
+	}
+
+	public void info(String message, char arg) {
+		if (isInfoEnabled() && permit(INFO_LOG_LEVEL, null)) {
+			LogEvent event = event(INFO_LOG_LEVEL, message, null);
+			event.setArguments(Character.valueOf(arg));
+			dispatch(event);
+		}
+	}
+
+	public void info(String message, float arg) {
+		if (isInfoEnabled() && permit(INFO_LOG_LEVEL, null)) {
+			LogEvent event = event(INFO_LOG_LEVEL, message, null);
+			event.setArgument(arg);
+			dispatch(event);
+		}
+	}
+
+	public void info(String message, short arg) {
+		if (isInfoEnabled() && permit(INFO_LOG_LEVEL, null)) {
+			LogEvent event = event(INFO_LOG_LEVEL, message, null);
+			event.setArgument((long) arg);
+			dispatch(event);
+		}
+	}
+
+	public void info(String message, byte arg) {
+		if (isInfoEnabled() && permit(INFO_LOG_LEVEL, null)) {
+			LogEvent event = event(INFO_LOG_LEVEL, message, null);
+			event.setArgument((long) arg);
+			dispatch(event);
+		}
+	}
+
+	public void info(MessageSupplier messageSupplier) {
+		if (isInfoEnabled() && permit(INFO_LOG_LEVEL, null)) {
+			LogEvent event = event(INFO_LOG_LEVEL, null, null);
+			event.setMessageSupplier(messageSupplier);
+			dispatch(event);
+		}
+	}
+
+	public void info(MessageSupplier messageSupplier, Throwable t) {
+		if (isInfoEnabled() && permit(INFO_LOG_LEVEL, t)) {
+			LogEvent event = event(INFO_LOG_LEVEL, null, t);
+			event.setMessageSupplier(messageSupplier);
+			dispatch(event);
+		}
+	}
+
+	public void info(String message, MessageSupplier... paramSuppliers) {
+		if (isInfoEnabled() && permit(INFO_LOG_LEVEL, null)) {
+			log(INFO_LOG_LEVEL, message, null, (Object[]) paramSuppliers);
+		}
+	}
+
 	public void warn(String message) {
-		log(WARN_LOG_LEVEL, message, null, NULL_OBJ_ARRAY);
+		if (isWarnEnabled() && permit(WARN_LOG_LEVEL, null)) {
+			log(WARN_LOG_LEVEL, message, null, NULL_OBJ_ARRAY);
+		}
 	}
 
 	public void warn(String message, Object... params) {
-		log(WARN_LOG_LEVEL, message, null, params);
+		if (isWarnEnabled() && permit(WARN_LOG_LEVEL, null)) {
+			log(WARN_LOG_LEVEL, message, null, params);
+		}
 	}
 
 	public void warn(String message, Throwable t) {
-		log(WARN_LOG_LEVEL, message, t, NULL_OBJ_ARRAY);
+		if (isWarnEnabled() && permit(WARN_LOG_LEVEL, t)) {
+			log(WARN_LOG_LEVEL, message, t, NULL_OBJ_ARRAY);
+		}
 	}
 
 	public void warn(String message, Throwable t, Object... params) {
-		log(WARN_LOG_LEVEL, message, t, params);
+		if (isWarnEnabled() && permit(WARN_LOG_LEVEL, t)) {
+			log(WARN_LOG_LEVEL, message, t, params);
+		}
+	}
+
+	public void warn(String message, Object arg) {
+		if (isWarnEnabled() && permit(WARN_LOG_LEVEL, null)) {
+			LogEvent event = event(WARN_LOG_LEVEL, message, null);
+			event.setArguments(arg);
+			dispatch(event);
+		}
+	}
+
+	public void warn(String message, Object arg1, Object arg2) {
+		if (isWarnEnabled() && permit(WARN_LOG_LEVEL, null)) {
+			LogEvent event = event(WARN_LOG_LEVEL, message, null);
+			event.setArguments(arg1, arg2);
+			dispatch(event);
+		}
+	}
+
+	public void warn(String message, Object arg1, Object arg2, Object arg3) {
+		if (isWarnEnabled() && permit(WARN_LOG_LEVEL, null)) {
+			LogEvent event = event(WARN_LOG_LEVEL, message, null);
+			event.setArguments(arg1, arg2, arg3);
+			dispatch(event);
+		}
+	}
+
+	public void warn(String message, Throwable t, Object arg) {
+		if (isWarnEnabled() && permit(WARN_LOG_LEVEL, t)) {
+			LogEvent event = event(WARN_LOG_LEVEL, message, t);
+			event.setArguments(arg);
+			dispatch(event);
+		}
+	}
+
+	public void warn(String message, Throwable t, Object arg1, Object arg2) {
+		if (isWarnEnabled() && permit(WARN_LOG_LEVEL, t)) {
+			LogEvent event = event(WARN_LOG_LEVEL, message, t);
+			event.setArguments(arg1, arg2);
+			dispatch(event);
+		}
+	}
+
+	public void warn(String message, long arg) {
+		if (isWarnEnabled() && permit(WARN_LOG_LEVEL, null)) {
+			LogEvent event = event(WARN_LOG_LEVEL, message, null);
+			event.setArgument(arg);
+			dispatch(event);
+		}
+	}
+
+	public void warn(String message, int arg) {
+		if (isWarnEnabled() && permit(WARN_LOG_LEVEL, null)) {
+			LogEvent event = event(WARN_LOG_LEVEL, message, null);
+			event.setArgument((long) arg);
+			dispatch(event);
+		}
+	}
+
+	public void warn(String message, double arg) {
+		if (isWarnEnabled() && permit(WARN_LOG_LEVEL, null)) {
+			LogEvent event = event(WARN_LOG_LEVEL, message, null);
+			event.setArgument(arg);
+			dispatch(event);
+		}
+	}
+
+	public void warn(String message, boolean arg) {
+		if (isWarnEnabled() && permit(WARN_LOG_LEVEL, null)) {
+			LogEvent event = event(WARN_LOG_LEVEL, message, null);
+			event.setArguments(Boolean.valueOf(arg));
+			dispatch(event);
+		}
+	}
+
+	public void warn(String message, char arg) {
+		if (isWarnEnabled() && permit(WARN_LOG_LEVEL, null)) {
+			LogEvent event = event(WARN_LOG_LEVEL, message, null);
+			event.setArguments(Character.valueOf(arg));
+			dispatch(event);
+		}
+	}
+
+	public void warn(String message, float arg) {
+		if (isWarnEnabled() && permit(WARN_LOG_LEVEL, null)) {
+			LogEvent event = event(WARN_LOG_LEVEL, message, null);
+			event.setArgument(arg);
+			dispatch(event);
+		}
+	}
+
+	public void warn(String message, short arg) {
+		if (isWarnEnabled() && permit(WARN_LOG_LEVEL, null)) {
+			LogEvent event = event(WARN_LOG_LEVEL, message, null);
+			event.setArgument((long) arg);
+			dispatch(event);
+		}
+	}
+
+	public void warn(String message, byte arg) {
+		if (isWarnEnabled() && permit(WARN_LOG_LEVEL, null)) {
+			LogEvent event = event(WARN_LOG_LEVEL, message, null);
+			event.setArgument((long) arg);
+			dispatch(event);
+		}
+	}
+
+	public void warn(MessageSupplier messageSupplier) {
+		if (isWarnEnabled() && permit(WARN_LOG_LEVEL, null)) {
+			LogEvent event = event(WARN_LOG_LEVEL, null, null);
+			event.setMessageSupplier(messageSupplier);
+			dispatch(event);
+		}
+	}
+
+	public void warn(MessageSupplier messageSupplier, Throwable t) {
+		if (isWarnEnabled() && permit(WARN_LOG_LEVEL, t)) {
+			LogEvent event = event(WARN_LOG_LEVEL, null, t);
+			event.setMessageSupplier(messageSupplier);
+			dispatch(event);
+		}
+	}
+
+	public void warn(String message, MessageSupplier... paramSuppliers) {
+		if (isWarnEnabled() && permit(WARN_LOG_LEVEL, null)) {
+			log(WARN_LOG_LEVEL, message, null, (Object[]) paramSuppliers);
+		}
 	}
 
 	public void error(String message) {
-		log(ERROR_LOG_LEVEL, message, null, NULL_OBJ_ARRAY);
+		if (isErrorEnabled() && permit(ERROR_LOG_LEVEL, null)) {
+			log(ERROR_LOG_LEVEL, message, null, NULL_OBJ_ARRAY);
+		}
 	}
 
 	public void error(String message, Object... params) {
-		log(ERROR_LOG_LEVEL, message, null, params);
+		if (isErrorEnabled() && permit(ERROR_LOG_LEVEL, null)) {
+			log(ERROR_LOG_LEVEL, message, null, params);
+		}
 	}
 
 	public void error(String message, Throwable t) {
-		log(ERROR_LOG_LEVEL, message, t, NULL_OBJ_ARRAY);
+		if (isErrorEnabled() && permit(ERROR_LOG_LEVEL, t)) {
+			log(ERROR_LOG_LEVEL, message, t, NULL_OBJ_ARRAY);
+		}
 	}
 
 	public void error(String message, Throwable t, Object... params) {
-		log(ERROR_LOG_LEVEL, message, t, params);
+		if (isErrorEnabled() && permit(ERROR_LOG_LEVEL, t)) {
+			log(ERROR_LOG_LEVEL, message, t, params);
+		}
+	}
+
+	public void error(String message, Object arg) {
+		if (isErrorEnabled() && permit(ERROR_LOG_LEVEL, null)) {
+			LogEvent event = event(ERROR_LOG_LEVEL, message, null);
+			event.setArguments(arg);
+			dispatch(event);
+		}
+	}
+
+	public void error(String message, Object arg1, Object arg2) {
+		if (isErrorEnabled() && permit(ERROR_LOG_LEVEL, null)) {
+			LogEvent event = event(ERROR_LOG_LEVEL, message, null);
+			event.setArguments(arg1, arg2);
+			dispatch(event);
+		}
+	}
+
+	public void error(String message, Object arg1, Object arg2, Object arg3) {
+		if (isErrorEnabled() && permit(ERROR_LOG_LEVEL, null)) {
+			LogEvent event = event(ERROR_LOG_LEVEL, message, null);
+			event.setArguments(arg1, arg2, arg3);
+			dispatch(event);
+		}
+	}
+
+	public void error(String message, Throwable t, Object arg) {
+		if (isErrorEnabled() && permit(ERROR_LOG_LEVEL, t)) {
+			LogEvent event = event(ERROR_LOG_LEVEL, message, t);
+			event.setArguments(arg);
+			dispatch(event);
+		}
+	}
+
+	public void error(String message, Throwable t, Object arg1, Object arg2) {
+		if (isErrorEnabled() && permit(ERROR_LOG_LEVEL, t)) {
+			LogEvent event = event(ERROR_LOG_LEVEL, message, t);
+			event.setArguments(arg1, arg2);
+			dispatch(event);
+		}
+	}
+
+	public void error(String message, long arg) {
+		if (isErrorEnabled() && permit(ERROR_LOG_LEVEL, null)) {
+			LogEvent event = event(ERROR_LOG_LEVEL, message, null);
+			event.setArgument(arg);
+			dispatch(event);
+		}
+	}
+
+	public void error(String message, int arg) {
+		if (isErrorEnabled() && permit(ERROR_LOG_LEVEL, null)) {
+			LogEvent event = event(ERROR_LOG_LEVEL, message, null);
+			event.setArgument((long) arg);
+			dispatch(event);
+		}
+	}
+
+	public void error(String message, double arg) {
+		if (isErrorEnabled() && permit(ERROR_LOG_LEVEL, null)) {
+			LogEvent event = event(ERROR_LOG_LEVEL, message, null);
+			event.setArgument(arg);
+			dispatch(event);
+		}
+	}
+
+	public void error(String message, boolean arg) {
+		if (isErrorEnabled() && permit(ERROR_LOG_LEVEL, null)) {
+			LogEvent event = event(ERROR_LOG_LEVEL, message, null);
+			event.setArguments(Boolean.valueOf(arg));
+			dispatch(event);
+		}
+	}
+
+	public void error(String message, char arg) {
+		if (isErrorEnabled() && permit(ERROR_LOG_LEVEL, null)) {
+			LogEvent event = event(ERROR_LOG_LEVEL, message, null);
+			event.setArguments(Character.valueOf(arg));
+			dispatch(event);
+		}
+	}
+
+	public void error(String message, float arg) {
+		if (isErrorEnabled() && permit(ERROR_LOG_LEVEL, null)) {
+			LogEvent event = event(ERROR_LOG_LEVEL, message, null);
+			event.setArgument(arg);
+			dispatch(event);
+		}
+	}
+
+	public void error(String message, short arg) {
+		if (isErrorEnabled() && permit(ERROR_LOG_LEVEL, null)) {
+			LogEvent event = event(ERROR_LOG_LEVEL, message, null);
+			event.setArgument((long) arg);
+			dispatch(event);
+		}
+	}
+
+	public void error(String message, byte arg) {
+		if (isErrorEnabled() && permit(ERROR_LOG_LEVEL, null)) {
+			LogEvent event = event(ERROR_LOG_LEVEL, message, null);
+			event.setArgument((long) arg);
+			dispatch(event);
+		}
+	}
+
+	public void error(MessageSupplier messageSupplier) {
+		if (isErrorEnabled() && permit(ERROR_LOG_LEVEL, null)) {
+			LogEvent event = event(ERROR_LOG_LEVEL, null, null);
+			event.setMessageSupplier(messageSupplier);
+			dispatch(event);
+		}
+	}
+
+	public void error(MessageSupplier messageSupplier, Throwable t) {
+		if (isErrorEnabled() && permit(ERROR_LOG_LEVEL, t)) {
+			LogEvent event = event(ERROR_LOG_LEVEL, null, t);
+			event.setMessageSupplier(messageSupplier);
+			dispatch(event);
+		}
+	}
+
+	public void error(String message, MessageSupplier... paramSuppliers) {
+		if (isErrorEnabled() && permit(ERROR_LOG_LEVEL, null)) {
+			log(ERROR_LOG_LEVEL, message, null, (Object[]) paramSuppliers);
+		}
 	}
 
 	public void fatal(String message) {
-		log(FATAL_LOG_LEVEL, message, null, NULL_OBJ_ARRAY);
+		if (isFatalEnabled() && permit(FATAL_LOG_LEVEL, null)) {
+			log(FATAL_LOG_LEVEL, message, null, NULL_OBJ_ARRAY);
+		}
 	}
 
 	public void fatal(String message, Object... params) {
-		log(FATAL_LOG_LEVEL, message, null, params);
+		if (isFatalEnabled() && permit(FATAL_LOG_LEVEL, null)) {
+			log(FATAL_LOG_LEVEL, message, null, params);
+		}
 	}
 
 	public void fatal(String message, Throwable t) {
-		log(FATAL_LOG_LEVEL, message, t, NULL_OBJ_ARRAY);
+		if (isFatalEnabled() && permit(FATAL_LOG_LEVEL, t)) {
+			log(FATAL_LOG_LEVEL, message, t, NULL_OBJ_ARRAY);
+		}
 	}
 
 	public void fatal(String message, Throwable t, Object... params) {
-		log(FATAL_LOG_LEVEL, message, t, params);
+		if (isFatalEnabled() && permit(FATAL_LOG_LEVEL, t)) {
+			log(FATAL_LOG_LEVEL, message, t, params);
+		}
+	}
+
+	public void fatal(String message, Object arg) {
+		if (isFatalEnabled() && permit(FATAL_LOG_LEVEL, null)) {
+			LogEvent event = event(FATAL_LOG_LEVEL, message, null);
+			event.setArguments(arg);
+			dispatch(event);
+		}
+	}
+
+	public void fatal(String message, Object arg1, Object arg2) {
+		if (isFatalEnabled() && permit(FATAL_LOG_LEVEL, null)) {
+			LogEvent event = event(FATAL_LOG_LEVEL, message, null);
+			event.setArguments(arg1, arg2);
+			dispatch(event);
+		}
+	}
+
+	public void fatal(String message, Object arg1, Object arg2, Object arg3) {
+		if (isFatalEnabled() && permit(FATAL_LOG_LEVEL, null)) {
+			LogEvent event = event(FATAL_LOG_LEVEL, message, null);
+			event.setArguments(arg1, arg2, arg3);
+			dispatch(event);
+		}
+	}
+
+	public void fatal(String message, Throwable t, Object arg) {
+		if (isFatalEnabled() && permit(FATAL_LOG_LEVEL, t)) {
+			LogEvent event = event(FATAL_LOG_LEVEL, message, t);
+			event.setArguments(arg);
+			dispatch(event);
+		}
+	}
+
+	public void fatal(String message, Throwable t, Object arg1, Object arg2) {
+		if (isFatalEnabled() && permit(FATAL_LOG_LEVEL, t)) {
+			LogEvent event = event(FATAL_LOG_LEVEL, message, t);
+			event.setArguments(arg1, arg2);
+			dispatch(event);
+		}
+	}
+
+	public void fatal(String message, long arg) {
+		if (isFatalEnabled() && permit(FATAL_LOG_LEVEL, null)) {
+			LogEvent event = event(FATAL_LOG_LEVEL, message, null);
+			event.setArgument(arg);
+			dispatch(event);
+		}
+	}
+
+	public void fatal(String message, int arg) {
+		if (isFatalEnabled() && permit(FATAL_LOG_LEVEL, null)) {
+			LogEvent event = event(FATAL_LOG_LEVEL, message, null);
+			event.setArgument((long) arg);
+			dispatch(event);
+		}
+	}
+
+	public void fatal(String message, double arg) {
+		if (isFatalEnabled() && permit(FATAL_LOG_LEVEL, null)) {
+			LogEvent event = event(FATAL_LOG_LEVEL, message, null);
+			event.setArgument(arg);
+			dispatch(event);
+		}
+	}
+
+	public void fatal(String message, boolean arg) {
+		if (isFatalEnabled() && permit(FATAL_LOG_LEVEL, null)) {
+			LogEvent event = event(FATAL_LOG_LEVEL, message, null);
+			event.setArguments(Boolean.valueOf(arg));
+			dispatch(event);
+		}
+	}
+
+	public void fatal(String message, char arg) {
+		if (isFatalEnabled() && permit(FATAL_LOG_LEVEL, null)) {
+			LogEvent event = event(FATAL_LOG_LEVEL, message, null);
+			event.setArguments(Character.valueOf(arg));
+			dispatch(event);
+		}
+	}
+
+	public void fatal(String message, float arg) {
+		if (isFatalEnabled() && permit(FATAL_LOG_LEVEL, null)) {
+			LogEvent event = event(FATAL_LOG_LEVEL, message, null);
+			event.setArgument(arg);
+			dispatch(event);
+		}
+	}
+
+	public void fatal(String message, short arg) {
+		if (isFatalEnabled() && permit(FATAL_LOG_LEVEL, null)) {
+			LogEvent event = event(FATAL_LOG_LEVEL, message, null);
+			event.setArgument((long) arg);
+			dispatch(event);
+		}
+	}
+
+	public void fatal(String message, byte arg) {
+		if (isFatalEnabled() && permit(FATAL_LOG_LEVEL, null)) {
+			LogEvent event = event(FATAL_LOG_LEVEL, message, null);
+			event.setArgument((long) arg);
+			dispatch(event);
+		}
+	}
+
+	public void fatal(MessageSupplier messageSupplier) {
+		if (isFatalEnabled() && permit(FATAL_LOG_LEVEL, null)) {
+			LogEvent event = event(FATAL_LOG_LEVEL, null, null);
+			event.setMessageSupplier(messageSupplier);
+			dispatch(event);
+		}
+	}
+
+	public void fatal(MessageSupplier messageSupplier, Throwable t) {
+		if (isFatalEnabled() && permit(FATAL_LOG_LEVEL, t)) {
+			LogEvent event = event(FATAL_LOG_LEVEL, null, t);
+			event.setMessageSupplier(messageSupplier);
+			dispatch(event);
+		}
+	}
+
+	public void fatal(String message, MessageSupplier... paramSuppliers) {
+		if (isFatalEnabled() && permit(FATAL_LOG_LEVEL, null)) {
+			log(FATAL_LOG_LEVEL, message, null, (Object[]) paramSuppliers);
+		}
 	}
 
 	/**
@@ -203,11 +1052,55 @@ public class ConsoleLog implements Log {
 	 *            is this level enabled?
 	 */
 	private boolean isLevelEnabled(int logLevel) {
-		return (logLevel >= currentLogLevel);
+		int state = levelState;
+		if (state >>> LevelRegistry.LEVEL_BITS != (LevelRegistry.generation() & GENERATION_MASK)) {
+			state = refreshLevel();
+		}
+		return logLevel >= (state & LevelRegistry.LEVEL_MASK);
 	}
 
 	/**
-	 * do actual log, write message use System.err
+	 * check the rate limit and sampling of this log, before anything is
+	 * formatted, and count the line or the drop
+	 */
+	private boolean permit(int logLevel, Throwable t) {
+		RateLimiter limiter = rateLimiter;
+		if (rateGeneration != RateLimiter.generation()) {
+			limiter = refreshRateLimiter();
+		}
+		if (limiter != null && !limiter.permit(logLevel)) {
+			metrics.dropped();
+			return false;
+		}
+		metrics.line(logLevel, t);
+		return true;
+	}
+
+	/**
+	 * look the limiter up again after the rate limits have changed
+	 */
+	private RateLimiter refreshRateLimiter() {
+		int generation = RateLimiter.generation();
+		RateLimiter limiter = RateLimiter.forName(name);
+		rateLimiter = limiter;
+		rateGeneration = generation;
+		return limiter;
+	}
+
+	/**
+	 * resolve the level again after the registry has changed
+	 */
+	private int refreshLevel() {
+		int generation = LevelRegistry.generation();
+		int level = LevelRegistry.resolve(name, DEFAULT_LOG_LEVEL);
+		int state = (generation << LevelRegistry.LEVEL_BITS) | level;
+		levelState = state;
+		return state;
+	}
+
+	/**
+	 * do actual log, write message use System.err or hand it to the async
+	 * dispatcher
 	 * 
 	 * @param logLevel
 	 *            log write level
@@ -220,60 +1113,144 @@ public class ConsoleLog implements Log {
 	 */
 	protected void log(int logLevel, String message, Throwable t,
 			Object... parameters) {
-		// Use a string buffer for better performance
-		StringBuilder builder = new StringBuilder();
+		LogEvent event = event(logLevel, message, t);
+		event.setParameters(parameters);
+		dispatch(event);
+	}
+
+	/**
+	 * get an event for a log call: a ring buffer slot in async mode,
+	 * otherwise the reusable event of this thread
+	 */
+	private LogEvent event(int logLevel, String message, Throwable t) {
+		LogEvent event = dispatcher != null ? dispatcher.claim() : LogEvent
+				.acquire();
+		event.set(this, logLevel, System.currentTimeMillis(), message, t);
+		return event;
+	}
 
-		// Append date-time if so configured
-		Date now = new Date();
-		SimpleDateFormat dateFormatter = threadLocal.get();
-		if (dateFormatter == null) {
-			dateFormatter = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss SSS");
-			threadLocal.set(dateFormatter);
+	/**
+	 * publish a filled event in async mode, otherwise write it now
+	 */
+	private void dispatch(LogEvent event) {
+		if (event.sequence >= 0) {
+			dispatcher.publish(event);
+			return;
+		}
+		try {
+			write(event);
+		} finally {
+			event.release();
 		}
-		String dateText = dateFormatter.format(now);
-		builder.append(dateText);
-		builder.append(" ");
+	}
 
-		// Append a readable representation of the log level
-		switch (logLevel) {
-		case TRACE_LOG_LEVEL:
-			builder.append("[TRACE] ");
-			break;
-		case DEBUG_LOG_LEVEL:
-			builder.append("[DEBUG] ");
-			break;
-		case INFO_LOG_LEVEL:
-			builder.append("[INFO] ");
-			break;
-		case WARN_LOG_LEVEL:
-			builder.append("[WARN] ");
-			break;
-		case ERROR_LOG_LEVEL:
-			builder.append("[ERROR] ");
-			break;
-		case FATAL_LOG_LEVEL:
-			builder.append("[FATAL] ");
-			break;
+	/**
+	 * format the log line and write it, called on the logging thread or on
+	 * the async dispatcher thread
+	 * 
+	 * @param event
+	 *            log call to write
+	 */
+	void write(LogEvent event) {
+		if (binary) {
+			writeBinary(event);
+			return;
+		}
+		// Reuse the line buffer of this thread, nothing is allocated in
+		// steady state
+		LineBuffer buffer = LineBuffer.acquire();
+		try {
+			render(buffer, event);
+			// Print to the appropriate destination
+			ByteBuffer bytes = buffer.encode();
+			int length = bytes.remaining();
+			long start = System.nanoTime();
+			try {
+				sink.write(bytes, event.level);
+				metrics.written(length, System.nanoTime() - start);
+			} catch (IOException e) {
+				// the sink failed or is closed, keep the line on System.err
+				bytes.rewind();
+				PrintStreamSink.write(System.err, bytes);
+			}
+		} finally {
+			buffer.release();
+		}
+	}
+
+	/**
+	 * write the event unformatted, a failed sink gets the rendered line on
+	 * System.err instead
+	 */
+	private void writeBinary(LogEvent event) {
+		BinaryEventEncoder encoder = BinaryEventEncoder.acquire();
+		try {
+			ByteBuffer bytes = encoder.encode(event, name);
+			int length = bytes.remaining();
+			long start = System.nanoTime();
+			sink.write(bytes, event.level);
+			metrics.written(length, System.nanoTime() - start);
+			encoder.written();
+			return;
+		} catch (IOException e) {
+			// fall through
+		} finally {
+			encoder.release();
+		}
+		LineBuffer buffer = LineBuffer.acquire();
+		try {
+			render(buffer, event);
+			PrintStreamSink.write(System.err, buffer.encode());
+		} finally {
+			buffer.release();
 		}
+	}
+
+	private void render(LineBuffer buffer, LogEvent event) {
+		int logLevel = event.level;
+		Throwable t = event.throwable;
+		StringBuilder builder = buffer.builder();
+
+		// Append date-time
+		buffer.appendTimestamp(event.timestamp);
+		builder.append(' ');
+
+		// Append a readable representation of the log level
+		builder.append(levelLabel(logLevel));
 
 		// append Log name
 		builder.append(name).append(" - ");
 		// Append the message
-		String formatMessage = Formatter.format(message, parameters);
-		builder.append(formatMessage);
+		event.appendMessage(builder);
 
 		// Append stack trace if not null
 		if (t != null) {
 			builder.append("\t");
-			StringWriter sw = new StringWriter(1024);
-			PrintWriter pw = new PrintWriter(sw);
-			t.printStackTrace(pw);
-			builder.append(sw.toString());
+			ThrowableRenderer.getInstance().render(builder, t);
 		}
+	}
 
-		// Print to the appropriate destination
-        writer.println(builder.toString());
-
-    }
+	/**
+	 * readable representation of a log level, also used by
+	 * {@link BinaryLogDecoder} so decoded lines look like written ones
+	 */
+	static String levelLabel(int logLevel) {
+		switch (logLevel) {
+		case TRACE_LOG_LEVEL:
+			return "[TRACE] ";
+		case DEBUG_LOG_LEVEL:
+			return "[DEBUG] ";
+		case INFO_LOG_LEVEL:
+			return "[INFO] ";
+		case WARN_LOG_LEVEL:
+			return "[WARN] ";
+		case ERROR_LOG_LEVEL:
+			return "[ERROR] ";
+		case FATAL_LOG_LEVEL:
+			return "[FATAL] ";
+		default:
+			return "";
+		}
+	}
 
 }
@@ -17,7 +17,8 @@
 package com.wikimore.mlog.impl;
 
 import java.lang.reflect.Constructor;
-import java.util.Hashtable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.wikimore.mlog.Log;
 import com.wikimore.mlog.LogFactory;
@@ -25,6 +26,13 @@ import com.wikimore.mlog.LogInitException;
 
 /**
  * default LogFactory implementation
+ * <p>
+ * Log instances are kept in a concurrent registry, one instance per name.
+ * lookups of an existing name take no lock, threads racing to create the same
+ * name all get the instance which was registered first.
+ * <p>
+ * the metrics of the adapters and loggers created are registered as MBeans,
+ * see {@link LogMetrics}.
  * 
  * @author ted created on 2013-5-17
  * @since 1.0
@@ -36,10 +44,55 @@ public class DefaultLogFactory extends LogFactory {
     private static final String CONSOLE_LOG = "com.wikimore.mlog.impl.ConsoleLog";
     private static final String LOGBACK_LOG = "com.wikimore.mlog.impl.LogbackLog";
     private static final String[] adapterClasses = { LOG4J_LOG, LOGBACK_LOG, JDK_LOG, CONSOLE_LOG };
-    protected Hashtable<String, Log> instances = new Hashtable<String, Log>();
-    protected Constructor<Log> logConstructor = null;
+    protected ConcurrentMap<String, Log> instances = new ConcurrentHashMap<String, Log>();
+    protected volatile Constructor<Log> logConstructor = null;
     protected Class<?> logConstructorSignature[] = { java.lang.String.class };
 
+    /**
+     * limit the lines of every logger whose name starts with prefix, takes
+     * effect at the next log call of the loggers already created
+     * <p>
+     * rate limits can also be configured with system properties or
+     * mlog.properties, <tt>com.wikimore.mlog.rate=INFO:100</tt> for all loggers
+     * and <tt>com.wikimore.mlog.rate.com.foo=INFO:100</tt> for a prefix
+     * 
+     * @param prefix
+     *            logger name prefix matched at a dot boundary, empty for all
+     *            loggers
+     * @param policy
+     *            <tt>LEVEL:lines per second</tt>, like <tt>INFO:100</tt>, for
+     *            lines at that level and the more verbose ones, null to remove
+     *            the limit of the prefix
+     * @throws IllegalArgumentException
+     *             if the policy is invalid
+     */
+    public static void setRateLimit(String prefix, String policy) {
+        RateLimiter.setRate(prefix, policy);
+    }
+
+    /**
+     * sample the lines of every logger whose name starts with prefix, takes
+     * effect at the next log call of the loggers already created
+     * <p>
+     * sampling can also be configured with system properties or
+     * mlog.properties, <tt>com.wikimore.mlog.sample=TRACE:1000</tt> for all
+     * loggers and <tt>com.wikimore.mlog.sample.com.foo=TRACE:1000</tt> for a
+     * prefix
+     * 
+     * @param prefix
+     *            logger name prefix matched at a dot boundary, empty for all
+     *            loggers
+     * @param policy
+     *            <tt>LEVEL:n</tt>, like <tt>TRACE:1000</tt>, keeps 1 in n lines
+     *            at that level and the more verbose ones, null to remove the
+     *            sampling of the prefix
+     * @throws IllegalArgumentException
+     *             if the policy is invalid
+     */
+    public static void setSampling(String prefix, String policy) {
+        RateLimiter.setSample(prefix, policy);
+    }
+
     @Override
     protected Log getInstance(Class<?> clazz) throws LogInitException {
         return getInstance(clazz.getName());
@@ -55,25 +108,49 @@ public class DefaultLogFactory extends LogFactory {
         // 2. fast create Log with className or constructor
         log = fastCreateLog(logName);
 
-        if (log != null) {
-            return log;
-        }
         // 3. create Log with listed Log class name
-        log = discoverSuitableLog(logName);
+        if (log == null) {
+            log = discoverSuitableLog(logName);
+        }
 
-        if (log != null) {
-            // cache Log
-            instances.put(logName, log);
-        } else {
+        if (log == null) {
             diagnosticsStream.println("[ERROR] LogFactory: initialize Log instance failed.");
             throw new LogInitException("initialize Log instance failed");
         }
-        return log;
+        String adapter = log.getClass().getSimpleName();
+        log = BurstSuppressingLog.wrap(log);
+        // timed from the caller's view, suppressed repeats included
+        log = LatencyLog.wrap(log, adapter);
+        // cache Log, keep the instance of a racing thread if it won
+        Log cached = instances.putIfAbsent(logName, log);
+        publishMetrics();
+        return cached != null ? cached : log;
+    }
+
+    /**
+     * register the log metrics created since the last call
+     */
+    private void publishMetrics() {
+        LogMetrics metrics;
+        while ((metrics = LogMetrics.pollUnpublished()) != null) {
+            registerMetrics(metrics);
+        }
+    }
+
+    /**
+     * the counters outlive the factory, the next factory creating a Log
+     * publishes them again
+     */
+    @Override
+    protected void unregisterMetrics() {
+        super.unregisterMetrics();
+        LogMetrics.republish();
     }
 
     private Log fastCreateLog(String logCategory) {
         Log log = null;
-        if (logConstructor == null) {
+        Constructor<Log> constructor = logConstructor;
+        if (constructor == null) {
             String logClassName = System.getProperty(LOG_CLASS);
             if (logClassName != null) {
                 log = createLogFromClass(logClassName, logCategory, true);
@@ -81,7 +158,7 @@ public class DefaultLogFactory extends LogFactory {
             return log;
         }
         try {
-            log = logConstructor.newInstance(logCategory);
+            log = constructor.newInstance(logCategory);
         } catch (Exception e) {
             // ignore
         }
@@ -19,8 +19,8 @@ package com.wikimore.mlog.impl;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import com.wikimore.mlog.Formatter;
 import com.wikimore.mlog.Log;
+import com.wikimore.mlog.MessageSupplier;
 
 /**
  * Log implementation wrapper Java native log
@@ -31,10 +31,17 @@ import com.wikimore.mlog.Log;
 public class JdkLog implements Log {
     private transient Logger logger = null;
     private String name = null;
+    /** null when no rate limit or sampling applies */
+    private RateLimiter rateLimiter;
+    /** RateLimiter generation the limiter was looked up at */
+    private int rateGeneration;
+    private final LogMetrics metrics;
 
     public JdkLog(String name) {
         this.name = name;
         this.logger = getLogger();
+        refreshRateLimiter();
+        this.metrics = LogMetrics.forLogger("JdkLog", name);
     }
 
     @Override
@@ -69,158 +76,880 @@ public class JdkLog implements Log {
 
     @Override
     public void trace(String message) {
-        if (isTraceEnabled()) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
             getLogger().log(Level.FINE, message);
         }
     }
 
     @Override
     public void trace(String message, Object... params) {
-        String formatMsg = Formatter.format(message, params);
-        if (isTraceEnabled()) {
-            getLogger().log(Level.FINE, formatMsg);
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            getLogger().log(Level.FINE, LineBuffer.format(message, params));
         }
     }
 
     @Override
     public void trace(String message, Throwable t, Object... params) {
-        String formatMsg = Formatter.format(message, params);
-        if (isTraceEnabled()) {
-            getLogger().log(Level.FINE, formatMsg, t);
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, t)) {
+            getLogger().log(Level.FINE, LineBuffer.format(message, params), t);
         }
     }
 
     @Override
     public void trace(String message, Throwable t) {
-        if (isTraceEnabled()) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, t)) {
             getLogger().log(Level.FINE, message, t);
         }
     }
 
+    @Override
+    public void trace(String message, Object arg) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            getLogger().log(Level.FINE, LineBuffer.formatArguments(message, arg));
+        }
+    }
+
+    @Override
+    public void trace(String message, Object arg1, Object arg2) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            getLogger().log(Level.FINE, LineBuffer.formatArguments(message, arg1, arg2));
+        }
+    }
+
+    @Override
+    public void trace(String message, Object arg1, Object arg2, Object arg3) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            getLogger().log(Level.FINE, LineBuffer.formatArguments(message, arg1, arg2, arg3));
+        }
+    }
+
+    @Override
+    public void trace(String message, Throwable t, Object arg) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, t)) {
+            getLogger().log(Level.FINE, LineBuffer.formatArguments(message, arg), t);
+        }
+    }
+
+    @Override
+    public void trace(String message, Throwable t, Object arg1, Object arg2) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, t)) {
+            getLogger().log(Level.FINE, LineBuffer.formatArguments(message, arg1, arg2), t);
+        }
+    }
+
+    @Override
+    public void trace(String message, long arg) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            getLogger().log(Level.FINE, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void trace(String message, int arg) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            getLogger().log(Level.FINE, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void trace(String message, double arg) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            getLogger().log(Level.FINE, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void trace(String message, boolean arg) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            getLogger().log(Level.FINE, LineBuffer.formatArguments(message, Boolean.valueOf(arg)));
+        }
+    }
+
+    @Override
+    public void trace(String message, char arg) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            getLogger().log(Level.FINE,
+                    LineBuffer.formatArguments(message, Character.valueOf(arg)));
+        }
+    }
+
+    @Override
+    public void trace(String message, float arg) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            getLogger().log(Level.FINE, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void trace(String message, short arg) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            getLogger().log(Level.FINE, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void trace(String message, byte arg) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            getLogger().log(Level.FINE, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void trace(MessageSupplier messageSupplier) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            getLogger().log(Level.FINE, String.valueOf(messageSupplier.get()));
+        }
+    }
+
+    @Override
+    public void trace(MessageSupplier messageSupplier, Throwable t) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, t)) {
+            getLogger().log(Level.FINE, String.valueOf(messageSupplier.get()), t);
+        }
+    }
+
+    @Override
+    public void trace(String message, MessageSupplier... paramSuppliers) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            getLogger().log(Level.FINE, LineBuffer.format(message, (Object[]) paramSuppliers));
+        }
+    }
+
     @Override
     public void debug(String message) {
-        if (isDebugEnabled()) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
             getLogger().log(Level.CONFIG, message);
         }
     }
 
     @Override
     public void debug(String message, Object... params) {
-        String formatMsg = Formatter.format(message, params);
-        if (isDebugEnabled()) {
-            getLogger().log(Level.CONFIG, formatMsg);
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            getLogger().log(Level.CONFIG, LineBuffer.format(message, params));
         }
     }
 
     @Override
     public void debug(String message, Throwable t) {
-        if (isDebugEnabled()) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, t)) {
             getLogger().log(Level.CONFIG, message, t);
         }
     }
 
     @Override
     public void debug(String message, Throwable t, Object... params) {
-        String formatMsg = Formatter.format(message, params);
-        if (isDebugEnabled()) {
-            getLogger().log(Level.CONFIG, formatMsg, t);
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, t)) {
+            getLogger().log(Level.CONFIG, LineBuffer.format(message, params), t);
+        }
+    }
+
+    @Override
+    public void debug(String message, Object arg) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            getLogger().log(Level.CONFIG, LineBuffer.formatArguments(message, arg));
+        }
+    }
+
+    @Override
+    public void debug(String message, Object arg1, Object arg2) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            getLogger().log(Level.CONFIG, LineBuffer.formatArguments(message, arg1, arg2));
+        }
+    }
+
+    @Override
+    public void debug(String message, Object arg1, Object arg2, Object arg3) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            getLogger().log(Level.CONFIG, LineBuffer.formatArguments(message, arg1, arg2, arg3));
+        }
+    }
+
+    @Override
+    public void debug(String message, Throwable t, Object arg) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, t)) {
+            getLogger().log(Level.CONFIG, LineBuffer.formatArguments(message, arg), t);
+        }
+    }
+
+    @Override
+    public void debug(String message, Throwable t, Object arg1, Object arg2) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, t)) {
+            getLogger().log(Level.CONFIG, LineBuffer.formatArguments(message, arg1, arg2), t);
+        }
+    }
+
+    @Override
+    public void debug(String message, long arg) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            getLogger().log(Level.CONFIG, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void debug(String message, int arg) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            getLogger().log(Level.CONFIG, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void debug(String message, double arg) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            getLogger().log(Level.CONFIG, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void debug(String message, boolean arg) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            getLogger().log(Level.CONFIG,
+                    LineBuffer.formatArguments(message, Boolean.valueOf(arg)));
+        }
+    }
+
+    @Override
+    public void debug(String message, char arg) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            getLogger().log(Level.CONFIG,
+                    LineBuffer.formatArguments(message, Character.valueOf(arg)));
+        }
+    }
+
+    @Override
+    public void debug(String message, float arg) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            getLogger().log(Level.CONFIG, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void debug(String message, short arg) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            getLogger().log(Level.CONFIG, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void debug(String message, byte arg) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            getLogger().log(Level.CONFIG, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void debug(MessageSupplier messageSupplier) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            getLogger().log(Level.CONFIG, String.valueOf(messageSupplier.get()));
+        }
+    }
+
+    @Override
+    public void debug(MessageSupplier messageSupplier, Throwable t) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, t)) {
+            getLogger().log(Level.CONFIG, String.valueOf(messageSupplier.get()), t);
+        }
+    }
+
+    @Override
+    public void debug(String message, MessageSupplier... paramSuppliers) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            getLogger().log(Level.CONFIG, LineBuffer.format(message, (Object[]) paramSuppliers));
         }
     }
 
     @Override
     public void info(String message) {
-        if (isInfoEnabled()) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
             getLogger().log(Level.INFO, message);
         }
     }
 
     @Override
     public void info(String message, Object... params) {
-        String formatMsg = Formatter.format(message, params);
-        if (isInfoEnabled()) {
-            getLogger().log(Level.INFO, formatMsg);
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            getLogger().log(Level.INFO, LineBuffer.format(message, params));
         }
     }
 
     @Override
     public void info(String message, Throwable t) {
-        if (isInfoEnabled()) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, t)) {
             getLogger().log(Level.INFO, message, t);
         }
     }
 
     @Override
     public void info(String message, Throwable t, Object... params) {
-        String formatMsg = Formatter.format(message, params);
-        if (isInfoEnabled()) {
-            getLogger().log(Level.INFO, formatMsg, t);
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, t)) {
+            getLogger().log(Level.INFO, LineBuffer.format(message, params), t);
+        }
+    }
+
+    @Override
+    public void info(String message, Object arg) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            getLogger().log(Level.INFO, LineBuffer.formatArguments(message, arg));
+        }
+    }
+
+    @Override
+    public void info(String message, Object arg1, Object arg2) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            getLogger().log(Level.INFO, LineBuffer.formatArguments(message, arg1, arg2));
+        }
+    }
+
+    @Override
+    public void info(String message, Object arg1, Object arg2, Object arg3) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            getLogger().log(Level.INFO, LineBuffer.formatArguments(message, arg1, arg2, arg3));
+        }
+    }
+
+    @Override
+    public void info(String message, Throwable t, Object arg) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, t)) {
+            getLogger().log(Level.INFO, LineBuffer.formatArguments(message, arg), t);
+        }
+    }
+
+    @Override
+    public void info(String message, Throwable t, Object arg1, Object arg2) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, t)) {
+            getLogger().log(Level.INFO, LineBuffer.formatArguments(message, arg1, arg2), t);
+        }
+    }
+
+    @Override
+    public void info(String message, long arg) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            getLogger().log(Level.INFO, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void info(String message, int arg) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            getLogger().log(Level.INFO, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void info(String message, double arg) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            getLogger().log(Level.INFO, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void info(String message, boolean arg) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            getLogger().log(Level.INFO, LineBuffer.formatArguments(message, Boolean.valueOf(arg)));
+        }
+    }
+
+    @Override
+    public void info(String message, char arg) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            getLogger().log(Level.INFO,
+                    LineBuffer.formatArguments(message, Character.valueOf(arg)));
+        }
+    }
+
+    @Override
+    public void info(String message, float arg) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            getLogger().log(Level.INFO, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void info(String message, short arg) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            getLogger().log(Level.INFO, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void info(String message, byte arg) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            getLogger().log(Level.INFO, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void info(MessageSupplier messageSupplier) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            getLogger().log(Level.INFO, String.valueOf(messageSupplier.get()));
+        }
+    }
+
+    @Override
+    public void info(MessageSupplier messageSupplier, Throwable t) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, t)) {
+            getLogger().log(Level.INFO, String.valueOf(messageSupplier.get()), t);
+        }
+    }
+
+    @Override
+    public void info(String message, MessageSupplier... paramSuppliers) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            getLogger().log(Level.INFO, LineBuffer.format(message, (Object[]) paramSuppliers));
         }
     }
 
     @Override
     public void warn(String message) {
-        getLogger().log(Level.WARNING, message);
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            getLogger().log(Level.WARNING, message);
+        }
     }
 
     @Override
     public void warn(String message, Object... params) {
-        String formatMsg = Formatter.format(message, params);
-        getLogger().log(Level.WARNING, formatMsg);
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            getLogger().log(Level.WARNING, LineBuffer.format(message, params));
+        }
     }
 
     @Override
     public void warn(String message, Throwable t) {
-        getLogger().log(Level.WARNING, message, t);
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, t)) {
+            getLogger().log(Level.WARNING, message, t);
+        }
     }
 
     @Override
     public void warn(String message, Throwable t, Object... params) {
-        String formatMsg = Formatter.format(message, params);
-        getLogger().log(Level.WARNING, formatMsg, t);
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, t)) {
+            getLogger().log(Level.WARNING, LineBuffer.format(message, params), t);
+        }
+    }
+
+    @Override
+    public void warn(String message, Object arg) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            getLogger().log(Level.WARNING, LineBuffer.formatArguments(message, arg));
+        }
+    }
+
+    @Override
+    public void warn(String message, Object arg1, Object arg2) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            getLogger().log(Level.WARNING, LineBuffer.formatArguments(message, arg1, arg2));
+        }
+    }
+
+    @Override
+    public void warn(String message, Object arg1, Object arg2, Object arg3) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            getLogger().log(Level.WARNING, LineBuffer.formatArguments(message, arg1, arg2, arg3));
+        }
+    }
+
+    @Override
+    public void warn(String message, Throwable t, Object arg) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, t)) {
+            getLogger().log(Level.WARNING, LineBuffer.formatArguments(message, arg), t);
+        }
+    }
+
+    @Override
+    public void warn(String message, Throwable t, Object arg1, Object arg2) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, t)) {
+            getLogger().log(Level.WARNING, LineBuffer.formatArguments(message, arg1, arg2), t);
+        }
+    }
+
+    @Override
+    public void warn(String message, long arg) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            getLogger().log(Level.WARNING, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void warn(String message, int arg) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            getLogger().log(Level.WARNING, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void warn(String message, double arg) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            getLogger().log(Level.WARNING, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void warn(String message, boolean arg) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            getLogger().log(Level.WARNING,
+                    LineBuffer.formatArguments(message, Boolean.valueOf(arg)));
+        }
+    }
+
+    @Override
+    public void warn(String message, char arg) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            getLogger().log(Level.WARNING,
+                    LineBuffer.formatArguments(message, Character.valueOf(arg)));
+        }
+    }
+
+    @Override
+    public void warn(String message, float arg) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            getLogger().log(Level.WARNING, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void warn(String message, short arg) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            getLogger().log(Level.WARNING, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void warn(String message, byte arg) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            getLogger().log(Level.WARNING, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void warn(MessageSupplier messageSupplier) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            getLogger().log(Level.WARNING, String.valueOf(messageSupplier.get()));
+        }
+    }
+
+    @Override
+    public void warn(MessageSupplier messageSupplier, Throwable t) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, t)) {
+            getLogger().log(Level.WARNING, String.valueOf(messageSupplier.get()), t);
+        }
+    }
+
+    @Override
+    public void warn(String message, MessageSupplier... paramSuppliers) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            getLogger().log(Level.WARNING, LineBuffer.format(message, (Object[]) paramSuppliers));
+        }
     }
 
     @Override
     public void error(String message) {
-        getLogger().log(Level.SEVERE, message);
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            getLogger().log(Level.SEVERE, message);
+        }
     }
 
     @Override
     public void error(String message, Object... params) {
-        String formatMsg = Formatter.format(message, params);
-        getLogger().log(Level.SEVERE, formatMsg);
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            getLogger().log(Level.SEVERE, LineBuffer.format(message, params));
+        }
     }
 
     @Override
     public void error(String message, Throwable t) {
-        getLogger().log(Level.SEVERE, message, t);
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, t)) {
+            getLogger().log(Level.SEVERE, message, t);
+        }
     }
 
     @Override
     public void error(String message, Throwable t, Object... params) {
-        String formatMsg = Formatter.format(message, params);
-        getLogger().log(Level.SEVERE, formatMsg, t);
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, t)) {
+            getLogger().log(Level.SEVERE, LineBuffer.format(message, params), t);
+        }
+    }
+
+    @Override
+    public void error(String message, Object arg) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            getLogger().log(Level.SEVERE, LineBuffer.formatArguments(message, arg));
+        }
+    }
+
+    @Override
+    public void error(String message, Object arg1, Object arg2) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            getLogger().log(Level.SEVERE, LineBuffer.formatArguments(message, arg1, arg2));
+        }
+    }
+
+    @Override
+    public void error(String message, Object arg1, Object arg2, Object arg3) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            getLogger().log(Level.SEVERE, LineBuffer.formatArguments(message, arg1, arg2, arg3));
+        }
+    }
+
+    @Override
+    public void error(String message, Throwable t, Object arg) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, t)) {
+            getLogger().log(Level.SEVERE, LineBuffer.formatArguments(message, arg), t);
+        }
+    }
+
+    @Override
+    public void error(String message, Throwable t, Object arg1, Object arg2) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, t)) {
+            getLogger().log(Level.SEVERE, LineBuffer.formatArguments(message, arg1, arg2), t);
+        }
+    }
+
+    @Override
+    public void error(String message, long arg) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            getLogger().log(Level.SEVERE, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void error(String message, int arg) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            getLogger().log(Level.SEVERE, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void error(String message, double arg) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            getLogger().log(Level.SEVERE, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void error(String message, boolean arg) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            getLogger().log(Level.SEVERE,
+                    LineBuffer.formatArguments(message, Boolean.valueOf(arg)));
+        }
+    }
+
+    @Override
+    public void error(String message, char arg) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            getLogger().log(Level.SEVERE,
+                    LineBuffer.formatArguments(message, Character.valueOf(arg)));
+        }
+    }
+
+    @Override
+    public void error(String message, float arg) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            getLogger().log(Level.SEVERE, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void error(String message, short arg) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            getLogger().log(Level.SEVERE, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void error(String message, byte arg) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            getLogger().log(Level.SEVERE, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void error(MessageSupplier messageSupplier) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            getLogger().log(Level.SEVERE, String.valueOf(messageSupplier.get()));
+        }
+    }
+
+    @Override
+    public void error(MessageSupplier messageSupplier, Throwable t) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, t)) {
+            getLogger().log(Level.SEVERE, String.valueOf(messageSupplier.get()), t);
+        }
+    }
+
+    @Override
+    public void error(String message, MessageSupplier... paramSuppliers) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            getLogger().log(Level.SEVERE, LineBuffer.format(message, (Object[]) paramSuppliers));
+        }
     }
 
     @Override
     public void fatal(String message) {
-        getLogger().log(Level.SEVERE, message);
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            getLogger().log(Level.SEVERE, message);
+        }
     }
 
     @Override
     public void fatal(String message, Object... params) {
-        String formatMsg = Formatter.format(message, params);
-        getLogger().log(Level.SEVERE, formatMsg);
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            getLogger().log(Level.SEVERE, LineBuffer.format(message, params));
+        }
     }
 
     @Override
     public void fatal(String message, Throwable t) {
-        getLogger().log(Level.SEVERE, message, t);
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, t)) {
+            getLogger().log(Level.SEVERE, message, t);
+        }
     }
 
     @Override
     public void fatal(String message, Throwable t, Object... params) {
-        String formatMsg = Formatter.format(message, params);
-        getLogger().log(Level.SEVERE, formatMsg, t);
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, t)) {
+            getLogger().log(Level.SEVERE, LineBuffer.format(message, params), t);
+        }
+    }
+
+    @Override
+    public void fatal(String message, Object arg) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            getLogger().log(Level.SEVERE, LineBuffer.formatArguments(message, arg));
+        }
+    }
+
+    @Override
+    public void fatal(String message, Object arg1, Object arg2) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            getLogger().log(Level.SEVERE, LineBuffer.formatArguments(message, arg1, arg2));
+        }
+    }
+
+    @Override
+    public void fatal(String message, Object arg1, Object arg2, Object arg3) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            getLogger().log(Level.SEVERE, LineBuffer.formatArguments(message, arg1, arg2, arg3));
+        }
+    }
+
+    @Override
+    public void fatal(String message, Throwable t, Object arg) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, t)) {
+            getLogger().log(Level.SEVERE, LineBuffer.formatArguments(message, arg), t);
+        }
+    }
+
+    @Override
+    public void fatal(String message, Throwable t, Object arg1, Object arg2) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, t)) {
+            getLogger().log(Level.SEVERE, LineBuffer.formatArguments(message, arg1, arg2), t);
+        }
+    }
+
+    @Override
+    public void fatal(String message, long arg) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            getLogger().log(Level.SEVERE, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void fatal(String message, int arg) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            getLogger().log(Level.SEVERE, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void fatal(String message, double arg) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            getLogger().log(Level.SEVERE, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void fatal(String message, boolean arg) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            getLogger().log(Level.SEVERE,
+                    LineBuffer.formatArguments(message, Boolean.valueOf(arg)));
+        }
+    }
+
+    @Override
+    public void fatal(String message, char arg) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            getLogger().log(Level.SEVERE,
+                    LineBuffer.formatArguments(message, Character.valueOf(arg)));
+        }
+    }
+
+    @Override
+    public void fatal(String message, float arg) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            getLogger().log(Level.SEVERE, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void fatal(String message, short arg) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            getLogger().log(Level.SEVERE, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void fatal(String message, byte arg) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            getLogger().log(Level.SEVERE, LineBuffer.format(message, arg));
+        }
+    }
+
+    @Override
+    public void fatal(MessageSupplier messageSupplier) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            getLogger().log(Level.SEVERE, String.valueOf(messageSupplier.get()));
+        }
+    }
+
+    @Override
+    public void fatal(MessageSupplier messageSupplier, Throwable t) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, t)) {
+            getLogger().log(Level.SEVERE, String.valueOf(messageSupplier.get()), t);
+        }
+    }
+
+    @Override
+    public void fatal(String message, MessageSupplier... paramSuppliers) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            getLogger().log(Level.SEVERE, LineBuffer.format(message, (Object[]) paramSuppliers));
+        }
+    }
+
+    /**
+     * check the rate limit and sampling of this log, before anything is
+     * formatted, and count the line or the drop
+     */
+    private boolean permit(int level, Throwable t) {
+        RateLimiter limiter = rateLimiter;
+        if (rateGeneration != RateLimiter.generation()) {
+            limiter = refreshRateLimiter();
+        }
+        if (limiter != null && !limiter.permit(level)) {
+            metrics.dropped();
+            return false;
+        }
+        metrics.line(level, t);
+        return true;
+    }
+
+    /**
+     * look the limiter up again after the rate limits have changed
+     */
+    private RateLimiter refreshRateLimiter() {
+        int generation = RateLimiter.generation();
+        RateLimiter limiter = RateLimiter.forName(name);
+        rateLimiter = limiter;
+        rateGeneration = generation;
+        return limiter;
     }
 
     private Logger getLogger() {
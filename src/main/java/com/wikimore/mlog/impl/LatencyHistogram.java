@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * lock-free log-linear histogram of durations in nanoseconds
+ * <p>
+ * every power of two is split into 16 linear sub-buckets, so a value is kept
+ * within 1/16 of its magnitude, and values below 32 are exact. 592 counters
+ * cover up to 2^40 nanoseconds, about 18 minutes, longer durations are
+ * counted in the last bucket. the memory is fixed and recording is one
+ * atomic add, the exact maximum is kept apart.
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_BITS = 40;
+    private static final long MAX_TRACKABLE = (1L << MAX_BITS) - 1;
+    static final int COUNTERS = (MAX_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(COUNTERS);
+    private final AtomicLong max = new AtomicLong();
+
+    public LatencyHistogram() {
+    }
+
+    /**
+     * @param nanos
+     *            duration, negative values count as 0
+     */
+    public void record(long nanos) {
+        long value = nanos < 0 ? 0 : nanos;
+        counts.getAndIncrement(index(value < MAX_TRACKABLE ? value : MAX_TRACKABLE));
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * add the counts of another histogram, like the one of each thread of a
+     * load test
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < COUNTERS; i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.getAndAdd(i, count);
+            }
+        }
+        long otherMax = other.getMax();
+        long current = max.get();
+        while (otherMax > current && !max.compareAndSet(current, otherMax)) {
+            current = max.get();
+        }
+    }
+
+    static int index(long value) {
+        int bucket = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+        return (bucket << SUB_BUCKET_BITS) + (int) (value >>> bucket);
+    }
+
+    /**
+     * @return the largest value counted at index
+     */
+    static long highestValue(int index) {
+        int bucket = Math.max(0, (index >> SUB_BUCKET_BITS) - 1);
+        long sub = index - (bucket << SUB_BUCKET_BITS);
+        return ((sub + 1) << bucket) - 1;
+    }
+
+    /**
+     * @return values recorded
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < COUNTERS; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * @return largest value recorded, exact
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * get the value below which a percentage of the recorded values fall
+     * 
+     * @param percentile
+     *            between 0 and 100, like 99.9
+     * @return upper bound of the bucket holding the percentile, at most the
+     *         maximum, 0 when nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long[] snapshot = new long[COUNTERS];
+        long total = 0;
+        for (int i = 0; i < COUNTERS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        return valueAtPercentile(snapshot, total, percentile);
+    }
+
+    private long valueAtPercentile(long[] snapshot, long total, double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        double fraction = Math.min(100, Math.max(0, percentile)) / 100;
+        long rank = Math.max(1, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int i = 0; i < COUNTERS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                // the last bucket also holds the values too long to track
+                return i == COUNTERS - 1 ? getMax() : Math.min(highestValue(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * append <tt>count=n p50=... p99=... p99.9=... max=...</tt> from one
+     * snapshot of the counters
+     */
+    void appendSummary(StringBuilder builder) {
+        long[] snapshot = new long[COUNTERS];
+        long total = 0;
+        for (int i = 0; i < COUNTERS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        builder.append("count=").append(total);
+        builder.append(" p50=");
+        appendDuration(builder, valueAtPercentile(snapshot, total, 50));
+        builder.append(" p99=");
+        appendDuration(builder, valueAtPercentile(snapshot, total, 99));
+        builder.append(" p99.9=");
+        appendDuration(builder, valueAtPercentile(snapshot, total, 99.9));
+        builder.append(" max=");
+        appendDuration(builder, getMax());
+    }
+
+    /**
+     * append nanoseconds in the largest unit keeping the value above 1, with
+     * one decimal
+     */
+    static void appendDuration(StringBuilder builder, long nanos) {
+        if (nanos < 1000L) {
+            builder.append(nanos).append("ns");
+            return;
+        }
+        long unit;
+        String suffix;
+        if (nanos < 1000000L) {
+            unit = 1000L;
+            suffix = "us";
+        } else if (nanos < 1000000000L) {
+            unit = 1000000L;
+            suffix = "ms";
+        } else {
+            unit = 1000000000L;
+            suffix = "s";
+        }
+        long tenths = (nanos * 10 + unit / 2) / unit;
+        builder.append(tenths / 10).append('.').append(tenths % 10).append(suffix);
+    }
+}
@@ -0,0 +1,1044 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import com.wikimore.mlog.Log;
+import com.wikimore.mlog.MessageSupplier;
+
+/**
+ * Log wrapper recording how long each log call takes, from entry to return,
+ * into a {@link LatencyHistogram} per adapter and level
+ * <p>
+ * an instrumentation mode to find out what logging costs the callers, a
+ * blocked System.err pipe shows up in the high percentiles. the calls of
+ * disabled levels are recorded as well. DefaultLogFactory wraps the Log
+ * instances it creates when <tt>com.wikimore.mlog.latency</tt> is true.
+ * every <tt>com.wikimore.mlog.latency.reportInterval</tt> seconds, 60 by
+ * default and 0 for never, a line per recorded adapter and level is printed
+ * on System.err:
+ * 
+ * <pre>
+ * [INFO] LatencyLog: ConsoleLog INFO count=52011 p50=1.2us p99=8.4us p99.9=2.1ms max=41.0ms
+ * </pre>
+ * 
+ * the histograms count since startup, they can also be read with
+ * {@link #getHistogram(String, String)}. the Log4j and Logback adapters keep
+ * reporting the class calling this wrapper as the caller location, see
+ * {@link CallerBoundary}.
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+public class LatencyLog implements Log, CallerBoundary {
+    static final String LATENCY_KEY = "com.wikimore.mlog.latency";
+    static final String REPORT_INTERVAL_KEY = "com.wikimore.mlog.latency.reportInterval";
+    private static final String[] LEVEL_NAMES = { null, "TRACE", "DEBUG", "INFO", "WARN",
+            "ERROR", "FATAL" };
+    private static final ConcurrentMap<String, LatencyHistogram[]> adapters = new ConcurrentHashMap<String, LatencyHistogram[]>();
+    private static ScheduledExecutorService reporter;
+
+    private final Log delegate;
+    /** histograms of the adapter indexed by ConsoleLog level */
+    private final LatencyHistogram[] histograms;
+
+    /**
+     * @param delegate
+     *            Log whose calls are timed
+     * @param adapter
+     *            name the histograms are kept under, like ConsoleLog
+     */
+    public LatencyLog(Log delegate, String adapter) {
+        this.delegate = delegate;
+        this.histograms = histograms(adapter);
+        if (delegate instanceof CallerBoundary) {
+            ((CallerBoundary) delegate).setCallerBoundary(LatencyLog.class.getName());
+        }
+    }
+
+    @Override
+    public void setCallerBoundary(String fqcn) {
+        if (delegate instanceof CallerBoundary) {
+            ((CallerBoundary) delegate).setCallerBoundary(fqcn);
+        }
+    }
+
+    /**
+     * wrap a Log when latency recording is configured by system properties
+     * 
+     * @return the wrapped Log, or log itself when recording is off
+     */
+    static Log wrap(Log log, String adapter) {
+        if (!Boolean.getBoolean(LATENCY_KEY) || log instanceof LatencyLog) {
+            return log;
+        }
+        return new LatencyLog(log, adapter);
+    }
+
+    /**
+     * get the histogram of the log calls of an adapter at a level
+     * 
+     * @param adapter
+     *            simple class name of the Log adapter, like ConsoleLog
+     * @param level
+     *            TRACE, DEBUG, INFO, WARN, ERROR or FATAL
+     * @return null when no call of the adapter has been recorded
+     * @throws IllegalArgumentException
+     *             if the level name is unknown
+     */
+    public static LatencyHistogram getHistogram(String adapter, String level) {
+        int index = LevelRegistry.parseLevel(level);
+        if (index >= LEVEL_NAMES.length) {
+            throw new IllegalArgumentException("no histogram of level " + level);
+        }
+        LatencyHistogram[] histograms = adapters.get(adapter);
+        return histograms != null ? histograms[index] : null;
+    }
+
+    private static LatencyHistogram[] histograms(String adapter) {
+        LatencyHistogram[] histograms = adapters.get(adapter);
+        if (histograms != null) {
+            return histograms;
+        }
+        histograms = new LatencyHistogram[LEVEL_NAMES.length];
+        for (int i = 1; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        LatencyHistogram[] existing = adapters.putIfAbsent(adapter, histograms);
+        if (existing != null) {
+            return existing;
+        }
+        startReporter();
+        return histograms;
+    }
+
+    private static synchronized void startReporter() {
+        long interval = Long.getLong(REPORT_INTERVAL_KEY, 60L);
+        if (reporter != null || interval <= 0) {
+            return;
+        }
+        reporter = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "mlog-latency-reporter");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        reporter.scheduleAtFixedRate(new Runnable() {
+            public void run() {
+                System.err.print(report());
+            }
+        }, interval, interval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @return a line per adapter and level with recorded calls
+     */
+    static String report() {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, LatencyHistogram[]> entry : adapters.entrySet()) {
+            LatencyHistogram[] histograms = entry.getValue();
+            for (int level = 1; level < histograms.length; level++) {
+                if (histograms[level].getCount() == 0) {
+                    continue;
+                }
+                builder.append("[INFO] LatencyLog: ").append(entry.getKey()).append(' ')
+                        .append(LEVEL_NAMES[level]).append(' ');
+                histograms[level].appendSummary(builder);
+                builder.append(System.getProperty("line.separator", "\n"));
+            }
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return delegate.isDebugEnabled();
+    }
+
+    @Override
+    public boolean isErrorEnabled() {
+        return delegate.isErrorEnabled();
+    }
+
+    @Override
+    public boolean isFatalEnabled() {
+        return delegate.isFatalEnabled();
+    }
+
+    @Override
+    public boolean isInfoEnabled() {
+        return delegate.isInfoEnabled();
+    }
+
+    @Override
+    public boolean isTraceEnabled() {
+        return delegate.isTraceEnabled();
+    }
+
+    @Override
+    public boolean isWarnEnabled() {
+        return delegate.isWarnEnabled();
+    }
+
+    @Override
+    public void trace(String message) {
+        long start = System.nanoTime();
+        delegate.trace(message);
+        histograms[ConsoleLog.TRACE_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void trace(String message, Object... params) {
+        long start = System.nanoTime();
+        delegate.trace(message, params);
+        histograms[ConsoleLog.TRACE_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void trace(String message, Throwable t, Object... params) {
+        long start = System.nanoTime();
+        delegate.trace(message, t, params);
+        histograms[ConsoleLog.TRACE_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void trace(String message, Object arg) {
+        long start = System.nanoTime();
+        delegate.trace(message, arg);
+        histograms[ConsoleLog.TRACE_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void trace(String message, Object arg1, Object arg2) {
+        long start = System.nanoTime();
+        delegate.trace(message, arg1, arg2);
+        histograms[ConsoleLog.TRACE_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void trace(String message, Object arg1, Object arg2, Object arg3) {
+        long start = System.nanoTime();
+        delegate.trace(message, arg1, arg2, arg3);
+        histograms[ConsoleLog.TRACE_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void trace(String message, Throwable t, Object arg) {
+        long start = System.nanoTime();
+        delegate.trace(message, t, arg);
+        histograms[ConsoleLog.TRACE_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void trace(String message, Throwable t, Object arg1, Object arg2) {
+        long start = System.nanoTime();
+        delegate.trace(message, t, arg1, arg2);
+        histograms[ConsoleLog.TRACE_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void trace(String message, long arg) {
+        long start = System.nanoTime();
+        delegate.trace(message, arg);
+        histograms[ConsoleLog.TRACE_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void trace(String message, int arg) {
+        long start = System.nanoTime();
+        delegate.trace(message, arg);
+        histograms[ConsoleLog.TRACE_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void trace(String message, double arg) {
+        long start = System.nanoTime();
+        delegate.trace(message, arg);
+        histograms[ConsoleLog.TRACE_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void trace(String message, boolean arg) {
+        long start = System.nanoTime();
+        delegate.trace(message, arg);
+        histograms[ConsoleLog.TRACE_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void trace(String message, char arg) {
+        long start = System.nanoTime();
+        delegate.trace(message, arg);
+        histograms[ConsoleLog.TRACE_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void trace(String message, float arg) {
+        long start = System.nanoTime();
+        delegate.trace(message, arg);
+        histograms[ConsoleLog.TRACE_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void trace(String message, short arg) {
+        long start = System.nanoTime();
+        delegate.trace(message, arg);
+        histograms[ConsoleLog.TRACE_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void trace(String message, byte arg) {
+        long start = System.nanoTime();
+        delegate.trace(message, arg);
+        histograms[ConsoleLog.TRACE_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void trace(String message, Throwable t) {
+        long start = System.nanoTime();
+        delegate.trace(message, t);
+        histograms[ConsoleLog.TRACE_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void trace(MessageSupplier messageSupplier) {
+        long start = System.nanoTime();
+        delegate.trace(messageSupplier);
+        histograms[ConsoleLog.TRACE_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void trace(MessageSupplier messageSupplier, Throwable t) {
+        long start = System.nanoTime();
+        delegate.trace(messageSupplier, t);
+        histograms[ConsoleLog.TRACE_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void trace(String message, MessageSupplier... paramSuppliers) {
+        long start = System.nanoTime();
+        delegate.trace(message, paramSuppliers);
+        histograms[ConsoleLog.TRACE_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void debug(String message) {
+        long start = System.nanoTime();
+        delegate.debug(message);
+        histograms[ConsoleLog.DEBUG_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void debug(String message, Object... params) {
+        long start = System.nanoTime();
+        delegate.debug(message, params);
+        histograms[ConsoleLog.DEBUG_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void debug(String message, Throwable t) {
+        long start = System.nanoTime();
+        delegate.debug(message, t);
+        histograms[ConsoleLog.DEBUG_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void debug(String message, Throwable t, Object... params) {
+        long start = System.nanoTime();
+        delegate.debug(message, t, params);
+        histograms[ConsoleLog.DEBUG_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void debug(String message, Object arg) {
+        long start = System.nanoTime();
+        delegate.debug(message, arg);
+        histograms[ConsoleLog.DEBUG_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void debug(String message, Object arg1, Object arg2) {
+        long start = System.nanoTime();
+        delegate.debug(message, arg1, arg2);
+        histograms[ConsoleLog.DEBUG_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void debug(String message, Object arg1, Object arg2, Object arg3) {
+        long start = System.nanoTime();
+        delegate.debug(message, arg1, arg2, arg3);
+        histograms[ConsoleLog.DEBUG_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void debug(String message, Throwable t, Object arg) {
+        long start = System.nanoTime();
+        delegate.debug(message, t, arg);
+        histograms[ConsoleLog.DEBUG_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void debug(String message, Throwable t, Object arg1, Object arg2) {
+        long start = System.nanoTime();
+        delegate.debug(message, t, arg1, arg2);
+        histograms[ConsoleLog.DEBUG_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void debug(String message, long arg) {
+        long start = System.nanoTime();
+        delegate.debug(message, arg);
+        histograms[ConsoleLog.DEBUG_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void debug(String message, int arg) {
+        long start = System.nanoTime();
+        delegate.debug(message, arg);
+        histograms[ConsoleLog.DEBUG_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void debug(String message, double arg) {
+        long start = System.nanoTime();
+        delegate.debug(message, arg);
+        histograms[ConsoleLog.DEBUG_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void debug(String message, boolean arg) {
+        long start = System.nanoTime();
+        delegate.debug(message, arg);
+        histograms[ConsoleLog.DEBUG_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void debug(String message, char arg) {
+        long start = System.nanoTime();
+        delegate.debug(message, arg);
+        histograms[ConsoleLog.DEBUG_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void debug(String message, float arg) {
+        long start = System.nanoTime();
+        delegate.debug(message, arg);
+        histograms[ConsoleLog.DEBUG_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void debug(String message, short arg) {
+        long start = System.nanoTime();
+        delegate.debug(message, arg);
+        histograms[ConsoleLog.DEBUG_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void debug(String message, byte arg) {
+        long start = System.nanoTime();
+        delegate.debug(message, arg);
+        histograms[ConsoleLog.DEBUG_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void debug(MessageSupplier messageSupplier) {
+        long start = System.nanoTime();
+        delegate.debug(messageSupplier);
+        histograms[ConsoleLog.DEBUG_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void debug(MessageSupplier messageSupplier, Throwable t) {
+        long start = System.nanoTime();
+        delegate.debug(messageSupplier, t);
+        histograms[ConsoleLog.DEBUG_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void debug(String message, MessageSupplier... paramSuppliers) {
+        long start = System.nanoTime();
+        delegate.debug(message, paramSuppliers);
+        histograms[ConsoleLog.DEBUG_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void info(String message) {
+        long start = System.nanoTime();
+        delegate.info(message);
+        histograms[ConsoleLog.INFO_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void info(String message, Object... params) {
+        long start = System.nanoTime();
+        delegate.info(message, params);
+        histograms[ConsoleLog.INFO_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void info(String message, Throwable t) {
+        long start = System.nanoTime();
+        delegate.info(message, t);
+        histograms[ConsoleLog.INFO_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void info(String message, Throwable t, Object... params) {
+        long start = System.nanoTime();
+        delegate.info(message, t, params);
+        histograms[ConsoleLog.INFO_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void info(String message, Object arg) {
+        long start = System.nanoTime();
+        delegate.info(message, arg);
+        histograms[ConsoleLog.INFO_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void info(String message, Object arg1, Object arg2) {
+        long start = System.nanoTime();
+        delegate.info(message, arg1, arg2);
+        histograms[ConsoleLog.INFO_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void info(String message, Object arg1, Object arg2, Object arg3) {
+        long start = System.nanoTime();
+        delegate.info(message, arg1, arg2, arg3);
+        histograms[ConsoleLog.INFO_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void info(String message, Throwable t, Object arg) {
+        long start = System.nanoTime();
+        delegate.info(message, t, arg);
+        histograms[ConsoleLog.INFO_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void info(String message, Throwable t, Object arg1, Object arg2) {
+        long start = System.nanoTime();
+        delegate.info(message, t, arg1, arg2);
+        histograms[ConsoleLog.INFO_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void info(String message, long arg) {
+        long start = System.nanoTime();
+        delegate.info(message, arg);
+        histograms[ConsoleLog.INFO_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void info(String message, int arg) {
+        long start = System.nanoTime();
+        delegate.info(message, arg);
+        histograms[ConsoleLog.INFO_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void info(String message, double arg) {
+        long start = System.nanoTime();
+        delegate.info(message, arg);
+        histograms[ConsoleLog.INFO_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void info(String message, boolean arg) {
+        long start = System.nanoTime();
+        delegate.info(message, arg);
+        histograms[ConsoleLog.INFO_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void info(String message, char arg) {
+        long start = System.nanoTime();
+        delegate.info(message, arg);
+        histograms[ConsoleLog.INFO_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void info(String message, float arg) {
+        long start = System.nanoTime();
+        delegate.info(message, arg);
+        histograms[ConsoleLog.INFO_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void info(String message, short arg) {
+        long start = System.nanoTime();
+        delegate.info(message, arg);
+        histograms[ConsoleLog.INFO_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void info(String message, byte arg) {
+        long start = System.nanoTime();
+        delegate.info(message, arg);
+        histograms[ConsoleLog.INFO_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void info(MessageSupplier messageSupplier) {
+        long start = System.nanoTime();
+        delegate.info(messageSupplier);
+        histograms[ConsoleLog.INFO_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void info(MessageSupplier messageSupplier, Throwable t) {
+        long start = System.nanoTime();
+        delegate.info(messageSupplier, t);
+        histograms[ConsoleLog.INFO_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void info(String message, MessageSupplier... paramSuppliers) {
+        long start = System.nanoTime();
+        delegate.info(message, paramSuppliers);
+        histograms[ConsoleLog.INFO_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void warn(String message) {
+        long start = System.nanoTime();
+        delegate.warn(message);
+        histograms[ConsoleLog.WARN_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void warn(String message, Object... params) {
+        long start = System.nanoTime();
+        delegate.warn(message, params);
+        histograms[ConsoleLog.WARN_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void warn(String message, Throwable t) {
+        long start = System.nanoTime();
+        delegate.warn(message, t);
+        histograms[ConsoleLog.WARN_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void warn(String message, Throwable t, Object... params) {
+        long start = System.nanoTime();
+        delegate.warn(message, t, params);
+        histograms[ConsoleLog.WARN_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void warn(String message, Object arg) {
+        long start = System.nanoTime();
+        delegate.warn(message, arg);
+        histograms[ConsoleLog.WARN_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void warn(String message, Object arg1, Object arg2) {
+        long start = System.nanoTime();
+        delegate.warn(message, arg1, arg2);
+        histograms[ConsoleLog.WARN_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void warn(String message, Object arg1, Object arg2, Object arg3) {
+        long start = System.nanoTime();
+        delegate.warn(message, arg1, arg2, arg3);
+        histograms[ConsoleLog.WARN_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void warn(String message, Throwable t, Object arg) {
+        long start = System.nanoTime();
+        delegate.warn(message, t, arg);
+        histograms[ConsoleLog.WARN_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void warn(String message, Throwable t, Object arg1, Object arg2) {
+        long start = System.nanoTime();
+        delegate.warn(message, t, arg1, arg2);
+        histograms[ConsoleLog.WARN_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void warn(String message, long arg) {
+        long start = System.nanoTime();
+        delegate.warn(message, arg);
+        histograms[ConsoleLog.WARN_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void warn(String message, int arg) {
+        long start = System.nanoTime();
+        delegate.warn(message, arg);
+        histograms[ConsoleLog.WARN_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void warn(String message, double arg) {
+        long start = System.nanoTime();
+        delegate.warn(message, arg);
+        histograms[ConsoleLog.WARN_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void warn(String message, boolean arg) {
+        long start = System.nanoTime();
+        delegate.warn(message, arg);
+        histograms[ConsoleLog.WARN_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void warn(String message, char arg) {
+        long start = System.nanoTime();
+        delegate.warn(message, arg);
+        histograms[ConsoleLog.WARN_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void warn(String message, float arg) {
+        long start = System.nanoTime();
+        delegate.warn(message, arg);
+        histograms[ConsoleLog.WARN_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void warn(String message, short arg) {
+        long start = System.nanoTime();
+        delegate.warn(message, arg);
+        histograms[ConsoleLog.WARN_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void warn(String message, byte arg) {
+        long start = System.nanoTime();
+        delegate.warn(message, arg);
+        histograms[ConsoleLog.WARN_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void warn(MessageSupplier messageSupplier) {
+        long start = System.nanoTime();
+        delegate.warn(messageSupplier);
+        histograms[ConsoleLog.WARN_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void warn(MessageSupplier messageSupplier, Throwable t) {
+        long start = System.nanoTime();
+        delegate.warn(messageSupplier, t);
+        histograms[ConsoleLog.WARN_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void warn(String message, MessageSupplier... paramSuppliers) {
+        long start = System.nanoTime();
+        delegate.warn(message, paramSuppliers);
+        histograms[ConsoleLog.WARN_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void error(String message) {
+        long start = System.nanoTime();
+        delegate.error(message);
+        histograms[ConsoleLog.ERROR_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void error(String message, Object... params) {
+        long start = System.nanoTime();
+        delegate.error(message, params);
+        histograms[ConsoleLog.ERROR_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void error(String message, Throwable t) {
+        long start = System.nanoTime();
+        delegate.error(message, t);
+        histograms[ConsoleLog.ERROR_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void error(String message, Throwable t, Object... params) {
+        long start = System.nanoTime();
+        delegate.error(message, t, params);
+        histograms[ConsoleLog.ERROR_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void error(String message, Object arg) {
+        long start = System.nanoTime();
+        delegate.error(message, arg);
+        histograms[ConsoleLog.ERROR_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void error(String message, Object arg1, Object arg2) {
+        long start = System.nanoTime();
+        delegate.error(message, arg1, arg2);
+        histograms[ConsoleLog.ERROR_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void error(String message, Object arg1, Object arg2, Object arg3) {
+        long start = System.nanoTime();
+        delegate.error(message, arg1, arg2, arg3);
+        histograms[ConsoleLog.ERROR_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void error(String message, Throwable t, Object arg) {
+        long start = System.nanoTime();
+        delegate.error(message, t, arg);
+        histograms[ConsoleLog.ERROR_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void error(String message, Throwable t, Object arg1, Object arg2) {
+        long start = System.nanoTime();
+        delegate.error(message, t, arg1, arg2);
+        histograms[ConsoleLog.ERROR_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void error(String message, long arg) {
+        long start = System.nanoTime();
+        delegate.error(message, arg);
+        histograms[ConsoleLog.ERROR_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void error(String message, int arg) {
+        long start = System.nanoTime();
+        delegate.error(message, arg);
+        histograms[ConsoleLog.ERROR_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void error(String message, double arg) {
+        long start = System.nanoTime();
+        delegate.error(message, arg);
+        histograms[ConsoleLog.ERROR_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void error(String message, boolean arg) {
+        long start = System.nanoTime();
+        delegate.error(message, arg);
+        histograms[ConsoleLog.ERROR_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void error(String message, char arg) {
+        long start = System.nanoTime();
+        delegate.error(message, arg);
+        histograms[ConsoleLog.ERROR_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void error(String message, float arg) {
+        long start = System.nanoTime();
+        delegate.error(message, arg);
+        histograms[ConsoleLog.ERROR_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void error(String message, short arg) {
+        long start = System.nanoTime();
+        delegate.error(message, arg);
+        histograms[ConsoleLog.ERROR_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void error(String message, byte arg) {
+        long start = System.nanoTime();
+        delegate.error(message, arg);
+        histograms[ConsoleLog.ERROR_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void error(MessageSupplier messageSupplier) {
+        long start = System.nanoTime();
+        delegate.error(messageSupplier);
+        histograms[ConsoleLog.ERROR_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void error(MessageSupplier messageSupplier, Throwable t) {
+        long start = System.nanoTime();
+        delegate.error(messageSupplier, t);
+        histograms[ConsoleLog.ERROR_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void error(String message, MessageSupplier... paramSuppliers) {
+        long start = System.nanoTime();
+        delegate.error(message, paramSuppliers);
+        histograms[ConsoleLog.ERROR_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void fatal(String message) {
+        long start = System.nanoTime();
+        delegate.fatal(message);
+        histograms[ConsoleLog.FATAL_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void fatal(String message, Object... params) {
+        long start = System.nanoTime();
+        delegate.fatal(message, params);
+        histograms[ConsoleLog.FATAL_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void fatal(String message, Throwable t) {
+        long start = System.nanoTime();
+        delegate.fatal(message, t);
+        histograms[ConsoleLog.FATAL_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void fatal(String message, Throwable t, Object... params) {
+        long start = System.nanoTime();
+        delegate.fatal(message, t, params);
+        histograms[ConsoleLog.FATAL_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void fatal(String message, Object arg) {
+        long start = System.nanoTime();
+        delegate.fatal(message, arg);
+        histograms[ConsoleLog.FATAL_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void fatal(String message, Object arg1, Object arg2) {
+        long start = System.nanoTime();
+        delegate.fatal(message, arg1, arg2);
+        histograms[ConsoleLog.FATAL_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void fatal(String message, Object arg1, Object arg2, Object arg3) {
+        long start = System.nanoTime();
+        delegate.fatal(message, arg1, arg2, arg3);
+        histograms[ConsoleLog.FATAL_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void fatal(String message, Throwable t, Object arg) {
+        long start = System.nanoTime();
+        delegate.fatal(message, t, arg);
+        histograms[ConsoleLog.FATAL_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void fatal(String message, Throwable t, Object arg1, Object arg2) {
+        long start = System.nanoTime();
+        delegate.fatal(message, t, arg1, arg2);
+        histograms[ConsoleLog.FATAL_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void fatal(String message, long arg) {
+        long start = System.nanoTime();
+        delegate.fatal(message, arg);
+        histograms[ConsoleLog.FATAL_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void fatal(String message, int arg) {
+        long start = System.nanoTime();
+        delegate.fatal(message, arg);
+        histograms[ConsoleLog.FATAL_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void fatal(String message, double arg) {
+        long start = System.nanoTime();
+        delegate.fatal(message, arg);
+        histograms[ConsoleLog.FATAL_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void fatal(String message, boolean arg) {
+        long start = System.nanoTime();
+        delegate.fatal(message, arg);
+        histograms[ConsoleLog.FATAL_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void fatal(String message, char arg) {
+        long start = System.nanoTime();
+        delegate.fatal(message, arg);
+        histograms[ConsoleLog.FATAL_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void fatal(String message, float arg) {
+        long start = System.nanoTime();
+        delegate.fatal(message, arg);
+        histograms[ConsoleLog.FATAL_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void fatal(String message, short arg) {
+        long start = System.nanoTime();
+        delegate.fatal(message, arg);
+        histograms[ConsoleLog.FATAL_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void fatal(String message, byte arg) {
+        long start = System.nanoTime();
+        delegate.fatal(message, arg);
+        histograms[ConsoleLog.FATAL_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void fatal(MessageSupplier messageSupplier) {
+        long start = System.nanoTime();
+        delegate.fatal(messageSupplier);
+        histograms[ConsoleLog.FATAL_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void fatal(MessageSupplier messageSupplier, Throwable t) {
+        long start = System.nanoTime();
+        delegate.fatal(messageSupplier, t);
+        histograms[ConsoleLog.FATAL_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void fatal(String message, MessageSupplier... paramSuppliers) {
+        long start = System.nanoTime();
+        delegate.fatal(message, paramSuppliers);
+        histograms[ConsoleLog.FATAL_LOG_LEVEL].record(System.nanoTime() - start);
+    }
+}
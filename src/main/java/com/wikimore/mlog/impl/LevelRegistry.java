@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.impl;
+
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ConsoleLog levels keyed by logger name prefix
+ * <p>
+ * a prefix matches a logger name at a dot boundary, <tt>com.wikimore</tt>
+ * matches <tt>com.wikimore.mlog.Log</tt> but not <tt>com.wikimorex</tt>, the
+ * longest matching prefix wins and the empty prefix is the root level. levels
+ * are read from system properties at startup:
+ * 
+ * <pre>
+ * com.wikimore.mlog.impl.ConsoleLog.level=INFO
+ * com.wikimore.mlog.impl.ConsoleLog.level.com.wikimore.mlog.impl=WARN
+ * </pre>
+ * 
+ * every change increments a generation counter. a ConsoleLog caches its
+ * resolved level together with the generation and only resolves again after
+ * the generation has moved.
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+final class LevelRegistry {
+    static final String LEVEL_KEY = "com.wikimore.mlog.impl.ConsoleLog.level";
+    /** bits of a cached state holding the level, the rest is the generation */
+    static final int LEVEL_BITS = 3;
+    static final int LEVEL_MASK = (1 << LEVEL_BITS) - 1;
+    private static final String[] LEVEL_NAMES = { null, "TRACE", "DEBUG", "INFO", "WARN",
+            "ERROR", "FATAL", "OFF" };
+
+    private static final ConcurrentMap<String, Integer> levels = new ConcurrentHashMap<String, Integer>();
+    private static final AtomicInteger generation = new AtomicInteger();
+
+    static {
+        load(System.getProperties());
+    }
+
+    private LevelRegistry() {
+    }
+
+    /**
+     * load levels from properties, invalid values are reported and ignored
+     */
+    static void load(Properties properties) {
+        for (String key : properties.stringPropertyNames()) {
+            String prefix;
+            if (key.equals(LEVEL_KEY)) {
+                prefix = "";
+            } else if (key.startsWith(LEVEL_KEY + ".")) {
+                prefix = key.substring(LEVEL_KEY.length() + 1);
+            } else {
+                continue;
+            }
+            try {
+                setLevel(prefix, properties.getProperty(key));
+            } catch (IllegalArgumentException e) {
+                System.err.println("[WARN] ConsoleLog: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return current generation, changes with every level update
+     */
+    static int generation() {
+        return generation.get();
+    }
+
+    /**
+     * set the level of a name prefix
+     * 
+     * @param prefix
+     *            logger name prefix, empty for the root level
+     * @param level
+     *            TRACE, DEBUG, INFO, WARN, ERROR, FATAL or OFF
+     * @throws IllegalArgumentException
+     *             if the level name is unknown
+     */
+    static void setLevel(String prefix, String level) {
+        levels.put(prefix, Integer.valueOf(parseLevel(level)));
+        generation.incrementAndGet();
+    }
+
+    /**
+     * remove the level of a name prefix, loggers fall back to a shorter prefix
+     */
+    static void removeLevel(String prefix) {
+        if (levels.remove(prefix) != null) {
+            generation.incrementAndGet();
+        }
+    }
+
+    /**
+     * resolve the level of a logger name
+     * 
+     * @param name
+     *            logger name
+     * @param defaultLevel
+     *            level used when no prefix matches
+     * @return the level of the longest matching prefix
+     */
+    static int resolve(String name, int defaultLevel) {
+        String prefix = name == null ? "" : name;
+        while (true) {
+            Integer level = levels.get(prefix);
+            if (level != null) {
+                return level.intValue();
+            }
+            if (prefix.length() == 0) {
+                return defaultLevel;
+            }
+            int dot = prefix.lastIndexOf('.');
+            prefix = dot < 0 ? "" : prefix.substring(0, dot);
+        }
+    }
+
+    static int parseLevel(String level) {
+        String upper = level == null ? "" : level.trim().toUpperCase();
+        for (int i = 1; i < LEVEL_NAMES.length; i++) {
+            if (LEVEL_NAMES[i].equals(upper)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("unknown log level " + level);
+    }
+}
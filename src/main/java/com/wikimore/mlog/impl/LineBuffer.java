@@ -0,0 +1,321 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+
+import com.wikimore.mlog.Formatter;
+
+/**
+ * per-thread reusable buffers for rendering and encoding one log line
+ * <p>
+ * in steady state rendering a line into the builder and writing its encoded
+ * bytes allocates nothing. buffers grown by an unusually long line are
+ * dropped when the line is done.
+ * <p>
+ * lines are encoded into a direct byte buffer which a FileChannel writes
+ * without another copy. with a UTF-8 default charset the chars are encoded
+ * straight from the builder, other charsets go through a CharsetEncoder.
+ * 
+ * <p>
+ * <strong>Note:</strong> this class is not thread-safe, use
+ * {@link #acquire()} to get the buffer of the current thread.
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+final class LineBuffer {
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+    private static final String LINE_SEPARATOR = System.getProperty("line.separator", "\n");
+    private static final ThreadLocal<LineBuffer> BUFFERS = new ThreadLocal<LineBuffer>() {
+        protected LineBuffer initialValue() {
+            return new LineBuffer();
+        }
+    };
+
+    private final StringBuilder builder = new StringBuilder(INITIAL_CAPACITY);
+    private final boolean utf8;
+    private final CharsetEncoder encoder;
+    private final float maxBytesPerChar;
+    private char[] chars;
+    private CharBuffer charBuffer;
+    private ByteBuffer byteBuffer;
+    private boolean inUse;
+
+    private final char[] timestamp = new char[TimestampRenderer.LENGTH];
+    private final Object[] arguments1 = new Object[1];
+    private final Object[] arguments2 = new Object[2];
+    private final Object[] arguments3 = new Object[3];
+
+    private LineBuffer() {
+        Charset charset = Charset.defaultCharset();
+        this.utf8 = "UTF-8".equals(charset.name());
+        if (utf8) {
+            this.encoder = null;
+            this.maxBytesPerChar = Utf8Encoder.MAX_BYTES_PER_CHAR;
+        } else {
+            this.encoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            this.maxBytesPerChar = encoder.maxBytesPerChar();
+        }
+        allocateBytes(INITIAL_CAPACITY);
+    }
+
+    /**
+     * get the empty line buffer of the current thread
+     * <p>
+     * a log call made while rendering, for example from a parameter's
+     * toString(), gets a private buffer instead of the one in use
+     */
+    static LineBuffer acquire() {
+        LineBuffer buffer = BUFFERS.get();
+        if (buffer.inUse) {
+            buffer = new LineBuffer();
+        }
+        buffer.inUse = true;
+        buffer.builder.setLength(0);
+        return buffer;
+    }
+
+    /**
+     * format message for a backend that only takes a String
+     * <p>
+     * the message is rendered into the reused builder of this thread and
+     * copied out once, no temporary builder is grown per call
+     */
+    static String format(String pattern, Object... parameters) {
+        if (pattern == null || parameters == null || parameters.length == 0) {
+            return pattern;
+        }
+        LineBuffer buffer = acquire();
+        try {
+            return Formatter.formatTo(buffer.builder, pattern, parameters).toString();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * format message with one parameter, no varargs array is built
+     */
+    static String formatArguments(String pattern, Object arg) {
+        if (pattern == null) {
+            return pattern;
+        }
+        LineBuffer buffer = acquire();
+        try {
+            return buffer.appendArguments(pattern, arg).toString();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * format message with two parameters, no varargs array is built
+     */
+    static String formatArguments(String pattern, Object arg1, Object arg2) {
+        if (pattern == null) {
+            return pattern;
+        }
+        LineBuffer buffer = acquire();
+        try {
+            return buffer.appendArguments(pattern, arg1, arg2).toString();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * format message with three parameters, no varargs array is built
+     */
+    static String formatArguments(String pattern, Object arg1, Object arg2, Object arg3) {
+        if (pattern == null) {
+            return pattern;
+        }
+        LineBuffer buffer = acquire();
+        try {
+            return buffer.appendArguments(pattern, arg1, arg2, arg3).toString();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * format message with a long without boxing it
+     */
+    static String format(String pattern, long value) {
+        if (pattern == null) {
+            return pattern;
+        }
+        LineBuffer buffer = acquire();
+        try {
+            return Formatter.formatTo(buffer.builder, pattern, value).toString();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * format message with a double without boxing it
+     */
+    static String format(String pattern, double value) {
+        if (pattern == null) {
+            return pattern;
+        }
+        LineBuffer buffer = acquire();
+        try {
+            return Formatter.formatTo(buffer.builder, pattern, value).toString();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * format message with a float without boxing it
+     */
+    static String format(String pattern, float value) {
+        if (pattern == null) {
+            return pattern;
+        }
+        LineBuffer buffer = acquire();
+        try {
+            return Formatter.formatTo(buffer.builder, pattern, value).toString();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    StringBuilder builder() {
+        return builder;
+    }
+
+    /**
+     * append message formatted with one parameter to the builder
+     */
+    StringBuilder appendArguments(String pattern, Object arg) {
+        arguments1[0] = arg;
+        try {
+            return Formatter.formatTo(builder, pattern, arguments1);
+        } finally {
+            arguments1[0] = null;
+        }
+    }
+
+    /**
+     * append message formatted with two parameters to the builder
+     */
+    StringBuilder appendArguments(String pattern, Object arg1, Object arg2) {
+        arguments2[0] = arg1;
+        arguments2[1] = arg2;
+        try {
+            return Formatter.formatTo(builder, pattern, arguments2);
+        } finally {
+            arguments2[0] = null;
+            arguments2[1] = null;
+        }
+    }
+
+    /**
+     * append message formatted with three parameters to the builder
+     */
+    StringBuilder appendArguments(String pattern, Object arg1, Object arg2, Object arg3) {
+        arguments3[0] = arg1;
+        arguments3[1] = arg2;
+        arguments3[2] = arg3;
+        try {
+            return Formatter.formatTo(builder, pattern, arguments3);
+        } finally {
+            arguments3[0] = null;
+            arguments3[1] = null;
+            arguments3[2] = null;
+        }
+    }
+
+    /**
+     * append timestamp as yyyy-MM-dd HH:mm:ss SSS
+     */
+    void appendTimestamp(long timestamp) {
+        int length = TimestampRenderer.getInstance().render(timestamp, this.timestamp, 0);
+        builder.append(this.timestamp, 0, length);
+    }
+
+    /**
+     * terminate the rendered line and encode it
+     * 
+     * @return the encoded line from position to limit, valid until the
+     *         buffer is released
+     */
+    ByteBuffer encode() {
+        builder.append(LINE_SEPARATOR);
+        int length = builder.length();
+        if (length * maxBytesPerChar > byteBuffer.capacity()) {
+            allocateBytes(length);
+        }
+        byteBuffer.clear();
+        if (utf8) {
+            Utf8Encoder.encode(builder, 0, length, byteBuffer);
+        } else {
+            if (chars == null || length > chars.length) {
+                allocateChars(length);
+            }
+            builder.getChars(0, length, chars, 0);
+            charBuffer.clear();
+            charBuffer.limit(length);
+            encoder.reset();
+            encoder.encode(charBuffer, byteBuffer, true);
+            encoder.flush(byteBuffer);
+        }
+        byteBuffer.flip();
+        return byteBuffer;
+    }
+
+    /**
+     * hand the buffer back, drop buffers grown by a huge line
+     */
+    void release() {
+        if (builder.capacity() > MAX_RETAINED_CAPACITY) {
+            builder.setLength(0);
+            builder.trimToSize();
+            builder.ensureCapacity(INITIAL_CAPACITY);
+        }
+        if (chars != null && chars.length > MAX_RETAINED_CAPACITY) {
+            chars = null;
+            charBuffer = null;
+        }
+        if (byteBuffer.capacity() > MAX_RETAINED_CAPACITY * maxBytesPerChar) {
+            allocateBytes(INITIAL_CAPACITY);
+        }
+        inUse = false;
+    }
+
+    private void allocateChars(int capacity) {
+        chars = new char[capacity];
+        charBuffer = CharBuffer.wrap(chars);
+    }
+
+    /**
+     * room for the worst case of capacity chars so encoding never overflows
+     */
+    private void allocateBytes(int capacity) {
+        byteBuffer = ByteBuffer.allocateDirect((int) (capacity * maxBytesPerChar) + 16);
+    }
+}
@@ -19,8 +19,8 @@ package com.wikimore.mlog.impl;
 import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 
-import com.wikimore.mlog.Formatter;
 import com.wikimore.mlog.Log;
+import com.wikimore.mlog.MessageSupplier;
 
 /**
  * Log4j wrapper implementation
@@ -32,14 +32,22 @@ import com.wikimore.mlog.Log;
  * @author ted created on 2013-5-17
  * @since 1.0
  */
-public class Log4jLog implements Log {
-    private static final String FQCN = Log4jLog.class.getName();
+public class Log4jLog implements Log, CallerBoundary {
+    /** the caller is the frame above this class, set by a wrapper */
+    private String fqcn = Log4jLog.class.getName();
     private transient Logger logger = null;
     private String name = null;
+    /** null when no rate limit or sampling applies */
+    private RateLimiter rateLimiter;
+    /** RateLimiter generation the limiter was looked up at */
+    private int rateGeneration;
+    private final LogMetrics metrics;
 
     public Log4jLog(String name) {
         this.name = name;
         this.logger = getLogger();
+        refreshRateLimiter();
+        this.metrics = LogMetrics.forLogger("Log4jLog", name);
     }
 
     /**
@@ -52,6 +60,10 @@ public class Log4jLog implements Log {
         return logger;
     }
 
+    public void setCallerBoundary(String fqcn) {
+        this.fqcn = fqcn;
+    }
+
     public boolean isDebugEnabled() {
         return getLogger().isDebugEnabled();
     }
@@ -77,135 +89,792 @@ public class Log4jLog implements Log {
     }
 
     public void trace(String message) {
-        if (isTraceEnabled()) {
-            getLogger().log(FQCN, Level.TRACE, message, null);
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.TRACE, message, null);
         }
     }
 
     public void trace(String message, Object... params) {
-        String formatMsg = Formatter.format(message, params);
-        if (isTraceEnabled()) {
-            getLogger().log(FQCN, Level.TRACE, formatMsg, null);
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.TRACE, LineBuffer.format(message, params), null);
         }
     }
 
     public void trace(String message, Throwable t, Object... params) {
-        String formatMsg = Formatter.format(message, params);
-        if (isTraceEnabled()) {
-            getLogger().log(FQCN, Level.TRACE, formatMsg, t);
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, t)) {
+            getLogger().log(fqcn, Level.TRACE, LineBuffer.format(message, params), t);
         }
     }
 
     public void trace(String message, Throwable t) {
-        if (isTraceEnabled()) {
-            getLogger().log(FQCN, Level.TRACE, message, t);
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, t)) {
+            getLogger().log(fqcn, Level.TRACE, message, t);
+        }
+    }
+
+    public void trace(String message, Object arg) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.TRACE, LineBuffer.formatArguments(message, arg), null);
+        }
+    }
+
+    public void trace(String message, Object arg1, Object arg2) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.TRACE,
+                    LineBuffer.formatArguments(message, arg1, arg2), null);
+        }
+    }
+
+    public void trace(String message, Object arg1, Object arg2, Object arg3) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.TRACE,
+                    LineBuffer.formatArguments(message, arg1, arg2, arg3), null);
+        }
+    }
+
+    public void trace(String message, Throwable t, Object arg) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, t)) {
+            getLogger().log(fqcn, Level.TRACE, LineBuffer.formatArguments(message, arg), t);
+        }
+    }
+
+    public void trace(String message, Throwable t, Object arg1, Object arg2) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, t)) {
+            getLogger().log(fqcn, Level.TRACE, LineBuffer.formatArguments(message, arg1, arg2), t);
+        }
+    }
+
+    public void trace(String message, long arg) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.TRACE, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void trace(String message, int arg) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.TRACE, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void trace(String message, double arg) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.TRACE, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void trace(String message, boolean arg) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.TRACE,
+                    LineBuffer.formatArguments(message, Boolean.valueOf(arg)),
+                    null);
+        }
+    }
+
+    public void trace(String message, char arg) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.TRACE,
+                    LineBuffer.formatArguments(message, Character.valueOf(arg)),
+                    null);
+        }
+    }
+
+    public void trace(String message, float arg) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.TRACE, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void trace(String message, short arg) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.TRACE, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void trace(String message, byte arg) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.TRACE, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void trace(MessageSupplier messageSupplier) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.TRACE, messageSupplier.get(), null);
+        }
+    }
+
+    public void trace(MessageSupplier messageSupplier, Throwable t) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, t)) {
+            getLogger().log(fqcn, Level.TRACE, messageSupplier.get(), t);
+        }
+    }
+
+    public void trace(String message, MessageSupplier... paramSuppliers) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.TRACE,
+                    LineBuffer.format(message, (Object[]) paramSuppliers), null);
         }
     }
 
     public void debug(String message) {
-        if (isDebugEnabled()) {
-            getLogger().log(FQCN, Level.DEBUG, message, null);
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.DEBUG, message, null);
         }
     }
 
     public void debug(String message, Object... params) {
-        String formatMsg = Formatter.format(message, params);
-        if (isDebugEnabled()) {
-            getLogger().log(FQCN, Level.DEBUG, formatMsg, null);
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.DEBUG, LineBuffer.format(message, params), null);
         }
     }
 
     public void debug(String message, Throwable t) {
-        if (isDebugEnabled()) {
-            getLogger().log(FQCN, Level.DEBUG, message, t);
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, t)) {
+            getLogger().log(fqcn, Level.DEBUG, message, t);
         }
     }
 
     public void debug(String message, Throwable t, Object... params) {
-        String formatMsg = Formatter.format(message, params);
-        if (isDebugEnabled()) {
-            getLogger().log(FQCN, Level.DEBUG, formatMsg, t);
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, t)) {
+            getLogger().log(fqcn, Level.DEBUG, LineBuffer.format(message, params), t);
+        }
+    }
+
+    public void debug(String message, Object arg) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.DEBUG, LineBuffer.formatArguments(message, arg), null);
+        }
+    }
+
+    public void debug(String message, Object arg1, Object arg2) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.DEBUG,
+                    LineBuffer.formatArguments(message, arg1, arg2), null);
+        }
+    }
+
+    public void debug(String message, Object arg1, Object arg2, Object arg3) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.DEBUG,
+                    LineBuffer.formatArguments(message, arg1, arg2, arg3), null);
+        }
+    }
+
+    public void debug(String message, Throwable t, Object arg) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, t)) {
+            getLogger().log(fqcn, Level.DEBUG, LineBuffer.formatArguments(message, arg), t);
+        }
+    }
+
+    public void debug(String message, Throwable t, Object arg1, Object arg2) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, t)) {
+            getLogger().log(fqcn, Level.DEBUG, LineBuffer.formatArguments(message, arg1, arg2), t);
+        }
+    }
+
+    public void debug(String message, long arg) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.DEBUG, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void debug(String message, int arg) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.DEBUG, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void debug(String message, double arg) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.DEBUG, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void debug(String message, boolean arg) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.DEBUG,
+                    LineBuffer.formatArguments(message, Boolean.valueOf(arg)),
+                    null);
+        }
+    }
+
+    public void debug(String message, char arg) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.DEBUG,
+                    LineBuffer.formatArguments(message, Character.valueOf(arg)),
+                    null);
+        }
+    }
+
+    public void debug(String message, float arg) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.DEBUG, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void debug(String message, short arg) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.DEBUG, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void debug(String message, byte arg) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.DEBUG, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void debug(MessageSupplier messageSupplier) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.DEBUG, messageSupplier.get(), null);
+        }
+    }
+
+    public void debug(MessageSupplier messageSupplier, Throwable t) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, t)) {
+            getLogger().log(fqcn, Level.DEBUG, messageSupplier.get(), t);
+        }
+    }
+
+    public void debug(String message, MessageSupplier... paramSuppliers) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.DEBUG,
+                    LineBuffer.format(message, (Object[]) paramSuppliers), null);
         }
     }
 
     public void info(String message) {
-        if (isInfoEnabled()) {
-            getLogger().log(FQCN, Level.INFO, message, null);
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.INFO, message, null);
         }
     }
 
     public void info(String message, Object... params) {
-        String formatMsg = Formatter.format(message, params);
-        if (isInfoEnabled()) {
-            getLogger().log(FQCN, Level.INFO, formatMsg, null);
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.INFO, LineBuffer.format(message, params), null);
         }
     }
 
     public void info(String message, Throwable t) {
-        if (isInfoEnabled()) {
-            getLogger().log(FQCN, Level.INFO, message, t);
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, t)) {
+            getLogger().log(fqcn, Level.INFO, message, t);
         }
     }
 
     public void info(String message, Throwable t, Object... params) {
-        String formatMsg = Formatter.format(message, params);
-        if (isInfoEnabled()) {
-            getLogger().log(FQCN, Level.INFO, formatMsg, t);
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, t)) {
+            getLogger().log(fqcn, Level.INFO, LineBuffer.format(message, params), t);
+        }
+    }
+
+    public void info(String message, Object arg) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.INFO, LineBuffer.formatArguments(message, arg), null);
+        }
+    }
+
+    public void info(String message, Object arg1, Object arg2) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.INFO,
+                    LineBuffer.formatArguments(message, arg1, arg2), null);
+        }
+    }
+
+    public void info(String message, Object arg1, Object arg2, Object arg3) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.INFO,
+                    LineBuffer.formatArguments(message, arg1, arg2, arg3), null);
+        }
+    }
+
+    public void info(String message, Throwable t, Object arg) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, t)) {
+            getLogger().log(fqcn, Level.INFO, LineBuffer.formatArguments(message, arg), t);
+        }
+    }
+
+    public void info(String message, Throwable t, Object arg1, Object arg2) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, t)) {
+            getLogger().log(fqcn, Level.INFO, LineBuffer.formatArguments(message, arg1, arg2), t);
+        }
+    }
+
+    public void info(String message, long arg) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.INFO, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void info(String message, int arg) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.INFO, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void info(String message, double arg) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.INFO, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void info(String message, boolean arg) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.INFO,
+                    LineBuffer.formatArguments(message, Boolean.valueOf(arg)),
+                    null);
+        }
+    }
+
+    public void info(String message, char arg) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.INFO,
+                    LineBuffer.formatArguments(message, Character.valueOf(arg)),
+                    null);
+        }
+    }
+
+    public void info(String message, float arg) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.INFO, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void info(String message, short arg) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.INFO, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void info(String message, byte arg) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.INFO, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void info(MessageSupplier messageSupplier) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.INFO, messageSupplier.get(), null);
+        }
+    }
+
+    public void info(MessageSupplier messageSupplier, Throwable t) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, t)) {
+            getLogger().log(fqcn, Level.INFO, messageSupplier.get(), t);
+        }
+    }
+
+    public void info(String message, MessageSupplier... paramSuppliers) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.INFO,
+                    LineBuffer.format(message, (Object[]) paramSuppliers), null);
         }
     }
 
     public void warn(String message) {
-        getLogger().log(FQCN, Level.WARN, message, null);
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.WARN, message, null);
+        }
     }
 
     public void warn(String message, Object... params) {
-        String formatMsg = Formatter.format(message, params);
-        getLogger().log(FQCN, Level.WARN, formatMsg, null);
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.WARN, LineBuffer.format(message, params), null);
+        }
     }
 
     public void warn(String message, Throwable t) {
-        getLogger().log(FQCN, Level.WARN, message, t);
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, t)) {
+            getLogger().log(fqcn, Level.WARN, message, t);
+        }
     }
 
     public void warn(String message, Throwable t, Object... params) {
-        String formatMsg = Formatter.format(message, params);
-        getLogger().log(FQCN, Level.WARN, formatMsg, t);
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, t)) {
+            getLogger().log(fqcn, Level.WARN, LineBuffer.format(message, params), t);
+        }
+    }
+
+    public void warn(String message, Object arg) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.WARN, LineBuffer.formatArguments(message, arg), null);
+        }
+    }
+
+    public void warn(String message, Object arg1, Object arg2) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.WARN,
+                    LineBuffer.formatArguments(message, arg1, arg2), null);
+        }
+    }
+
+    public void warn(String message, Object arg1, Object arg2, Object arg3) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.WARN,
+                    LineBuffer.formatArguments(message, arg1, arg2, arg3), null);
+        }
+    }
+
+    public void warn(String message, Throwable t, Object arg) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, t)) {
+            getLogger().log(fqcn, Level.WARN, LineBuffer.formatArguments(message, arg), t);
+        }
+    }
+
+    public void warn(String message, Throwable t, Object arg1, Object arg2) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, t)) {
+            getLogger().log(fqcn, Level.WARN, LineBuffer.formatArguments(message, arg1, arg2), t);
+        }
+    }
+
+    public void warn(String message, long arg) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.WARN, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void warn(String message, int arg) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.WARN, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void warn(String message, double arg) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.WARN, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void warn(String message, boolean arg) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.WARN,
+                    LineBuffer.formatArguments(message, Boolean.valueOf(arg)),
+                    null);
+        }
+    }
+
+    public void warn(String message, char arg) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.WARN,
+                    LineBuffer.formatArguments(message, Character.valueOf(arg)),
+                    null);
+        }
+    }
+
+    public void warn(String message, float arg) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.WARN, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void warn(String message, short arg) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.WARN, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void warn(String message, byte arg) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.WARN, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void warn(MessageSupplier messageSupplier) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.WARN, messageSupplier.get(), null);
+        }
+    }
+
+    public void warn(MessageSupplier messageSupplier, Throwable t) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, t)) {
+            getLogger().log(fqcn, Level.WARN, messageSupplier.get(), t);
+        }
+    }
+
+    public void warn(String message, MessageSupplier... paramSuppliers) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.WARN,
+                    LineBuffer.format(message, (Object[]) paramSuppliers), null);
+        }
     }
 
     public void error(String message) {
-        getLogger().log(FQCN, Level.ERROR, message, null);
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.ERROR, message, null);
+        }
     }
 
     public void error(String message, Object... params) {
-        String formatMsg = Formatter.format(message, params);
-        getLogger().log(FQCN, Level.ERROR, formatMsg, null);
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.ERROR, LineBuffer.format(message, params), null);
+        }
     }
 
     public void error(String message, Throwable t) {
-        getLogger().log(FQCN, Level.ERROR, message, t);
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, t)) {
+            getLogger().log(fqcn, Level.ERROR, message, t);
+        }
     }
 
     public void error(String message, Throwable t, Object... params) {
-        String formatMsg = Formatter.format(message, params);
-        getLogger().log(FQCN, Level.ERROR, formatMsg, t);
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, t)) {
+            getLogger().log(fqcn, Level.ERROR, LineBuffer.format(message, params), t);
+        }
+    }
+
+    public void error(String message, Object arg) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.ERROR, LineBuffer.formatArguments(message, arg), null);
+        }
+    }
+
+    public void error(String message, Object arg1, Object arg2) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.ERROR,
+                    LineBuffer.formatArguments(message, arg1, arg2), null);
+        }
+    }
+
+    public void error(String message, Object arg1, Object arg2, Object arg3) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.ERROR,
+                    LineBuffer.formatArguments(message, arg1, arg2, arg3), null);
+        }
+    }
+
+    public void error(String message, Throwable t, Object arg) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, t)) {
+            getLogger().log(fqcn, Level.ERROR, LineBuffer.formatArguments(message, arg), t);
+        }
+    }
+
+    public void error(String message, Throwable t, Object arg1, Object arg2) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, t)) {
+            getLogger().log(fqcn, Level.ERROR, LineBuffer.formatArguments(message, arg1, arg2), t);
+        }
+    }
+
+    public void error(String message, long arg) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.ERROR, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void error(String message, int arg) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.ERROR, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void error(String message, double arg) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.ERROR, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void error(String message, boolean arg) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.ERROR,
+                    LineBuffer.formatArguments(message, Boolean.valueOf(arg)),
+                    null);
+        }
+    }
+
+    public void error(String message, char arg) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.ERROR,
+                    LineBuffer.formatArguments(message, Character.valueOf(arg)),
+                    null);
+        }
+    }
+
+    public void error(String message, float arg) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.ERROR, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void error(String message, short arg) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.ERROR, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void error(String message, byte arg) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.ERROR, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void error(MessageSupplier messageSupplier) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.ERROR, messageSupplier.get(), null);
+        }
+    }
+
+    public void error(MessageSupplier messageSupplier, Throwable t) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, t)) {
+            getLogger().log(fqcn, Level.ERROR, messageSupplier.get(), t);
+        }
+    }
+
+    public void error(String message, MessageSupplier... paramSuppliers) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.ERROR,
+                    LineBuffer.format(message, (Object[]) paramSuppliers), null);
+        }
     }
 
     public void fatal(String message) {
-        getLogger().log(FQCN, Level.FATAL, message, null);
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.FATAL, message, null);
+        }
     }
 
     public void fatal(String message, Object... params) {
-        String formatMsg = Formatter.format(message, params);
-        getLogger().log(FQCN, Level.FATAL, formatMsg, null);
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.FATAL, LineBuffer.format(message, params), null);
+        }
     }
 
     public void fatal(String message, Throwable t) {
-        getLogger().log(FQCN, Level.FATAL, message, t);
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, t)) {
+            getLogger().log(fqcn, Level.FATAL, message, t);
+        }
     }
 
     public void fatal(String message, Throwable t, Object... params) {
-        String formatMsg = Formatter.format(message, params);
-        getLogger().log(FQCN, Level.FATAL, formatMsg, t);
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, t)) {
+            getLogger().log(fqcn, Level.FATAL, LineBuffer.format(message, params), t);
+        }
     }
 
+    public void fatal(String message, Object arg) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.FATAL, LineBuffer.formatArguments(message, arg), null);
+        }
+    }
+
+    public void fatal(String message, Object arg1, Object arg2) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.FATAL,
+                    LineBuffer.formatArguments(message, arg1, arg2), null);
+        }
+    }
+
+    public void fatal(String message, Object arg1, Object arg2, Object arg3) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.FATAL,
+                    LineBuffer.formatArguments(message, arg1, arg2, arg3), null);
+        }
+    }
+
+    public void fatal(String message, Throwable t, Object arg) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, t)) {
+            getLogger().log(fqcn, Level.FATAL, LineBuffer.formatArguments(message, arg), t);
+        }
+    }
+
+    public void fatal(String message, Throwable t, Object arg1, Object arg2) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, t)) {
+            getLogger().log(fqcn, Level.FATAL, LineBuffer.formatArguments(message, arg1, arg2), t);
+        }
+    }
+
+    public void fatal(String message, long arg) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.FATAL, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void fatal(String message, int arg) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.FATAL, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void fatal(String message, double arg) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.FATAL, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void fatal(String message, boolean arg) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.FATAL,
+                    LineBuffer.formatArguments(message, Boolean.valueOf(arg)),
+                    null);
+        }
+    }
+
+    public void fatal(String message, char arg) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.FATAL,
+                    LineBuffer.formatArguments(message, Character.valueOf(arg)),
+                    null);
+        }
+    }
+
+    public void fatal(String message, float arg) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.FATAL, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void fatal(String message, short arg) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.FATAL, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void fatal(String message, byte arg) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.FATAL, LineBuffer.format(message, arg), null);
+        }
+    }
+
+    public void fatal(MessageSupplier messageSupplier) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.FATAL, messageSupplier.get(), null);
+        }
+    }
+
+    public void fatal(MessageSupplier messageSupplier, Throwable t) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, t)) {
+            getLogger().log(fqcn, Level.FATAL, messageSupplier.get(), t);
+        }
+    }
+
+    public void fatal(String message, MessageSupplier... paramSuppliers) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            getLogger().log(fqcn, Level.FATAL,
+                    LineBuffer.format(message, (Object[]) paramSuppliers), null);
+        }
+    }
+
+    /**
+     * check the rate limit and sampling of this log, before anything is
+     * formatted, and count the line or the drop
+     */
+    private boolean permit(int level, Throwable t) {
+        RateLimiter limiter = rateLimiter;
+        if (rateGeneration != RateLimiter.generation()) {
+            limiter = refreshRateLimiter();
+        }
+        if (limiter != null && !limiter.permit(level)) {
+            metrics.dropped();
+            return false;
+        }
+        metrics.line(level, t);
+        return true;
+    }
+
+    /**
+     * look the limiter up again after the rate limits have changed
+     */
+    private RateLimiter refreshRateLimiter() {
+        int generation = RateLimiter.generation();
+        RateLimiter limiter = RateLimiter.forName(name);
+        rateLimiter = limiter;
+        rateGeneration = generation;
+        return limiter;
+    }
 }
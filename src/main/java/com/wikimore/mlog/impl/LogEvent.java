@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.impl;
+
+import com.wikimore.mlog.Formatter;
+import com.wikimore.mlog.MessageSupplier;
+
+/**
+ * mutable log event
+ * <p>
+ * events are preallocated by {@link RingBuffer} or kept per thread, and reused
+ * for every log call. an event owns small argument arrays and primitive slots,
+ * so fixed-arity and primitive log calls are carried without allocating a
+ * varargs array or boxing.
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+final class LogEvent {
+    static final int OBJECT_ARGUMENTS = 0;
+    static final int LONG_ARGUMENT = 1;
+    static final int DOUBLE_ARGUMENT = 2;
+    static final int FLOAT_ARGUMENT = 3;
+    private static final ThreadLocal<LogEvent> EVENTS = new ThreadLocal<LogEvent>() {
+        protected LogEvent initialValue() {
+            return new LogEvent();
+        }
+    };
+
+    ConsoleLog log;
+    int level;
+    long timestamp;
+    String message;
+    MessageSupplier messageSupplier;
+    Throwable throwable;
+    Object[] parameters;
+    int argumentType;
+    long longArgument;
+    double doubleArgument;
+    float floatArgument;
+    /** ring buffer sequence, negative for a per-thread event */
+    long sequence = -1;
+    private boolean inUse;
+    private final Object[] arguments1 = new Object[1];
+    private final Object[] arguments2 = new Object[2];
+    private final Object[] arguments3 = new Object[3];
+
+    /**
+     * get the free event of the current thread
+     * <p>
+     * a log call made while writing, for example from a parameter's
+     * toString(), gets a private event instead of the one in use
+     */
+    static LogEvent acquire() {
+        LogEvent event = EVENTS.get();
+        if (event.inUse) {
+            event = new LogEvent();
+        }
+        event.inUse = true;
+        return event;
+    }
+
+    void set(ConsoleLog log, int level, long timestamp, String message, Throwable throwable) {
+        this.log = log;
+        this.level = level;
+        this.timestamp = timestamp;
+        this.message = message;
+        this.messageSupplier = null;
+        this.throwable = throwable;
+        this.parameters = null;
+        this.argumentType = OBJECT_ARGUMENTS;
+    }
+
+    /**
+     * keep the supplier, it is called when the message is rendered
+     */
+    void setMessageSupplier(MessageSupplier messageSupplier) {
+        this.messageSupplier = messageSupplier;
+    }
+
+    void setParameters(Object[] parameters) {
+        this.parameters = parameters;
+    }
+
+    void setArguments(Object arg) {
+        arguments1[0] = arg;
+        this.parameters = arguments1;
+    }
+
+    void setArguments(Object arg1, Object arg2) {
+        arguments2[0] = arg1;
+        arguments2[1] = arg2;
+        this.parameters = arguments2;
+    }
+
+    void setArguments(Object arg1, Object arg2, Object arg3) {
+        arguments3[0] = arg1;
+        arguments3[1] = arg2;
+        arguments3[2] = arg3;
+        this.parameters = arguments3;
+    }
+
+    void setArgument(long arg) {
+        this.argumentType = LONG_ARGUMENT;
+        this.longArgument = arg;
+    }
+
+    void setArgument(double arg) {
+        this.argumentType = DOUBLE_ARGUMENT;
+        this.doubleArgument = arg;
+    }
+
+    void setArgument(float arg) {
+        this.argumentType = FLOAT_ARGUMENT;
+        this.floatArgument = arg;
+    }
+
+    /**
+     * append the formatted message
+     */
+    void appendMessage(StringBuilder builder) {
+        if (messageSupplier != null) {
+            builder.append(messageSupplier.get());
+            return;
+        }
+        switch (argumentType) {
+        case LONG_ARGUMENT:
+            Formatter.formatTo(builder, message, longArgument);
+            break;
+        case DOUBLE_ARGUMENT:
+            Formatter.formatTo(builder, message, doubleArgument);
+            break;
+        case FLOAT_ARGUMENT:
+            Formatter.formatTo(builder, message, floatArgument);
+            break;
+        default:
+            Formatter.formatTo(builder, message, parameters);
+        }
+    }
+
+    /**
+     * drop references so a consumed event does not keep arguments reachable
+     */
+    void clear() {
+        this.log = null;
+        this.message = null;
+        this.messageSupplier = null;
+        this.throwable = null;
+        if (parameters == arguments1 || parameters == arguments2 || parameters == arguments3) {
+            for (int i = 0; i < parameters.length; i++) {
+                parameters[i] = null;
+            }
+        }
+        this.parameters = null;
+    }
+
+    /**
+     * hand a per-thread event back
+     */
+    void release() {
+        clear();
+        inUse = false;
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.impl;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.wikimore.mlog.LogMetricsMBean;
+
+/**
+ * striped counters of the lines of a Log adapter, or of one logger
+ * <p>
+ * each thread adds to one stripe of the counters, stripes are 128 bytes apart
+ * so threads on different cores do not share a cache line. a thread whose
+ * add found its stripe contended moves to another stripe, like
+ * <tt>LongAdder</tt> which does not exist before Java 8. reading a counter
+ * sums the stripes.
+ * <p>
+ * every adapter has one instance. when
+ * <tt>com.wikimore.mlog.metrics.perLogger</tt> is true each logger gets its
+ * own, adding to the adapter totals as well. new instances are published as
+ * MBeans by DefaultLogFactory.
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+final class LogMetrics implements LogMetricsMBean {
+    static final String PER_LOGGER_KEY = "com.wikimore.mlog.metrics.perLogger";
+    /** lines of a level are counted at the index of the level */
+    private static final int THROWABLES = 0;
+    private static final int BYTES = 7;
+    private static final int DROPPED = 8;
+    private static final int WRITE_NANOS = 9;
+    /** 16 longs per stripe, also covers adjacent line prefetch */
+    private static final int STRIPE_SHIFT = 4;
+    private static final int MAX_STRIPES = 64;
+    private static final int STRIPES = stripes(Runtime.getRuntime().availableProcessors());
+    private static final ConcurrentMap<String, LogMetrics> registry = new ConcurrentHashMap<String, LogMetrics>();
+    private static final Queue<LogMetrics> unpublished = new ConcurrentLinkedQueue<LogMetrics>();
+    private static final ThreadLocal<int[]> PROBE = new ThreadLocal<int[]>() {
+        protected int[] initialValue() {
+            long id = Thread.currentThread().getId();
+            return new int[] { (int) (id * 0x9e3779b97f4a7c15L >>> 32) | 1 };
+        }
+    };
+
+    private final String adapter;
+    private final String logger;
+    /** adapter totals of a logger, null for the adapter itself */
+    private final LogMetrics parent;
+    private final int mask;
+    /** stripe 0 is padding, it keeps the array header off the first stripe */
+    private final AtomicLongArray cells;
+
+    LogMetrics(String adapter, String logger, LogMetrics parent, int stripes) {
+        this.adapter = adapter;
+        this.logger = logger;
+        this.parent = parent;
+        this.mask = stripes - 1;
+        this.cells = new AtomicLongArray((stripes + 1) << STRIPE_SHIFT);
+    }
+
+    /**
+     * get the counters a Log instance records into
+     * 
+     * @param adapter
+     *            simple class name of the Log implementation
+     * @param logger
+     *            logger name
+     * @return per logger counters when configured, otherwise the adapter's
+     */
+    static LogMetrics forLogger(String adapter, String logger) {
+        LogMetrics totals = lookup(adapter, null, null);
+        if (!Boolean.getBoolean(PER_LOGGER_KEY)) {
+            return totals;
+        }
+        return lookup(adapter, logger == null ? "" : logger, totals);
+    }
+
+    private static LogMetrics lookup(String adapter, String logger, LogMetrics parent) {
+        String key = logger == null ? adapter : adapter + '/' + logger;
+        LogMetrics metrics = registry.get(key);
+        if (metrics != null) {
+            return metrics;
+        }
+        metrics = new LogMetrics(adapter, logger, parent, STRIPES);
+        LogMetrics existing = registry.putIfAbsent(key, metrics);
+        if (existing != null) {
+            return existing;
+        }
+        unpublished.add(metrics);
+        return metrics;
+    }
+
+    /**
+     * @return an instance created since the last call, null if there is none
+     */
+    static LogMetrics pollUnpublished() {
+        return unpublished.poll();
+    }
+
+    /**
+     * queue every instance to be published again, after a released factory
+     * unregistered the MBeans it had published. instances still registered
+     * are skipped when they are published.
+     */
+    static void republish() {
+        unpublished.addAll(registry.values());
+    }
+
+    /**
+     * count a line which passed the level check and the rate limit
+     */
+    void line(int level, Throwable t) {
+        int[] probe = PROBE.get();
+        add(probe, level, 1);
+        if (t != null) {
+            add(probe, THROWABLES, 1);
+        }
+        if (parent != null) {
+            parent.line(level, t);
+        }
+    }
+
+    /**
+     * count a line dropped by the rate limit or sampling
+     */
+    void dropped() {
+        add(PROBE.get(), DROPPED, 1);
+        if (parent != null) {
+            parent.dropped();
+        }
+    }
+
+    /**
+     * count one sink write
+     */
+    void written(long bytes, long nanos) {
+        int[] probe = PROBE.get();
+        add(probe, BYTES, bytes);
+        add(probe, WRITE_NANOS, nanos);
+        if (parent != null) {
+            parent.written(bytes, nanos);
+        }
+    }
+
+    private void add(int[] probe, int counter, long delta) {
+        int index = (((probe[0] & mask) + 1) << STRIPE_SHIFT) + counter;
+        long value = cells.get(index);
+        if (!cells.compareAndSet(index, value, value + delta)) {
+            // contended, move this thread to another stripe for its next add
+            int h = probe[0];
+            h ^= h << 13;
+            h ^= h >>> 17;
+            h ^= h << 5;
+            probe[0] = h;
+            cells.getAndAdd(index, delta);
+        }
+    }
+
+    private long sum(int counter) {
+        long sum = 0;
+        int stride = 1 << STRIPE_SHIFT;
+        for (int index = stride + counter; index < cells.length(); index += stride) {
+            sum += cells.get(index);
+        }
+        return sum;
+    }
+
+    private static int stripes(int processors) {
+        int stripes = 1;
+        while (stripes < processors && stripes < MAX_STRIPES) {
+            stripes <<= 1;
+        }
+        return stripes;
+    }
+
+    public String getAdapter() {
+        return adapter;
+    }
+
+    public String getLogger() {
+        return logger;
+    }
+
+    public long getTraceLines() {
+        return sum(ConsoleLog.TRACE_LOG_LEVEL);
+    }
+
+    public long getDebugLines() {
+        return sum(ConsoleLog.DEBUG_LOG_LEVEL);
+    }
+
+    public long getInfoLines() {
+        return sum(ConsoleLog.INFO_LOG_LEVEL);
+    }
+
+    public long getWarnLines() {
+        return sum(ConsoleLog.WARN_LOG_LEVEL);
+    }
+
+    public long getErrorLines() {
+        return sum(ConsoleLog.ERROR_LOG_LEVEL);
+    }
+
+    public long getFatalLines() {
+        return sum(ConsoleLog.FATAL_LOG_LEVEL);
+    }
+
+    public long getLines() {
+        long lines = 0;
+        for (int level = ConsoleLog.TRACE_LOG_LEVEL; level <= ConsoleLog.FATAL_LOG_LEVEL; level++) {
+            lines += sum(level);
+        }
+        return lines;
+    }
+
+    public long getThrowables() {
+        return sum(THROWABLES);
+    }
+
+    public long getDroppedLines() {
+        return sum(DROPPED);
+    }
+
+    public long getBytesWritten() {
+        return sum(BYTES);
+    }
+
+    public long getWriteNanos() {
+        return sum(WRITE_NANOS);
+    }
+}
@@ -16,194 +16,1037 @@
  */
 package com.wikimore.mlog.impl;
 
+import org.slf4j.ILoggerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.spi.LocationAwareLogger;
+
+import ch.qos.logback.classic.LoggerContext;
+
 import com.wikimore.mlog.Log;
+import com.wikimore.mlog.LogInitException;
+import com.wikimore.mlog.MessageSupplier;
 
 /**
  * Log implementation wrapper Logback log
+ * <p>
+ * wrapper org.slf4j.Logger, the message pattern and parameters are passed
+ * through unformatted so SLF4J formats them only when an appender needs the
+ * text. with a LocationAwareLogger, which Logback provides, the caller location
+ * is reported as the class calling this Log.
+ * <p>
+ * SLF4J has no FATAL level, fatal is logged as ERROR.
+ * <p>
+ * the adapter is only created when SLF4J is bound to Logback. with slf4j-api
+ * alone SLF4J falls back to a NOP logger, the constructor fails then so log
+ * discovery moves on to the next adapter instead of dropping every line.
  * 
  * @author ted created at 2013-5-19
  * @version 1.0
  */
-public class LogbackLog implements Log {
+public class LogbackLog implements Log, CallerBoundary {
+    /** the caller is the frame above this class, set by a wrapper */
+    private String fqcn = LogbackLog.class.getName();
+    private final Logger logger;
+    private final LocationAwareLogger locationAwareLogger;
+    /** null when no rate limit or sampling applies */
+    private RateLimiter rateLimiter;
+    /** RateLimiter generation the limiter was looked up at */
+    private int rateGeneration;
+    private final LogMetrics metrics;
+
+    public LogbackLog(String name) {
+        this(checkBinding(LoggerFactory.getILoggerFactory()).getLogger(name));
+    }
+
+    LogbackLog(Logger logger) {
+        this.logger = logger;
+        this.locationAwareLogger = logger instanceof LocationAwareLogger
+                ? (LocationAwareLogger) logger : null;
+        refreshRateLimiter();
+        this.metrics = LogMetrics.forLogger("LogbackLog", logger.getName());
+    }
+
+    @Override
+    public void setCallerBoundary(String fqcn) {
+        this.fqcn = fqcn;
+    }
+
+    /**
+     * make sure SLF4J is bound to Logback
+     * 
+     * @return the factory
+     * @throws LogInitException
+     *             if the factory is not a Logback LoggerContext
+     */
+    static ILoggerFactory checkBinding(ILoggerFactory factory) {
+        if (!(factory instanceof LoggerContext)) {
+            throw new LogInitException("SLF4J is not bound to Logback but to "
+                    + factory.getClass().getName());
+        }
+        return factory;
+    }
+
+    /**
+     * Return the SLF4J Logger instance we are using.
+     */
+    public Logger getLogger() {
+        return logger;
+    }
 
     @Override
     public boolean isDebugEnabled() {
-        // TODO Auto-generated method stub
-        return false;
+        return logger.isDebugEnabled();
     }
 
     @Override
     public boolean isErrorEnabled() {
-        // TODO Auto-generated method stub
-        return false;
+        return logger.isErrorEnabled();
     }
 
     @Override
     public boolean isFatalEnabled() {
-        // TODO Auto-generated method stub
-        return false;
+        return logger.isErrorEnabled();
     }
 
     @Override
     public boolean isInfoEnabled() {
-        // TODO Auto-generated method stub
-        return false;
+        return logger.isInfoEnabled();
     }
 
     @Override
     public boolean isTraceEnabled() {
-        // TODO Auto-generated method stub
-        return false;
+        return logger.isTraceEnabled();
     }
 
     @Override
     public boolean isWarnEnabled() {
-        // TODO Auto-generated method stub
-        return false;
+        return logger.isWarnEnabled();
     }
 
     @Override
     public void trace(String message) {
-        // TODO Auto-generated method stub
-        
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.TRACE_INT, message, null, null);
+        }
     }
 
     @Override
     public void trace(String message, Object... params) {
-        // TODO Auto-generated method stub
-        
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.TRACE_INT, message, params, null);
+        }
     }
 
     @Override
     public void trace(String message, Throwable t, Object... params) {
-        // TODO Auto-generated method stub
-        
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, t)) {
+            log(LocationAwareLogger.TRACE_INT, message, params, t);
+        }
     }
 
     @Override
     public void trace(String message, Throwable t) {
-        // TODO Auto-generated method stub
-        
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, t)) {
+            log(LocationAwareLogger.TRACE_INT, message, null, t);
+        }
+    }
+
+    @Override
+    public void trace(String message, Object arg) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.TRACE_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void trace(String message, Object arg1, Object arg2) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.TRACE_INT, message, new Object[] { arg1, arg2 }, null);
+        }
+    }
+
+    @Override
+    public void trace(String message, Object arg1, Object arg2, Object arg3) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.TRACE_INT, message, new Object[] { arg1, arg2, arg3 }, null);
+        }
+    }
+
+    @Override
+    public void trace(String message, Throwable t, Object arg) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, t)) {
+            log(LocationAwareLogger.TRACE_INT, message, new Object[] { arg }, t);
+        }
+    }
+
+    @Override
+    public void trace(String message, Throwable t, Object arg1, Object arg2) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, t)) {
+            log(LocationAwareLogger.TRACE_INT, message, new Object[] { arg1, arg2 }, t);
+        }
+    }
+
+    @Override
+    public void trace(String message, long arg) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.TRACE_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void trace(String message, int arg) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.TRACE_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void trace(String message, double arg) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.TRACE_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void trace(String message, boolean arg) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.TRACE_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void trace(String message, char arg) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.TRACE_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void trace(String message, float arg) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.TRACE_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void trace(String message, short arg) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.TRACE_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void trace(String message, byte arg) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.TRACE_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void trace(MessageSupplier messageSupplier) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.TRACE_INT, String.valueOf(messageSupplier.get()), null, null);
+        }
+    }
+
+    @Override
+    public void trace(MessageSupplier messageSupplier, Throwable t) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, t)) {
+            log(LocationAwareLogger.TRACE_INT, String.valueOf(messageSupplier.get()), null, t);
+        }
+    }
+
+    @Override
+    public void trace(String message, MessageSupplier... paramSuppliers) {
+        if (isTraceEnabled() && permit(ConsoleLog.TRACE_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.TRACE_INT, message, (Object[]) paramSuppliers, null);
+        }
     }
 
     @Override
     public void debug(String message) {
-        // TODO Auto-generated method stub
-        
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.DEBUG_INT, message, null, null);
+        }
     }
 
     @Override
     public void debug(String message, Object... params) {
-        // TODO Auto-generated method stub
-        
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.DEBUG_INT, message, params, null);
+        }
     }
 
     @Override
     public void debug(String message, Throwable t) {
-        // TODO Auto-generated method stub
-        
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, t)) {
+            log(LocationAwareLogger.DEBUG_INT, message, null, t);
+        }
     }
 
     @Override
     public void debug(String message, Throwable t, Object... params) {
-        // TODO Auto-generated method stub
-        
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, t)) {
+            log(LocationAwareLogger.DEBUG_INT, message, params, t);
+        }
+    }
+
+    @Override
+    public void debug(String message, Object arg) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.DEBUG_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void debug(String message, Object arg1, Object arg2) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.DEBUG_INT, message, new Object[] { arg1, arg2 }, null);
+        }
+    }
+
+    @Override
+    public void debug(String message, Object arg1, Object arg2, Object arg3) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.DEBUG_INT, message, new Object[] { arg1, arg2, arg3 }, null);
+        }
+    }
+
+    @Override
+    public void debug(String message, Throwable t, Object arg) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, t)) {
+            log(LocationAwareLogger.DEBUG_INT, message, new Object[] { arg }, t);
+        }
+    }
+
+    @Override
+    public void debug(String message, Throwable t, Object arg1, Object arg2) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, t)) {
+            log(LocationAwareLogger.DEBUG_INT, message, new Object[] { arg1, arg2 }, t);
+        }
+    }
+
+    @Override
+    public void debug(String message, long arg) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.DEBUG_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void debug(String message, int arg) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.DEBUG_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void debug(String message, double arg) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.DEBUG_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void debug(String message, boolean arg) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.DEBUG_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void debug(String message, char arg) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.DEBUG_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void debug(String message, float arg) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.DEBUG_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void debug(String message, short arg) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.DEBUG_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void debug(String message, byte arg) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.DEBUG_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void debug(MessageSupplier messageSupplier) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.DEBUG_INT, String.valueOf(messageSupplier.get()), null, null);
+        }
+    }
+
+    @Override
+    public void debug(MessageSupplier messageSupplier, Throwable t) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, t)) {
+            log(LocationAwareLogger.DEBUG_INT, String.valueOf(messageSupplier.get()), null, t);
+        }
+    }
+
+    @Override
+    public void debug(String message, MessageSupplier... paramSuppliers) {
+        if (isDebugEnabled() && permit(ConsoleLog.DEBUG_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.DEBUG_INT, message, (Object[]) paramSuppliers, null);
+        }
     }
 
     @Override
     public void info(String message) {
-        // TODO Auto-generated method stub
-        
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.INFO_INT, message, null, null);
+        }
     }
 
     @Override
     public void info(String message, Object... params) {
-        // TODO Auto-generated method stub
-        
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.INFO_INT, message, params, null);
+        }
     }
 
     @Override
     public void info(String message, Throwable t) {
-        // TODO Auto-generated method stub
-        
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, t)) {
+            log(LocationAwareLogger.INFO_INT, message, null, t);
+        }
     }
 
     @Override
     public void info(String message, Throwable t, Object... params) {
-        // TODO Auto-generated method stub
-        
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, t)) {
+            log(LocationAwareLogger.INFO_INT, message, params, t);
+        }
+    }
+
+    @Override
+    public void info(String message, Object arg) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.INFO_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void info(String message, Object arg1, Object arg2) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.INFO_INT, message, new Object[] { arg1, arg2 }, null);
+        }
+    }
+
+    @Override
+    public void info(String message, Object arg1, Object arg2, Object arg3) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.INFO_INT, message, new Object[] { arg1, arg2, arg3 }, null);
+        }
+    }
+
+    @Override
+    public void info(String message, Throwable t, Object arg) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, t)) {
+            log(LocationAwareLogger.INFO_INT, message, new Object[] { arg }, t);
+        }
+    }
+
+    @Override
+    public void info(String message, Throwable t, Object arg1, Object arg2) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, t)) {
+            log(LocationAwareLogger.INFO_INT, message, new Object[] { arg1, arg2 }, t);
+        }
+    }
+
+    @Override
+    public void info(String message, long arg) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.INFO_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void info(String message, int arg) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.INFO_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void info(String message, double arg) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.INFO_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void info(String message, boolean arg) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.INFO_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void info(String message, char arg) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.INFO_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void info(String message, float arg) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.INFO_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void info(String message, short arg) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.INFO_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void info(String message, byte arg) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.INFO_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void info(MessageSupplier messageSupplier) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.INFO_INT, String.valueOf(messageSupplier.get()), null, null);
+        }
+    }
+
+    @Override
+    public void info(MessageSupplier messageSupplier, Throwable t) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, t)) {
+            log(LocationAwareLogger.INFO_INT, String.valueOf(messageSupplier.get()), null, t);
+        }
+    }
+
+    @Override
+    public void info(String message, MessageSupplier... paramSuppliers) {
+        if (isInfoEnabled() && permit(ConsoleLog.INFO_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.INFO_INT, message, (Object[]) paramSuppliers, null);
+        }
     }
 
     @Override
     public void warn(String message) {
-        // TODO Auto-generated method stub
-        
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.WARN_INT, message, null, null);
+        }
     }
 
     @Override
     public void warn(String message, Object... params) {
-        // TODO Auto-generated method stub
-        
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.WARN_INT, message, params, null);
+        }
     }
 
     @Override
     public void warn(String message, Throwable t) {
-        // TODO Auto-generated method stub
-        
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, t)) {
+            log(LocationAwareLogger.WARN_INT, message, null, t);
+        }
     }
 
     @Override
     public void warn(String message, Throwable t, Object... params) {
-        // TODO Auto-generated method stub
-        
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, t)) {
+            log(LocationAwareLogger.WARN_INT, message, params, t);
+        }
+    }
+
+    @Override
+    public void warn(String message, Object arg) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.WARN_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void warn(String message, Object arg1, Object arg2) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.WARN_INT, message, new Object[] { arg1, arg2 }, null);
+        }
+    }
+
+    @Override
+    public void warn(String message, Object arg1, Object arg2, Object arg3) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.WARN_INT, message, new Object[] { arg1, arg2, arg3 }, null);
+        }
+    }
+
+    @Override
+    public void warn(String message, Throwable t, Object arg) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, t)) {
+            log(LocationAwareLogger.WARN_INT, message, new Object[] { arg }, t);
+        }
+    }
+
+    @Override
+    public void warn(String message, Throwable t, Object arg1, Object arg2) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, t)) {
+            log(LocationAwareLogger.WARN_INT, message, new Object[] { arg1, arg2 }, t);
+        }
+    }
+
+    @Override
+    public void warn(String message, long arg) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.WARN_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void warn(String message, int arg) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.WARN_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void warn(String message, double arg) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.WARN_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void warn(String message, boolean arg) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.WARN_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void warn(String message, char arg) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.WARN_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void warn(String message, float arg) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.WARN_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void warn(String message, short arg) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.WARN_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void warn(String message, byte arg) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.WARN_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void warn(MessageSupplier messageSupplier) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.WARN_INT, String.valueOf(messageSupplier.get()), null, null);
+        }
+    }
+
+    @Override
+    public void warn(MessageSupplier messageSupplier, Throwable t) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, t)) {
+            log(LocationAwareLogger.WARN_INT, String.valueOf(messageSupplier.get()), null, t);
+        }
+    }
+
+    @Override
+    public void warn(String message, MessageSupplier... paramSuppliers) {
+        if (isWarnEnabled() && permit(ConsoleLog.WARN_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.WARN_INT, message, (Object[]) paramSuppliers, null);
+        }
     }
 
     @Override
     public void error(String message) {
-        // TODO Auto-generated method stub
-        
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.ERROR_INT, message, null, null);
+        }
     }
 
     @Override
     public void error(String message, Object... params) {
-        // TODO Auto-generated method stub
-        
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.ERROR_INT, message, params, null);
+        }
     }
 
     @Override
     public void error(String message, Throwable t) {
-        // TODO Auto-generated method stub
-        
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, t)) {
+            log(LocationAwareLogger.ERROR_INT, message, null, t);
+        }
     }
 
     @Override
     public void error(String message, Throwable t, Object... params) {
-        // TODO Auto-generated method stub
-        
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, t)) {
+            log(LocationAwareLogger.ERROR_INT, message, params, t);
+        }
+    }
+
+    @Override
+    public void error(String message, Object arg) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.ERROR_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void error(String message, Object arg1, Object arg2) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.ERROR_INT, message, new Object[] { arg1, arg2 }, null);
+        }
+    }
+
+    @Override
+    public void error(String message, Object arg1, Object arg2, Object arg3) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.ERROR_INT, message, new Object[] { arg1, arg2, arg3 }, null);
+        }
+    }
+
+    @Override
+    public void error(String message, Throwable t, Object arg) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, t)) {
+            log(LocationAwareLogger.ERROR_INT, message, new Object[] { arg }, t);
+        }
+    }
+
+    @Override
+    public void error(String message, Throwable t, Object arg1, Object arg2) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, t)) {
+            log(LocationAwareLogger.ERROR_INT, message, new Object[] { arg1, arg2 }, t);
+        }
+    }
+
+    @Override
+    public void error(String message, long arg) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.ERROR_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void error(String message, int arg) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.ERROR_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void error(String message, double arg) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.ERROR_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void error(String message, boolean arg) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.ERROR_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void error(String message, char arg) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.ERROR_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void error(String message, float arg) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.ERROR_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void error(String message, short arg) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.ERROR_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void error(String message, byte arg) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.ERROR_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void error(MessageSupplier messageSupplier) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.ERROR_INT, String.valueOf(messageSupplier.get()), null, null);
+        }
+    }
+
+    @Override
+    public void error(MessageSupplier messageSupplier, Throwable t) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, t)) {
+            log(LocationAwareLogger.ERROR_INT, String.valueOf(messageSupplier.get()), null, t);
+        }
+    }
+
+    @Override
+    public void error(String message, MessageSupplier... paramSuppliers) {
+        if (isErrorEnabled() && permit(ConsoleLog.ERROR_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.ERROR_INT, message, (Object[]) paramSuppliers, null);
+        }
     }
 
     @Override
     public void fatal(String message) {
-        // TODO Auto-generated method stub
-        
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.ERROR_INT, message, null, null);
+        }
     }
 
     @Override
     public void fatal(String message, Object... params) {
-        // TODO Auto-generated method stub
-        
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.ERROR_INT, message, params, null);
+        }
     }
 
     @Override
     public void fatal(String message, Throwable t) {
-        // TODO Auto-generated method stub
-        
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, t)) {
+            log(LocationAwareLogger.ERROR_INT, message, null, t);
+        }
     }
 
     @Override
     public void fatal(String message, Throwable t, Object... params) {
-        // TODO Auto-generated method stub
-        
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, t)) {
+            log(LocationAwareLogger.ERROR_INT, message, params, t);
+        }
+    }
+
+    @Override
+    public void fatal(String message, Object arg) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.ERROR_INT, message, new Object[] { arg }, null);
+        }
     }
 
+    @Override
+    public void fatal(String message, Object arg1, Object arg2) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.ERROR_INT, message, new Object[] { arg1, arg2 }, null);
+        }
+    }
+
+    @Override
+    public void fatal(String message, Object arg1, Object arg2, Object arg3) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.ERROR_INT, message, new Object[] { arg1, arg2, arg3 }, null);
+        }
+    }
+
+    @Override
+    public void fatal(String message, Throwable t, Object arg) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, t)) {
+            log(LocationAwareLogger.ERROR_INT, message, new Object[] { arg }, t);
+        }
+    }
+
+    @Override
+    public void fatal(String message, Throwable t, Object arg1, Object arg2) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, t)) {
+            log(LocationAwareLogger.ERROR_INT, message, new Object[] { arg1, arg2 }, t);
+        }
+    }
+
+    @Override
+    public void fatal(String message, long arg) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.ERROR_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void fatal(String message, int arg) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.ERROR_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void fatal(String message, double arg) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.ERROR_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void fatal(String message, boolean arg) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.ERROR_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void fatal(String message, char arg) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.ERROR_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void fatal(String message, float arg) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.ERROR_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void fatal(String message, short arg) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.ERROR_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void fatal(String message, byte arg) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.ERROR_INT, message, new Object[] { arg }, null);
+        }
+    }
+
+    @Override
+    public void fatal(MessageSupplier messageSupplier) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.ERROR_INT, String.valueOf(messageSupplier.get()), null, null);
+        }
+    }
+
+    @Override
+    public void fatal(MessageSupplier messageSupplier, Throwable t) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, t)) {
+            log(LocationAwareLogger.ERROR_INT, String.valueOf(messageSupplier.get()), null, t);
+        }
+    }
+
+    @Override
+    public void fatal(String message, MessageSupplier... paramSuppliers) {
+        if (isFatalEnabled() && permit(ConsoleLog.FATAL_LOG_LEVEL, null)) {
+            log(LocationAwareLogger.ERROR_INT, message, (Object[]) paramSuppliers, null);
+        }
+    }
+
+    /**
+     * check the rate limit and sampling of this log, before anything is
+     * formatted, and count the line or the drop
+     */
+    private boolean permit(int level, Throwable t) {
+        RateLimiter limiter = rateLimiter;
+        if (rateGeneration != RateLimiter.generation()) {
+            limiter = refreshRateLimiter();
+        }
+        if (limiter != null && !limiter.permit(level)) {
+            metrics.dropped();
+            return false;
+        }
+        metrics.line(level, t);
+        return true;
+    }
+
+    /**
+     * look the limiter up again after the rate limits have changed
+     */
+    private RateLimiter refreshRateLimiter() {
+        int generation = RateLimiter.generation();
+        RateLimiter limiter = RateLimiter.forName(logger.getName());
+        rateLimiter = limiter;
+        rateGeneration = generation;
+        return limiter;
+    }
+
+    /**
+     * hand the unformatted message to SLF4J, only MessageSupplier parameters
+     * are resolved here
+     */
+    private void log(int level, String message, Object[] params, Throwable t) {
+        params = resolve(params);
+        if (locationAwareLogger != null) {
+            locationAwareLogger.log(null, fqcn, level, message, params, t);
+            return;
+        }
+        // a plain Logger takes the throwable as the last parameter
+        Object[] args = params;
+        if (t != null) {
+            int length = params == null ? 0 : params.length;
+            args = new Object[length + 1];
+            if (length > 0) {
+                System.arraycopy(params, 0, args, 0, length);
+            }
+            args[length] = t;
+        }
+        switch (level) {
+        case LocationAwareLogger.TRACE_INT:
+            logger.trace(message, args);
+            break;
+        case LocationAwareLogger.DEBUG_INT:
+            logger.debug(message, args);
+            break;
+        case LocationAwareLogger.INFO_INT:
+            logger.info(message, args);
+            break;
+        case LocationAwareLogger.WARN_INT:
+            logger.warn(message, args);
+            break;
+        default:
+            logger.error(message, args);
+        }
+    }
+
+    /**
+     * call the suppliers among the parameters, the array is copied on the
+     * first supplier found
+     */
+    private static Object[] resolve(Object[] params) {
+        if (params == null) {
+            return null;
+        }
+        Object[] resolved = params;
+        for (int i = 0; i < params.length; i++) {
+            if (params[i] instanceof MessageSupplier) {
+                if (resolved == params) {
+                    resolved = params.clone();
+                }
+                resolved[i] = ((MessageSupplier) params[i]).get();
+            }
+        }
+        return resolved;
+    }
 }
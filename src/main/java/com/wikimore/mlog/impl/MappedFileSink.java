@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * sink appending lines into a memory mapped region of a file
+ * <p>
+ * a writer reserves room for its line by advancing an atomic offset and then
+ * copies the bytes in, writers never lock each other and no system call is
+ * made per line. the file is mapped in large chunks, the writer whose line
+ * crosses the end of a chunk maps the next one while later writers wait for
+ * it.
+ * <p>
+ * the mapped file is longer than its content until the sink is closed, then
+ * it is truncated to the written length. closing waits for the writers inside
+ * to finish copying, so no reserved line is cut and nothing is written past
+ * the truncated end. a file left with trailing zeros by a crash is appended
+ * after its last written byte.
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+final class MappedFileSink implements Sink {
+    static final int DEFAULT_CHUNK_SIZE = 64 * 1024 * 1024;
+    private static final int SCAN_BLOCK_SIZE = 8192;
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final int chunkSize;
+    private volatile Region region;
+    private volatile IOException failure;
+    private volatile boolean closed;
+    /** writers between reserving and copying their line */
+    private final AtomicInteger writers = new AtomicInteger();
+    private final ThreadLocal<View> views = new ThreadLocal<View>() {
+        protected View initialValue() {
+            return new View();
+        }
+    };
+
+    /**
+     * one mapped chunk of the file
+     */
+    private static final class Region {
+        final long start;
+        final int capacity;
+        final MappedByteBuffer buffer;
+        /** next free position, may run past capacity while the next chunk is mapped */
+        final AtomicInteger offset;
+
+        Region(long start, int capacity, MappedByteBuffer buffer, int offset) {
+            this.start = start;
+            this.capacity = capacity;
+            this.buffer = buffer;
+            this.offset = new AtomicInteger(offset);
+        }
+    }
+
+    /**
+     * per-thread duplicate of a region buffer, so writers position their own
+     * view concurrently
+     */
+    private static final class View {
+        Region region;
+        ByteBuffer buffer;
+    }
+
+    MappedFileSink(File path, int chunkSize) throws IOException {
+        this.chunkSize = chunkSize;
+        this.file = new RandomAccessFile(path, "rw");
+        this.channel = file.getChannel();
+        try {
+            this.region = map(findEnd(), chunkSize, 0);
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    public void write(ByteBuffer bytes, int level) throws IOException {
+        int length = bytes.remaining();
+        if (length == 0) {
+            return;
+        }
+        writers.incrementAndGet();
+        try {
+            append(bytes, length);
+        } finally {
+            writers.decrementAndGet();
+        }
+    }
+
+    private void append(ByteBuffer bytes, int length) throws IOException {
+        Region current = region;
+        for (;;) {
+            checkOpen();
+            int position = current.offset.getAndAdd(length);
+            if (position + length <= current.capacity) {
+                put(current, position, bytes);
+                return;
+            }
+            if (position <= current.capacity) {
+                // this line crosses the end of the chunk, split it and map the
+                // next chunk for the rest
+                int head = current.capacity - position;
+                int limit = bytes.limit();
+                bytes.limit(bytes.position() + head);
+                put(current, position, bytes);
+                bytes.limit(limit);
+                int rest = length - head;
+                Region next;
+                try {
+                    next = map(current.start + current.capacity, Math.max(chunkSize, rest), rest);
+                } catch (IOException e) {
+                    failure = e;
+                    throw e;
+                }
+                put(next, 0, bytes);
+                region = next;
+                return;
+            }
+            current = awaitNext(current);
+        }
+    }
+
+    /**
+     * mapped pages are shared with every reader of the file, there is nothing
+     * to flush. writing them to disk is left to the operating system.
+     */
+    public void flush() {
+    }
+
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            // a writer which entered before the close finishes its line, one
+            // entering later sees closed
+            while (writers.get() != 0) {
+                Thread.yield();
+            }
+            // the last mapped chunk holds the highest written offset, a line
+            // crossing into it has been published with it
+            Region current = region;
+            long end = current.start + Math.min(current.offset.get(), current.capacity);
+            current.buffer.force();
+            channel.truncate(end);
+        } finally {
+            file.close();
+        }
+    }
+
+    private Region awaitNext(Region current) throws IOException {
+        Region next;
+        while ((next = region) == current) {
+            checkOpen();
+            Thread.yield();
+        }
+        return next;
+    }
+
+    private void checkOpen() throws IOException {
+        if (closed) {
+            throw new IOException("mapped file sink is closed");
+        }
+        IOException e = failure;
+        if (e != null) {
+            throw new IOException("mapping the log file failed: " + e.getMessage());
+        }
+    }
+
+    private void put(Region target, int position, ByteBuffer bytes) {
+        View view = views.get();
+        if (view.region != target) {
+            view.region = target;
+            view.buffer = target.buffer.duplicate();
+        }
+        view.buffer.position(position);
+        view.buffer.put(bytes);
+    }
+
+    private Region map(long start, int capacity, int offset) throws IOException {
+        // mapping past the end grows the file
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, start, capacity);
+        return new Region(start, capacity, buffer, offset);
+    }
+
+    /**
+     * position after the last non zero byte of the file
+     */
+    private long findEnd() throws IOException {
+        long end = channel.size();
+        ByteBuffer block = ByteBuffer.allocate(SCAN_BLOCK_SIZE);
+        while (end > 0) {
+            long start = Math.max(0, end - SCAN_BLOCK_SIZE);
+            block.clear();
+            block.limit((int) (end - start));
+            while (block.hasRemaining()) {
+                if (channel.read(block, start + block.position()) < 0) {
+                    break;
+                }
+            }
+            for (int i = block.position() - 1; i >= 0; i--) {
+                if (block.get(i) != 0) {
+                    return start + i + 1;
+                }
+            }
+            end = start;
+        }
+        return 0;
+    }
+}
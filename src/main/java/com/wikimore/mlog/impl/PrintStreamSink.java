@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.impl;
+
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+
+/**
+ * sink writing each line to a PrintStream with a single write call, the
+ * default {@link ConsoleLog} output to System.err
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+final class PrintStreamSink implements Sink {
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+    private static final ThreadLocal<byte[]> SCRATCH = new ThreadLocal<byte[]>() {
+        protected byte[] initialValue() {
+            return new byte[1024];
+        }
+    };
+    private final PrintStream out;
+
+    PrintStreamSink(PrintStream out) {
+        this.out = out;
+    }
+
+    public void write(ByteBuffer bytes, int level) {
+        write(out, bytes);
+    }
+
+    /**
+     * write the remaining bytes of a buffer to a stream, a direct buffer is
+     * copied through a reused array of the current thread
+     */
+    static void write(PrintStream out, ByteBuffer bytes) {
+        int length = bytes.remaining();
+        if (bytes.hasArray()) {
+            out.write(bytes.array(), bytes.arrayOffset() + bytes.position(), length);
+            bytes.position(bytes.limit());
+        } else {
+            byte[] scratch = SCRATCH.get();
+            if (scratch.length < length) {
+                scratch = new byte[length];
+                if (length <= MAX_RETAINED_CAPACITY) {
+                    SCRATCH.set(scratch);
+                }
+            }
+            bytes.get(scratch, 0, length);
+            out.write(scratch, 0, length);
+        }
+    }
+
+    public void flush() {
+        out.flush();
+    }
+
+    public void close() {
+        // System.err is not ours to close
+        out.flush();
+    }
+}
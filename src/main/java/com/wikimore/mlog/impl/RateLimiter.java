@@ -0,0 +1,329 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.impl;
+
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * rate limit and sampling of the lines of one logger, shared by every Log
+ * implementation
+ * <p>
+ * policies are keyed by logger name prefix like ConsoleLog levels, each
+ * logger matching a prefix gets its own limiter. a policy is a level and a
+ * number, it applies to lines at that level and the more verbose ones:
+ * 
+ * <pre>
+ * com.wikimore.mlog.rate.com.foo.Bar=INFO:100
+ * com.wikimore.mlog.sample=TRACE:1000
+ * </pre>
+ * 
+ * the first allows 100 INFO, DEBUG and TRACE lines per second from
+ * <tt>com.foo.Bar</tt>, the second keeps 1 in 1000 TRACE lines of every
+ * logger. the rate is a token bucket holding one second of lines, kept as a
+ * single atomic timestamp so no lock is taken. lines are checked before they
+ * are formatted. dropped lines are counted and reported on System.err every
+ * <tt>com.wikimore.mlog.dropped.reportInterval</tt> seconds, 60 by default.
+ * <p>
+ * policies are read from system properties at startup and can be changed
+ * with {@link DefaultLogFactory#setRateLimit(String, String)} and
+ * {@link DefaultLogFactory#setSampling(String, String)}. every change
+ * increments a generation counter, a Log caches its limiter together with the
+ * generation and looks it up again after the generation has moved, so a
+ * change reaches the loggers already created at their next line.
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+final class RateLimiter {
+    static final String RATE_KEY = "com.wikimore.mlog.rate";
+    static final String SAMPLE_KEY = "com.wikimore.mlog.sample";
+    static final String REPORT_INTERVAL_KEY = "com.wikimore.mlog.dropped.reportInterval";
+    private static final long NANOS_PER_SECOND = 1000000000L;
+
+    private static final ConcurrentMap<String, Policy> rates = new ConcurrentHashMap<String, Policy>();
+    private static final ConcurrentMap<String, Policy> samples = new ConcurrentHashMap<String, Policy>();
+    private static final ConcurrentMap<String, RateLimiter> limiters = new ConcurrentHashMap<String, RateLimiter>();
+    private static final AtomicInteger generation = new AtomicInteger();
+    private static ScheduledExecutorService reporter;
+
+    private final String name;
+    private final int rateLevel;
+    /** nanos one line costs, 0 without rate limit */
+    private final long interval;
+    /** lines allowed at once, times interval */
+    private final long burst;
+    private final int sampleLevel;
+    private final long sampleEvery;
+    /** theoretical arrival time of the next line, the bucket is full when it is past */
+    private final AtomicLong next;
+    private final AtomicLong sampled = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    static {
+        load(System.getProperties());
+    }
+
+    /**
+     * a configured level and number
+     */
+    private static final class Policy {
+        final int level;
+        final double number;
+
+        Policy(int level, double number) {
+            this.level = level;
+            this.number = number;
+        }
+    }
+
+    RateLimiter(String name, int rateLevel, double linesPerSecond, int sampleLevel,
+            long sampleEvery) {
+        this.name = name;
+        this.rateLevel = rateLevel;
+        this.interval = linesPerSecond > 0 ? Math.max(1L,
+                (long) (NANOS_PER_SECOND / linesPerSecond)) : 0;
+        this.burst = interval * Math.max(0L, (long) linesPerSecond - 1);
+        this.sampleLevel = sampleLevel;
+        this.sampleEvery = sampleEvery;
+        this.next = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * load policies from properties, invalid values are reported and ignored
+     */
+    static void load(Properties properties) {
+        for (String key : properties.stringPropertyNames()) {
+            ConcurrentMap<String, Policy> policies;
+            String prefix;
+            if (key.equals(RATE_KEY) || key.equals(SAMPLE_KEY)) {
+                prefix = "";
+            } else if (key.startsWith(RATE_KEY + ".")) {
+                prefix = key.substring(RATE_KEY.length() + 1);
+            } else if (key.startsWith(SAMPLE_KEY + ".")) {
+                prefix = key.substring(SAMPLE_KEY.length() + 1);
+            } else {
+                continue;
+            }
+            policies = key.startsWith(RATE_KEY) ? rates : samples;
+            try {
+                policies.put(prefix, parsePolicy(properties.getProperty(key)));
+            } catch (IllegalArgumentException e) {
+                System.err.println("[WARN] RateLimiter: " + key + " " + e.getMessage());
+            }
+        }
+        changed();
+    }
+
+    /**
+     * set or remove the rate limit of a logger name prefix
+     * 
+     * @param policy
+     *            <tt>LEVEL:lines per second</tt>, null to remove it
+     * @throws IllegalArgumentException
+     *             if the policy is invalid
+     */
+    static void setRate(String prefix, String policy) {
+        update(rates, prefix, policy);
+    }
+
+    /**
+     * set or remove the sampling of a logger name prefix
+     * 
+     * @param policy
+     *            <tt>LEVEL:n</tt> keeping 1 in n lines, null to remove it
+     * @throws IllegalArgumentException
+     *             if the policy is invalid
+     */
+    static void setSample(String prefix, String policy) {
+        update(samples, prefix, policy);
+    }
+
+    private static void update(ConcurrentMap<String, Policy> policies, String prefix,
+            String policy) {
+        if (policy == null) {
+            policies.remove(prefix);
+        } else {
+            policies.put(prefix, parsePolicy(policy));
+        }
+        changed();
+    }
+
+    /**
+     * drop the limiters built from the old policies, the drops they counted
+     * are reported first
+     */
+    private static void changed() {
+        report();
+        limiters.clear();
+        generation.incrementAndGet();
+    }
+
+    /**
+     * @return current generation, changes with every policy update
+     */
+    static int generation() {
+        return generation.get();
+    }
+
+    /**
+     * get the limiter of a logger
+     * 
+     * @return the shared limiter of the name, null when no policy applies
+     */
+    static RateLimiter forName(String name) {
+        if (rates.isEmpty() && samples.isEmpty()) {
+            return null;
+        }
+        String key = name == null ? "" : name;
+        RateLimiter limiter = limiters.get(key);
+        if (limiter != null) {
+            return limiter;
+        }
+        Policy rate = resolve(rates, key);
+        Policy sample = resolve(samples, key);
+        if (rate == null && sample == null) {
+            return null;
+        }
+        limiter = new RateLimiter(key, rate != null ? rate.level : 0, rate != null ? rate.number
+                : 0, sample != null ? sample.level : 0, sample != null ? (long) sample.number : 0);
+        RateLimiter existing = limiters.putIfAbsent(key, limiter);
+        if (existing != null) {
+            return existing;
+        }
+        startReporter();
+        return limiter;
+    }
+
+    /**
+     * @param level
+     *            level of the line
+     * @return true to log the line, false when it is dropped
+     */
+    boolean permit(int level) {
+        return permit(level, System.nanoTime());
+    }
+
+    boolean permit(int level, long now) {
+        if (sampleEvery > 1 && level <= sampleLevel
+                && sampled.getAndIncrement() % sampleEvery != 0) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        if (interval > 0 && level <= rateLevel && !acquire(now)) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return lines dropped since the last call
+     */
+    long drainDropped() {
+        return dropped.getAndSet(0);
+    }
+
+    private boolean acquire(long now) {
+        for (;;) {
+            long current = next.get();
+            // a time in the past means the bucket is full
+            long arrival = current - now < 0 ? now : current;
+            if (arrival - now > burst) {
+                return false;
+            }
+            if (next.compareAndSet(current, arrival + interval)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * parse <tt>LEVEL:number</tt>
+     */
+    private static Policy parsePolicy(String value) {
+        int colon = value == null ? -1 : value.indexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("expects LEVEL:number, was " + value);
+        }
+        int level = LevelRegistry.parseLevel(value.substring(0, colon));
+        double number;
+        try {
+            number = Double.parseDouble(value.substring(colon + 1).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("expects LEVEL:number, was " + value);
+        }
+        if (!(number > 0)) {
+            throw new IllegalArgumentException("expects a positive number, was " + value);
+        }
+        return new Policy(level, number);
+    }
+
+    /**
+     * policy of the longest prefix matching name at a dot boundary
+     */
+    private static Policy resolve(ConcurrentMap<String, Policy> policies, String name) {
+        String prefix = name;
+        while (true) {
+            Policy policy = policies.get(prefix);
+            if (policy != null || prefix.length() == 0) {
+                return policy;
+            }
+            int dot = prefix.lastIndexOf('.');
+            prefix = dot < 0 ? "" : prefix.substring(0, dot);
+        }
+    }
+
+    private static synchronized void startReporter() {
+        if (reporter != null) {
+            return;
+        }
+        long interval = Math.max(1L, Long.getLong(REPORT_INTERVAL_KEY, 60L));
+        reporter = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "mlog-dropped-reporter");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        reporter.scheduleAtFixedRate(new Runnable() {
+            public void run() {
+                report();
+            }
+        }, interval, interval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * print the lines dropped by each limiter since the last report
+     */
+    static void report() {
+        for (RateLimiter limiter : limiters.values()) {
+            long count = limiter.drainDropped();
+            if (count > 0) {
+                System.err.println("[WARN] RateLimiter: dropped " + count + " lines of "
+                        + limiter.name);
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * bounded multi-producer single-consumer ring buffer of {@link LogEvent}
+ * <p>
+ * producers claim a sequence with a CAS on the tail, fill the preallocated
+ * slot and publish it through the slot sequence. the single consumer reads
+ * slots in order without any CAS. when the buffer is full producers back off
+ * until the consumer frees a slot, no event is dropped.
+ * <p>
+ * closing marks the tail itself, so a claim either lands before the close and
+ * is counted in the returned bound, or fails.
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+final class RingBuffer {
+    private static final int SPIN_TRIES = 64;
+    private static final int YIELD_TRIES = 128;
+    private static final long PARK_NANOS = 1000L;
+    private static final long CLOSED = Long.MIN_VALUE;
+
+    private final LogEvent[] events;
+    private final AtomicLongArray sequences;
+    private final int capacity;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    /** only touched by the consumer thread */
+    private long head;
+
+    RingBuffer(int size) {
+        this.capacity = roundToPowerOfTwo(size);
+        this.mask = capacity - 1;
+        this.events = new LogEvent[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            events[i] = new LogEvent();
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * claim the next free slot, wait while the buffer is full
+     * 
+     * @return the claimed sequence, or -1 once the buffer is closed
+     */
+    long claim() {
+        int tries = 0;
+        for (;;) {
+            long position = tail.get();
+            if ((position & CLOSED) != 0) {
+                return -1;
+            }
+            long difference = sequences.get(index(position)) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+            } else if (difference < 0) {
+                // full, the consumer has not released this slot yet
+                tries = backoff(tries);
+            }
+        }
+    }
+
+    /**
+     * get the slot of a claimed sequence
+     */
+    LogEvent get(long sequence) {
+        return events[index(sequence)];
+    }
+
+    /**
+     * make a claimed and filled slot visible to the consumer
+     */
+    void publish(long sequence) {
+        sequences.lazySet(index(sequence), sequence + 1);
+    }
+
+    /**
+     * consumer side: get the next published slot
+     * 
+     * @return next slot or null if nothing is published yet
+     */
+    LogEvent peek() {
+        int index = index(head);
+        if (sequences.get(index) == head + 1) {
+            return events[index];
+        }
+        return null;
+    }
+
+    /**
+     * consumer side: hand the slot returned by {@link #peek()} back to
+     * producers
+     */
+    void release() {
+        sequences.lazySet(index(head), head + capacity);
+        head++;
+    }
+
+    /**
+     * refuse further claims
+     * 
+     * @return sequence after the last claimed one, the consumer has to drain
+     *         up to it
+     */
+    long close() {
+        for (;;) {
+            long position = tail.get();
+            if ((position & CLOSED) != 0) {
+                return position & ~CLOSED;
+            }
+            if (tail.compareAndSet(position, position | CLOSED)) {
+                return position;
+            }
+        }
+    }
+
+    /**
+     * consumer side: check whether every claimed slot has been consumed,
+     * including slots which are claimed but not yet published
+     */
+    boolean isDrained() {
+        return head == (tail.get() & ~CLOSED);
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    private int index(long sequence) {
+        return (int) sequence & mask;
+    }
+
+    private static int backoff(int tries) {
+        if (tries < SPIN_TRIES) {
+            // busy spin
+        } else if (tries < YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+        return tries + 1;
+    }
+
+    private static int roundToPowerOfTwo(int size) {
+        if (size < 2) {
+            return 2;
+        }
+        if (size > (1 << 30)) {
+            return 1 << 30;
+        }
+        return Integer.highestOneBit(size - 1) << 1;
+    }
+}
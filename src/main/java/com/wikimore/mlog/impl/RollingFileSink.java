@@ -0,0 +1,381 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.impl;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Calendar;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * sink appending lines to a file which is rolled over by size and time
+ * <p>
+ * a rolled file is renamed to <tt>file.1</tt>, compressed to
+ * <tt>file.1.gz</tt> and older archives are shifted up to <tt>file.N.gz</tt>,
+ * archives past N are deleted. <tt>file.1</tt> is only deleted once its
+ * archive is complete, a <tt>file.1</tt> left by a failed compression is
+ * compressed at the next rollover. rollover and compression run on a background
+ * thread. writers keep appending to the renamed file until the new file is
+ * open, then switch to it, the old file is closed once its last writer has
+ * left. the logging thread never waits for a rename, an open or compression.
+ * <p>
+ * with a {@link Preamble}, for the binary format, every new file starts with
+ * the preamble. writers then wait while the renamed file drains and the
+ * preamble is written, so each definition written to the old file is in the
+ * preamble of the new one.
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+final class RollingFileSink implements Sink {
+    static final int PERIOD_NONE = 0;
+    static final int PERIOD_HOURLY = 1;
+    static final int PERIOD_DAILY = 2;
+    static final long DEFAULT_MAX_SIZE = 100L * 1024 * 1024;
+    static final int DEFAULT_MAX_ARCHIVES = 7;
+    private static final long CLOSE_WAIT_MILLIS = 30000L;
+
+    private final File file;
+    private final long maxSize;
+    private final int period;
+    private final int maxArchives;
+    private final Preamble preamble;
+    private final ExecutorService roller;
+    private final AtomicBoolean rolling = new AtomicBoolean();
+    private volatile Segment segment;
+    private volatile boolean closed;
+
+    /**
+     * records each new file has to start with, for a format whose records refer
+     * to definitions written earlier
+     */
+    interface Preamble {
+
+        /**
+         * @return the records from position to limit, taken while no writer
+         *         is appending
+         */
+        ByteBuffer get();
+    }
+
+    /**
+     * one opened file, counts the writers inside so it is only closed after
+     * the last of them has left
+     */
+    private static final class Segment {
+        final FileOutputStream out;
+        final FileChannel channel;
+        final AtomicLong size;
+        final long rollAt;
+        final AtomicInteger writers = new AtomicInteger();
+        volatile boolean retired;
+
+        Segment(File file, long size, long rollAt) throws IOException {
+            this.out = new FileOutputStream(file, true);
+            this.channel = out.getChannel();
+            this.size = new AtomicLong(size);
+            this.rollAt = rollAt;
+        }
+
+        boolean enter() {
+            writers.incrementAndGet();
+            if (retired) {
+                writers.decrementAndGet();
+                return false;
+            }
+            return true;
+        }
+
+        void exit() {
+            writers.decrementAndGet();
+        }
+
+        void retire() throws IOException {
+            retired = true;
+            while (writers.get() != 0) {
+                Thread.yield();
+            }
+            out.close();
+        }
+    }
+
+    /**
+     * @param file
+     *            the active log file
+     * @param maxSize
+     *            roll when the file reaches this size, 0 for no size limit
+     * @param period
+     *            {@link #PERIOD_NONE}, {@link #PERIOD_HOURLY} or
+     *            {@link #PERIOD_DAILY}
+     * @param maxArchives
+     *            number of compressed archives kept, at least 1
+     * @throws IOException
+     *             if the file can not be opened
+     */
+    RollingFileSink(File file, long maxSize, int period, int maxArchives) throws IOException {
+        this(file, maxSize, period, maxArchives, null);
+    }
+
+    /**
+     * @param preamble
+     *            written at the start of every rolled file, null for none
+     * @see #RollingFileSink(File, long, int, int)
+     */
+    RollingFileSink(File file, long maxSize, int period, int maxArchives, Preamble preamble)
+            throws IOException {
+        this.file = file;
+        this.preamble = preamble;
+        this.maxSize = maxSize;
+        this.period = period;
+        this.maxArchives = maxArchives;
+        this.segment = new Segment(file, file.length(), nextRollAt(System.currentTimeMillis()));
+        this.roller = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "mlog-rolling-file");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    public void write(ByteBuffer bytes, int level) throws IOException {
+        int length = bytes.remaining();
+        Segment current;
+        for (;;) {
+            if (closed) {
+                throw new IOException("rolling file sink is closed");
+            }
+            current = segment;
+            if (current.enter()) {
+                break;
+            }
+            // retired while a rollover swaps in the new file
+            Thread.yield();
+        }
+        try {
+            while (bytes.hasRemaining()) {
+                current.channel.write(bytes);
+            }
+        } finally {
+            current.exit();
+        }
+        long size = current.size.addAndGet(length);
+        if ((maxSize > 0 && size >= maxSize)
+                || (current.rollAt > 0 && System.currentTimeMillis() >= current.rollAt)) {
+            requestRollover(current);
+        }
+    }
+
+    /**
+     * lines are written to the file channel directly, there is nothing to
+     * flush
+     */
+    public void flush() {
+    }
+
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        // let a running rollover and compression finish
+        roller.shutdown();
+        try {
+            roller.awaitTermination(CLOSE_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        segment.retire();
+    }
+
+    private void requestRollover(final Segment full) {
+        if (!rolling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            roller.execute(new Runnable() {
+                public void run() {
+                    try {
+                        // a late writer of an already rolled file asks again
+                        if (segment == full) {
+                            rollover();
+                        }
+                    } catch (Throwable e) {
+                        System.err.println("[ERROR] RollingFileSink: rollover of " + file
+                                + " failed:" + e);
+                    } finally {
+                        rolling.set(false);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            // rejected, the sink is closing
+            rolling.set(false);
+        }
+    }
+
+    private void rollover() throws IOException {
+        Segment old = segment;
+        File rolled = archive(1, false);
+        boolean renamed = shiftArchives() && file.renameTo(rolled);
+        if (!renamed) {
+            System.err.println("[ERROR] RollingFileSink: could not rename " + file
+                    + ", keep appending to it.");
+        }
+        Segment next = new Segment(file, 0, nextRollAt(System.currentTimeMillis()));
+        if (preamble == null) {
+            // writers still append to the renamed file until the swap
+            segment = next;
+            old.retire();
+        } else {
+            // writers wait until the old file is drained and the preamble
+            // holds whatever it defined
+            old.retire();
+            ByteBuffer records = preamble.get();
+            next.size.addAndGet(records.remaining());
+            while (records.hasRemaining()) {
+                next.channel.write(records);
+            }
+            segment = next;
+        }
+        if (renamed) {
+            compress(rolled, archive(1, true));
+        }
+    }
+
+    /**
+     * make room for file.1, a rolled file left uncompressed by an earlier
+     * rollover is archived first
+     */
+    private boolean shiftArchives() {
+        File rolled = archive(1, false);
+        if (rolled.exists()) {
+            // compression failed or was cut short, the file is the only
+            // complete copy of its lines
+            if (!shiftCompressed()) {
+                return false;
+            }
+            try {
+                compress(rolled, archive(1, true));
+            } catch (IOException e) {
+                File kept = new File(rolled.getPath() + "." + System.currentTimeMillis());
+                System.err.println("[WARN] RollingFileSink: could not compress " + rolled
+                        + ", keep it as " + kept + ":" + e);
+                if (!rolled.renameTo(kept)) {
+                    return false;
+                }
+            }
+        }
+        return shiftCompressed();
+    }
+
+    /**
+     * move file.i.gz to file.i+1.gz, the oldest archive is deleted
+     */
+    private boolean shiftCompressed() {
+        File oldest = archive(maxArchives, true);
+        if (oldest.exists() && !oldest.delete()) {
+            return false;
+        }
+        for (int i = maxArchives - 1; i >= 1; i--) {
+            File archive = archive(i, true);
+            if (archive.exists() && !archive.renameTo(archive(i + 1, true))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private File archive(int index, boolean compressed) {
+        return new File(file.getPath() + "." + index + (compressed ? ".gz" : ""));
+    }
+
+    /**
+     * compress into a temporary file renamed to target once it is complete,
+     * source is only deleted then
+     */
+    private static void compress(File source, File target) throws IOException {
+        File temporary = new File(target.getPath() + ".tmp");
+        // a partial file of a compression which was cut short
+        temporary.delete();
+        boolean compressed = false;
+        InputStream in = new FileInputStream(source);
+        try {
+            OutputStream out = new GZIPOutputStream(new FileOutputStream(temporary), 64 * 1024) {
+                {
+                    def.setLevel(Deflater.BEST_SPEED);
+                }
+            };
+            try {
+                byte[] buffer = new byte[64 * 1024];
+                int n;
+                while ((n = in.read(buffer)) > 0) {
+                    out.write(buffer, 0, n);
+                }
+            } finally {
+                out.close();
+            }
+            compressed = true;
+        } finally {
+            in.close();
+            if (!compressed) {
+                temporary.delete();
+            }
+        }
+        if (!temporary.renameTo(target)) {
+            temporary.delete();
+            throw new IOException("could not rename " + temporary + " to " + target);
+        }
+        if (!source.delete()) {
+            System.err.println("[WARN] RollingFileSink: could not delete " + source);
+        }
+    }
+
+    private long nextRollAt(long now) {
+        if (period == PERIOD_NONE) {
+            return 0;
+        }
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(now);
+        calendar.set(Calendar.MILLISECOND, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        if (period == PERIOD_DAILY) {
+            calendar.set(Calendar.HOUR_OF_DAY, 0);
+            calendar.add(Calendar.DAY_OF_MONTH, 1);
+        } else {
+            calendar.add(Calendar.HOUR_OF_DAY, 1);
+        }
+        return calendar.getTimeInMillis();
+    }
+}
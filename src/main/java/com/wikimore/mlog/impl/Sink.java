@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * destination of encoded log lines
+ * <p>
+ * a sink is shared by every {@link ConsoleLog} writing to it and is called by
+ * many threads at once, implementations must be thread-safe.
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+interface Sink {
+
+    /**
+     * write one encoded line
+     * 
+     * @param bytes
+     *            the line from position to limit, it is only valid during
+     *            the call
+     * @param level
+     *            ConsoleLog level of the line
+     * @throws IOException
+     *             if the line could not be written or the sink is closed
+     */
+    void write(ByteBuffer bytes, int level) throws IOException;
+
+    /**
+     * push buffered lines to the destination
+     * 
+     * @throws IOException
+     */
+    void flush() throws IOException;
+
+    /**
+     * flush and release the destination, later writes fail
+     * 
+     * @throws IOException
+     */
+    void close() throws IOException;
+}
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.impl;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * the sink configured for {@link ConsoleLog} by system properties
+ * <p>
+ * <tt>com.wikimore.mlog.impl.ConsoleLog.sink</tt> selects the output:
+ * <ul>
+ * <li><tt>stderr</tt>, the default, System.err of each ConsoleLog</li>
+ * <li><tt>stdout.channel</tt> and <tt>stderr.channel</tt>, a FileChannel on
+ * the file descriptor, see {@link ChannelSink}</li>
+ * <li><tt>file</tt>, a FileChannel appending to a file</li>
+ * <li><tt>mapped</tt>, a memory mapped file, see {@link MappedFileSink}</li>
+ * <li><tt>rolling</tt>, a file rolled over by size and time, see
+ * {@link RollingFileSink}. <tt>rolling.maxSize</tt> is the size in bytes, 0
+ * for none, <tt>rolling.period</tt> is <tt>daily</tt>, <tt>hourly</tt> or
+ * <tt>none</tt> and <tt>rolling.maxArchives</tt> the number of gzip archives
+ * kept, all prefixed with <tt>com.wikimore.mlog.impl.ConsoleLog.</tt></li>
+ * </ul>
+ * file sinks write to <tt>com.wikimore.mlog.impl.ConsoleLog.file</tt>. when
+ * <tt>com.wikimore.mlog.impl.ConsoleLog.batch</tt> is true the sink is wrapped
+ * by a {@link BatchingSink}, sized by <tt>batch.size</tt> in bytes and
+ * <tt>batch.linger</tt> in milliseconds. the
+ * configured sink is created once, shared by all ConsoleLogs and closed by a
+ * shutdown hook after the async dispatcher has drained.
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+final class Sinks {
+    static final String SINK_KEY = "com.wikimore.mlog.impl.ConsoleLog.sink";
+    static final String FILE_KEY = "com.wikimore.mlog.impl.ConsoleLog.file";
+    static final String MAPPED_CHUNK_SIZE_KEY = "com.wikimore.mlog.impl.ConsoleLog.mapped.chunkSize";
+    static final String ROLLING_MAX_SIZE_KEY = "com.wikimore.mlog.impl.ConsoleLog.rolling.maxSize";
+    static final String ROLLING_PERIOD_KEY = "com.wikimore.mlog.impl.ConsoleLog.rolling.period";
+    static final String ROLLING_MAX_ARCHIVES_KEY = "com.wikimore.mlog.impl.ConsoleLog.rolling.maxArchives";
+    static final String BATCH_KEY = "com.wikimore.mlog.impl.ConsoleLog.batch";
+    static final String BATCH_SIZE_KEY = "com.wikimore.mlog.impl.ConsoleLog.batch.size";
+    static final String BATCH_LINGER_KEY = "com.wikimore.mlog.impl.ConsoleLog.batch.linger";
+    static final String STDERR = "stderr";
+    static final String STDOUT_CHANNEL = "stdout.channel";
+    static final String STDERR_CHANNEL = "stderr.channel";
+    static final String FILE = "file";
+    static final String MAPPED = "mapped";
+    static final String ROLLING = "rolling";
+
+    private static class Holder {
+        static final Sink CONFIGURED = create();
+    }
+
+    private Sinks() {
+    }
+
+    /**
+     * @return the shared configured sink, null to write to System.err
+     */
+    static Sink configured() {
+        return Holder.CONFIGURED;
+    }
+
+    private static Sink create() {
+        Sink sink = createSink(System.getProperty(SINK_KEY, STDERR).trim());
+        if (Boolean.getBoolean(BATCH_KEY)) {
+            if (sink == null) {
+                sink = new PrintStreamSink(System.err);
+            }
+            sink = new BatchingSink(sink, Integer.getInteger(BATCH_SIZE_KEY,
+                    BatchingSink.DEFAULT_BATCH_SIZE), Long.getLong(BATCH_LINGER_KEY,
+                    BatchingSink.DEFAULT_LINGER_MILLIS));
+        }
+        if (sink != null) {
+            closeOnShutdown(sink);
+        }
+        return sink;
+    }
+
+    private static Sink createSink(String type) {
+        if (STDERR.equals(type)) {
+            return null;
+        }
+        if (STDOUT_CHANNEL.equals(type)) {
+            return ChannelSink.stdout();
+        }
+        if (STDERR_CHANNEL.equals(type)) {
+            return ChannelSink.stderr();
+        }
+        String file = System.getProperty(FILE_KEY);
+        if (file == null) {
+            System.err.println("[ERROR] ConsoleLog: " + FILE_KEY
+                    + " is not set, log to System.err.");
+            return null;
+        }
+        try {
+            if (FILE.equals(type)) {
+                return ChannelSink.open(new File(file));
+            } else if (MAPPED.equals(type)) {
+                return new MappedFileSink(new File(file), Integer.getInteger(
+                        MAPPED_CHUNK_SIZE_KEY, MappedFileSink.DEFAULT_CHUNK_SIZE));
+            } else if (ROLLING.equals(type)) {
+                // binary files refer to definitions, each file repeats them
+                RollingFileSink.Preamble preamble = ConsoleLog.BINARY_FORMAT.equals(System
+                        .getProperty(ConsoleLog.FORMAT_KEY)) ? BinaryEventEncoder.preamble()
+                        : null;
+                return new RollingFileSink(new File(file), Long.getLong(ROLLING_MAX_SIZE_KEY,
+                        RollingFileSink.DEFAULT_MAX_SIZE), period(System.getProperty(
+                        ROLLING_PERIOD_KEY, "daily")), Math.max(1, Integer.getInteger(
+                        ROLLING_MAX_ARCHIVES_KEY, RollingFileSink.DEFAULT_MAX_ARCHIVES)),
+                        preamble);
+            } else {
+                System.err.println("[ERROR] ConsoleLog: unknown sink " + type
+                        + ", log to System.err.");
+                return null;
+            }
+        } catch (IOException e) {
+            System.err.println("[ERROR] ConsoleLog: could not open " + file + ", log to System.err:"
+                    + e);
+            return null;
+        }
+    }
+
+    private static int period(String period) {
+        if ("hourly".equalsIgnoreCase(period)) {
+            return RollingFileSink.PERIOD_HOURLY;
+        }
+        if ("none".equalsIgnoreCase(period)) {
+            return RollingFileSink.PERIOD_NONE;
+        }
+        return RollingFileSink.PERIOD_DAILY;
+    }
+
+    private static void closeOnShutdown(final Sink sink) {
+        Runtime.getRuntime().addShutdownHook(new Thread("mlog-sink-shutdown") {
+            public void run() {
+                AsyncLogDispatcher.shutdownIfStarted();
+                try {
+                    sink.close();
+                } catch (IOException e) {
+                    System.err.println("[ERROR] ConsoleLog: close log sink failed:" + e);
+                }
+            }
+        });
+    }
+}
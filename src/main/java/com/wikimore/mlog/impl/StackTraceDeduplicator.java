@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * remember the stack traces printed recently, so a repeated one is logged as
+ * a short reference instead of the full trace
+ * <p>
+ * a stack trace is identified by a fingerprint hashed from the class and
+ * frames of the throwable and its causes, the message is not part of it. the
+ * full trace is printed the first time a fingerprint is seen and again once
+ * its window has passed. the most recently seen fingerprints are kept in a
+ * bounded LRU.
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+final class StackTraceDeduplicator {
+    static final int DEFAULT_SIZE = 1024;
+    static final long DEFAULT_WINDOW_MILLIS = 60000L;
+    /** causes hashed into a fingerprint, also ends a circular chain */
+    private static final int MAX_CAUSES = 8;
+
+    private final long windowMillis;
+    private final Map<Long, Seen> seen;
+
+    /**
+     * occurrences of one fingerprint since its trace was last printed
+     */
+    private static final class Seen {
+        long printed;
+        int count;
+    }
+
+    /**
+     * @param size
+     *            fingerprints remembered
+     * @param windowMillis
+     *            time after which a full trace is printed again
+     */
+    StackTraceDeduplicator(final int size, long windowMillis) {
+        this.windowMillis = windowMillis;
+        this.seen = new LinkedHashMap<Long, Seen>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            protected boolean removeEldestEntry(Map.Entry<Long, Seen> eldest) {
+                return size() > size;
+            }
+        };
+    }
+
+    /**
+     * count an occurrence of a fingerprint
+     * 
+     * @param fingerprint
+     *            stack trace fingerprint
+     * @param now
+     *            current time in milliseconds
+     * @return occurrences within the window including this one, 1 means the
+     *         full trace is to be printed
+     */
+    synchronized int count(long fingerprint, long now) {
+        Long key = Long.valueOf(fingerprint);
+        Seen entry = seen.get(key);
+        if (entry == null) {
+            entry = new Seen();
+            seen.put(key, entry);
+        } else if (now - entry.printed < windowMillis) {
+            return ++entry.count;
+        }
+        entry.printed = now;
+        entry.count = 1;
+        return 1;
+    }
+
+    /**
+     * hash the class and frames of a throwable and its causes
+     */
+    static long fingerprint(Throwable t) {
+        long hash = 17;
+        Throwable current = t;
+        for (int depth = 0; current != null && depth <= MAX_CAUSES; depth++) {
+            hash = 31 * hash + current.getClass().getName().hashCode();
+            StackTraceElement[] trace = current.getStackTrace();
+            for (int i = 0; i < trace.length; i++) {
+                StackTraceElement element = trace[i];
+                hash = 31 * hash + element.getClassName().hashCode();
+                hash = 31 * hash + element.getMethodName().hashCode();
+                hash = 31 * hash + element.getLineNumber();
+            }
+            Throwable cause = current.getCause();
+            current = cause == current ? null : cause;
+        }
+        // spread the bits, so the printed short form is as unique as the key
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * append <tt>stack#</tt> and the fingerprint as 8 hex digits
+     */
+    static void appendReference(StringBuilder builder, long fingerprint) {
+        builder.append("stack#");
+        int bits = (int) fingerprint;
+        for (int shift = 28; shift >= 0; shift -= 4) {
+            builder.append(Character.forDigit((bits >>> shift) & 0xf, 16));
+        }
+    }
+}
@@ -0,0 +1,326 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.impl;
+
+import java.lang.reflect.Method;
+
+/**
+ * render a throwable, its suppressed throwables and causes straight into a
+ * builder, in the layout of <tt>Throwable.printStackTrace</tt>
+ * <p>
+ * no PrintWriter or intermediate string is used. the rendering of a stack
+ * frame is cached, a storm of the same error renders each frame once.
+ * <p>
+ * <tt>com.wikimore.mlog.impl.ConsoleLog.stackTrace.maxDepth</tt> limits the
+ * frames printed per throwable, 0 for no limit.
+ * <tt>com.wikimore.mlog.impl.ConsoleLog.stackTrace.exclude</tt> is a comma
+ * separated list of class name prefixes whose frames are left out, a run of
+ * left out frames is printed as one line.
+ * <p>
+ * when <tt>com.wikimore.mlog.impl.ConsoleLog.stackTrace.dedup</tt> is true, a
+ * stack trace seen again within <tt>stackTrace.dedup.window</tt>
+ * milliseconds is printed as <tt>[stack#1a2b3c4d seen 512x]</tt> and the
+ * throwable's first line, the full trace carries the same reference. see
+ * {@link StackTraceDeduplicator}, <tt>stackTrace.dedup.size</tt> bounds the
+ * fingerprints remembered.
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+final class ThrowableRenderer {
+    static final String MAX_DEPTH_KEY = "com.wikimore.mlog.impl.ConsoleLog.stackTrace.maxDepth";
+    static final String EXCLUDE_KEY = "com.wikimore.mlog.impl.ConsoleLog.stackTrace.exclude";
+    static final String DEDUP_KEY = "com.wikimore.mlog.impl.ConsoleLog.stackTrace.dedup";
+    static final String DEDUP_SIZE_KEY = "com.wikimore.mlog.impl.ConsoleLog.stackTrace.dedup.size";
+    static final String DEDUP_WINDOW_KEY = "com.wikimore.mlog.impl.ConsoleLog.stackTrace.dedup.window";
+    private static final int FRAME_CACHE_SIZE = 4096;
+    private static final String LINE_SEPARATOR = System.getProperty("line.separator", "\n");
+    private static final String CAUSE_CAPTION = "Caused by: ";
+    private static final String SUPPRESSED_CAPTION = "Suppressed: ";
+    private static final Method GET_SUPPRESSED = getSuppressedMethod();
+    private static final ThreadLocal<Visited> VISITED = new ThreadLocal<Visited>() {
+        protected Visited initialValue() {
+            return new Visited();
+        }
+    };
+
+    private final int maxDepth;
+    private final String[] excludes;
+    /** null when repeated traces are printed in full */
+    private final StackTraceDeduplicator deduplicator;
+    private final CachedFrame[] frames = new CachedFrame[FRAME_CACHE_SIZE];
+
+    /**
+     * configured on first use, after mlog.properties has been loaded
+     */
+    private static class Holder {
+        static final ThrowableRenderer DEFAULT = configured();
+    }
+
+    private static final class CachedFrame {
+        final StackTraceElement element;
+        final String rendered;
+
+        CachedFrame(StackTraceElement element, String rendered) {
+            this.element = element;
+            this.rendered = rendered;
+        }
+    }
+
+    /**
+     * throwables of the chain being rendered, to stop at a circular
+     * reference. kept per thread so rendering does not allocate a set.
+     */
+    private static final class Visited {
+        Throwable[] throwables = new Throwable[16];
+        int size;
+
+        boolean contains(Throwable t) {
+            for (int i = 0; i < size; i++) {
+                if (throwables[i] == t) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void add(Throwable t) {
+            if (size == throwables.length) {
+                Throwable[] grown = new Throwable[size * 2];
+                System.arraycopy(throwables, 0, grown, 0, size);
+                throwables = grown;
+            }
+            throwables[size++] = t;
+        }
+
+        void reset(int mark) {
+            for (int i = mark; i < size; i++) {
+                throwables[i] = null;
+            }
+            size = mark;
+        }
+    }
+
+    /**
+     * @param maxDepth
+     *            frames printed per throwable, 0 for no limit
+     * @param excludes
+     *            class name prefixes of frames left out
+     * @param deduplicator
+     *            shortens repeated traces, null to print all in full
+     */
+    ThrowableRenderer(int maxDepth, String[] excludes, StackTraceDeduplicator deduplicator) {
+        this.maxDepth = maxDepth;
+        this.excludes = excludes;
+        this.deduplicator = deduplicator;
+    }
+
+    /**
+     * get the renderer configured by system properties
+     */
+    static ThrowableRenderer getInstance() {
+        return Holder.DEFAULT;
+    }
+
+    private static ThrowableRenderer configured() {
+        StackTraceDeduplicator deduplicator = null;
+        if (Boolean.getBoolean(DEDUP_KEY)) {
+            deduplicator = new StackTraceDeduplicator(Math.max(1, Integer.getInteger(
+                    DEDUP_SIZE_KEY, StackTraceDeduplicator.DEFAULT_SIZE)), Long.getLong(
+                    DEDUP_WINDOW_KEY, StackTraceDeduplicator.DEFAULT_WINDOW_MILLIS));
+        }
+        return new ThrowableRenderer(Integer.getInteger(MAX_DEPTH_KEY, 0),
+                parseExcludes(System.getProperty(EXCLUDE_KEY)), deduplicator);
+    }
+
+    /**
+     * append the stack trace of t, each line ends with the line separator
+     */
+    void render(StringBuilder builder, Throwable t) {
+        Visited visited = VISITED.get();
+        // toString() of a throwable may log and render again
+        int mark = visited.size;
+        try {
+            visited.add(t);
+            if (deduplicator != null) {
+                long fingerprint = StackTraceDeduplicator.fingerprint(t);
+                int count = deduplicator.count(fingerprint, System.currentTimeMillis());
+                builder.append('[');
+                StackTraceDeduplicator.appendReference(builder, fingerprint);
+                if (count > 1) {
+                    builder.append(" seen ").append(count).append("x] ").append(t)
+                            .append(LINE_SEPARATOR);
+                    return;
+                }
+                builder.append("] ");
+            }
+            builder.append(t).append(LINE_SEPARATOR);
+            StackTraceElement[] trace = t.getStackTrace();
+            appendFrames(builder, trace, trace.length, "");
+            appendSuppressed(builder, t, trace, "\t", visited);
+            Throwable cause = t.getCause();
+            if (cause != null) {
+                appendEnclosed(builder, cause, trace, CAUSE_CAPTION, "", visited);
+            }
+        } finally {
+            visited.reset(mark);
+        }
+    }
+
+    private void appendEnclosed(StringBuilder builder, Throwable t,
+            StackTraceElement[] enclosingTrace, String caption, String prefix, Visited visited) {
+        if (visited.contains(t)) {
+            builder.append(prefix).append(caption).append("[CIRCULAR REFERENCE: ").append(t)
+                    .append(']').append(LINE_SEPARATOR);
+            return;
+        }
+        visited.add(t);
+        StackTraceElement[] trace = t.getStackTrace();
+        // frames in common with the enclosing trace are printed as a count
+        int m = trace.length - 1;
+        int n = enclosingTrace.length - 1;
+        while (m >= 0 && n >= 0 && trace[m].equals(enclosingTrace[n])) {
+            m--;
+            n--;
+        }
+        int framesInCommon = trace.length - 1 - m;
+        builder.append(prefix).append(caption).append(t).append(LINE_SEPARATOR);
+        appendFrames(builder, trace, m + 1, prefix);
+        if (framesInCommon != 0) {
+            builder.append(prefix).append("\t... ").append(framesInCommon).append(" more")
+                    .append(LINE_SEPARATOR);
+        }
+        appendSuppressed(builder, t, trace, prefix + "\t", visited);
+        Throwable cause = t.getCause();
+        if (cause != null) {
+            appendEnclosed(builder, cause, trace, CAUSE_CAPTION, prefix, visited);
+        }
+    }
+
+    private void appendSuppressed(StringBuilder builder, Throwable t, StackTraceElement[] trace,
+            String prefix, Visited visited) {
+        if (GET_SUPPRESSED == null) {
+            return;
+        }
+        Throwable[] suppressed;
+        try {
+            suppressed = (Throwable[]) GET_SUPPRESSED.invoke(t);
+        } catch (Exception e) {
+            return;
+        }
+        for (int i = 0; i < suppressed.length; i++) {
+            appendEnclosed(builder, suppressed[i], trace, SUPPRESSED_CAPTION, prefix, visited);
+        }
+    }
+
+    /**
+     * append the first count frames, honoring the depth limit and excludes
+     */
+    private void appendFrames(StringBuilder builder, StackTraceElement[] trace, int count,
+            String prefix) {
+        int shown = 0;
+        int excluded = 0;
+        for (int i = 0; i < count; i++) {
+            if (maxDepth > 0 && shown == maxDepth) {
+                appendExcluded(builder, excluded, prefix);
+                builder.append(prefix).append("\t... ").append(count - i)
+                        .append(" frames truncated").append(LINE_SEPARATOR);
+                return;
+            }
+            StackTraceElement element = trace[i];
+            if (isExcluded(element)) {
+                excluded++;
+                continue;
+            }
+            appendExcluded(builder, excluded, prefix);
+            excluded = 0;
+            builder.append(prefix).append("\tat ").append(render(element))
+                    .append(LINE_SEPARATOR);
+            shown++;
+        }
+        appendExcluded(builder, excluded, prefix);
+    }
+
+    private static void appendExcluded(StringBuilder builder, int excluded, String prefix) {
+        if (excluded > 0) {
+            builder.append(prefix).append("\t... ").append(excluded).append(" filtered")
+                    .append(LINE_SEPARATOR);
+        }
+    }
+
+    private boolean isExcluded(StackTraceElement element) {
+        if (excludes.length == 0) {
+            return false;
+        }
+        String className = element.getClassName();
+        for (int i = 0; i < excludes.length; i++) {
+            if (className.startsWith(excludes[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * rendering of a frame from a 2-way set associative cache, a lost race
+     * only renders the frame once more
+     */
+    private String render(StackTraceElement element) {
+        int hash = element.hashCode();
+        int index = (hash ^ (hash >>> 16)) & (FRAME_CACHE_SIZE - 2);
+        CachedFrame cached = frames[index];
+        if (cached != null && cached.element.equals(element)) {
+            return cached.rendered;
+        }
+        CachedFrame second = frames[index + 1];
+        if (second != null && second.element.equals(element)) {
+            return second.rendered;
+        }
+        String rendered = element.toString();
+        frames[index + 1] = cached;
+        frames[index] = new CachedFrame(element, rendered);
+        return rendered;
+    }
+
+    static String[] parseExcludes(String value) {
+        if (value == null || value.trim().length() == 0) {
+            return new String[0];
+        }
+        String[] excludes = value.split(",");
+        int count = 0;
+        for (int i = 0; i < excludes.length; i++) {
+            String exclude = excludes[i].trim();
+            if (exclude.length() > 0) {
+                excludes[count++] = exclude;
+            }
+        }
+        String[] trimmed = new String[count];
+        System.arraycopy(excludes, 0, trimmed, 0, count);
+        return trimmed;
+    }
+
+    /**
+     * Throwable.getSuppressed exists since Java 7
+     */
+    private static Method getSuppressedMethod() {
+        try {
+            return Throwable.class.getMethod("getSuppressed");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.impl;
+
+import java.util.TimeZone;
+
+/**
+ * render timestamp as <tt>yyyy-MM-dd HH:mm:ss SSS</tt> into a char buffer
+ * <p>
+ * the <tt>yyyy-MM-dd HH:mm:ss </tt> prefix is computed once per second and
+ * shared by all threads through an immutable holder, every other call only
+ * copies the prefix and patches in the millisecond digits. no lock is taken
+ * and no SimpleDateFormat or Calendar is used.
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+final class TimestampRenderer {
+    /** length of a rendered timestamp */
+    static final int LENGTH = 23;
+    private static final int PREFIX_LENGTH = 20;
+    private static final TimestampRenderer DEFAULT = new TimestampRenderer(TimeZone.getDefault());
+
+    private final TimeZone timeZone;
+    private volatile CachedSecond cachedSecond;
+
+    private static final class CachedSecond {
+        final long second;
+        final char[] prefix;
+
+        CachedSecond(long second, char[] prefix) {
+            this.second = second;
+            this.prefix = prefix;
+        }
+    }
+
+    TimestampRenderer(TimeZone timeZone) {
+        this.timeZone = timeZone;
+    }
+
+    /**
+     * get the renderer of the default time zone
+     */
+    static TimestampRenderer getInstance() {
+        return DEFAULT;
+    }
+
+    /**
+     * render timestamp into buffer
+     * 
+     * @param timestamp
+     *            milliseconds since epoch
+     * @param buffer
+     *            destination, needs {@link #LENGTH} chars from offset
+     * @param offset
+     *            position of the first char
+     * @return position after the last rendered char
+     */
+    int render(long timestamp, char[] buffer, int offset) {
+        long second = floorDiv(timestamp, 1000);
+        CachedSecond cached = cachedSecond;
+        if (cached == null || cached.second != second) {
+            // racing threads may both build the prefix, either result is
+            // correct
+            cached = new CachedSecond(second, renderPrefix(second));
+            cachedSecond = cached;
+        }
+        System.arraycopy(cached.prefix, 0, buffer, offset, PREFIX_LENGTH);
+        int millis = (int) (timestamp - second * 1000);
+        buffer[offset + 20] = (char) ('0' + millis / 100);
+        buffer[offset + 21] = (char) ('0' + millis / 10 % 10);
+        buffer[offset + 22] = (char) ('0' + millis % 10);
+        return offset + LENGTH;
+    }
+
+    private char[] renderPrefix(long second) {
+        long local = second + timeZone.getOffset(second * 1000) / 1000;
+        long days = floorDiv(local, 86400);
+        int secondOfDay = (int) (local - days * 86400);
+
+        // civil date from days since 1970-01-01, proleptic Gregorian calendar
+        long z = days + 719468;
+        long era = floorDiv(z, 146097);
+        int dayOfEra = (int) (z - era * 146097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int mp = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        char[] prefix = new char[PREFIX_LENGTH];
+        int y = (int) Math.abs(year % 10000);
+        prefix[0] = (char) ('0' + y / 1000);
+        prefix[1] = (char) ('0' + y / 100 % 10);
+        prefix[2] = (char) ('0' + y / 10 % 10);
+        prefix[3] = (char) ('0' + y % 10);
+        prefix[4] = '-';
+        twoDigits(prefix, 5, month);
+        prefix[7] = '-';
+        twoDigits(prefix, 8, day);
+        prefix[10] = ' ';
+        twoDigits(prefix, 11, secondOfDay / 3600);
+        prefix[13] = ':';
+        twoDigits(prefix, 14, secondOfDay / 60 % 60);
+        prefix[16] = ':';
+        twoDigits(prefix, 17, secondOfDay % 60);
+        prefix[19] = ' ';
+        return prefix;
+    }
+
+    private static void twoDigits(char[] buffer, int offset, int value) {
+        buffer[offset] = (char) ('0' + value / 10);
+        buffer[offset + 1] = (char) ('0' + value % 10);
+    }
+
+    private static long floorDiv(long x, long y) {
+        long q = x / y;
+        if ((x % y != 0) && ((x ^ y) < 0)) {
+            q--;
+        }
+        return q;
+    }
+}
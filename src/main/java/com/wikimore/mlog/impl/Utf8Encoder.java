@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.wikimore.mlog.impl;
+
+import java.nio.ByteBuffer;
+
+/**
+ * UTF-8 encoding straight from chars into a byte buffer
+ * <p>
+ * no CharBuffer, encoder state or intermediate array is used, ASCII runs take
+ * a one byte per char fast path. a malformed surrogate is encoded as '?' like
+ * the JDK encoders do with the REPLACE action.
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+final class Utf8Encoder {
+    /** bytes needed per char in the worst case, a surrogate pair takes 4 */
+    static final int MAX_BYTES_PER_CHAR = 3;
+
+    private Utf8Encoder() {
+    }
+
+    /**
+     * encode chars into out
+     * 
+     * @param chars
+     *            source chars
+     * @param start
+     *            index of the first char
+     * @param end
+     *            index after the last char
+     * @param out
+     *            destination, needs {@link #MAX_BYTES_PER_CHAR} bytes per char
+     */
+    static void encode(CharSequence chars, int start, int end, ByteBuffer out) {
+        int i = start;
+        // ASCII fast path, the common case for log lines
+        while (i < end) {
+            char c = chars.charAt(i);
+            if (c >= 0x80) {
+                break;
+            }
+            out.put((byte) c);
+            i++;
+        }
+        while (i < end) {
+            char c = chars.charAt(i++);
+            if (c < 0x80) {
+                out.put((byte) c);
+            } else if (c < 0x800) {
+                out.put((byte) (0xc0 | (c >> 6)));
+                out.put((byte) (0x80 | (c & 0x3f)));
+            } else if (Character.isHighSurrogate(c) && i < end
+                    && Character.isLowSurrogate(chars.charAt(i))) {
+                int codePoint = Character.toCodePoint(c, chars.charAt(i++));
+                out.put((byte) (0xf0 | (codePoint >> 18)));
+                out.put((byte) (0x80 | ((codePoint >> 12) & 0x3f)));
+                out.put((byte) (0x80 | ((codePoint >> 6) & 0x3f)));
+                out.put((byte) (0x80 | (codePoint & 0x3f)));
+            } else if (Character.isHighSurrogate(c) || Character.isLowSurrogate(c)) {
+                out.put((byte) '?');
+            } else {
+                out.put((byte) (0xe0 | (c >> 12)));
+                out.put((byte) (0x80 | ((c >> 6) & 0x3f)));
+                out.put((byte) (0x80 | (c & 0x3f)));
+            }
+        }
+    }
+}
@@ -3,6 +3,9 @@
  */
 package com.wikimore.mlog;
 
+import java.io.StringWriter;
+import java.nio.CharBuffer;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -29,4 +32,48 @@ public class FormatterTest {
         String expected = "first 134334, second 12312312412, end next end.";
         Assert.assertEquals("format failed ", expected, actual);
     }
+
+    @Test
+    public void testTemplate() {
+        MessageTemplate template = MessageTemplate.compile("{} first {}, second {}");
+        Assert.assertEquals(3, template.getPlaceholderCount());
+        Assert.assertEquals("1 first 2, second 3", template.format(1, 2, 3));
+        Assert.assertEquals("1 first 2, second {}", template.format(1, 2));
+        Assert.assertEquals("1 first 2, second 3", template.format(1, 2, 3, 4));
+        Assert.assertEquals("{} first {}, second {}", template.format());
+        Assert.assertEquals("no mark", Formatter.format("no mark", "ignored"));
+    }
+
+    @Test
+    public void testTemplateCache() {
+        String pattern = "cached {}";
+        Assert.assertSame(Formatter.template(pattern), Formatter.template(pattern));
+        Assert.assertEquals("cached 1", Formatter.format(pattern, 1));
+    }
+
+    @Test
+    public void testFormatTo() throws Exception {
+        StringBuilder builder = new StringBuilder("prefix ");
+        Formatter.formatTo(builder, "first {}, second {}", 1, "2");
+        Assert.assertEquals("prefix first 1, second 2", builder.toString());
+
+        StringWriter writer = new StringWriter();
+        Formatter.formatTo(writer, "first {}, second {}", 1, "2");
+        Assert.assertEquals("first 1, second 2", writer.toString());
+
+        CharBuffer buffer = CharBuffer.allocate(64);
+        Formatter.formatTo(buffer, "first {}, second {}", 1, "2");
+        buffer.flip();
+        Assert.assertEquals("first 1, second 2", buffer.toString());
+    }
+
+    @Test
+    public void testSupplier() {
+        MessageSupplier supplier = new MessageSupplier() {
+            public Object get() {
+                return "supplied";
+            }
+        };
+        Assert.assertEquals("value supplied", Formatter.format("value {}", supplier));
+    }
 }
@@ -3,6 +3,15 @@
  */
 package com.wikimore.mlog;
 
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.CountDownLatch;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
 import org.junit.Assert;
 import org.junit.Test;
 import org.slf4j.Logger;
@@ -87,4 +96,91 @@ public class LogFactoryTest {
         Log log = LogFactory.getLog("test");
         System.out.println(log);
     }
+
+    @Test
+    public void testSameInstance() throws Exception {
+        Assert.assertSame(LogFactory.getLog("test.same"), LogFactory.getLog("test.same"));
+        Assert.assertSame(LogFactory.getLog(LogFactoryTest.class),
+                LogFactory.getLog(LogFactoryTest.class.getName()));
+
+        // threads racing on a new name get the same instance
+        final CountDownLatch start = new CountDownLatch(1);
+        final Log[] logs = new Log[8];
+        Thread[] threads = new Thread[logs.length];
+        for (int i = 0; i < threads.length; i++) {
+            final int index = i;
+            threads[i] = new Thread() {
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    logs[index] = LogFactory.getLog("test.same.race");
+                }
+            };
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (Log log : logs) {
+            Assert.assertSame(logs[0], log);
+        }
+    }
+
+    @Test
+    public void testRelease() {
+        LogFactory logFactory = LogFactory.getFactory();
+        Assert.assertSame(logFactory, LogFactory.getFactory());
+        LogFactory.release(Thread.currentThread().getContextClassLoader());
+        LogFactory released = LogFactory.getFactory();
+        Assert.assertNotSame(logFactory, released);
+        Assert.assertSame(released, LogFactory.getFactory());
+    }
+
+    @Test
+    public void testReleaseMetrics() throws Exception {
+        Thread thread = Thread.currentThread();
+        ClassLoader contextClassLoader = thread.getContextClassLoader();
+        ClassLoader classLoader = new URLClassLoader(new URL[0], contextClassLoader);
+        System.setProperty("com.wikimore.mlog.metrics.perLogger", "true");
+        thread.setContextClassLoader(classLoader);
+        try {
+            LogFactory.getLog("test.release.metrics");
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+            System.clearProperty("com.wikimore.mlog.metrics.perLogger");
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName pattern = new ObjectName(
+                "com.wikimore.mlog:type=LogMetrics,name=\"test.release.metrics\",*");
+        Assert.assertEquals(1, server.queryNames(pattern, null).size());
+        LogFactory.release(classLoader);
+        Assert.assertEquals(0, server.queryNames(pattern, null).size());
+        // the next factory creating a Log publishes the counters again
+        LogFactory.getLog("test.release.metrics.next");
+        Assert.assertEquals(1, server.queryNames(pattern, null).size());
+    }
+
+    @Test
+    public void testWeakClassLoader() throws Exception {
+        Thread thread = Thread.currentThread();
+        ClassLoader contextClassLoader = thread.getContextClassLoader();
+        ClassLoader classLoader = new URLClassLoader(new URL[0], contextClassLoader);
+        WeakReference<ClassLoader> reference = new WeakReference<ClassLoader>(classLoader);
+        thread.setContextClassLoader(classLoader);
+        try {
+            Assert.assertNotNull(LogFactory.getLog("test.weak"));
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+        classLoader = null;
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assert.assertNull("class loader is still referenced", reference.get());
+    }
 }
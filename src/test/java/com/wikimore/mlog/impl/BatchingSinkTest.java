@@ -0,0 +1,152 @@
+/*
+ * 文件名称: BatchingSinkTest.java Copyright 2011-2013 Nali All right reserved.
+ */
+package com.wikimore.mlog.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * BatchingSink test
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+public class BatchingSinkTest {
+
+    /**
+     * sink recording writes and flushes
+     */
+    private static class RecordingSink implements Sink {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int writes;
+        int flushes;
+        boolean closed;
+
+        public synchronized void write(ByteBuffer bytes, int level) {
+            writes++;
+            while (bytes.hasRemaining()) {
+                out.write(bytes.get());
+            }
+        }
+
+        public synchronized void flush() {
+            flushes++;
+        }
+
+        public synchronized void close() {
+            closed = true;
+        }
+
+        synchronized int writes() {
+            return writes;
+        }
+
+        synchronized String text() throws UnsupportedEncodingException {
+            return out.toString("UTF-8");
+        }
+    }
+
+    private static ByteBuffer line(String text) throws UnsupportedEncodingException {
+        return ByteBuffer.wrap((text + "\n").getBytes("UTF-8"));
+    }
+
+    @Test
+    public void testBatch() throws Exception {
+        RecordingSink recording = new RecordingSink();
+        BatchingSink sink = new BatchingSink(recording, 1000, 60000);
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sink.write(line("info line " + i), ConsoleLog.INFO_LOG_LEVEL);
+            expected.append("info line ").append(i).append('\n');
+        }
+        // about 15 bytes a line, one write per batch of 1000 bytes
+        Assert.assertTrue("writes " + recording.writes(), recording.writes() <= 15);
+        sink.close();
+        Assert.assertEquals(expected.toString(), recording.text());
+        Assert.assertTrue(recording.closed);
+    }
+
+    @Test
+    public void testErrorFlushesAtOnce() throws Exception {
+        RecordingSink recording = new RecordingSink();
+        BatchingSink sink = new BatchingSink(recording, 40, 60000);
+        sink.write(line("info"), ConsoleLog.INFO_LOG_LEVEL);
+        Assert.assertEquals(0, recording.writes());
+        sink.write(line("error"), ConsoleLog.ERROR_LOG_LEVEL);
+        Assert.assertEquals("info\nerror\n", recording.text());
+        Assert.assertEquals(1, recording.flushes);
+        // an error line which does not fit the batch is not held back
+        sink.write(line("info"), ConsoleLog.INFO_LOG_LEVEL);
+        sink.write(line("an error line longer than what is left"), ConsoleLog.FATAL_LOG_LEVEL);
+        Assert.assertEquals("info\nerror\ninfo\nan error line longer than what is left\n",
+                recording.text());
+        sink.close();
+    }
+
+    @Test
+    public void testLinger() throws Exception {
+        RecordingSink recording = new RecordingSink();
+        BatchingSink sink = new BatchingSink(recording, 1000, 10);
+        sink.write(line("lingering"), ConsoleLog.INFO_LOG_LEVEL);
+        for (int i = 0; i < 100 && recording.writes() == 0; i++) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals("lingering\n", recording.text());
+        sink.close();
+    }
+
+    @Test
+    public void testLongLine() throws Exception {
+        RecordingSink recording = new RecordingSink();
+        BatchingSink sink = new BatchingSink(recording, 16, 60000);
+        sink.write(line("short"), ConsoleLog.INFO_LOG_LEVEL);
+        sink.write(line("a line longer than the batch"), ConsoleLog.INFO_LOG_LEVEL);
+        sink.close();
+        Assert.assertEquals("short\na line longer than the batch\n", recording.text());
+    }
+
+    @Test
+    public void testFailedWrite() throws Exception {
+        final RecordingSink recording = new RecordingSink();
+        final boolean[] failing = { true };
+        Sink failingSink = new Sink() {
+            public void write(ByteBuffer bytes, int level) throws IOException {
+                if (failing[0]) {
+                    throw new IOException("disk full");
+                }
+                recording.write(bytes, level);
+            }
+
+            public void flush() {
+            }
+
+            public void close() {
+            }
+        };
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        PrintStream stderr = System.err;
+        System.setErr(new PrintStream(err, true, "UTF-8"));
+        try {
+            BatchingSink sink = new BatchingSink(failingSink, 40, 60000);
+            sink.write(line("one"), ConsoleLog.INFO_LOG_LEVEL);
+            sink.write(line("two"), ConsoleLog.INFO_LOG_LEVEL);
+            // commits the failing batch, the line itself starts the next one
+            sink.write(line("a line which starts the next batch"), ConsoleLog.INFO_LOG_LEVEL);
+            failing[0] = false;
+            sink.close();
+        } finally {
+            System.setErr(stderr);
+        }
+        String text = err.toString("UTF-8");
+        Assert.assertTrue(text, text.endsWith("one\ntwo\n"));
+        Assert.assertFalse(text, text.contains("next batch"));
+        Assert.assertEquals("a line which starts the next batch\n", recording.text());
+    }
+}
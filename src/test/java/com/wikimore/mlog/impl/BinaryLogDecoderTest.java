@@ -0,0 +1,225 @@
+/*
+ * 文件名称: BinaryLogDecoderTest.java Copyright 2011-2013 Nali All right reserved.
+ */
+package com.wikimore.mlog.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.wikimore.mlog.Log;
+import com.wikimore.mlog.MessageSupplier;
+
+/**
+ * BinaryEventEncoder and BinaryLogDecoder test
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+public class BinaryLogDecoderTest {
+    private static final String TIMESTAMP = "\\d{4}-\\d\\d-\\d\\d \\d\\d:\\d\\d:\\d\\d \\d{3}";
+    private static final Throwable CAUSE = new Throwable("binary throwable");
+
+    private static void logAll(Log log) {
+        log.info("plain message");
+        log.info("one {}", "a");
+        log.info("two {} {}", "a", 2);
+        log.info("three {} {} {}", "a", 'b', (short) 3);
+        log.info("long {}", -12345678901L);
+        log.info("double {}", 0.5d);
+        log.info("float {} {}", 1.1f, 2.5d);
+        log.info("boolean {} {}", true, Boolean.FALSE);
+        log.info("null {}", (Object) null);
+        log.info((String) null);
+        log.info("extra {}", "a", "b", "c");
+        log.info("no placeholders", "a");
+        log.warn("négatif {} 中文 😀", -5L);
+        log.debug(new MessageSupplier() {
+            public String get() {
+                return "supplied {}";
+            }
+        });
+        log.debug("supplier arg {}", new MessageSupplier() {
+            public String get() {
+                return "lazy";
+            }
+        });
+        log.error("cause {}", CAUSE, 1111);
+    }
+
+    private static byte[] capture(String name, boolean binary) {
+        PrintStream err = System.err;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(out));
+        if (binary) {
+            System.setProperty(ConsoleLog.FORMAT_KEY, ConsoleLog.BINARY_FORMAT);
+        }
+        try {
+            logAll(new ConsoleLog(name));
+        } finally {
+            System.clearProperty(ConsoleLog.FORMAT_KEY);
+            System.setErr(err);
+        }
+        return out.toByteArray();
+    }
+
+    private static String decode(BinaryLogDecoder decoder, byte[] bytes) throws IOException {
+        StringBuilder text = new StringBuilder();
+        decoder.decode(new ByteArrayInputStream(bytes), text);
+        return text.toString();
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        String text = new String(capture("binary.round.trip", false));
+        byte[] binary = capture("binary.round.trip", true);
+
+        BinaryLogDecoder decoder = new BinaryLogDecoder();
+        // the text line went through the default charset
+        String decoded = new String(decode(decoder, binary).getBytes());
+        Assert.assertEquals(text.replaceAll(TIMESTAMP, "T"), decoded.replaceAll(TIMESTAMP, "T"));
+
+        // definitions are only written once
+        PrintStream err = System.err;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(out));
+        System.setProperty(ConsoleLog.FORMAT_KEY, ConsoleLog.BINARY_FORMAT);
+        try {
+            new ConsoleLog("binary.round.trip").info("two {} {}", "a", 2);
+        } finally {
+            System.clearProperty(ConsoleLog.FORMAT_KEY);
+            System.setErr(err);
+        }
+        Assert.assertEquals(25, out.size());
+        Assert.assertTrue(decode(decoder, out.toByteArray()).endsWith(
+                "binary.round.trip - two a 2" + System.getProperty("line.separator")));
+    }
+
+    @Test
+    public void testSessions() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        write(out, new BinaryEventEncoder(new BinaryEventEncoder.Dictionary()), "first {}");
+        // another process appending to the same file reuses the ids
+        write(out, new BinaryEventEncoder(new BinaryEventEncoder.Dictionary()), "second {}");
+
+        String decoded = decode(new BinaryLogDecoder(), out.toByteArray());
+        Assert.assertTrue(decoded, decoded.contains("session - first 7"));
+        Assert.assertTrue(decoded, decoded.contains("session - second 7"));
+    }
+
+    /**
+     * every rolled file repeats the header and the definitions, it decodes on
+     * its own after the first file is pruned
+     */
+    @Test
+    public void testRollover() throws Exception {
+        File dir = File.createTempFile("mlog-binary", "");
+        Assert.assertTrue(dir.delete() && dir.mkdir());
+        BinaryEventEncoder.Dictionary dictionary = new BinaryEventEncoder.Dictionary();
+        BinaryEventEncoder encoder = new BinaryEventEncoder(dictionary);
+        RollingFileSink sink = new RollingFileSink(new File(dir, "binary.log"), 1,
+                RollingFileSink.PERIOD_NONE, 1, BinaryEventEncoder.preamble(dictionary));
+        for (int i = 0; i < 6; i++) {
+            LogEvent event = LogEvent.acquire();
+            try {
+                event.set(null, ConsoleLog.INFO_LOG_LEVEL, System.currentTimeMillis(),
+                        "rolled event {}", null);
+                event.setArgument((long) i);
+                sink.write(encoder.encode(event, "binary.rolling"), event.level);
+                encoder.written();
+            } finally {
+                event.release();
+            }
+            // one rollover at a time, wait for it
+            Thread.sleep(50);
+        }
+        sink.close();
+
+        File archive = new File(dir, "binary.log.1.gz");
+        Assert.assertFalse(new File(dir, "binary.log.2.gz").exists());
+        String decoded = decode(new BinaryLogDecoder(), read(new GZIPInputStream(
+                new FileInputStream(archive))));
+        // every event rolled the file, the one defining the ids is gone
+        Assert.assertTrue(decoded, decoded.matches(TIMESTAMP
+                + " \\[INFO\\] binary.rolling - rolled event 5\\s*"));
+        for (File file : dir.listFiles()) {
+            file.delete();
+        }
+        dir.delete();
+    }
+
+    @Test
+    public void testMissingDefinition() throws IOException {
+        BinaryEventEncoder encoder = new BinaryEventEncoder(new BinaryEventEncoder.Dictionary());
+        write(new ByteArrayOutputStream(), encoder, "defined {}");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        write(out, encoder, "defined {}");
+        // a trailing zero is the unwritten end of a mapped file
+        out.write(0);
+        out.write(1);
+
+        String decoded = decode(new BinaryLogDecoder(), out.toByteArray());
+        Assert.assertTrue(decoded, decoded.matches(TIMESTAMP + " \\[INFO\\] #\\d+ - #\\d+ 7\\s*"));
+    }
+
+    @Test
+    public void testSize() {
+        PrintStream err = System.err;
+        ByteArrayOutputStream text = new ByteArrayOutputStream();
+        ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        try {
+            System.setErr(new PrintStream(text));
+            Log textLog = new ConsoleLog("com.wikimore.service.RequestHandler");
+            System.setProperty(ConsoleLog.FORMAT_KEY, ConsoleLog.BINARY_FORMAT);
+            System.setErr(new PrintStream(binary));
+            Log binaryLog = new ConsoleLog("com.wikimore.service.RequestHandler");
+            for (int i = 0; i < 1000; i++) {
+                textLog.info("request {} served in {} ms", i, i % 50);
+                binaryLog.info("request {} served in {} ms", i, i % 50);
+            }
+        } finally {
+            System.clearProperty(ConsoleLog.FORMAT_KEY);
+            System.setErr(err);
+        }
+        Assert.assertTrue(binary.size() + " " + text.size(), binary.size() * 4 < text.size());
+    }
+
+    private static byte[] read(InputStream in) throws IOException {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+
+    private static void write(ByteArrayOutputStream out, BinaryEventEncoder encoder,
+            String message) {
+        LogEvent event = LogEvent.acquire();
+        try {
+            event.set(null, ConsoleLog.INFO_LOG_LEVEL, System.currentTimeMillis(), message, null);
+            event.setArguments(7);
+            ByteBuffer bytes = encoder.encode(event, "session");
+            while (bytes.hasRemaining()) {
+                out.write(bytes.get());
+            }
+            encoder.written();
+        } finally {
+            event.release();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * 文件名称: BurstSuppressingLogTest.java Copyright 2011-2013 Nali All right reserved.
+ */
+package com.wikimore.mlog.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.util.concurrent.CountDownLatch;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.log4j.Logger;
+import org.apache.log4j.PatternLayout;
+import org.apache.log4j.WriterAppender;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.wikimore.mlog.Log;
+
+/**
+ * BurstSuppressingLog test
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+public class BurstSuppressingLogTest {
+    private static final long HOUR = 3600 * 1000L;
+    private static final Pattern REPEATED = Pattern.compile("last message repeated (\\d+) times");
+
+    private ByteArrayOutputStream out;
+    private PrintStream err;
+
+    private Log capture(String name, long windowMillis) {
+        err = System.err;
+        out = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(out));
+        return new BurstSuppressingLog(new ConsoleLog(name), windowMillis);
+    }
+
+    private String[] lines() {
+        System.setErr(err);
+        return out.toString().split("\r?\n");
+    }
+
+    @Test
+    public void testSuppress() {
+        Log log = capture("burst", HOUR);
+        for (int i = 0; i < 100; i++) {
+            log.info("same {}", 1);
+        }
+        log.info("same {}", 2);
+        log.info("same {}", 2);
+        log.warn("same {}", 2);
+        // throwables of the same class are repeats, the stack trace is left out
+        log.warn("same {}", new IllegalStateException(), 2);
+        log.warn("same {}", new IllegalStateException(), 2);
+        log.warn("same {}", new IllegalArgumentException(), 2);
+        String[] lines = lines();
+        Assert.assertTrue(lines[0], lines[0].endsWith("[INFO] burst - same 1"));
+        Assert.assertTrue(lines[1], lines[1].endsWith("[INFO] burst - "
+                + "last message repeated 99 times"));
+        Assert.assertTrue(lines[2], lines[2].endsWith("[INFO] burst - same 2"));
+        Assert.assertTrue(lines[3], lines[3].endsWith("[INFO] burst - "
+                + "last message repeated 1 times"));
+        Assert.assertTrue(lines[4], lines[4].endsWith("[WARN] burst - same 2"));
+        Assert.assertTrue(lines[5], lines[5].endsWith("[WARN] burst - same 2\t"
+                + IllegalStateException.class.getName()));
+        int next = 6;
+        while (lines[next].length() == 0 || lines[next].startsWith("\t")) {
+            next++;
+        }
+        Assert.assertTrue(lines[next], lines[next].endsWith("last message repeated 1 times"));
+        Assert.assertTrue(lines[next + 1], lines[next + 1].endsWith("same 2\t"
+                + IllegalArgumentException.class.getName()));
+    }
+
+    @Test
+    public void testCollidingHashes() {
+        Log log = capture("burst.collide", HOUR);
+        // "Aa" and "BB" have the same hash code, the lines still differ
+        Assert.assertEquals("Aa".hashCode(), "BB".hashCode());
+        log.info("collide {}", "Aa");
+        log.info("collide {}", "BB");
+        log.info("collide {}", new Object[] { "Aa", "BB" });
+        log.info("collide {}", new Object[] { "BB", "Aa" });
+        String[] lines = lines();
+        Assert.assertEquals(4, lines.length);
+        Assert.assertTrue(lines[0], lines[0].endsWith("collide Aa"));
+        Assert.assertTrue(lines[1], lines[1].endsWith("collide BB"));
+    }
+
+    @Test
+    public void testWindow() {
+        BurstSuppressingLog log = (BurstSuppressingLog) capture("burst.window", 1000);
+        long now = System.nanoTime();
+        Assert.assertTrue(log.admit(ConsoleLog.INFO_LOG_LEVEL, "line", null, now));
+        Assert.assertFalse(log.admit(ConsoleLog.INFO_LOG_LEVEL, "line", null, now + 1));
+        Assert.assertFalse(log.admit(ConsoleLog.INFO_LOG_LEVEL, "line", null, now + 2));
+        // a line is logged again once per window, after the summary
+        long later = now + 1000000000L;
+        Assert.assertTrue(log.admit(ConsoleLog.INFO_LOG_LEVEL, "line", null, later));
+        Assert.assertFalse(log.admit(ConsoleLog.INFO_LOG_LEVEL, "line", null, later + 1));
+        // a burst which stopped is summarized by the flusher
+        BurstSuppressingLog.flush(later + 999999999L);
+        BurstSuppressingLog.flush(later + 1000000000L);
+        BurstSuppressingLog.flush(later + 2000000000L);
+        String[] lines = lines();
+        Assert.assertEquals(2, lines.length);
+        Assert.assertTrue(lines[0], lines[0].endsWith("last message repeated 2 times"));
+        Assert.assertTrue(lines[1], lines[1].endsWith("last message repeated 1 times"));
+    }
+
+    @Test
+    public void testConcurrentRepeats() throws InterruptedException {
+        final Log log = capture("burst.concurrent", HOUR);
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread() {
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int j = 0; j < 1000; j++) {
+                        log.info("concurrent {}", "line");
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        log.info("done");
+        // every line is either logged or counted in a summary
+        int total = 0;
+        for (String line : lines()) {
+            Matcher matcher = REPEATED.matcher(line);
+            if (matcher.find()) {
+                total += Integer.parseInt(matcher.group(1));
+            } else if (line.endsWith("concurrent line")) {
+                total++;
+            }
+        }
+        Assert.assertEquals(4000, total);
+    }
+
+    @Test
+    public void testWrap() {
+        ConsoleLog log = new ConsoleLog("burst.wrap");
+        Assert.assertSame(log, BurstSuppressingLog.wrap(log));
+        System.setProperty(BurstSuppressingLog.SUPPRESS_KEY, "true");
+        try {
+            Log wrapped = BurstSuppressingLog.wrap(log);
+            Assert.assertTrue(wrapped instanceof BurstSuppressingLog);
+            Assert.assertSame(wrapped, BurstSuppressingLog.wrap(wrapped));
+        } finally {
+            System.clearProperty(BurstSuppressingLog.SUPPRESS_KEY);
+        }
+    }
+
+    @Test
+    public void testCallerLocation() {
+        StringWriter out = new StringWriter();
+        Logger logger = Logger.getLogger("burst.location");
+        logger.setAdditivity(false);
+        logger.addAppender(new WriterAppender(new PatternLayout("%C.%M %m%n"), out));
+        // stacked the way DefaultLogFactory stacks the wrappers
+        Log log = new LatencyLog(new BurstSuppressingLog(new Log4jLog("burst.location"), HOUR),
+                "Log4jLog");
+        Log burst = new BurstSuppressingLog(new Log4jLog("burst.location"), HOUR);
+        try {
+            log.info("located");
+            burst.info("alone");
+        } finally {
+            logger.removeAllAppenders();
+        }
+        String caller = BurstSuppressingLogTest.class.getName() + ".testCallerLocation ";
+        Assert.assertEquals(caller + "located\n" + caller + "alone", out.toString().trim()
+                .replace("\r", ""));
+    }
+}
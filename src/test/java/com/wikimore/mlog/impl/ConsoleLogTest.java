@@ -3,6 +3,13 @@
  */
 package com.wikimore.mlog.impl;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
 import org.junit.Test;
 
 import com.wikimore.mlog.Log;
@@ -41,4 +48,179 @@ public class ConsoleLogTest {
         log.fatal("test fatal {}", t, "param1");
     }
 
+    @Test
+    public void testAsyncLog() throws Exception {
+        System.setProperty(ConsoleLog.ASYNC_KEY, "true");
+        try {
+            Log log = new ConsoleLog("console.async.log");
+            Throwable t = new Throwable("async throwable");
+            for (int i = 0; i < 100; i++) {
+                log.info("test async info {}", i);
+            }
+            log.error("test async error {}", t, "param1");
+        } finally {
+            System.clearProperty(ConsoleLog.ASYNC_KEY);
+        }
+        AsyncLogDispatcher.getInstance().shutdown();
+    }
+
+    /**
+     * a log call on the dispatcher thread must not wait for a slot, the
+     * dispatcher would wait for itself once the buffer is full
+     */
+    @Test
+    public void testAsyncLogOnDispatcherThread() {
+        final AsyncLogDispatcher dispatcher = new AsyncLogDispatcher(2);
+        final AtomicInteger synchronous = new AtomicInteger();
+        ConsoleLog log = new ConsoleLog("console.async.nested") {
+            void write(LogEvent event) {
+                for (int i = 0; i < 4; i++) {
+                    LogEvent nested = dispatcher.claim();
+                    if (nested.sequence < 0) {
+                        synchronous.incrementAndGet();
+                        nested.release();
+                    }
+                }
+            }
+        };
+        LogEvent event = dispatcher.claim();
+        event.set(log, ConsoleLog.INFO_LOG_LEVEL, 0L, "outer", null);
+        dispatcher.publish(event);
+        dispatcher.shutdown();
+        Assert.assertEquals(4, synchronous.get());
+    }
+
+    @Test
+    public void testZeroAllocation() {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        if (!threadMXBean.isThreadAllocatedMemorySupported()) {
+            return;
+        }
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+        PrintStream err = System.err;
+        System.setErr(new PrintStream(new OutputStream() {
+            public void write(int b) {
+            }
+
+            public void write(byte[] b, int off, int len) {
+            }
+        }));
+        try {
+            Log log = new ConsoleLog("console.alloc.log");
+            Object[] params = { "param1", Integer.valueOf(12345), Long.valueOf(1234567890L) };
+            for (int i = 0; i < 20000; i++) {
+                log.info("test info {}, {}, {}", params);
+                log.info("test info {}, {}", "param1", "param2");
+                log.info("test long {}", 1234567890123L);
+                log.info("test int {}", i);
+            }
+            long threadId = Thread.currentThread().getId();
+            long allocated = -1;
+            // the date text is formatted once per second, retry when the
+            // measurement crosses a second
+            for (int attempt = 0; attempt < 5 && allocated != 0; attempt++) {
+                long second = System.currentTimeMillis() / 1000;
+                long overhead = -threadMXBean.getThreadAllocatedBytes(threadId)
+                        + threadMXBean.getThreadAllocatedBytes(threadId);
+                long before = threadMXBean.getThreadAllocatedBytes(threadId);
+                for (int i = 0; i < 1000; i++) {
+                    log.info("test info {}, {}, {}", params);
+                    log.info("test info {}, {}", "param1", "param2");
+                    log.info("test long {}", 1234567890123L);
+                    log.info("test int {}", i);
+                }
+                long after = threadMXBean.getThreadAllocatedBytes(threadId);
+                if (System.currentTimeMillis() / 1000 == second) {
+                    allocated = (after - before - overhead) / 1000;
+                }
+            }
+            Assert.assertEquals("allocated bytes per log call", 0, allocated);
+        } finally {
+            System.setErr(err);
+        }
+    }
+
+    @Test
+    public void testOverloads() {
+        PrintStream err = System.err;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(out));
+        try {
+            Log log = new ConsoleLog("console.overload.log");
+            Throwable t = new Throwable("overload throwable");
+            log.info("one {}", "a");
+            log.info("two {} {}", "a", "b");
+            log.info("three {} {} {}", "a", "b", "c");
+            log.info("long {}", 12345678901L);
+            log.info("int {}", 42);
+            log.info("double {}", 0.5d);
+            log.info("boolean {}", true);
+            log.info("char {}", ';');
+            log.info("float {}", 1.1f);
+            log.info("short {}", (short) -7);
+            log.info("byte {}", (byte) 8);
+            log.error("cause {}", t, 1111);
+        } finally {
+            System.setErr(err);
+        }
+        String text = out.toString();
+        Assert.assertTrue(text.contains("console.overload.log - one a"));
+        Assert.assertTrue(text.contains("console.overload.log - two a b"));
+        Assert.assertTrue(text.contains("console.overload.log - three a b c"));
+        Assert.assertTrue(text.contains("console.overload.log - long 12345678901"));
+        Assert.assertTrue(text.contains("console.overload.log - int 42"));
+        Assert.assertTrue(text.contains("console.overload.log - double 0.5"));
+        Assert.assertTrue(text.contains("console.overload.log - boolean true"));
+        // char and float must not be widened to int and double
+        Assert.assertTrue(text.contains("console.overload.log - char ;"));
+        Assert.assertTrue(text.contains("console.overload.log - float 1.1\n")
+                || text.contains("console.overload.log - float 1.1\r"));
+        Assert.assertTrue(text.contains("console.overload.log - short -7"));
+        Assert.assertTrue(text.contains("console.overload.log - byte 8"));
+        Assert.assertTrue(text
+                .contains("console.overload.log - cause 1111\tjava.lang.Throwable: overload throwable"));
+    }
+
+    @Test
+    public void testLevels() {
+        PrintStream err = System.err;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(out));
+        try {
+            Log log = new ConsoleLog("console.level");
+            Log child = new ConsoleLog("console.level.child");
+            Log other = new ConsoleLog("console.levelx");
+            Assert.assertTrue(log.isTraceEnabled());
+
+            ConsoleLog.setLevel("console.level", "WARN");
+            Assert.assertFalse(log.isInfoEnabled());
+            Assert.assertTrue(log.isWarnEnabled());
+            log.info("hidden info");
+            log.warn("shown warn");
+            child.info("hidden child info");
+            child.error("shown child error {}", 1);
+            other.info("shown other info");
+
+            ConsoleLog.setLevel("console.level.child", "off");
+            child.fatal("hidden child fatal");
+
+            ConsoleLog.removeLevel("console.level");
+            ConsoleLog.removeLevel("console.level.child");
+            log.info("shown info");
+        } finally {
+            System.setErr(err);
+        }
+        String text = out.toString();
+        Assert.assertFalse(text.contains("hidden"));
+        Assert.assertTrue(text.contains("console.level - shown warn"));
+        Assert.assertTrue(text.contains("console.level.child - shown child error 1"));
+        Assert.assertTrue(text.contains("console.levelx - shown other info"));
+        Assert.assertTrue(text.contains("console.level - shown info"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownLevel() {
+        ConsoleLog.setLevel("console.level", "LOUD");
+    }
 }
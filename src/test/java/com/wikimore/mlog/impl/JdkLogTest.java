@@ -3,9 +3,21 @@
  */
 package com.wikimore.mlog.impl;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.junit.Assert;
 import org.junit.Test;
 
 import com.wikimore.mlog.Log;
+import com.wikimore.mlog.MessageSupplier;
 
 /**
  * JdkLog test
@@ -21,4 +33,142 @@ public class JdkLogTest {
         log.debug("test jdklog {}", new Throwable("test throwable"), 1111);
     }
 
+    @Test
+    public void testSupplier() {
+        final AtomicInteger calls = new AtomicInteger();
+        MessageSupplier supplier = new MessageSupplier() {
+            public Object get() {
+                calls.incrementAndGet();
+                return "expensive";
+            }
+        };
+        Log log = new JdkLog("testjdklog");
+        // java.util.logging default level is INFO
+        log.trace(supplier);
+        log.trace("test jdklog {}", supplier);
+        Assert.assertEquals(0, calls.get());
+        log.info(supplier);
+        log.info("test jdklog {}", supplier);
+        log.info("test jdklog {} {}", supplier, supplier);
+        Assert.assertEquals(4, calls.get());
+    }
+
+    /**
+     * primitive parameters print like String.valueOf, a char is not widened to
+     * its code and a float not to a double
+     */
+    @Test
+    public void testPrimitives() {
+        final List<String> messages = new ArrayList<String>();
+        Logger logger = Logger.getLogger("testjdklog.primitive");
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new Handler() {
+            public void publish(LogRecord record) {
+                messages.add(record.getMessage());
+            }
+
+            public void flush() {
+            }
+
+            public void close() {
+            }
+        });
+        Log log = new JdkLog("testjdklog.primitive");
+        log.info("char {}", 'x');
+        log.info("float {}", 1.1f);
+        log.info("short {}", (short) -7);
+        log.info("byte {}", (byte) 8);
+        log.info("two {} {}", "a", Character.valueOf(';'));
+        Assert.assertEquals(
+                Arrays.asList("char x", "float 1.1", "short -7", "byte 8", "two a ;"), messages);
+    }
+
+    /**
+     * a disabled warn, error or fatal call must neither take a rate token nor
+     * be counted
+     */
+    @Test
+    public void testDisabledNotPermitted() {
+        Properties properties = new Properties();
+        properties.setProperty(RateLimiter.RATE_KEY + ".testjdklog.disabled", "FATAL:1");
+        RateLimiter.load(properties);
+        final List<String> messages = new ArrayList<String>();
+        Logger logger = Logger.getLogger("testjdklog.disabled");
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new Handler() {
+            public void publish(LogRecord record) {
+                messages.add(record.getMessage());
+            }
+
+            public void flush() {
+            }
+
+            public void close() {
+            }
+        });
+        logger.setLevel(Level.OFF);
+        System.setProperty(LogMetrics.PER_LOGGER_KEY, "true");
+        LogMetrics metrics;
+        try {
+            Log log = new JdkLog("testjdklog.disabled");
+            metrics = LogMetrics.forLogger("JdkLog", "testjdklog.disabled");
+            Throwable t = new Throwable("disabled throwable");
+            for (int i = 0; i < 5; i++) {
+                log.warn("hidden warn");
+                log.warn("hidden warn", t);
+                log.error("hidden error");
+                log.error("hidden error", t);
+                log.fatal("hidden fatal");
+                log.fatal("hidden fatal", t);
+            }
+            logger.setLevel(Level.ALL);
+            log.fatal("shown fatal");
+        } finally {
+            System.clearProperty(LogMetrics.PER_LOGGER_KEY);
+        }
+        Assert.assertEquals(Arrays.asList("shown fatal"), messages);
+        Assert.assertEquals(1, metrics.getLines());
+        Assert.assertEquals(0, metrics.getThrowables());
+        Assert.assertEquals(0, metrics.getDroppedLines());
+    }
+
+    /**
+     * a disabled parameterized call must not format its arguments, the cost
+     * against an enabled call is measured by AdapterBenchmark in
+     * mlog-benchmarks
+     */
+    @Test
+    public void testDisabledDoesNotFormat() {
+        Logger logger = Logger.getLogger("testjdklog.cost");
+        logger.setLevel(Level.INFO);
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new Handler() {
+            public void publish(LogRecord record) {
+                record.getMessage();
+            }
+
+            public void flush() {
+            }
+
+            public void close() {
+            }
+        });
+        final int[] calls = new int[1];
+        Object argument = new Object() {
+            public String toString() {
+                calls[0]++;
+                return "argument";
+            }
+        };
+        Log log = new JdkLog("testjdklog.cost");
+        log.trace("test disabled {}, {}, {}", new Object[] { argument, argument, argument });
+        log.debug("test disabled {}", argument);
+        log.debug("test disabled {}, {}", argument, argument);
+        log.debug("test disabled {}, {}, {}", argument, argument, argument);
+        log.debug("test disabled {}", new IllegalStateException(), argument);
+        Assert.assertEquals(0, calls[0]);
+        log.info("test enabled {}", argument);
+        Assert.assertEquals(1, calls[0]);
+    }
+
 }
@@ -0,0 +1,147 @@
+/*
+ * 文件名称: LatencyHistogramTest.java Copyright 2011-2013 Nali All right reserved.
+ */
+package com.wikimore.mlog.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.util.Random;
+
+import org.apache.log4j.Logger;
+import org.apache.log4j.PatternLayout;
+import org.apache.log4j.WriterAppender;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.wikimore.mlog.Log;
+
+/**
+ * LatencyHistogram and LatencyLog test
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBuckets() {
+        Random random = new Random(7);
+        for (int i = 0; i < 100000; i++) {
+            long value = i < 1000 ? i : random.nextLong() >>> (24 + random.nextInt(40));
+            int index = LatencyHistogram.index(value);
+            Assert.assertTrue(index >= 0 && index < LatencyHistogram.COUNTERS);
+            long highest = LatencyHistogram.highestValue(index);
+            Assert.assertTrue(value + " " + highest, value <= highest);
+            Assert.assertTrue(value + " " + highest, index == 0
+                    || LatencyHistogram.highestValue(index - 1) < value);
+            // within 1/16 of the value
+            Assert.assertTrue(value + " " + highest, highest - value <= value / 16);
+        }
+        Assert.assertEquals(31, LatencyHistogram.highestValue(31));
+        Assert.assertEquals(LatencyHistogram.COUNTERS - 1, LatencyHistogram.index((1L << 40) - 1));
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(0, histogram.getValueAtPercentile(99));
+        for (int i = 1; i <= 10000; i++) {
+            histogram.record(i * 1000L);
+        }
+        histogram.record(5L * 1000000000L * 3600);
+        Assert.assertEquals(10001, histogram.getCount());
+        Assert.assertEquals(5L * 1000000000L * 3600, histogram.getMax());
+        assertNear(5000000, histogram.getValueAtPercentile(50));
+        assertNear(9900000, histogram.getValueAtPercentile(99));
+        assertNear(9990000, histogram.getValueAtPercentile(99.9));
+        Assert.assertEquals(histogram.getMax(), histogram.getValueAtPercentile(100));
+
+        StringBuilder summary = new StringBuilder();
+        histogram.appendSummary(summary);
+        Assert.assertTrue(summary.toString(), summary.toString().matches(
+                "count=10001 p50=5\\.\\dms p99=\\d+\\.\\dms p99\\.9=\\d+\\.\\dms max=18000\\.0s"));
+    }
+
+    private static void assertNear(long expected, long actual) {
+        Assert.assertTrue(expected + " " + actual, actual >= expected
+                && actual - expected <= expected / 16);
+    }
+
+    @Test
+    public void testAdd() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        for (int i = 0; i < 100; i++) {
+            first.record(100);
+            second.record(10000);
+        }
+        second.record(50000);
+        first.add(second);
+        Assert.assertEquals(201, first.getCount());
+        Assert.assertEquals(50000, first.getMax());
+        assertNear(100, first.getValueAtPercentile(49));
+        assertNear(10000, first.getValueAtPercentile(99));
+        Assert.assertEquals(101, second.getCount());
+    }
+
+    @Test
+    public void testDuration() {
+        Assert.assertEquals("999ns", duration(999));
+        Assert.assertEquals("1.0us", duration(1000));
+        Assert.assertEquals("12.3us", duration(12345));
+        Assert.assertEquals("2.0ms", duration(1999999));
+        Assert.assertEquals("1.5s", duration(1500000000L));
+    }
+
+    private static String duration(long nanos) {
+        StringBuilder builder = new StringBuilder();
+        LatencyHistogram.appendDuration(builder, nanos);
+        return builder.toString();
+    }
+
+    @Test
+    public void testLatencyLog() {
+        PrintStream err = System.err;
+        System.setErr(new PrintStream(new ByteArrayOutputStream()));
+        try {
+            Log log = new LatencyLog(new ConsoleLog("latency"), "LatencyTest");
+            for (int i = 0; i < 100; i++) {
+                log.info("line {}", i);
+            }
+            log.warn("warn");
+        } finally {
+            System.setErr(err);
+        }
+        LatencyHistogram info = LatencyLog.getHistogram("LatencyTest", "INFO");
+        Assert.assertEquals(100, info.getCount());
+        Assert.assertTrue(info.getMax() > 0);
+        Assert.assertEquals(1, LatencyLog.getHistogram("LatencyTest", "WARN").getCount());
+        Assert.assertEquals(0, LatencyLog.getHistogram("LatencyTest", "ERROR").getCount());
+        Assert.assertNull(LatencyLog.getHistogram("Unknown", "INFO"));
+
+        String report = LatencyLog.report();
+        Assert.assertTrue(report, report
+                .contains("[INFO] LatencyLog: LatencyTest INFO count=100 p50="));
+        Assert.assertTrue(report, report
+                .contains("[INFO] LatencyLog: LatencyTest WARN count=1 p50="));
+        Assert.assertFalse(report, report.contains("LatencyTest ERROR"));
+    }
+
+    @Test
+    public void testCallerLocation() {
+        StringWriter out = new StringWriter();
+        Logger logger = Logger.getLogger("latency.location");
+        logger.setAdditivity(false);
+        logger.addAppender(new WriterAppender(new PatternLayout("%C.%M %m%n"), out));
+        Log log = new LatencyLog(new Log4jLog("latency.location"), "Log4jLog");
+        try {
+            log.info("located");
+        } finally {
+            logger.removeAllAppenders();
+        }
+        Assert.assertEquals(LatencyHistogramTest.class.getName()
+                + ".testCallerLocation located", out.toString().trim());
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * 文件名称: LogMetricsTest.java Copyright 2011-2013 Nali All right reserved.
+ */
+package com.wikimore.mlog.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.wikimore.mlog.Log;
+import com.wikimore.mlog.LogFactory;
+
+/**
+ * LogMetrics test
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+public class LogMetricsTest {
+
+    @Test
+    public void testCounters() {
+        LogMetrics totals = new LogMetrics("Test", null, null, 4);
+        LogMetrics logger = new LogMetrics("Test", "metrics", totals, 4);
+        logger.line(ConsoleLog.INFO_LOG_LEVEL, null);
+        logger.line(ConsoleLog.INFO_LOG_LEVEL, null);
+        logger.line(ConsoleLog.ERROR_LOG_LEVEL, new Exception());
+        logger.dropped();
+        logger.written(100, 2000);
+        totals.line(ConsoleLog.TRACE_LOG_LEVEL, null);
+
+        Assert.assertEquals(2, logger.getInfoLines());
+        Assert.assertEquals(1, logger.getErrorLines());
+        Assert.assertEquals(0, logger.getTraceLines());
+        Assert.assertEquals(3, logger.getLines());
+        Assert.assertEquals(1, logger.getThrowables());
+        Assert.assertEquals(1, logger.getDroppedLines());
+        Assert.assertEquals(100, logger.getBytesWritten());
+        Assert.assertEquals(2000, logger.getWriteNanos());
+        // a logger adds to the adapter totals
+        Assert.assertEquals(4, totals.getLines());
+        Assert.assertEquals(1, totals.getTraceLines());
+        Assert.assertEquals(1, totals.getDroppedLines());
+        Assert.assertEquals(100, totals.getBytesWritten());
+    }
+
+    @Test
+    public void testConcurrentAdds() throws InterruptedException {
+        final LogMetrics metrics = new LogMetrics("Test", null, null, 2);
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread() {
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int j = 0; j < 100000; j++) {
+                        metrics.line(ConsoleLog.DEBUG_LOG_LEVEL, null);
+                        metrics.written(3, 1);
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals(800000, metrics.getDebugLines());
+        Assert.assertEquals(2400000, metrics.getBytesWritten());
+        Assert.assertEquals(800000, metrics.getWriteNanos());
+    }
+
+    @Test
+    public void testConsoleLog() {
+        Properties properties = new Properties();
+        properties.setProperty(RateLimiter.RATE_KEY + ".metrics.console", "INFO:2");
+        RateLimiter.load(properties);
+        PrintStream err = System.err;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(out));
+        System.setProperty(LogMetrics.PER_LOGGER_KEY, "true");
+        LogMetrics metrics;
+        try {
+            Log log = new ConsoleLog("metrics.console");
+            metrics = LogMetrics.forLogger("ConsoleLog", "metrics.console");
+            for (int i = 0; i < 5; i++) {
+                log.info("line {}", i);
+            }
+            log.error("failed", new IllegalStateException());
+        } finally {
+            System.clearProperty(LogMetrics.PER_LOGGER_KEY);
+            System.setErr(err);
+        }
+        Assert.assertEquals("metrics.console", metrics.getLogger());
+        Assert.assertEquals(2, metrics.getInfoLines());
+        Assert.assertEquals(3, metrics.getDroppedLines());
+        Assert.assertEquals(1, metrics.getErrorLines());
+        Assert.assertEquals(1, metrics.getThrowables());
+        Assert.assertEquals(out.size(), metrics.getBytesWritten());
+        Assert.assertTrue(metrics.getWriteNanos() > 0);
+    }
+
+    @Test
+    public void testRegistered() throws Exception {
+        System.setProperty(LogMetrics.PER_LOGGER_KEY, "true");
+        try {
+            LogFactory.getLog("metrics.jmx");
+        } finally {
+            System.clearProperty(LogMetrics.PER_LOGGER_KEY);
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        Set<ObjectName> names = server.queryNames(new ObjectName(
+                "com.wikimore.mlog:type=LogMetrics,name=\"metrics.jmx\",*"), null);
+        Assert.assertEquals(1, names.size());
+        ObjectName name = names.iterator().next();
+        Assert.assertEquals("metrics.jmx", server.getAttribute(name, "Logger"));
+        Assert.assertEquals(Long.valueOf(0), server.getAttribute(name, "Lines"));
+        // the adapter totals are registered too
+        Assert.assertTrue(server.isRegistered(new ObjectName(
+                "com.wikimore.mlog:type=LogMetrics,adapter=" + name.getKeyProperty("adapter"))));
+    }
+}
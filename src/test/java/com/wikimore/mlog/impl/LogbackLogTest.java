@@ -0,0 +1,101 @@
+/*
+ * 文件名称: LogbackLogTest.java Copyright 2011-2013 Nali All right reserved.
+ */
+package com.wikimore.mlog.impl;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.helpers.NOPLoggerFactory;
+import org.slf4j.spi.LocationAwareLogger;
+
+import ch.qos.logback.classic.LoggerContext;
+
+import com.wikimore.mlog.Log;
+import com.wikimore.mlog.LogInitException;
+import com.wikimore.mlog.MessageSupplier;
+
+/**
+ * LogbackLog test, a recording LocationAwareLogger checks what is passed to
+ * SLF4J
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+public class LogbackLogTest {
+
+    @Test
+    public void test() {
+        // another SLF4J binding on the test classpath may win
+        Assume.assumeTrue(LoggerFactory.getILoggerFactory() instanceof LoggerContext);
+        Log log = new LogbackLog("testlogbacklog");
+        log.info("test logbacklog {}", 1111);
+        log.error("test logbacklog {}", new Throwable("test throwable"), 1111);
+    }
+
+    /**
+     * with slf4j-api alone the NOP logger must not be picked up, discovery has
+     * to fall back to the next adapter
+     */
+    @Test(expected = LogInitException.class)
+    public void testNotBoundToLogback() {
+        LogbackLog.checkBinding(new NOPLoggerFactory());
+    }
+
+    @Test
+    public void testPassThrough() {
+        final List<Object[]> calls = new ArrayList<Object[]>();
+        LocationAwareLogger logger = (LocationAwareLogger) Proxy.newProxyInstance(
+                LocationAwareLogger.class.getClassLoader(),
+                new Class<?>[] { LocationAwareLogger.class }, new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        if (method.getName().equals("log")) {
+                            calls.add(args);
+                            return null;
+                        }
+                        if (method.getName().equals("isTraceEnabled")) {
+                            return Boolean.FALSE;
+                        }
+                        if (method.getReturnType() == boolean.class) {
+                            return Boolean.TRUE;
+                        }
+                        return null;
+                    }
+                });
+        Log log = new LogbackLog(logger);
+        Throwable t = new Throwable("test throwable");
+        log.trace("hidden {}", 1);
+        log.info("pattern {} {}", "a", 2);
+        log.warn("long {}", 12345678901L);
+        log.fatal("cause {}", t, "b");
+        log.debug("supplied {}", new MessageSupplier() {
+            public Object get() {
+                return "value";
+            }
+        });
+        Assert.assertEquals(4, calls.size());
+
+        Object[] info = calls.get(0);
+        Assert.assertEquals(LogbackLog.class.getName(), info[1]);
+        Assert.assertEquals(LocationAwareLogger.INFO_INT, info[2]);
+        Assert.assertEquals("pattern {} {}", info[3]);
+        Assert.assertArrayEquals(new Object[] { "a", 2 }, (Object[]) info[4]);
+        Assert.assertNull(info[5]);
+
+        Assert.assertArrayEquals(new Object[] { 12345678901L }, (Object[]) calls.get(1)[4]);
+
+        Object[] fatal = calls.get(2);
+        Assert.assertEquals(LocationAwareLogger.ERROR_INT, fatal[2]);
+        Assert.assertArrayEquals(new Object[] { "b" }, (Object[]) fatal[4]);
+        Assert.assertSame(t, fatal[5]);
+
+        Assert.assertArrayEquals(new Object[] { "value" }, (Object[]) calls.get(3)[4]);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * 文件名称: MappedFileSinkTest.java Copyright 2011-2013 Nali All right reserved.
+ */
+package com.wikimore.mlog.impl;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * MappedFileSink test, small chunks force lines across chunk ends
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+public class MappedFileSinkTest {
+
+    @Test
+    public void testConcurrentWrite() throws Exception {
+        File file = File.createTempFile("mlog-mapped", ".log");
+        file.deleteOnExit();
+        final MappedFileSink sink = new MappedFileSink(file, 4096);
+        final int threads = 4;
+        final int lines = 5000;
+        Thread[] writers = new Thread[threads];
+        final Throwable[] failure = new Throwable[1];
+        for (int i = 0; i < threads; i++) {
+            final int id = i;
+            writers[i] = new Thread() {
+                public void run() {
+                    try {
+                        for (int j = 0; j < lines; j++) {
+                            sink.write(ByteBuffer.wrap(("writer " + id + " line " + j + "\n")
+                                    .getBytes("UTF-8")), ConsoleLog.INFO_LOG_LEVEL);
+                        }
+                    } catch (Throwable t) {
+                        failure[0] = t;
+                    }
+                }
+            };
+            writers[i].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        Assert.assertNull(failure[0]);
+        sink.close();
+
+        String text = read(file);
+        String[] written = text.split("\n");
+        Assert.assertEquals(threads * lines, written.length);
+        Set<String> unique = new HashSet<String>();
+        for (String line : written) {
+            Assert.assertTrue(line, line.matches("writer \\d line \\d+"));
+            unique.add(line);
+        }
+        Assert.assertEquals(threads * lines, unique.size());
+        Assert.assertTrue(text.endsWith("\n"));
+    }
+
+    /**
+     * closing while writers are copying must keep every reserved line whole,
+     * including lines crossing into a chunk mapped during the close
+     */
+    @Test
+    public void testCloseWhileWriting() throws Exception {
+        File file = File.createTempFile("mlog-mapped", ".log");
+        file.deleteOnExit();
+        final MappedFileSink sink = new MappedFileSink(file, 1024);
+        final AtomicLong written = new AtomicLong();
+        final CountDownLatch started = new CountDownLatch(4);
+        final Throwable[] failure = new Throwable[1];
+        Thread[] writers = new Thread[4];
+        for (int i = 0; i < writers.length; i++) {
+            final int id = i;
+            writers[i] = new Thread() {
+                public void run() {
+                    started.countDown();
+                    try {
+                        for (int j = 0;; j++) {
+                            byte[] line = ("writer " + id + " line " + j + "\n").getBytes("UTF-8");
+                            sink.write(ByteBuffer.wrap(line), ConsoleLog.INFO_LOG_LEVEL);
+                            written.addAndGet(line.length);
+                        }
+                    } catch (IOException e) {
+                        // closed
+                    } catch (Throwable t) {
+                        failure[0] = t;
+                    }
+                }
+            };
+            writers[i].start();
+        }
+        started.await();
+        Thread.sleep(50);
+        sink.close();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        Assert.assertNull(failure[0]);
+        Assert.assertEquals(written.get(), file.length());
+        for (String line : read(file).split("\n")) {
+            Assert.assertTrue(line, line.matches("writer \\d line \\d+"));
+        }
+    }
+
+    @Test
+    public void testAppendAfterCrash() throws Exception {
+        File file = File.createTempFile("mlog-mapped", ".log");
+        file.deleteOnExit();
+        // a crashed run leaves the mapped tail of zeros behind
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        raf.write("first\n".getBytes("UTF-8"));
+        raf.setLength(10000);
+        raf.close();
+
+        // a line longer than a chunk
+        StringBuilder longLine = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            longLine.append('x');
+        }
+        longLine.append('\n');
+        MappedFileSink sink = new MappedFileSink(file, 1024);
+        sink.write(ByteBuffer.wrap(longLine.toString().getBytes("UTF-8")),
+                ConsoleLog.INFO_LOG_LEVEL);
+        sink.close();
+        Assert.assertEquals(3007, file.length());
+
+        sink = new MappedFileSink(file, 1024);
+        sink.write(ByteBuffer.wrap("second\n".getBytes("UTF-8")), ConsoleLog.INFO_LOG_LEVEL);
+        sink.close();
+        Assert.assertEquals("first\n" + longLine + "second\n", read(file));
+        try {
+            sink.write(ByteBuffer.wrap("closed\n".getBytes("UTF-8")), ConsoleLog.INFO_LOG_LEVEL);
+            Assert.fail("write after close");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    private static String read(File file) throws IOException {
+        FileInputStream in = new FileInputStream(file);
+        try {
+            byte[] bytes = new byte[(int) file.length()];
+            int n = 0;
+            while (n < bytes.length) {
+                n += in.read(bytes, n, bytes.length - n);
+            }
+            return new String(bytes, "UTF-8");
+        } finally {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * 文件名称: RateLimiterTest.java Copyright 2011-2013 Nali All right reserved.
+ */
+package com.wikimore.mlog.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.wikimore.mlog.Log;
+
+/**
+ * RateLimiter test
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+public class RateLimiterTest {
+
+    @Test
+    public void testRate() {
+        RateLimiter limiter = new RateLimiter("rate", ConsoleLog.INFO_LOG_LEVEL, 100, 0, 0);
+        long now = System.nanoTime();
+        int permitted = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (limiter.permit(ConsoleLog.DEBUG_LOG_LEVEL, now)) {
+                permitted++;
+            }
+        }
+        // one second of lines at once
+        Assert.assertEquals(100, permitted);
+        Assert.assertEquals(900, limiter.drainDropped());
+        Assert.assertEquals(0, limiter.drainDropped());
+        // levels above the policy are not limited
+        Assert.assertTrue(limiter.permit(ConsoleLog.WARN_LOG_LEVEL, now));
+        // refilled by one line per 10ms
+        Assert.assertFalse(limiter.permit(ConsoleLog.INFO_LOG_LEVEL, now + 5000000L));
+        Assert.assertTrue(limiter.permit(ConsoleLog.INFO_LOG_LEVEL, now + 10000000L));
+        Assert.assertFalse(limiter.permit(ConsoleLog.INFO_LOG_LEVEL, now + 10000000L));
+        // an idle limiter does not collect more than one second of lines
+        long later = now + 60 * 1000000000L;
+        permitted = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (limiter.permit(ConsoleLog.INFO_LOG_LEVEL, later)) {
+                permitted++;
+            }
+        }
+        Assert.assertEquals(100, permitted);
+    }
+
+    @Test
+    public void testConcurrentRate() throws InterruptedException {
+        final RateLimiter limiter = new RateLimiter("rate", ConsoleLog.INFO_LOG_LEVEL, 1000, 0, 0);
+        final long now = System.nanoTime();
+        final AtomicInteger permitted = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread() {
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < 10000; i++) {
+                        if (limiter.permit(ConsoleLog.INFO_LOG_LEVEL, now)) {
+                            permitted.incrementAndGet();
+                        }
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        start.countDown();
+        for (int t = 0; t < threads.length; t++) {
+            threads[t].join();
+        }
+        Assert.assertEquals(1000, permitted.get());
+        Assert.assertEquals(39000, limiter.drainDropped());
+    }
+
+    @Test
+    public void testSample() {
+        RateLimiter limiter = new RateLimiter("sample", 0, 0, ConsoleLog.TRACE_LOG_LEVEL, 10);
+        int permitted = 0;
+        for (int i = 0; i < 100; i++) {
+            if (limiter.permit(ConsoleLog.TRACE_LOG_LEVEL)) {
+                permitted++;
+            }
+            Assert.assertTrue(limiter.permit(ConsoleLog.DEBUG_LOG_LEVEL));
+        }
+        Assert.assertEquals(10, permitted);
+        Assert.assertEquals(90, limiter.drainDropped());
+    }
+
+    @Test
+    public void testConsoleLog() {
+        Properties properties = new Properties();
+        properties.setProperty(RateLimiter.RATE_KEY + ".rate.console", "INFO:5");
+        properties.setProperty(RateLimiter.SAMPLE_KEY + ".rate.sampled", "trace:2");
+        properties.setProperty(RateLimiter.RATE_KEY + ".rate.invalid", "LOUD:5");
+        RateLimiter.load(properties);
+        Assert.assertNull(RateLimiter.forName("rate.consolex"));
+        Assert.assertNull(RateLimiter.forName("rate.invalid"));
+        Assert.assertSame(RateLimiter.forName("rate.console.child"), RateLimiter
+                .forName("rate.console.child"));
+
+        PrintStream err = System.err;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(out));
+        try {
+            Log log = new ConsoleLog("rate.console");
+            Log sampled = new ConsoleLog("rate.sampled");
+            for (int i = 0; i < 50; i++) {
+                log.info("limited {}", i);
+                log.warn("not limited {}", i);
+                sampled.trace("sampled {}", i);
+            }
+            RateLimiter.report();
+        } finally {
+            System.setErr(err);
+        }
+        String text = out.toString();
+        Assert.assertTrue(text.contains("- limited 4"));
+        Assert.assertFalse(text.contains("- limited 5"));
+        Assert.assertTrue(text.contains("not limited 49"));
+        Assert.assertTrue(text.contains("sampled 48"));
+        Assert.assertFalse(text.contains("sampled 49"));
+        Assert.assertTrue(text.contains("[WARN] RateLimiter: dropped 45 lines of rate.console"));
+        Assert.assertTrue(text
+                .contains("[WARN] RateLimiter: dropped 25 lines of rate.sampled"));
+    }
+
+    @Test
+    public void testChange() {
+        PrintStream err = System.err;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(out));
+        try {
+            Log log = new ConsoleLog("rate.changed");
+            log.info("before {}", 0);
+            log.info("before {}", 1);
+            // reaches the Log created before the change
+            DefaultLogFactory.setRateLimit("rate.changed", "INFO:1");
+            log.info("limited {}", 0);
+            log.info("limited {}", 1);
+            DefaultLogFactory.setRateLimit("rate.changed", null);
+            log.info("after {}", 0);
+            log.info("after {}", 1);
+        } finally {
+            System.setErr(err);
+        }
+        String text = out.toString();
+        Assert.assertTrue(text.contains("- before 1"));
+        Assert.assertTrue(text.contains("- limited 0"));
+        Assert.assertFalse(text.contains("- limited 1"));
+        Assert.assertTrue(text.contains("- after 1"));
+        try {
+            DefaultLogFactory.setSampling("rate.changed", "TRACE");
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // expects LEVEL:number
+        }
+    }
+}
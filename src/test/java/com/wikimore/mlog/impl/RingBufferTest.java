@@ -0,0 +1,93 @@
+/*
+ * 文件名称: RingBufferTest.java Copyright 2011-2013 Nali All right reserved.
+ */
+package com.wikimore.mlog.impl;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * RingBuffer test
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+public class RingBufferTest {
+
+    @Test
+    public void testCapacity() {
+        Assert.assertEquals(2, new RingBuffer(0).capacity());
+        Assert.assertEquals(8, new RingBuffer(8).capacity());
+        Assert.assertEquals(16, new RingBuffer(9).capacity());
+    }
+
+    @Test
+    public void testMultiProducer() throws Exception {
+        final RingBuffer ringBuffer = new RingBuffer(16);
+        final int producers = 4;
+        final int perProducer = 20000;
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            final int level = p;
+            threads[p] = new Thread() {
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < perProducer; i++) {
+                        long sequence = ringBuffer.claim();
+                        ringBuffer.get(sequence).set(null, level, i, null, null);
+                        ringBuffer.publish(sequence);
+                    }
+                }
+            };
+            threads[p].start();
+        }
+        start.countDown();
+        long[] next = new long[producers];
+        int consumed = 0;
+        while (consumed < producers * perProducer) {
+            LogEvent event = ringBuffer.peek();
+            if (event == null) {
+                Thread.yield();
+                continue;
+            }
+            // events of one producer keep their publishing order
+            Assert.assertEquals(next[event.level], event.timestamp);
+            next[event.level]++;
+            event.clear();
+            ringBuffer.release();
+            consumed++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertNull(ringBuffer.peek());
+    }
+
+    @Test
+    public void testClose() {
+        RingBuffer ringBuffer = new RingBuffer(4);
+        long first = ringBuffer.claim();
+        long second = ringBuffer.claim();
+        ringBuffer.publish(first);
+        Assert.assertEquals(2, ringBuffer.close());
+        Assert.assertEquals(2, ringBuffer.close());
+        Assert.assertEquals(-1, ringBuffer.claim());
+
+        Assert.assertNotNull(ringBuffer.peek());
+        ringBuffer.release();
+        // claimed before the close but not published yet
+        Assert.assertNull(ringBuffer.peek());
+        Assert.assertFalse(ringBuffer.isDrained());
+        ringBuffer.publish(second);
+        Assert.assertNotNull(ringBuffer.peek());
+        ringBuffer.release();
+        Assert.assertTrue(ringBuffer.isDrained());
+    }
+}
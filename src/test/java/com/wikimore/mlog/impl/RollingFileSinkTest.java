@@ -0,0 +1,165 @@
+/*
+ * 文件名称: RollingFileSinkTest.java Copyright 2011-2013 Nali All right reserved.
+ */
+package com.wikimore.mlog.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * RollingFileSink test
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+public class RollingFileSinkTest {
+
+    @Test
+    public void testRollover() throws Exception {
+        File dir = createDirectory();
+        File file = new File(dir, "roll.log");
+        final RollingFileSink sink = new RollingFileSink(file, 2000,
+                RollingFileSink.PERIOD_NONE, 1000);
+        final int threads = 3;
+        final int lines = 2000;
+        Thread[] writers = new Thread[threads];
+        final Throwable[] failure = new Throwable[1];
+        for (int i = 0; i < threads; i++) {
+            final int id = i;
+            writers[i] = new Thread() {
+                public void run() {
+                    try {
+                        for (int j = 0; j < lines; j++) {
+                            sink.write(ByteBuffer.wrap(("writer " + id + " line " + j + "\n")
+                                    .getBytes("UTF-8")), ConsoleLog.INFO_LOG_LEVEL);
+                        }
+                    } catch (Throwable t) {
+                        failure[0] = t;
+                    }
+                }
+            };
+            writers[i].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        sink.close();
+        Assert.assertNull(failure[0]);
+
+        // every line is in exactly one of the active file and the archives
+        Set<String> unique = new HashSet<String>();
+        int count = 0;
+        File[] files = dir.listFiles();
+        int archives = 0;
+        for (File f : files) {
+            String text;
+            if (f.getName().endsWith(".gz")) {
+                archives++;
+                text = read(new GZIPInputStream(new FileInputStream(f)));
+            } else {
+                Assert.assertEquals("roll.log", f.getName());
+                text = read(new FileInputStream(f));
+            }
+            if (text.length() == 0) {
+                continue;
+            }
+            for (String line : text.split("\n")) {
+                Assert.assertTrue(line, line.matches("writer \\d line \\d+"));
+                unique.add(line);
+                count++;
+            }
+        }
+        Assert.assertTrue("archives " + archives, archives > 0);
+        Assert.assertEquals(threads * lines, count);
+        Assert.assertEquals(threads * lines, unique.size());
+        delete(dir);
+    }
+
+    @Test
+    public void testMaxArchives() throws Exception {
+        File dir = createDirectory();
+        File file = new File(dir, "keep.log");
+        RollingFileSink sink = new RollingFileSink(file, 10, RollingFileSink.PERIOD_NONE, 2);
+        for (int i = 0; i < 10; i++) {
+            sink.write(ByteBuffer.wrap(("line " + i + " of the log\n").getBytes("UTF-8")),
+                    ConsoleLog.INFO_LOG_LEVEL);
+            // one rollover at a time, wait for it
+            Thread.sleep(50);
+        }
+        sink.close();
+        Assert.assertTrue(new File(dir, "keep.log.1.gz").exists());
+        Assert.assertTrue(new File(dir, "keep.log.2.gz").exists());
+        Assert.assertFalse(new File(dir, "keep.log.3.gz").exists());
+        Assert.assertFalse(new File(dir, "keep.log.1").exists());
+        Assert.assertEquals("line 9 of the log\n",
+                read(new GZIPInputStream(new FileInputStream(new File(dir, "keep.log.1.gz")))));
+        Assert.assertEquals("line 8 of the log\n",
+                read(new GZIPInputStream(new FileInputStream(new File(dir, "keep.log.2.gz")))));
+        delete(dir);
+    }
+
+    @Test
+    public void testFailedCompression() throws Exception {
+        File dir = createDirectory();
+        File file = new File(dir, "fail.log");
+        // a directory in the way of the compressed file
+        File blocker = new File(dir, "fail.log.1.gz.tmp");
+        Assert.assertTrue(blocker.mkdir() && new File(blocker, "in.the.way").createNewFile());
+        RollingFileSink sink = new RollingFileSink(file, 10, RollingFileSink.PERIOD_NONE, 5);
+        sink.write(ByteBuffer.wrap("line 0 of the log\n".getBytes("UTF-8")),
+                ConsoleLog.INFO_LOG_LEVEL);
+        Thread.sleep(100);
+        // the rolled lines are kept, no partial archive is left
+        Assert.assertEquals("line 0 of the log\n", read(new FileInputStream(new File(dir,
+                "fail.log.1"))));
+        Assert.assertFalse(new File(dir, "fail.log.1.gz").exists());
+        delete(blocker);
+        sink.write(ByteBuffer.wrap("line 1 of the log\n".getBytes("UTF-8")),
+                ConsoleLog.INFO_LOG_LEVEL);
+        Thread.sleep(100);
+        sink.close();
+        Assert.assertFalse(new File(dir, "fail.log.1").exists());
+        Assert.assertEquals("line 1 of the log\n",
+                read(new GZIPInputStream(new FileInputStream(new File(dir, "fail.log.1.gz")))));
+        Assert.assertEquals("line 0 of the log\n",
+                read(new GZIPInputStream(new FileInputStream(new File(dir, "fail.log.2.gz")))));
+        delete(dir);
+    }
+
+    private static File createDirectory() throws IOException {
+        File dir = File.createTempFile("mlog-rolling", "");
+        Assert.assertTrue(dir.delete() && dir.mkdir());
+        return dir;
+    }
+
+    private static void delete(File dir) {
+        for (File f : dir.listFiles()) {
+            f.delete();
+        }
+        dir.delete();
+    }
+
+    private static String read(InputStream in) throws IOException {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                out.write(buffer, 0, n);
+            }
+            return out.toString("UTF-8");
+        } finally {
+            in.close();
+        }
+    }
+}
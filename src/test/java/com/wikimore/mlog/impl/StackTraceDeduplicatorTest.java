@@ -0,0 +1,97 @@
+/*
+ * 文件名称: StackTraceDeduplicatorTest.java Copyright 2011-2013 Nali All right reserved.
+ */
+package com.wikimore.mlog.impl;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * StackTraceDeduplicator test
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+public class StackTraceDeduplicatorTest {
+    private static final String LS = System.getProperty("line.separator");
+
+    private static Throwable create(String message) {
+        return new IllegalStateException(message, new RuntimeException("cause"));
+    }
+
+    /**
+     * throwables thrown at the same place, with different messages
+     */
+    private static Throwable[] createAll(int count) {
+        Throwable[] throwables = new Throwable[count];
+        for (int i = 0; i < count; i++) {
+            throwables[i] = create("call " + i);
+        }
+        return throwables;
+    }
+
+    private static Throwable createElsewhere(String message) {
+        return new IllegalStateException(message, new RuntimeException("cause"));
+    }
+
+    @Test
+    public void testFingerprint() {
+        Throwable[] throwables = createAll(2);
+        long first = StackTraceDeduplicator.fingerprint(throwables[0]);
+        // the message is not part of the fingerprint
+        Assert.assertEquals(first, StackTraceDeduplicator.fingerprint(throwables[1]));
+        Assert.assertFalse(first == StackTraceDeduplicator.fingerprint(createElsewhere("a")));
+        Assert.assertFalse(first == StackTraceDeduplicator.fingerprint(new IllegalStateException(
+                "a", new IllegalArgumentException("cause"))));
+
+        StringBuilder builder = new StringBuilder();
+        StackTraceDeduplicator.appendReference(builder, 0x123456789abcdefL);
+        Assert.assertEquals("stack#89abcdef", builder.toString());
+    }
+
+    @Test
+    public void testWindow() {
+        StackTraceDeduplicator deduplicator = new StackTraceDeduplicator(16, 1000);
+        Assert.assertEquals(1, deduplicator.count(42, 0));
+        Assert.assertEquals(2, deduplicator.count(42, 10));
+        Assert.assertEquals(3, deduplicator.count(42, 999));
+        Assert.assertEquals(1, deduplicator.count(7, 999));
+        // printed in full again once the window has passed
+        Assert.assertEquals(1, deduplicator.count(42, 1000));
+        Assert.assertEquals(2, deduplicator.count(42, 1001));
+    }
+
+    @Test
+    public void testLru() {
+        StackTraceDeduplicator deduplicator = new StackTraceDeduplicator(2, 1000);
+        deduplicator.count(1, 0);
+        deduplicator.count(2, 0);
+        Assert.assertEquals(2, deduplicator.count(1, 0));
+        // 2 is the least recently seen and is evicted
+        deduplicator.count(3, 0);
+        Assert.assertEquals(3, deduplicator.count(1, 0));
+        Assert.assertEquals(1, deduplicator.count(2, 0));
+    }
+
+    @Test
+    public void testRender() {
+        ThrowableRenderer renderer = new ThrowableRenderer(0, new String[0],
+                new StackTraceDeduplicator(16, 60000));
+        StringBuilder reference = new StringBuilder();
+        Throwable[] throwables = createAll(3);
+        StackTraceDeduplicator.appendReference(reference, StackTraceDeduplicator
+                .fingerprint(throwables[0]));
+
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < throwables.length; i++) {
+            renderer.render(builder, throwables[i]);
+        }
+        String rendered = builder.toString();
+        Assert.assertTrue(rendered.startsWith("[" + reference + "] "
+                + "java.lang.IllegalStateException: call 0" + LS + "\tat "));
+        Assert.assertTrue(rendered.endsWith("[" + reference + " seen 2x] "
+                + "java.lang.IllegalStateException: call 1" + LS + "[" + reference + " seen 3x] "
+                + "java.lang.IllegalStateException: call 2" + LS));
+        Assert.assertEquals(1, rendered.split("Caused by").length - 1);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * 文件名称: ThrowableRendererTest.java Copyright 2011-2013 Nali All right reserved.
+ */
+package com.wikimore.mlog.impl;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.wikimore.mlog.LogInitException;
+
+/**
+ * ThrowableRenderer test
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+public class ThrowableRendererTest {
+    private static final String LS = System.getProperty("line.separator");
+
+    private static String printStackTrace(Throwable t) {
+        StringWriter writer = new StringWriter();
+        t.printStackTrace(new PrintWriter(writer));
+        return writer.toString();
+    }
+
+    private static String render(ThrowableRenderer renderer, Throwable t) {
+        StringBuilder builder = new StringBuilder();
+        renderer.render(builder, t);
+        return builder.toString();
+    }
+
+    private static Throwable nested() {
+        Throwable inner = new LogInitException("inner throwable");
+        Throwable outer = new RuntimeException("outer", inner);
+        outer.addSuppressed(new IllegalStateException("suppressed",
+                new IllegalArgumentException("suppressed cause")));
+        return outer;
+    }
+
+    @Test
+    public void testSameAsPrintStackTrace() {
+        ThrowableRenderer renderer = new ThrowableRenderer(0, new String[0], null);
+        Throwable t = nested();
+        Assert.assertEquals(printStackTrace(t), render(renderer, t));
+        // the second rendering comes from the frame cache
+        Assert.assertEquals(printStackTrace(t), render(renderer, t));
+
+        Throwable plain = new Throwable();
+        Assert.assertEquals(printStackTrace(plain), render(renderer, plain));
+    }
+
+    @Test
+    public void testCircularReference() {
+        Exception first = new Exception("first");
+        Exception second = new Exception("second", first);
+        first.initCause(second);
+        ThrowableRenderer renderer = new ThrowableRenderer(0, new String[0], null);
+        String rendered = render(renderer, first);
+        Assert.assertEquals(printStackTrace(first), rendered);
+        Assert.assertTrue(rendered.contains("[CIRCULAR REFERENCE: java.lang.Exception: first]"));
+    }
+
+    @Test
+    public void testMaxDepth() {
+        Throwable t = nested();
+        int frames = t.getStackTrace().length;
+        Assert.assertTrue(frames > 3);
+        String rendered = render(new ThrowableRenderer(2, new String[0], null), t);
+        String[] lines = rendered.split(LS);
+        Assert.assertEquals(t.toString(), lines[0]);
+        Assert.assertTrue(lines[1].startsWith("\tat "));
+        Assert.assertTrue(lines[2].startsWith("\tat "));
+        Assert.assertEquals("\t... " + (frames - 2) + " frames truncated", lines[3]);
+        Assert.assertTrue(rendered.contains("Caused by: " + t.getCause()));
+    }
+
+    @Test
+    public void testExclude() {
+        Throwable t = nested();
+        ThrowableRenderer renderer = new ThrowableRenderer(0, ThrowableRenderer
+                .parseExcludes(" org.junit., ,java.,jdk. "), null);
+        String rendered = render(renderer, t);
+        Assert.assertFalse(rendered.contains("at org.junit."));
+        Assert.assertFalse(rendered.contains("at java.base/"));
+        Assert.assertTrue(rendered.contains("at com.wikimore.mlog.impl.ThrowableRendererTest.nested"));
+        Assert.assertTrue(rendered.matches("(?s).*\t\\.\\.\\. \\d+ filtered" + LS + ".*"));
+        Assert.assertTrue(rendered.length() < printStackTrace(t).length());
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * 文件名称: TimestampRendererTest.java Copyright 2011-2013 Nali All right reserved.
+ */
+package com.wikimore.mlog.impl;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * TimestampRenderer test, compare with SimpleDateFormat
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+public class TimestampRendererTest {
+
+    @Test
+    public void testRender() {
+        String[] zones = { "UTC", "Asia/Shanghai", "America/New_York", "Asia/Kolkata" };
+        Random random = new Random(20130517L);
+        char[] buffer = new char[TimestampRenderer.LENGTH + 2];
+        for (String zone : zones) {
+            TimeZone timeZone = TimeZone.getTimeZone(zone);
+            TimestampRenderer renderer = new TimestampRenderer(timeZone);
+            SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss SSS");
+            dateFormat.setTimeZone(timeZone);
+            for (int i = 0; i < 10000; i++) {
+                // 1970 ~ 2100
+                long timestamp = (long) (random.nextDouble() * 4102444800000L);
+                int end = renderer.render(timestamp, buffer, 2);
+                Assert.assertEquals(2 + TimestampRenderer.LENGTH, end);
+                Assert.assertEquals(dateFormat.format(new Date(timestamp)), new String(buffer, 2,
+                        TimestampRenderer.LENGTH));
+            }
+        }
+    }
+
+    @Test
+    public void testSameSecond() {
+        TimestampRenderer renderer = new TimestampRenderer(TimeZone.getTimeZone("UTC"));
+        char[] buffer = new char[TimestampRenderer.LENGTH];
+        renderer.render(1368770400000L, buffer, 0);
+        Assert.assertEquals("2013-05-17 06:00:00 000", new String(buffer));
+        renderer.render(1368770400999L, buffer, 0);
+        Assert.assertEquals("2013-05-17 06:00:00 999", new String(buffer));
+        renderer.render(1368770401007L, buffer, 0);
+        Assert.assertEquals("2013-05-17 06:00:01 007", new String(buffer));
+    }
+}
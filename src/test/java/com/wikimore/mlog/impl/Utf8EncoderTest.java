@@ -0,0 +1,89 @@
+/*
+ * 文件名称: Utf8EncoderTest.java Copyright 2011-2013 Nali All right reserved.
+ */
+package com.wikimore.mlog.impl;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Utf8Encoder and ChannelSink test
+ * 
+ * @author ted created on 2026-10-18
+ * @since 1.1
+ */
+public class Utf8EncoderTest {
+
+    private static byte[] encode(String s) {
+        ByteBuffer out = ByteBuffer.allocateDirect(s.length() * Utf8Encoder.MAX_BYTES_PER_CHAR);
+        Utf8Encoder.encode(s, 0, s.length(), out);
+        out.flip();
+        byte[] bytes = new byte[out.remaining()];
+        out.get(bytes);
+        return bytes;
+    }
+
+    @Test
+    public void testEncode() throws UnsupportedEncodingException {
+        String[] samples = { "", "plain ascii line\n", "café üß", "中文日志",
+                "emoji 😀 end", "\u007f\u0080߿ࠀ￿" };
+        for (String sample : samples) {
+            Assert.assertArrayEquals(sample, sample.getBytes("UTF-8"), encode(sample));
+        }
+    }
+
+    @Test
+    public void testLoneSurrogate() throws UnsupportedEncodingException {
+        Assert.assertArrayEquals("a?b".getBytes("UTF-8"), encode("a\ud83db"));
+        Assert.assertArrayEquals("a?".getBytes("UTF-8"), encode("a\ude00"));
+        Assert.assertArrayEquals("?".getBytes("UTF-8"), encode("\ud83d"));
+    }
+
+    @Test
+    public void testRange() throws UnsupportedEncodingException {
+        ByteBuffer out = ByteBuffer.allocate(16);
+        Utf8Encoder.encode(new StringBuilder("xxéyy"), 2, 4, out);
+        out.flip();
+        byte[] bytes = new byte[out.remaining()];
+        out.get(bytes);
+        Assert.assertArrayEquals("éy".getBytes("UTF-8"), bytes);
+    }
+
+    @Test
+    public void testChannelSink() throws IOException {
+        File file = File.createTempFile("mlog-channel", ".log");
+        file.deleteOnExit();
+        ChannelSink sink = ChannelSink.open(file);
+        try {
+            sink.write(ByteBuffer.wrap("first\n".getBytes("UTF-8")), ConsoleLog.INFO_LOG_LEVEL);
+            ByteBuffer direct = ByteBuffer.allocateDirect(64);
+            direct.put(encode("second é\n"));
+            direct.flip();
+            sink.write(direct, ConsoleLog.INFO_LOG_LEVEL);
+            Assert.assertFalse(direct.hasRemaining());
+        } finally {
+            sink.close();
+        }
+        // reopening appends
+        sink = ChannelSink.open(file);
+        try {
+            sink.write(ByteBuffer.wrap("third\n".getBytes("UTF-8")), ConsoleLog.INFO_LOG_LEVEL);
+        } finally {
+            sink.close();
+        }
+        byte[] content = new byte[(int) file.length()];
+        FileInputStream in = new FileInputStream(file);
+        try {
+            Assert.assertEquals(content.length, in.read(content));
+        } finally {
+            in.close();
+        }
+        Assert.assertEquals("first\nsecond é\nthird\n", new String(content, "UTF-8"));
+    }
+}